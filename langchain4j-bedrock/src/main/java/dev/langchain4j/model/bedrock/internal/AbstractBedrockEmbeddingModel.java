@@ -22,9 +22,11 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+import static dev.langchain4j.internal.ConcurrencyUtils.mapConcurrently;
 import static dev.langchain4j.internal.RetryUtils.withRetry;
+import static dev.langchain4j.internal.Utils.getOrDefault;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
 
 /**
  * Abstract bedrock embedding model
@@ -41,16 +43,20 @@ public abstract class AbstractBedrockEmbeddingModel<T extends BedrockEmbeddingRe
     private final BedrockRuntimeClient client = initClient();
     @Builder.Default
     private final Integer maxRetries = 5;
+    /**
+     * The maximum number of requests sent to Bedrock at a time by {@link #embedAll(List)},
+     * which sends one request per text segment. Default: 1 (the requests are sent one after another).
+     */
+    private final Integer maxConcurrentRequests;
 
     @Override
     public Response<List<Embedding>> embedAll(List<TextSegment> textSegments) {
         final List<Map<String, Object>> requestParameters = getRequestParameters(textSegments);
-        final List<T> responses = requestParameters.stream()
-                .map(Json::toJson)
-                .map(body -> withRetry(() -> invoke(body), maxRetries))
-                .map(invokeModelResponse -> invokeModelResponse.body().asUtf8String())
-                .map(response -> Json.fromJson(response, getResponseClassType()))
-                .collect(Collectors.toList());
+        final List<T> responses = mapConcurrently(requestParameters, parameters -> {
+            final String body = Json.toJson(parameters);
+            final InvokeModelResponse invokeModelResponse = withRetry(() -> invoke(body), maxRetries);
+            return Json.fromJson(invokeModelResponse.body().asUtf8String(), getResponseClassType());
+        }, maxConcurrentRequests);
 
         int totalInputToken = 0;
         final List<Embedding> embeddings = new ArrayList<>();
@@ -127,4 +133,21 @@ public abstract class AbstractBedrockEmbeddingModel<T extends BedrockEmbeddingRe
                 .credentialsProvider(credentialsProvider)
                 .build();
     }
+
+    public static abstract class AbstractBedrockEmbeddingModelBuilder<T extends BedrockEmbeddingResponse,
+            C extends AbstractBedrockEmbeddingModel<T>, B extends AbstractBedrockEmbeddingModelBuilder<T, C, B>> {
+
+        private Integer maxConcurrentRequests = 1;
+
+        /**
+         * @param maxConcurrentRequests The maximum number of requests sent to Bedrock at a time by
+         *                              {@link AbstractBedrockEmbeddingModel#embedAll(List)}.
+         *                              Must be greater than zero. Default: 1.
+         * @return builder
+         */
+        public B maxConcurrentRequests(Integer maxConcurrentRequests) {
+            this.maxConcurrentRequests = ensureGreaterThanZero(getOrDefault(maxConcurrentRequests, 1), "maxConcurrentRequests");
+            return self();
+        }
+    }
 }
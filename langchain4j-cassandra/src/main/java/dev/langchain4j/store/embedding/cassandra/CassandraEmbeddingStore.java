@@ -2,6 +2,11 @@ package dev.langchain4j.store.embedding.cassandra;
 
 import com.datastax.oss.driver.api.core.CqlSession;
 import com.datastax.oss.driver.api.core.CqlSessionBuilder;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.data.CqlVector;
 import com.dtsx.astra.sdk.cassio.AnnQuery;
 import com.dtsx.astra.sdk.cassio.AnnResult;
 import com.dtsx.astra.sdk.cassio.CassIO;
@@ -12,8 +17,11 @@ import com.dtsx.astra.sdk.utils.AstraEnvironment;
 import dev.langchain4j.data.document.Metadata;
 import dev.langchain4j.data.embedding.Embedding;
 import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.AsyncEmbeddingStore;
 import dev.langchain4j.store.embedding.CosineSimilarity;
 import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingSearchResult;
 import dev.langchain4j.store.embedding.EmbeddingStore;
 import dev.langchain4j.store.embedding.RelevanceScore;
 import lombok.Getter;
@@ -22,19 +30,48 @@ import lombok.NonNull;
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static dev.langchain4j.internal.Utils.getOrDefault;
 import static dev.langchain4j.internal.ValidationUtils.ensureBetween;
 import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
 
 /**
  * Implementation of {@link EmbeddingStore} using Cassandra.
+ * <p>
+ * {@link AsyncEmbeddingStore#addAllAsync(List)} writes the rows with the asynchronous insert of the table,
+ * like {@code addAll}. {@link #searchAsync(EmbeddingSearchRequest)} runs the ANN query of the similarity search
+ * with the asynchronous execution of the {@link CqlSession}, so no thread waits for the results.
  *
  * @see EmbeddingStore
  * @see MetadataVectorTable
  */
-public class CassandraEmbeddingStore implements EmbeddingStore<TextSegment> {
+public class CassandraEmbeddingStore implements EmbeddingStore<TextSegment>, AsyncEmbeddingStore<TextSegment> {
+
+    /**
+     * Default maximum number of rows written at a time by {@code addAll}.
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_WRITES = 16;
+
+    private static final String COLUMN_ROW_ID = "row_id";
+    private static final String COLUMN_VECTOR = "vector";
+    private static final String COLUMN_BODY = "body_blob";
+    private static final String COLUMN_METADATA = "metadata_s";
+    private static final String COLUMN_SIMILARITY = "similarity";
+
+    /**
+     * ANN query of the similarity search of {@link MetadataVectorTable} with the cosine metric.
+     */
+    private static final String ANN_QUERY = "SELECT " + COLUMN_ROW_ID + ", " + COLUMN_VECTOR + ", " + COLUMN_BODY + ", "
+            + COLUMN_METADATA + ", similarity_cosine(" + COLUMN_VECTOR + ", :vector) AS " + COLUMN_SIMILARITY
+            + " FROM %s ORDER BY " + COLUMN_VECTOR + " ANN OF :vector LIMIT :maxRecord";
 
     /**
      * Represents an embedding table in Cassandra, it is a table with a vector column.
@@ -47,6 +84,17 @@ public class CassandraEmbeddingStore implements EmbeddingStore<TextSegment> {
     @Getter
     protected CqlSession cassandraSession;
 
+    /**
+     * Maximum number of rows written at a time by {@code addAll}.
+     */
+    @Getter
+    protected int maxConcurrentWrites;
+
+    /**
+     * Table name prefixed with the keyspace, used by the asynchronous search.
+     */
+    private final String qualifiedTableName;
+
     /**
      * Embedding Store.
      *
@@ -74,11 +122,52 @@ public class CassandraEmbeddingStore implements EmbeddingStore<TextSegment> {
      *      metric
      */
     public CassandraEmbeddingStore(CqlSession session, String tableName, int dimension, CassandraSimilarityMetric metric) {
-        this.cassandraSession = session;
-        this.embeddingTable = new MetadataVectorTable(session, session.getKeyspace().get().asInternal(), tableName, dimension, metric);
+        this(session, tableName, dimension, metric, DEFAULT_MAX_CONCURRENT_WRITES);
+    }
+
+    /**
+     * Embedding Store.
+     *
+     * @param session
+     *      cassandra Session
+     * @param tableName
+     *      table name
+     * @param dimension
+     *      dimension
+     * @param metric
+     *      metric
+     * @param maxConcurrentWrites
+     *      maximum number of rows written at a time by {@code addAll}
+     */
+    public CassandraEmbeddingStore(CqlSession session, String tableName, int dimension, CassandraSimilarityMetric metric,
+                                   int maxConcurrentWrites) {
+        this(session,
+                session.getKeyspace().get().asInternal() + "." + tableName,
+                new MetadataVectorTable(session, session.getKeyspace().get().asInternal(), tableName, dimension, metric),
+                maxConcurrentWrites);
         embeddingTable.create();
     }
 
+    /**
+     * Embedding Store on an existing table.
+     *
+     * @param session
+     *      cassandra Session
+     * @param qualifiedTableName
+     *      table name prefixed with the keyspace
+     * @param embeddingTable
+     *      embedding table
+     * @param maxConcurrentWrites
+     *      maximum number of rows written at a time by {@code addAll}
+     */
+    CassandraEmbeddingStore(CqlSession session, String qualifiedTableName, MetadataVectorTable embeddingTable,
+                            int maxConcurrentWrites) {
+        this.cassandraSession = session;
+        this.qualifiedTableName = qualifiedTableName;
+        this.embeddingTable = embeddingTable;
+        this.maxConcurrentWrites = ensureGreaterThanZero(maxConcurrentWrites, "maxConcurrentWrites");
+    }
+
     /**
      * Delete the table.
      */
@@ -104,6 +193,7 @@ public class CassandraEmbeddingStore implements EmbeddingStore<TextSegment> {
         protected String table;
         protected Integer dimension;
         protected CassandraSimilarityMetric metric = CassandraSimilarityMetric.COSINE;
+        protected Integer maxConcurrentWrites = DEFAULT_MAX_CONCURRENT_WRITES;
 
         public Builder contactPoints(List<String> contactPoints) {
             this.contactPoints = contactPoints;
@@ -150,6 +240,11 @@ public class CassandraEmbeddingStore implements EmbeddingStore<TextSegment> {
             return this;
         }
 
+        public Builder maxConcurrentWrites(Integer maxConcurrentWrites) {
+            this.maxConcurrentWrites = maxConcurrentWrites;
+            return this;
+        }
+
         public Builder() {
         }
 
@@ -161,7 +256,8 @@ public class CassandraEmbeddingStore implements EmbeddingStore<TextSegment> {
                 builder.withAuthCredentials(userName, password);
             }
             contactPoints.forEach(cp -> builder.addContactPoint(new InetSocketAddress(cp, port)));
-            return new CassandraEmbeddingStore(builder.build(),table, dimension, metric);
+            return new CassandraEmbeddingStore(builder.build(), table, dimension, metric,
+                    getOrDefault(maxConcurrentWrites, DEFAULT_MAX_CONCURRENT_WRITES));
         }
     }
 
@@ -182,6 +278,7 @@ public class CassandraEmbeddingStore implements EmbeddingStore<TextSegment> {
         private String dbRegion = "us-east1";
         private CassandraSimilarityMetric metric = CassandraSimilarityMetric.COSINE;
         private AstraEnvironment env = AstraEnvironment.PROD;
+        private int maxConcurrentWrites = DEFAULT_MAX_CONCURRENT_WRITES;
 
         public BuilderAstra token(String token) {
             this.token = token;
@@ -223,9 +320,14 @@ public class CassandraEmbeddingStore implements EmbeddingStore<TextSegment> {
             return this;
         }
 
+        public BuilderAstra maxConcurrentWrites(int maxConcurrentWrites) {
+            this.maxConcurrentWrites = maxConcurrentWrites;
+            return this;
+        }
+
         public CassandraEmbeddingStore build() {
             CqlSession cqlSession = CassIO.init(token, dbId, dbRegion, keyspaceName, env);
-            return new CassandraEmbeddingStore(cqlSession, tableName, dimension, metric);
+            return new CassandraEmbeddingStore(cqlSession, tableName, dimension, metric, maxConcurrentWrites);
         }
     }
 
@@ -253,13 +355,18 @@ public class CassandraEmbeddingStore implements EmbeddingStore<TextSegment> {
      */
     @Override
     public String add(@NonNull Embedding embedding, TextSegment textSegment) {
+        MetadataVectorRecord record = toRecord(embedding, textSegment);
+        embeddingTable.put(record);
+        return record.getRowId();
+    }
+
+    private static MetadataVectorRecord toRecord(Embedding embedding, TextSegment textSegment) {
         MetadataVectorRecord record = new MetadataVectorRecord(embedding.vectorAsList());
         if (textSegment != null) {
             record.setBody(textSegment.text());
             record.setMetadata(textSegment.metadata().asMap());
         }
-        embeddingTable.put(record);
-        return record.getRowId();
+        return record;
     }
 
     /**
@@ -275,38 +382,236 @@ public class CassandraEmbeddingStore implements EmbeddingStore<TextSegment> {
 
     /**
      * Add multiple embeddings as a single action.
+     * Rows are written concurrently, at most {@link #getMaxConcurrentWrites()} at a time.
      *
      * @param embeddingList embeddings list
      * @return list of new row if (same order as the input)
+     * @throws CassandraWriteException if some rows could not be written
      */
     @Override
     public List<String> addAll(List<Embedding> embeddingList) {
-        return embeddingList.stream()
-                .map(Embedding::vectorAsList)
-                .map(MetadataVectorRecord::new)
-                .peek(embeddingTable::putAsync)
-                .map(MetadataVectorRecord::getRowId)
-                .collect(toList());
+        return putAll(embeddingList.stream()
+                .map(embedding -> toRecord(embedding, null))
+                .collect(toList()));
     }
 
     /**
      * Add multiple embeddings as a single action.
      *
+     * Rows are written concurrently, at most {@link #getMaxConcurrentWrites()} at a time.
+     *
      * @param embeddingList   embeddings
      * @param textSegmentList text segments
      * @return list of new row if (same order as the input)
+     * @throws CassandraWriteException if some rows could not be written
      */
     @Override
     public List<String> addAll(List<Embedding> embeddingList, List<TextSegment> textSegmentList) {
+        return putAll(toRecords(embeddingList, textSegmentList));
+    }
+
+    private static List<MetadataVectorRecord> toRecords(List<Embedding> embeddingList, List<TextSegment> textSegmentList) {
         if (embeddingList == null || textSegmentList == null || embeddingList.size() != textSegmentList.size()) {
             throw new IllegalArgumentException("embeddingList and textSegmentList must not be null and have the same size");
         }
         // Looping on both list with an index
-        List<String> ids = new ArrayList<>();
+        List<MetadataVectorRecord> records = new ArrayList<>();
         for (int i = 0; i < embeddingList.size(); i++) {
-            ids.add(add(embeddingList.get(i), textSegmentList.get(i)));
+            records.add(toRecord(embeddingList.get(i), textSegmentList.get(i)));
+        }
+        return records;
+    }
+
+    /**
+     * Add multiple embeddings without blocking.
+     * Rows are written concurrently, at most {@link #getMaxConcurrentWrites()} at a time.
+     *
+     * @param embeddingList embeddings list
+     * @return future of the list of new row ids (same order as the input),
+     * completed with a {@link CassandraWriteException} if some rows could not be written
+     */
+    @Override
+    public CompletableFuture<List<String>> addAllAsync(List<Embedding> embeddingList) {
+        return putAllAsync(embeddingList.stream()
+                .map(embedding -> toRecord(embedding, null))
+                .collect(toList()));
+    }
+
+    /**
+     * Add multiple embeddings and their text segments without blocking.
+     * Rows are written concurrently, at most {@link #getMaxConcurrentWrites()} at a time.
+     *
+     * @param embeddingList   embeddings
+     * @param textSegmentList text segments
+     * @return future of the list of new row ids (same order as the input),
+     * completed with a {@link CassandraWriteException} if some rows could not be written
+     */
+    @Override
+    public CompletableFuture<List<String>> addAllAsync(List<Embedding> embeddingList, List<TextSegment> textSegmentList) {
+        return putAllAsync(toRecords(embeddingList, textSegmentList));
+    }
+
+    /**
+     * Search without blocking any thread.
+     * It runs the same ANN query as {@link #findRelevant(Embedding, int, double)}, but with
+     * {@link CqlSession#executeAsync(Statement)} instead of the blocking similarity search of the table.
+     *
+     * @param request search request
+     * @return future of the search result
+     */
+    @Override
+    public CompletableFuture<EmbeddingSearchResult<TextSegment>> searchAsync(EmbeddingSearchRequest request) {
+        double threshold = CosineSimilarity.fromRelevanceScore(ensureBetween(request.minScore(), 0, 1, "minScore"));
+        SimpleStatement statement = SimpleStatement.builder(format(ANN_QUERY, qualifiedTableName))
+                .addNamedValue("vector", CqlVector.newInstance(request.queryEmbedding().vectorAsList()))
+                .addNamedValue("maxRecord", ensureGreaterThanZero(request.maxResults(), "maxResults"))
+                .build();
+        return cassandraSession.executeAsync(statement)
+                .thenCompose(resultSet -> collectMatches(resultSet, threshold, new ArrayList<>()))
+                .thenApply(EmbeddingSearchResult::new)
+                .toCompletableFuture();
+    }
+
+    /**
+     * Map the rows of the current page above the threshold, then fetch the next page if any.
+     *
+     * @param resultSet current page of the ANN query
+     * @param threshold minimum cosine similarity
+     * @param matches   matches collected so far
+     * @return matches of all pages
+     */
+    private static CompletionStage<List<EmbeddingMatch<TextSegment>>> collectMatches(AsyncResultSet resultSet,
+                                                                                      double threshold,
+                                                                                      List<EmbeddingMatch<TextSegment>> matches) {
+        for (Row row : resultSet.currentPage()) {
+            float similarity = row.getFloat(COLUMN_SIMILARITY);
+            if (similarity >= threshold) {
+                matches.add(toEmbeddingMatch(similarity,
+                        row.getString(COLUMN_ROW_ID),
+                        row.getVector(COLUMN_VECTOR, Float.class).stream().collect(toList()),
+                        row.getString(COLUMN_BODY),
+                        row.getMap(COLUMN_METADATA, String.class, String.class)));
+            }
+        }
+        if (resultSet.hasMorePages()) {
+            return resultSet.fetchNextPage().thenCompose(nextPage -> collectMatches(nextPage, threshold, matches));
+        }
+        return CompletableFuture.completedFuture(matches);
+    }
+
+    /**
+     * Write the records with the asynchronous insert of the table, with at most {@link #maxConcurrentWrites}
+     * writes in flight, and wait for all of them.
+     *
+     * @param records records to write
+     * @return row ids (same order as the input)
+     * @throws CassandraWriteException if some rows could not be written
+     */
+    private List<String> putAll(List<MetadataVectorRecord> records) {
+        try {
+            return putAllAsync(records).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Write the records with the asynchronous insert of the table, with at most {@link #maxConcurrentWrites}
+     * writes in flight: each completed write starts the next one, so the calling thread is never blocked.
+     * Every row is attempted, failures are reported together once all the writes are done.
+     *
+     * @param records records to write
+     * @return row ids (same order as the input), or a {@link CassandraWriteException} if some rows could not be written
+     */
+    private CompletableFuture<List<String>> putAllAsync(List<MetadataVectorRecord> records) {
+        BulkWrite bulkWrite = new BulkWrite(records);
+        if (records.isEmpty()) {
+            bulkWrite.result.complete(new ArrayList<>());
+        }
+        for (int i = 0; i < Math.min(maxConcurrentWrites, records.size()); i++) {
+            writeNext(bulkWrite);
+        }
+        return bulkWrite.result;
+    }
+
+    /**
+     * Write the next rows of the bulk write, until a write does not complete immediately.
+     * Its completion then continues with the next rows, which keeps the number of writes in flight constant.
+     *
+     * @param bulkWrite current bulk write
+     */
+    private void writeNext(BulkWrite bulkWrite) {
+        int index;
+        while ((index = bulkWrite.nextIndex.getAndIncrement()) < bulkWrite.records.size()) {
+            CompletableFuture<Void> write;
+            try {
+                write = embeddingTable.putAsync(bulkWrite.records.get(index));
+            } catch (RuntimeException e) {
+                write = new CompletableFuture<>();
+                write.completeExceptionally(e);
+            }
+            int writeIndex = index;
+            if (write.isDone()) {
+                write.whenComplete((ignored, error) -> bulkWrite.completed(writeIndex, error));
+            } else {
+                write.whenComplete((ignored, error) -> {
+                    bulkWrite.completed(writeIndex, error);
+                    writeNext(bulkWrite);
+                });
+                return;
+            }
+        }
+    }
+
+    /**
+     * State of a bulk write.
+     */
+    private static class BulkWrite {
+
+        private final List<MetadataVectorRecord> records;
+        private final Throwable[] failures;
+        private final AtomicInteger nextIndex = new AtomicInteger();
+        private final AtomicInteger remaining;
+        private final CompletableFuture<List<String>> result = new CompletableFuture<>();
+
+        BulkWrite(List<MetadataVectorRecord> records) {
+            this.records = records;
+            this.failures = new Throwable[records.size()];
+            this.remaining = new AtomicInteger(records.size());
+        }
+
+        void completed(int index, Throwable error) {
+            if (error instanceof CompletionException && error.getCause() != null) {
+                error = error.getCause();
+            }
+            failures[index] = error;
+            if (remaining.decrementAndGet() == 0) {
+                complete();
+            }
+        }
+
+        private void complete() {
+            List<String> rowIds = new ArrayList<>(records.size());
+            List<String> failedRowIds = new ArrayList<>();
+            List<Throwable> rowFailures = new ArrayList<>();
+            for (int i = 0; i < records.size(); i++) {
+                rowIds.add(records.get(i).getRowId());
+                if (failures[i] != null) {
+                    failedRowIds.add(records.get(i).getRowId());
+                    rowFailures.add(failures[i]);
+                }
+            }
+            if (rowFailures.isEmpty()) {
+                result.complete(rowIds);
+            } else {
+                CassandraWriteException exception = new CassandraWriteException(failedRowIds, records.size(), rowFailures.get(0));
+                rowFailures.stream().skip(1).forEach(exception::addSuppressed);
+                result.completeExceptionally(exception);
+            }
         }
-        return ids;
     }
 
     /**
@@ -337,22 +642,38 @@ public class CassandraEmbeddingStore implements EmbeddingStore<TextSegment> {
      * @return search result
      */
     private static EmbeddingMatch<TextSegment> mapSearchResult(AnnResult<MetadataVectorRecord> record) {
+        return toEmbeddingMatch(record.getSimilarity(),
+                record.getEmbedded().getRowId(),
+                record.getEmbedded().getVector(),
+                record.getEmbedded().getBody(),
+                record.getEmbedded().getMetadata());
+    }
 
+    /**
+     * Map a row found by the similarity search.
+     *
+     * @param similarity cosine similarity computed by Cassandra
+     * @param rowId      row id
+     * @param vector     embedding vector
+     * @param body       text, if any
+     * @param metadata   metadata, if any
+     * @return search result
+     */
+    private static EmbeddingMatch<TextSegment> toEmbeddingMatch(double similarity, String rowId, List<Float> vector,
+                                                                String body, Map<String, String> metadata) {
         TextSegment embedded = null;
-        String body = record.getEmbedded().getBody();
         if (body != null
                 && !body.isEmpty()
-                && record.getEmbedded().getMetadata() != null) {
-            embedded = TextSegment.from(record.getEmbedded().getBody(),
-                    new Metadata(record.getEmbedded().getMetadata()));
+                && metadata != null) {
+            embedded = TextSegment.from(body, new Metadata(metadata));
         }
         return new EmbeddingMatch<>(
                 // Score
-                RelevanceScore.fromCosineSimilarity(record.getSimilarity()),
+                RelevanceScore.fromCosineSimilarity(similarity),
                 // EmbeddingId : unique identifier
-                record.getEmbedded().getRowId(),
+                rowId,
                 // Embeddings vector
-                Embedding.from(record.getEmbedded().getVector()),
+                Embedding.from(vector),
                 // Text segment and metadata
                 embedded);
     }
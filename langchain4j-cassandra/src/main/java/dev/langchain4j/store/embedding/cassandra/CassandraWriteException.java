@@ -0,0 +1,38 @@
+package dev.langchain4j.store.embedding.cassandra;
+
+import lombok.Getter;
+
+import java.util.List;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Thrown when some of the rows of a bulk write to {@link CassandraEmbeddingStore} could not be written.
+ * The other rows were written.
+ * <p>
+ * The cause is the failure of the first failed row, the failures of the other rows are suppressed exceptions.
+ */
+public class CassandraWriteException extends RuntimeException {
+
+    /**
+     * Identifiers of the rows that could not be written.
+     */
+    @Getter
+    private final List<String> failedRowIds;
+
+    /**
+     * Write Exception.
+     *
+     * @param failedRowIds
+     *      identifiers of the rows that could not be written
+     * @param rowCount
+     *      number of rows of the bulk write
+     * @param cause
+     *      failure of the first failed row
+     */
+    public CassandraWriteException(List<String> failedRowIds, int rowCount, Throwable cause) {
+        super(String.format("Failed to write %d of %d rows, first failed row: '%s'",
+                failedRowIds.size(), rowCount, failedRowIds.get(0)), cause);
+        this.failedRowIds = unmodifiableList(failedRowIds);
+    }
+}
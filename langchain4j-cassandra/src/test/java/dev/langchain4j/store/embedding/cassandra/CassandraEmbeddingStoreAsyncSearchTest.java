@@ -0,0 +1,97 @@
+package dev.langchain4j.store.embedding.cassandra;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.data.CqlVector;
+import com.dtsx.astra.sdk.cassio.MetadataVectorTable;
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingSearchResult;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the asynchronous search of CassandraEmbeddingStore against a stubbed session.
+ */
+class CassandraEmbeddingStoreAsyncSearchTest {
+
+    private final CqlSession session = mock(CqlSession.class);
+    private final MetadataVectorTable table = mock(MetadataVectorTable.class);
+
+    @Test
+    void should_search_with_asynchronous_ann_query_across_pages() throws Exception {
+
+        // given
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("source", "doc 1");
+
+        AsyncResultSet secondPage = page(false, null,
+                row("id 3", 0.95f, "text 3", new HashMap<>()));
+        AsyncResultSet firstPage = page(true, secondPage,
+                row("id 1", 0.99f, "text 1", metadata),
+                row("id 2", 0.5f, "text 2", metadata));
+        when(session.executeAsync(any())).thenReturn(completedFuture(firstPage));
+
+        CassandraEmbeddingStore store = new CassandraEmbeddingStore(session, "test_keyspace.test_table", table, 4);
+
+        EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                .queryEmbedding(Embedding.from(new float[]{1, 0}))
+                .maxResults(3)
+                .minScore(0.9)
+                .build();
+
+        // when
+        EmbeddingSearchResult<TextSegment> result = store.searchAsync(request).get(10, SECONDS);
+
+        // then
+        assertThat(result.matches()).extracting(EmbeddingMatch::embeddingId).containsExactly("id 1", "id 3");
+        EmbeddingMatch<TextSegment> first = result.matches().get(0);
+        assertThat(first.embedded()).isEqualTo(TextSegment.from("text 1", new Metadata(metadata)));
+        assertThat(first.embedding()).isEqualTo(Embedding.from(asList(1f, 0f)));
+
+        ArgumentCaptor<SimpleStatement> statement = ArgumentCaptor.forClass(SimpleStatement.class);
+        verify(session).executeAsync(statement.capture());
+        assertThat(statement.getValue().getQuery())
+                .contains("FROM test_keyspace.test_table")
+                .contains("ANN OF :vector LIMIT :maxRecord");
+        verifyNoInteractions(table);
+    }
+
+    private static AsyncResultSet page(boolean hasMorePages, AsyncResultSet nextPage, Row... rows) {
+        AsyncResultSet page = mock(AsyncResultSet.class);
+        when(page.currentPage()).thenReturn(asList(rows));
+        when(page.hasMorePages()).thenReturn(hasMorePages);
+        if (nextPage != null) {
+            when(page.fetchNextPage()).thenReturn(completedFuture(nextPage));
+        }
+        return page;
+    }
+
+    private static Row row(String rowId, float similarity, String body, Map<String, String> metadata) {
+        Row row = mock(Row.class);
+        when(row.getString("row_id")).thenReturn(rowId);
+        when(row.getFloat("similarity")).thenReturn(similarity);
+        when(row.getVector("vector", Float.class)).thenReturn(CqlVector.newInstance(asList(1f, 0f)));
+        when(row.getString("body_blob")).thenReturn(body);
+        when(row.getMap("metadata_s", String.class, String.class)).thenReturn(metadata);
+        return row;
+    }
+}
@@ -0,0 +1,139 @@
+package dev.langchain4j.store.embedding.cassandra;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.dtsx.astra.sdk.cassio.MetadataVectorRecord;
+import com.dtsx.astra.sdk.cassio.MetadataVectorTable;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the bulk writes of CassandraEmbeddingStore against a stubbed table.
+ */
+class CassandraEmbeddingStoreBulkWriteTest {
+
+    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(8);
+
+    private final List<MetadataVectorRecord> writtenRecords = new ArrayList<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private final MetadataVectorTable table = mock(MetadataVectorTable.class);
+
+    {
+        when(table.putAsync(any())).thenAnswer(invocation -> {
+            MetadataVectorRecord record = invocation.getArgument(0);
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            CompletableFuture<Void> write = new CompletableFuture<>();
+            executor.schedule(() -> {
+                inFlight.decrementAndGet();
+                if (record.getBody() != null && record.getBody().startsWith("fail")) {
+                    write.completeExceptionally(new IllegalStateException("cannot write " + record.getBody()));
+                } else {
+                    synchronized (writtenRecords) {
+                        writtenRecords.add(record);
+                    }
+                    write.complete(null);
+                }
+            }, 2, MILLISECONDS);
+            return write;
+        });
+    }
+
+    @AfterEach
+    void afterEach() {
+        executor.shutdown();
+    }
+
+    @Test
+    void should_write_all_rows_within_window() {
+
+        // given
+        CassandraEmbeddingStore store = new CassandraEmbeddingStore(mock(CqlSession.class), "test_keyspace.test_table", table, 4);
+
+        // when
+        List<String> ids = store.addAll(embeddings(100), segments(100));
+
+        // then
+        assertThat(ids).hasSize(100).doesNotHaveDuplicates();
+        assertThat(writtenRecords).extracting(MetadataVectorRecord::getRowId).containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(maxInFlight.get()).isBetween(2, 4);
+    }
+
+    @Test
+    void should_report_all_failed_rows_after_writing_the_others() {
+
+        // given
+        CassandraEmbeddingStore store = new CassandraEmbeddingStore(mock(CqlSession.class), "test_keyspace.test_table", table, 4);
+        List<TextSegment> segments = segments(20);
+        segments.set(3, TextSegment.from("fail 3"));
+        segments.set(11, TextSegment.from("fail 11"));
+        segments.set(17, TextSegment.from("fail 17"));
+
+        // when-then
+        assertThatThrownBy(() -> store.addAll(embeddings(20), segments))
+                .isExactlyInstanceOf(CassandraWriteException.class)
+                .hasMessageStartingWith("Failed to write 3 of 20 rows")
+                .satisfies(e -> {
+                    CassandraWriteException exception = (CassandraWriteException) e;
+                    assertThat(exception.getFailedRowIds()).hasSize(3);
+                    assertThat(exception.getCause()).hasMessage("cannot write fail 3");
+                    assertThat(exception.getSuppressed()).extracting(Throwable::getMessage)
+                            .containsExactly("cannot write fail 11", "cannot write fail 17");
+                });
+        assertThat(writtenRecords).hasSize(17);
+    }
+
+    @Test
+    void should_write_rows_asynchronously() throws Exception {
+
+        // given
+        CassandraEmbeddingStore store = new CassandraEmbeddingStore(mock(CqlSession.class), "test_keyspace.test_table", table, 4);
+        List<TextSegment> segments = segments(20);
+        segments.set(5, TextSegment.from("fail 5"));
+
+        // when
+        CompletableFuture<List<String>> ids = store.addAllAsync(embeddings(10));
+        CompletableFuture<List<String>> failedIds = store.addAllAsync(embeddings(20), segments);
+
+        // then
+        assertThat(ids.get(10, SECONDS)).hasSize(10);
+        assertThatThrownBy(() -> failedIds.get(10, SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseExactlyInstanceOf(CassandraWriteException.class);
+        assertThat(writtenRecords).hasSize(29);
+    }
+
+    private static List<Embedding> embeddings(int count) {
+        List<Embedding> embeddings = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            embeddings.add(Embedding.from(new float[]{i, 1}));
+        }
+        return embeddings;
+    }
+
+    private static List<TextSegment> segments(int count) {
+        List<TextSegment> segments = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            segments.add(TextSegment.from("segment " + i));
+        }
+        return segments;
+    }
+}
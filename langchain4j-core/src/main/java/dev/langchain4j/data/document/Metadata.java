@@ -249,6 +249,21 @@ public class Metadata {
                 "It cannot be returned as a Double.", key, value, value.getClass().getName());
     }
 
+    /**
+     * Returns the value associated with the given key, as it is stored, without converting or copying anything.
+     * Unlike {@code toMap().get(key)}, this does not copy the whole metadata,
+     * so it is suitable for hot paths, such as evaluating a {@link dev.langchain4j.store.embedding.filter.Filter}
+     * against many entries.
+     *
+     * @param key the key
+     * @return the value associated with the given key ({@link String}, {@link Integer}, {@link Long},
+     * {@link Float} or {@link Double}), or {@code null} if the key is not present.
+     */
+    @Experimental
+    public Object getObject(String key) {
+        return metadata.get(key);
+    }
+
     /**
      * Check whether this {@code Metadata} contains a given key.
      *
@@ -0,0 +1,134 @@
+package dev.langchain4j.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+/**
+ * Utility class for running blocking calls concurrently.
+ */
+public final class ConcurrencyUtils {
+    private ConcurrencyUtils() {}
+
+    /**
+     * Applies the function to each of the inputs, with at most {@code maxConcurrency} calls in flight,
+     * on threads created for this call.
+     *
+     * @param inputs         The inputs.
+     * @param function       The function, typically a blocking request to a remote service.
+     * @param maxConcurrency The maximum number of concurrent calls of the function.
+     * @param <T>            The type of the inputs.
+     * @param <R>            The type of the results.
+     * @return The results, in the order of the inputs.
+     * @see #mapConcurrently(List, Function, int, Executor)
+     */
+    public static <T, R> List<R> mapConcurrently(List<T> inputs,
+                                                 Function<? super T, ? extends R> function,
+                                                 int maxConcurrency) {
+        return mapConcurrently(inputs, function, maxConcurrency, null);
+    }
+
+    /**
+     * Applies the function to each of the inputs, with at most {@code maxConcurrency} calls in flight.
+     *
+     * <p>This is meant for models that have no batch endpoint and have to send one request per input:
+     * {@code maxConcurrency} workers each take the next input that is not processed yet,
+     * so a slow call does not hold back the others.
+     * If {@code maxConcurrency} is 1, or there is a single input, the function is applied on the calling thread.
+     *
+     * <p>If the function throws for any of the inputs, the inputs that are not processed yet are skipped
+     * and the first exception is rethrown. Retries, if any, are up to the function
+     * (e.g. {@link RetryUtils#withRetry(java.util.concurrent.Callable, int)}).
+     *
+     * @param inputs         The inputs.
+     * @param function       The function, typically a blocking request to a remote service.
+     * @param maxConcurrency The maximum number of concurrent calls of the function.
+     * @param executor       The executor to run the calls on. It should be able to run {@code maxConcurrency} tasks
+     *                       at a time. If {@code null}, threads are created for this call.
+     * @param <T>            The type of the inputs.
+     * @param <R>            The type of the results.
+     * @return The results, in the order of the inputs.
+     */
+    public static <T, R> List<R> mapConcurrently(List<T> inputs,
+                                                 Function<? super T, ? extends R> function,
+                                                 int maxConcurrency,
+                                                 Executor executor) {
+        ensureNotNull(inputs, "inputs");
+        ensureNotNull(function, "function");
+        ensureGreaterThanZero(maxConcurrency, "maxConcurrency");
+
+        int workerCount = Math.min(maxConcurrency, inputs.size());
+        if (workerCount <= 1) {
+            List<R> results = new ArrayList<>(inputs.size());
+            for (T input : inputs) {
+                results.add(function.apply(input));
+            }
+            return results;
+        }
+
+        ExecutorService ownExecutor = null;
+        if (executor == null) {
+            ownExecutor = Executors.newFixedThreadPool(workerCount, runnable -> {
+                Thread thread = new Thread(runnable, "langchain4j-concurrent-call");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor = ownExecutor;
+        }
+
+        Object[] results = new Object[inputs.size()];
+        AtomicInteger nextIndex = new AtomicInteger();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Runnable worker = () -> {
+            int index;
+            while (failure.get() == null && (index = nextIndex.getAndIncrement()) < results.length) {
+                try {
+                    results[index] = function.apply(inputs.get(index));
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+        };
+
+        try {
+            CompletableFuture<?>[] workers = new CompletableFuture[workerCount];
+            for (int i = 0; i < workerCount; i++) {
+                workers[i] = CompletableFuture.runAsync(worker, executor);
+            }
+            CompletableFuture.allOf(workers).join();
+        } catch (CompletionException e) {
+            failure.compareAndSet(null, e.getCause());
+        } finally {
+            if (ownExecutor != null) {
+                ownExecutor.shutdown();
+            }
+        }
+
+        Throwable e = failure.get();
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        } else if (e instanceof Error) {
+            throw (Error) e;
+        } else if (e != null) {
+            throw new RuntimeException(e);
+        }
+
+        List<R> list = new ArrayList<>(results.length);
+        for (Object result : results) {
+            @SuppressWarnings("unchecked")
+            R r = (R) result;
+            list.add(r);
+        }
+        return list;
+    }
+}
@@ -128,6 +128,21 @@ public class ValidationUtils {
         return i;
     }
 
+    /**
+     * Ensures that the given Long value is greater than zero.
+     * @param l The value to check.
+     * @param name The name of the value to be used in the exception message.
+     * @return The value if it is greater than zero.
+     * @throws IllegalArgumentException if the value is null or not greater than zero.
+     */
+    public static long ensureGreaterThanZero(Long l, String name) {
+        if (l == null || l <= 0) {
+            throw illegalArgument("%s must be greater than zero, but is: %s", name, l);
+        }
+
+        return l;
+    }
+
     /**
      * Ensures that the given Double value is in {@code [min, max]}.
      * @param d The value to check.
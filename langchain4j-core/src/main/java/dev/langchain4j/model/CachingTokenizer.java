@@ -0,0 +1,269 @@
+package dev.langchain4j.model;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.data.message.ChatMessage;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static dev.langchain4j.internal.Utils.getOrDefault;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+import static java.util.concurrent.CompletableFuture.allOf;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+
+/**
+ * A {@link Tokenizer} that remembers the token counts estimated by another {@link Tokenizer}.
+ * <br>
+ * Token counts of texts ({@link #estimateTokenCountInText(String)}) and of single messages
+ * ({@link #estimateTokenCountInMessage(ChatMessage)}) are kept in a bounded LRU cache keyed by their content,
+ * so the same system prompts, memory messages or document parts are encoded only once.
+ * Other estimations are delegated as they are.
+ * <br>
+ * {@link #estimateTokenCountInTexts(List)} looks up all texts in the cache and, if an {@link Executor} is
+ * configured, estimates the missing ones in parallel. In that case, the underlying {@link Tokenizer}
+ * must be thread-safe.
+ */
+public class CachingTokenizer implements Tokenizer {
+
+    private final Tokenizer delegate;
+    private final Map<Object, Integer> cache;
+    private final Executor executor;
+    private final int parallelism;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    private CachingTokenizer(Builder builder) {
+        this.delegate = ensureNotNull(builder.delegate, "delegate");
+        int maxCacheSize = ensureGreaterThanZero(getOrDefault(builder.maxCacheSize, 10_000), "maxCacheSize");
+        this.cache = new LinkedHashMap<Object, Integer>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Integer> eldest) {
+                return size() > maxCacheSize;
+            }
+        };
+        this.executor = builder.executor;
+        this.parallelism = ensureGreaterThanZero(
+                getOrDefault(builder.parallelism, Runtime.getRuntime().availableProcessors()), "parallelism");
+    }
+
+    @Override
+    public int estimateTokenCountInText(String text) {
+        Integer tokenCount = get(text);
+        if (tokenCount == null) {
+            tokenCount = delegate.estimateTokenCountInText(text);
+            put(text, tokenCount);
+        }
+        return tokenCount;
+    }
+
+    @Override
+    public List<Integer> estimateTokenCountInTexts(List<String> texts) {
+        ensureNotNull(texts, "texts");
+
+        Integer[] tokenCounts = new Integer[texts.size()];
+        Map<String, List<Integer>> missingIndexesByText = new LinkedHashMap<>();
+        for (int i = 0; i < texts.size(); i++) {
+            String text = texts.get(i);
+            List<Integer> missingIndexes = missingIndexesByText.get(text);
+            if (missingIndexes == null) {
+                tokenCounts[i] = get(text);
+                if (tokenCounts[i] != null) {
+                    continue;
+                }
+                missingIndexes = new ArrayList<>();
+                missingIndexesByText.put(text, missingIndexes);
+            }
+            missingIndexes.add(i);
+        }
+
+        List<String> missingTexts = new ArrayList<>(missingIndexesByText.keySet());
+        List<Integer> missingTokenCounts = estimate(missingTexts);
+        for (int i = 0; i < missingTexts.size(); i++) {
+            String text = missingTexts.get(i);
+            Integer tokenCount = missingTokenCounts.get(i);
+            put(text, tokenCount);
+            for (int index : missingIndexesByText.get(text)) {
+                tokenCounts[index] = tokenCount;
+            }
+        }
+
+        List<Integer> result = new ArrayList<>(tokenCounts.length);
+        for (Integer tokenCount : tokenCounts) {
+            result.add(tokenCount);
+        }
+        return result;
+    }
+
+    private List<Integer> estimate(List<String> texts) {
+        int chunkCount = Math.min(texts.size(), parallelism);
+        if (executor == null || chunkCount < 2) {
+            return delegate.estimateTokenCountInTexts(texts);
+        }
+
+        List<CompletableFuture<List<Integer>>> futures = new ArrayList<>(chunkCount);
+        int chunkSize = (texts.size() + chunkCount - 1) / chunkCount;
+        for (int from = 0; from < texts.size(); from += chunkSize) {
+            List<String> chunk = texts.subList(from, Math.min(from + chunkSize, texts.size()));
+            futures.add(supplyAsync(() -> delegate.estimateTokenCountInTexts(chunk), executor));
+        }
+        allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        List<Integer> tokenCounts = new ArrayList<>(texts.size());
+        for (CompletableFuture<List<Integer>> future : futures) {
+            tokenCounts.addAll(future.join());
+        }
+        return tokenCounts;
+    }
+
+    @Override
+    public int estimateTokenCountInMessage(ChatMessage message) {
+        Integer tokenCount = get(message);
+        if (tokenCount == null) {
+            tokenCount = delegate.estimateTokenCountInMessage(message);
+            put(message, tokenCount);
+        }
+        return tokenCount;
+    }
+
+    @Override
+    public int estimateTokenCountInMessages(Iterable<ChatMessage> messages) {
+        return delegate.estimateTokenCountInMessages(messages);
+    }
+
+    @Override
+    public int estimateTokenCountInToolSpecifications(Iterable<ToolSpecification> toolSpecifications) {
+        return delegate.estimateTokenCountInToolSpecifications(toolSpecifications);
+    }
+
+    @Override
+    public int estimateTokenCountInToolExecutionRequests(Iterable<ToolExecutionRequest> toolExecutionRequests) {
+        return delegate.estimateTokenCountInToolExecutionRequests(toolExecutionRequests);
+    }
+
+    private Integer get(Object key) {
+        Integer tokenCount;
+        synchronized (cache) {
+            tokenCount = cache.get(key);
+        }
+        if (tokenCount != null) {
+            hitCount.incrementAndGet();
+        } else {
+            missCount.incrementAndGet();
+        }
+        return tokenCount;
+    }
+
+    private void put(Object key, Integer tokenCount) {
+        synchronized (cache) {
+            cache.put(key, tokenCount);
+        }
+    }
+
+    /**
+     * @return the number of texts and messages whose token counts were found in the cache.
+     */
+    public long hitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return the number of texts and messages whose token counts were not found in the cache.
+     * Identical texts missing from the cache in a single {@link #estimateTokenCountInTexts(List)} call
+     * are estimated and counted only once.
+     */
+    public long missCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Creates a new CachingTokenizer builder.
+     *
+     * @return the builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * CachingTokenizer builder.
+     */
+    public static class Builder {
+
+        private Tokenizer delegate;
+        private Integer maxCacheSize;
+        private Executor executor;
+        private Integer parallelism;
+
+        /**
+         * Creates a new CachingTokenizer builder.
+         */
+        public Builder() {
+        }
+
+        /**
+         * Sets the tokenizer estimating the token counts that are not cached. Mandatory.
+         *
+         * @param delegate the tokenizer.
+         * @return {@code this}
+         */
+        public Builder delegate(Tokenizer delegate) {
+            this.delegate = delegate;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of texts and messages whose token counts are cached. Optional.
+         * Default: 10000
+         *
+         * @param maxCacheSize the maximum number of cached token counts.
+         * @return {@code this}
+         */
+        public Builder maxCacheSize(Integer maxCacheSize) {
+            this.maxCacheSize = maxCacheSize;
+            return this;
+        }
+
+        /**
+         * Sets the executor used by {@link CachingTokenizer#estimateTokenCountInTexts(List)}
+         * to estimate the token counts of missing texts in parallel. Optional.
+         * By default, they are estimated on the calling thread.
+         *
+         * @param executor the executor.
+         * @return {@code this}
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of tasks a batch of missing texts is split into,
+         * when an {@link #executor(Executor)} is set. Optional.
+         * Default: the number of available processors.
+         *
+         * @param parallelism the maximum number of tasks per batch.
+         * @return {@code this}
+         */
+        public Builder parallelism(Integer parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Builds a new CachingTokenizer.
+         *
+         * @return the new CachingTokenizer.
+         */
+        public CachingTokenizer build() {
+            return new CachingTokenizer(this);
+        }
+    }
+}
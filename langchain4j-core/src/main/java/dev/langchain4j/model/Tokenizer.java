@@ -23,6 +23,22 @@ public interface Tokenizer {
      */
     int estimateTokenCountInText(String text);
 
+    /**
+     * Estimates the count of tokens in each of the given texts.
+     * <br>
+     * By default, the texts are processed one by one using {@link #estimateTokenCountInText(String)}.
+     * Implementations can override this method to process them more efficiently, e.g. in parallel.
+     * @param texts the texts.
+     * @return the estimated counts of tokens, in the order of the texts.
+     */
+    default List<Integer> estimateTokenCountInTexts(List<String> texts) {
+        List<Integer> tokenCounts = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            tokenCounts.add(estimateTokenCountInText(text));
+        }
+        return tokenCounts;
+    }
+
     /**
      * Estimates the count of tokens in the given message.
      * @param message the message.
@@ -0,0 +1,429 @@
+package dev.langchain4j.model.chat.cache;
+
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.FinishReason;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.embedding.filter.Filter;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static dev.langchain4j.internal.Utils.generateUUIDFrom;
+import static dev.langchain4j.internal.Utils.getOrDefault;
+import static dev.langchain4j.internal.ValidationUtils.ensureBetween;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
+
+/**
+ * A {@link ChatLanguageModel} that answers near-duplicate requests with previously generated responses.
+ * <br>
+ * The cache key of a request is made of the text of its {@link SystemMessage}s and of its last {@link UserMessage}.
+ * The other messages (e.g. previous turns of a conversation with chat memory) are the context of the request:
+ * a cached response is only returned for a request with exactly the same context, so that a follow-up
+ * such as "tell me more" is never answered with the response given in another conversation.
+ * The context is stored as a hash in the metadata of the cached response, and used as a search {@link Filter}.
+ * <br>
+ * A request is looked up in two steps:
+ * <pre>
+ * - an exact match of the key, in an in-memory LRU map, which does not require an embedding;
+ * - a semantic match: the key is embedded using the {@link EmbeddingModel}, and the most similar key
+ *   with a score of at least {@code minScore} is searched in the {@link EmbeddingStore}.
+ * </pre>
+ * On a miss, the request is sent to the underlying model, and the response is stored in both.
+ * <br>
+ * Responses older than the {@code timeToLive} are ignored. Cached responses are returned with a zero
+ * {@link TokenUsage}, since no tokens were consumed to produce them.
+ * <br>
+ * Requests with tools, requests whose last user message is not a single text, and responses requesting
+ * the execution of tools are never cached.
+ */
+public class SemanticCachingChatLanguageModel implements ChatLanguageModel {
+
+    static final String RESPONSE_KEY = "cached_response";
+    static final String FINISH_REASON_KEY = "cached_response_finish_reason";
+    static final String CREATED_AT_KEY = "cached_response_created_at";
+    static final String CONTEXT_KEY = "cached_response_context";
+
+    private final ChatLanguageModel delegate;
+    private final EmbeddingModel embeddingModel;
+    private final EmbeddingStore<TextSegment> embeddingStore;
+    private final double minScore;
+    private final int maxResults;
+    private final Duration timeToLive;
+    private final Map<String, CachedResponse> exactMatches;
+    private final Clock clock;
+
+    private final AtomicLong exactHitCount = new AtomicLong();
+    private final AtomicLong semanticHitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    private SemanticCachingChatLanguageModel(Builder builder) {
+        this.delegate = ensureNotNull(builder.delegate, "delegate");
+        this.embeddingModel = ensureNotNull(builder.embeddingModel, "embeddingModel");
+        this.embeddingStore = ensureNotNull(builder.embeddingStore, "embeddingStore");
+        this.minScore = ensureBetween(getOrDefault(builder.minScore, 0.95), 0, 1, "minScore");
+        this.maxResults = ensureGreaterThanZero(getOrDefault(builder.maxResults, 3), "maxResults");
+        this.timeToLive = builder.timeToLive;
+        int maxExactMatches = ensureGreaterThanZero(getOrDefault(builder.maxExactMatches, 1000), "maxExactMatches");
+        this.exactMatches = new LinkedHashMap<String, CachedResponse>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > maxExactMatches;
+            }
+        };
+        this.clock = builder.clock != null ? builder.clock : Clock.systemUTC();
+    }
+
+    @Override
+    public Response<AiMessage> generate(List<ChatMessage> messages) {
+        CacheKey key = CacheKey.from(messages);
+        if (key == null) {
+            return delegate.generate(messages);
+        }
+
+        long now = clock.millis();
+
+        CachedResponse exactMatch;
+        synchronized (exactMatches) {
+            exactMatch = exactMatches.get(key.exactMatchKey());
+        }
+        if (exactMatch != null && !isExpired(exactMatch.createdAt, now)) {
+            exactHitCount.incrementAndGet();
+            return exactMatch.toResponse();
+        }
+
+        Embedding embedding = embeddingModel.embed(key.text).content();
+        CachedResponse semanticMatch = findSemanticMatch(embedding, key.context, now);
+        if (semanticMatch != null) {
+            semanticHitCount.incrementAndGet();
+            putExactMatch(key, semanticMatch);
+            return semanticMatch.toResponse();
+        }
+
+        missCount.incrementAndGet();
+        Response<AiMessage> response = delegate.generate(messages);
+        AiMessage aiMessage = response.content();
+        if (aiMessage != null && aiMessage.text() != null && !aiMessage.hasToolExecutionRequests()) {
+            CachedResponse cachedResponse = new CachedResponse(aiMessage.text(), response.finishReason(),
+                    clock.millis(), key.context);
+            embeddingStore.add(embedding, TextSegment.from(key.text, cachedResponse.toMetadata()));
+            putExactMatch(key, cachedResponse);
+        }
+        return response;
+    }
+
+    @Override
+    public Response<AiMessage> generate(List<ChatMessage> messages, List<ToolSpecification> toolSpecifications) {
+        return delegate.generate(messages, toolSpecifications);
+    }
+
+    @Override
+    public Response<AiMessage> generate(List<ChatMessage> messages, ToolSpecification toolSpecification) {
+        return delegate.generate(messages, toolSpecification);
+    }
+
+    private CachedResponse findSemanticMatch(Embedding embedding, String context, long now) {
+        // not all stores support filters, so the context of the matches is checked as well
+        Filter filter = context == null ? null : metadataKey(CONTEXT_KEY).isEqualTo(context);
+        EmbeddingSearchRequest request = new EmbeddingSearchRequest(embedding, maxResults, minScore, filter);
+        for (EmbeddingMatch<TextSegment> match : embeddingStore.search(request).matches()) {
+            TextSegment segment = match.embedded();
+            if (segment == null) {
+                continue;
+            }
+            CachedResponse cachedResponse = CachedResponse.from(segment.metadata());
+            if (cachedResponse != null
+                    && Objects.equals(cachedResponse.context, context)
+                    && !isExpired(cachedResponse.createdAt, now)) {
+                return cachedResponse;
+            }
+        }
+        return null;
+    }
+
+    private boolean isExpired(long createdAt, long now) {
+        return timeToLive != null && now - createdAt > timeToLive.toMillis();
+    }
+
+    private void putExactMatch(CacheKey key, CachedResponse cachedResponse) {
+        synchronized (exactMatches) {
+            exactMatches.put(key.exactMatchKey(), cachedResponse);
+        }
+    }
+
+    /**
+     * @return the number of requests answered from the cache, by an exact or a semantic match.
+     */
+    public long hitCount() {
+        return exactHitCount.get() + semanticHitCount.get();
+    }
+
+    /**
+     * @return the number of requests answered from the cache by an exact match of their key,
+     * without embedding it.
+     */
+    public long exactHitCount() {
+        return exactHitCount.get();
+    }
+
+    /**
+     * @return the number of requests answered from the cache by a semantic match.
+     */
+    public long semanticHitCount() {
+        return semanticHitCount.get();
+    }
+
+    /**
+     * @return the number of cacheable requests that were sent to the underlying model.
+     */
+    public long missCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return the fraction of cacheable requests that were answered from the cache, or 0 if there were none.
+     */
+    public double hitRate() {
+        long hitCount = hitCount();
+        long requestCount = hitCount + missCount.get();
+        return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * Creates a new SemanticCachingChatLanguageModel builder.
+     *
+     * @return the builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private static class CacheKey {
+
+        private final String text;
+        private final String context;
+
+        private CacheKey(String text, String context) {
+            this.text = text;
+            this.context = context;
+        }
+
+        String exactMatchKey() {
+            return context == null ? text : context + "\n" + text;
+        }
+
+        /**
+         * @return the key of the request, or {@code null} if the request cannot be cached.
+         */
+        static CacheKey from(List<ChatMessage> messages) {
+            int lastUserMessageIndex = -1;
+            for (int i = 0; i < messages.size(); i++) {
+                if (messages.get(i) instanceof UserMessage) {
+                    lastUserMessageIndex = i;
+                }
+            }
+            if (lastUserMessageIndex < 0) {
+                return null;
+            }
+            UserMessage lastUserMessage = (UserMessage) messages.get(lastUserMessageIndex);
+            if (!lastUserMessage.hasSingleText()) {
+                return null;
+            }
+
+            StringBuilder text = new StringBuilder();
+            StringBuilder context = new StringBuilder();
+            for (int i = 0; i < messages.size(); i++) {
+                ChatMessage message = messages.get(i);
+                if (message instanceof SystemMessage) {
+                    text.append(((SystemMessage) message).text()).append('\n');
+                } else if (i != lastUserMessageIndex) {
+                    context.append(message).append('\n');
+                }
+            }
+            text.append(lastUserMessage.singleText());
+
+            return new CacheKey(text.toString(), context.length() == 0 ? null : generateUUIDFrom(context.toString()));
+        }
+    }
+
+    private static class CachedResponse {
+
+        private final String text;
+        private final FinishReason finishReason;
+        private final long createdAt;
+        private final String context;
+
+        CachedResponse(String text, FinishReason finishReason, long createdAt, String context) {
+            this.text = text;
+            this.finishReason = finishReason;
+            this.createdAt = createdAt;
+            this.context = context;
+        }
+
+        Response<AiMessage> toResponse() {
+            return Response.from(AiMessage.from(text), new TokenUsage(0, 0), finishReason);
+        }
+
+        Metadata toMetadata() {
+            Metadata metadata = new Metadata()
+                    .put(RESPONSE_KEY, text)
+                    .put(CREATED_AT_KEY, createdAt);
+            if (finishReason != null) {
+                metadata.put(FINISH_REASON_KEY, finishReason.name());
+            }
+            if (context != null) {
+                metadata.put(CONTEXT_KEY, context);
+            }
+            return metadata;
+        }
+
+        static CachedResponse from(Metadata metadata) {
+            String text = metadata.getString(RESPONSE_KEY);
+            Long createdAt = metadata.getLong(CREATED_AT_KEY);
+            if (text == null || createdAt == null) {
+                return null;
+            }
+            String finishReason = metadata.getString(FINISH_REASON_KEY);
+            return new CachedResponse(text, finishReason == null ? null : FinishReason.valueOf(finishReason),
+                    createdAt, metadata.getString(CONTEXT_KEY));
+        }
+    }
+
+    /**
+     * SemanticCachingChatLanguageModel builder.
+     */
+    public static class Builder {
+
+        private ChatLanguageModel delegate;
+        private EmbeddingModel embeddingModel;
+        private EmbeddingStore<TextSegment> embeddingStore;
+        private Double minScore;
+        private Integer maxResults;
+        private Duration timeToLive;
+        private Integer maxExactMatches;
+        private Clock clock;
+
+        /**
+         * Creates a new SemanticCachingChatLanguageModel builder.
+         */
+        public Builder() {
+        }
+
+        /**
+         * Sets the model generating the responses that are not cached. Mandatory.
+         *
+         * @param delegate the chat model.
+         * @return {@code this}
+         */
+        public Builder delegate(ChatLanguageModel delegate) {
+            this.delegate = delegate;
+            return this;
+        }
+
+        /**
+         * Sets the model used to embed the cache keys. Mandatory.
+         *
+         * @param embeddingModel the embedding model.
+         * @return {@code this}
+         */
+        public Builder embeddingModel(EmbeddingModel embeddingModel) {
+            this.embeddingModel = embeddingModel;
+            return this;
+        }
+
+        /**
+         * Sets the store of the cached responses. Mandatory.
+         * <br>
+         * It should be used only for this cache, and only with the same embedding model.
+         *
+         * @param embeddingStore the embedding store.
+         * @return {@code this}
+         */
+        public Builder embeddingStore(EmbeddingStore<TextSegment> embeddingStore) {
+            this.embeddingStore = embeddingStore;
+            return this;
+        }
+
+        /**
+         * Sets the minimum similarity score of a cached request to be considered a match. Optional.
+         * Default: 0.95
+         *
+         * @param minScore the minimum score, between 0 and 1.
+         * @return {@code this}
+         */
+        public Builder minScore(Double minScore) {
+            this.minScore = minScore;
+            return this;
+        }
+
+        /**
+         * Sets the number of most similar cached requests that are checked for a response that is not expired.
+         * Optional. Default: 3
+         *
+         * @param maxResults the number of cached requests to check.
+         * @return {@code this}
+         */
+        public Builder maxResults(Integer maxResults) {
+            this.maxResults = maxResults;
+            return this;
+        }
+
+        /**
+         * Sets how long a cached response can be returned. Optional.
+         * By default, cached responses never expire.
+         *
+         * @param timeToLive the time to live of cached responses.
+         * @return {@code this}
+         */
+        public Builder timeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of keys kept in memory for exact matches. Optional.
+         * Default: 1000
+         *
+         * @param maxExactMatches the maximum number of keys.
+         * @return {@code this}
+         */
+        public Builder maxExactMatches(Integer maxExactMatches) {
+            this.maxExactMatches = maxExactMatches;
+            return this;
+        }
+
+        Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * Builds a new SemanticCachingChatLanguageModel.
+         *
+         * @return the new SemanticCachingChatLanguageModel.
+         */
+        public SemanticCachingChatLanguageModel build() {
+            return new SemanticCachingChatLanguageModel(this);
+        }
+    }
+}
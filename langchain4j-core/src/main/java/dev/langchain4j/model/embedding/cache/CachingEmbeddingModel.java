@@ -0,0 +1,235 @@
+package dev.langchain4j.model.embedding.cache;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureEq;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotBlank;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotEmpty;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+
+/**
+ * An {@link EmbeddingModel} that caches the embeddings computed by another {@link EmbeddingModel}.
+ * <br>
+ * Embeddings are cached under a hash (SHA-256) of the model name and of the text of each {@link TextSegment}.
+ * Only the segments whose embeddings are not cached yet are sent to the underlying model,
+ * in a single {@link EmbeddingModel#embedAll(List)} call, and the embeddings are returned in the order of the segments.
+ * <br>
+ * The metadata of the segments is not part of the key, so segments with the same text share the same embedding.
+ * <br>
+ * Several caches can be used as tiers (for example, an {@link InMemoryEmbeddingCache} in front of a
+ * {@link FileEmbeddingCache}): they are looked up in order, an embedding found in a tier is copied
+ * into the previous tiers, and newly computed embeddings are put in all tiers.
+ * <br>
+ * The returned {@link Response} carries the token usage and finish reason of the call to the underlying model,
+ * or no token usage when all embeddings were found in the caches.
+ */
+public class CachingEmbeddingModel implements EmbeddingModel {
+
+    private final EmbeddingModel delegate;
+    private final String modelName;
+    private final List<EmbeddingCache> caches;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Creates an instance of a {@code CachingEmbeddingModel}.
+     *
+     * @param delegate  the model computing the embeddings that are not cached.
+     * @param modelName the name of the model, part of the cache key.
+     * @param caches    the caches, from the fastest to the slowest.
+     */
+    public CachingEmbeddingModel(EmbeddingModel delegate, String modelName, List<EmbeddingCache> caches) {
+        this.delegate = ensureNotNull(delegate, "delegate");
+        this.modelName = ensureNotBlank(modelName, "modelName");
+        this.caches = new ArrayList<>(ensureNotEmpty(caches, "caches"));
+    }
+
+    @Override
+    public Response<List<Embedding>> embedAll(List<TextSegment> textSegments) {
+        ensureNotNull(textSegments, "textSegments");
+
+        Embedding[] embeddings = new Embedding[textSegments.size()];
+        Map<String, List<Integer>> missingIndexesByKey = new LinkedHashMap<>();
+        List<TextSegment> missingSegments = new ArrayList<>();
+
+        for (int i = 0; i < textSegments.size(); i++) {
+            TextSegment textSegment = textSegments.get(i);
+            String key = key(textSegment.text());
+            List<Integer> missingIndexes = missingIndexesByKey.get(key);
+            if (missingIndexes == null) {
+                embeddings[i] = get(key);
+                if (embeddings[i] != null) {
+                    hitCount.incrementAndGet();
+                    continue;
+                }
+                missingIndexes = new ArrayList<>();
+                missingIndexesByKey.put(key, missingIndexes);
+                missingSegments.add(textSegment);
+            }
+            missingIndexes.add(i);
+            missCount.incrementAndGet();
+        }
+
+        if (missingSegments.isEmpty()) {
+            return Response.from(asList(embeddings));
+        }
+
+        Response<List<Embedding>> response = delegate.embedAll(missingSegments);
+        List<Embedding> computed = response.content();
+        ensureEq(computed.size(), missingSegments.size(),
+                "The delegate returned %s embeddings for %s text segments", computed.size(), missingSegments.size());
+
+        int computedIndex = 0;
+        for (Map.Entry<String, List<Integer>> entry : missingIndexesByKey.entrySet()) {
+            Embedding embedding = computed.get(computedIndex++);
+            for (EmbeddingCache cache : caches) {
+                cache.put(entry.getKey(), embedding);
+            }
+            for (int index : entry.getValue()) {
+                embeddings[index] = embedding;
+            }
+        }
+
+        return Response.from(asList(embeddings), response.tokenUsage(), response.finishReason());
+    }
+
+    private Embedding get(String key) {
+        for (int tier = 0; tier < caches.size(); tier++) {
+            Embedding embedding = caches.get(tier).get(key);
+            if (embedding != null) {
+                for (int previousTier = 0; previousTier < tier; previousTier++) {
+                    caches.get(previousTier).put(key, embedding);
+                }
+                return embedding;
+            }
+        }
+        return null;
+    }
+
+    private String key(String text) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(modelName.getBytes(UTF_8));
+        digest.update((byte) 0);
+        byte[] hash = digest.digest(text.getBytes(UTF_8));
+
+        char[] hex = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            hex[2 * i] = Character.forDigit((hash[i] >> 4) & 0xF, 16);
+            hex[2 * i + 1] = Character.forDigit(hash[i] & 0xF, 16);
+        }
+        return new String(hex);
+    }
+
+    /**
+     * @return the number of text segments whose embeddings were found in the caches.
+     */
+    public long hitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return the number of text segments whose embeddings were not found in the caches.
+     * Identical texts missing from the caches are embedded only once, but each of them counts as a miss.
+     */
+    public long missCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Creates a new CachingEmbeddingModel builder.
+     *
+     * @return the builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * CachingEmbeddingModel builder.
+     */
+    public static class Builder {
+
+        private EmbeddingModel delegate;
+        private String modelName;
+        private List<EmbeddingCache> caches;
+
+        /**
+         * Creates a new CachingEmbeddingModel builder.
+         */
+        public Builder() {
+        }
+
+        /**
+         * Sets the model computing the embeddings that are not cached. Mandatory.
+         *
+         * @param delegate the embedding model.
+         * @return {@code this}
+         */
+        public Builder delegate(EmbeddingModel delegate) {
+            this.delegate = delegate;
+            return this;
+        }
+
+        /**
+         * Sets the name of the model, which is part of the cache key. Mandatory.
+         * <br>
+         * It should identify the model and any setting that affects the embeddings (e.g. the dimension),
+         * so that embeddings computed by different models never get mixed up in a persistent cache.
+         *
+         * @param modelName the model name.
+         * @return {@code this}
+         */
+        public Builder modelName(String modelName) {
+            this.modelName = modelName;
+            return this;
+        }
+
+        /**
+         * Sets the caches, from the fastest to the slowest. Mandatory.
+         *
+         * @param caches the caches.
+         * @return {@code this}
+         */
+        public Builder caches(List<EmbeddingCache> caches) {
+            this.caches = caches;
+            return this;
+        }
+
+        /**
+         * Sets the caches, from the fastest to the slowest. Mandatory.
+         *
+         * @param caches the caches.
+         * @return {@code this}
+         */
+        public Builder caches(EmbeddingCache... caches) {
+            return caches(asList(caches));
+        }
+
+        /**
+         * Builds the CachingEmbeddingModel.
+         *
+         * @return the CachingEmbeddingModel.
+         */
+        public CachingEmbeddingModel build() {
+            return new CachingEmbeddingModel(delegate, modelName, caches);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package dev.langchain4j.model.embedding.cache;
+
+import dev.langchain4j.data.embedding.Embedding;
+
+/**
+ * Stores embeddings computed by an {@link dev.langchain4j.model.embedding.EmbeddingModel}, so that they do not have
+ * to be computed again. See {@link CachingEmbeddingModel}.
+ * <br>
+ * Keys are opaque strings computed by {@link CachingEmbeddingModel}
+ * (a hash of the model name and of the text of the segment).
+ * <br>
+ * Implementations must be thread-safe.
+ */
+public interface EmbeddingCache {
+
+    /**
+     * Returns the embedding cached under the given key.
+     *
+     * @param key the key.
+     * @return the cached embedding, or {@code null} if there is none.
+     */
+    Embedding get(String key);
+
+    /**
+     * Caches an embedding under the given key. An implementation is free to evict it later.
+     *
+     * @param key       the key.
+     * @param embedding the embedding.
+     */
+    void put(String key, Embedding embedding);
+}
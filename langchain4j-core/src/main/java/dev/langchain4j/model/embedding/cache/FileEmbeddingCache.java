@@ -0,0 +1,183 @@
+package dev.langchain4j.model.embedding.cache;
+
+import dev.langchain4j.data.embedding.Embedding;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static dev.langchain4j.internal.Exceptions.illegalArgument;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Implementation of {@link EmbeddingCache} that persists embeddings in a local file,
+ * so that they survive application restarts.
+ * <p>
+ * The file is an append-only log of (key, embedding) records. When the cache is opened, the file is scanned once
+ * to find the position of each record; only these positions are kept in memory, and embeddings are read from the
+ * file when requested. An incomplete record at the end of the file (e.g. after a crash) is discarded.
+ * <p>
+ * Records are written to the file (but not forced to the storage device) as soon as they are put.
+ * The cache should be closed when it is not used anymore.
+ * A file must not be opened by more than one cache at a time.
+ */
+public class FileEmbeddingCache implements EmbeddingCache, AutoCloseable {
+
+    private static final int MAGIC = 0x4C344A43; // "L4JC"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+    private final FileChannel channel;
+    private final Map<String, Long> positions = new HashMap<>();
+    private long end;
+
+    /**
+     * Opens the cache stored in the given file, creating the file if it does not exist.
+     *
+     * @param file the file.
+     */
+    public FileEmbeddingCache(Path file) {
+        ensureNotNull(file, "file");
+        try {
+            this.channel = FileChannel.open(file, CREATE, READ, WRITE);
+            if (channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+                header.flip();
+                write(header, 0);
+                this.end = HEADER_SIZE;
+            } else {
+                this.end = scan(file);
+                channel.truncate(end);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private long scan(Path file) throws IOException {
+        channel.position(0);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 1 << 16));
+        if (channel.size() < HEADER_SIZE || in.readInt() != MAGIC) {
+            throw illegalArgument("'%s' is not an embedding cache file", file);
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw illegalArgument("Unsupported version of the embedding cache file '%s': %s", file, version);
+        }
+
+        long position = HEADER_SIZE;
+        try {
+            while (true) {
+                byte[] key = new byte[in.readInt()];
+                in.readFully(key);
+                int dimension = in.readInt();
+                skipFully(in, (long) dimension * Float.BYTES);
+
+                long vectorPosition = position + Integer.BYTES + key.length;
+                positions.put(new String(key, UTF_8), vectorPosition);
+                position = vectorPosition + Integer.BYTES + (long) dimension * Float.BYTES;
+            }
+        } catch (EOFException e) {
+            // end of the file, possibly in the middle of a record that was not completely written
+            return position;
+        }
+    }
+
+    private static void skipFully(DataInputStream in, long bytes) throws IOException {
+        while (bytes > 0) {
+            long skipped = in.skip(bytes);
+            if (skipped <= 0) {
+                if (in.read() < 0) {
+                    throw new EOFException();
+                }
+                skipped = 1;
+            }
+            bytes -= skipped;
+        }
+    }
+
+    @Override
+    public synchronized Embedding get(String key) {
+        Long position = positions.get(key);
+        if (position == null) {
+            return null;
+        }
+        try {
+            ByteBuffer dimension = ByteBuffer.allocate(Integer.BYTES);
+            read(dimension, position);
+            float[] vector = new float[dimension.getInt(0)];
+            ByteBuffer bytes = ByteBuffer.allocate(vector.length * Float.BYTES);
+            read(bytes, position + Integer.BYTES);
+            bytes.flip();
+            bytes.asFloatBuffer().get(vector);
+            return Embedding.from(vector);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public synchronized void put(String key, Embedding embedding) {
+        ensureNotNull(key, "key");
+        ensureNotNull(embedding, "embedding");
+        if (positions.containsKey(key)) {
+            return;
+        }
+
+        byte[] keyBytes = key.getBytes(UTF_8);
+        float[] vector = embedding.vector();
+        ByteBuffer record = ByteBuffer.allocate(2 * Integer.BYTES + keyBytes.length + vector.length * Float.BYTES);
+        record.putInt(keyBytes.length).put(keyBytes).putInt(vector.length);
+        record.asFloatBuffer().put(vector);
+        record.clear();
+        try {
+            write(record, end);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        positions.put(key, end + Integer.BYTES + keyBytes.length);
+        end += record.capacity();
+    }
+
+    /**
+     * @return the number of embeddings cached.
+     */
+    public synchronized int size() {
+        return positions.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void read(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    private void write(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package dev.langchain4j.model.embedding.cache;
+
+import dev.langchain4j.data.embedding.Embedding;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+/**
+ * Implementation of {@link EmbeddingCache} that keeps up to a given number of embeddings in memory.
+ * When the cache is full, the least recently used embedding is evicted.
+ * <p>
+ * This cache does not persist data across application restarts, see {@link FileEmbeddingCache} for that.
+ */
+public class InMemoryEmbeddingCache implements EmbeddingCache {
+
+    private final Map<String, Embedding> embeddings;
+
+    /**
+     * Creates a new {@link InMemoryEmbeddingCache}.
+     *
+     * @param maxSize the maximum number of embeddings to keep.
+     */
+    public InMemoryEmbeddingCache(int maxSize) {
+        ensureGreaterThanZero(maxSize, "maxSize");
+        this.embeddings = new LinkedHashMap<String, Embedding>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Embedding> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Embedding get(String key) {
+        return embeddings.get(key);
+    }
+
+    @Override
+    public synchronized void put(String key, Embedding embedding) {
+        embeddings.put(ensureNotNull(key, "key"), ensureNotNull(embedding, "embedding"));
+    }
+
+    /**
+     * @return the number of embeddings currently cached.
+     */
+    public synchronized int size() {
+        return embeddings.size();
+    }
+}
@@ -2,7 +2,10 @@ package dev.langchain4j.model.input;
 
 import dev.langchain4j.spi.prompt.PromptTemplateFactory;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
@@ -13,41 +16,86 @@ import static dev.langchain4j.internal.ValidationUtils.ensureNotBlank;
 
 class DefaultPromptTemplateFactory implements PromptTemplateFactory {
 
+    /**
+     * The maximum number of compiled templates that are kept for reuse.
+     */
+    static final int MAX_CACHED_TEMPLATES = 256;
+
+    private final Map<String, DefaultTemplate> cache = new LinkedHashMap<String, DefaultTemplate>(16, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, DefaultTemplate> eldest) {
+            return size() > MAX_CACHED_TEMPLATES;
+        }
+    };
+
     @Override
     public DefaultTemplate create(PromptTemplateFactory.Input input) {
-        return new DefaultTemplate(input.getTemplate());
+        String template = input.getTemplate();
+        synchronized (cache) {
+            DefaultTemplate cached = cache.get(template);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        DefaultTemplate compiled = new DefaultTemplate(template);
+        synchronized (cache) {
+            cache.put(template, compiled);
+        }
+        return compiled;
     }
 
+    /**
+     * A template compiled into literal segments and variable slots:
+     * {@code literals[0] {{variables[0]}} literals[1] ... {{variables[n - 1]}} literals[n]}.
+     * It is rendered in a single pass, so values are inserted as they are,
+     * even if they contain something that looks like a variable.
+     */
     static class DefaultTemplate implements Template {
 
         private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\{\\{(.+?)}}");
 
-        private final String template;
+        private final String[] literals;
+        private final String[] variables;
         private final Set<String> allVariables;
+        private final int literalsLength;
 
         public DefaultTemplate(String template) {
-            this.template = ensureNotBlank(template, "template");
-            this.allVariables = extractVariables(template);
-        }
+            ensureNotBlank(template, "template");
 
-        private static Set<String> extractVariables(String template) {
-            Set<String> variables = new HashSet<>();
+            List<String> literals = new ArrayList<>();
+            List<String> variables = new ArrayList<>();
             Matcher matcher = VARIABLE_PATTERN.matcher(template);
+            int literalStart = 0;
             while (matcher.find()) {
+                literals.add(template.substring(literalStart, matcher.start()));
                 variables.add(matcher.group(1));
+                literalStart = matcher.end();
             }
-            return variables;
+            literals.add(template.substring(literalStart));
+
+            this.literals = literals.toArray(new String[0]);
+            this.variables = variables.toArray(new String[0]);
+            this.allVariables = new HashSet<>(variables);
+            this.literalsLength = literals.stream().mapToInt(String::length).sum();
         }
 
         public String render(Map<String, Object> variables) {
             ensureAllVariablesProvided(variables);
+            ensureNoNullValues(variables);
 
-            String result = template;
-            for (Map.Entry<String, Object> entry : variables.entrySet()) {
-                result = replaceAll(result, entry.getKey(), entry.getValue());
+            String[] values = new String[this.variables.length];
+            int length = literalsLength;
+            for (int i = 0; i < values.length; i++) {
+                values[i] = toString(this.variables[i], variables.get(this.variables[i]));
+                length += values[i].length();
             }
 
-            return result;
+            StringBuilder result = new StringBuilder(length);
+            for (int i = 0; i < values.length; i++) {
+                result.append(literals[i]).append(values[i]);
+            }
+            return result.append(literals[values.length]).toString();
         }
 
         private void ensureAllVariablesProvided(Map<String, Object> providedVariables) {
@@ -58,15 +106,20 @@ class DefaultPromptTemplateFactory implements PromptTemplateFactory {
             }
         }
 
-        private static String replaceAll(String template, String variable, Object value) {
-            if (value == null || value.toString() == null) {
-                throw illegalArgument("Value for the variable '%s' is null", variable);
+        private static void ensureNoNullValues(Map<String, Object> providedVariables) {
+            for (Map.Entry<String, Object> entry : providedVariables.entrySet()) {
+                if (entry.getValue() == null) {
+                    throw illegalArgument("Value for the variable '%s' is null", entry.getKey());
+                }
             }
-            return template.replace(inDoubleCurlyBrackets(variable), value.toString());
         }
 
-        private static String inDoubleCurlyBrackets(String variable) {
-            return "{{" + variable + "}}";
+        private static String toString(String variable, Object value) {
+            String string = value.toString();
+            if (string == null) {
+                throw illegalArgument("Value for the variable '%s' is null", variable);
+            }
+            return string;
         }
     }
 }
@@ -17,18 +17,34 @@ import lombok.Builder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 import static dev.langchain4j.internal.Utils.getOrDefault;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+import static java.util.Collections.emptyList;
 import static java.util.concurrent.CompletableFuture.allOf;
 import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.stream.Collectors.*;
 
 /**
@@ -89,7 +105,27 @@ import static java.util.stream.Collectors.*;
  * <br>
  * <br>
  * By default, query routing and content retrieval are performed concurrently (for efficiency)
- * using {@link Executors#newCachedThreadPool()}, but you can provide a custom {@link Executor}.
+ * using a bounded pool of daemon threads (twice the number of available processors, at least 4),
+ * but you can provide a custom {@link Executor}.
+ * <br>
+ * <br>
+ * {@link #augmentAsync(UserMessage, Metadata)} runs the whole flow, including query transformation
+ * and content aggregation, on the executor without blocking the calling thread.
+ * <br>
+ * <br>
+ * Optionally, a {@code retrieverTimeout} can be set: a {@link ContentRetriever} that does not return
+ * within this time (counted from when its retrieval is scheduled) contributes no contents,
+ * and the user message is augmented with the contents of the other retrievers.
+ * <br>
+ * Optionally, a {@code hedgeDelay} can be set: when a {@link ContentRetriever} does not return within this time,
+ * a second, identical retrieval is started, and the first of the two to complete successfully is used.
+ * The retrieval fails only when every started attempt has failed.
+ * This reduces tail latency of retrievers with occasional slow responses, at the cost of extra requests.
+ * <br>
+ * Optionally, {@code batchQueries} can be enabled: when the {@link QueryTransformer} produces multiple {@link Query}s,
+ * all the queries routed to the same {@link ContentRetriever} are then retrieved with a single call to
+ * {@link ContentRetriever#retrieveAll(List)} (e.g. embedding and searching them together)
+ * instead of one call per query. The timeout and hedging then apply to the call as a whole.
  *
  * @see DefaultQueryTransformer
  * @see DefaultQueryRouter
@@ -100,33 +136,133 @@ public class DefaultRetrievalAugmentor implements RetrievalAugmentor {
 
     private static final Logger log = LoggerFactory.getLogger(DefaultRetrievalAugmentor.class);
 
+    private static final ThreadFactory DAEMON_THREAD_FACTORY = runnable -> {
+        Thread thread = new Thread(runnable, "retrieval-augmentor");
+        thread.setDaemon(true);
+        return thread;
+    };
+
+    /**
+     * Schedules retriever timeouts and hedged requests. The scheduled tasks only complete futures
+     * or submit retrievals to the executor, so a single thread is enough.
+     */
+    private static final ScheduledThreadPoolExecutor TIMER = createTimer();
+
+    private static ScheduledThreadPoolExecutor createTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "retrieval-augmentor-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
     private final QueryTransformer queryTransformer;
     private final QueryRouter queryRouter;
     private final ContentAggregator contentAggregator;
     private final ContentInjector contentInjector;
     private final Executor executor;
+    private final Duration retrieverTimeout;
+    private final Duration hedgeDelay;
+    private final boolean batchQueries;
 
-    @Builder
     public DefaultRetrievalAugmentor(QueryTransformer queryTransformer,
                                      QueryRouter queryRouter,
                                      ContentAggregator contentAggregator,
                                      ContentInjector contentInjector,
                                      Executor executor) {
+        this(queryTransformer, queryRouter, contentAggregator, contentInjector, executor, null, null);
+    }
+
+    public DefaultRetrievalAugmentor(QueryTransformer queryTransformer,
+                                     QueryRouter queryRouter,
+                                     ContentAggregator contentAggregator,
+                                     ContentInjector contentInjector,
+                                     Executor executor,
+                                     Duration retrieverTimeout,
+                                     Duration hedgeDelay) {
+        this(queryTransformer, queryRouter, contentAggregator, contentInjector, executor,
+                retrieverTimeout, hedgeDelay, null);
+    }
+
+    @Builder
+    public DefaultRetrievalAugmentor(QueryTransformer queryTransformer,
+                                     QueryRouter queryRouter,
+                                     ContentAggregator contentAggregator,
+                                     ContentInjector contentInjector,
+                                     Executor executor,
+                                     Duration retrieverTimeout,
+                                     Duration hedgeDelay,
+                                     Boolean batchQueries) {
         this.queryTransformer = getOrDefault(queryTransformer, DefaultQueryTransformer::new);
         this.queryRouter = ensureNotNull(queryRouter, "queryRouter");
         this.contentAggregator = getOrDefault(contentAggregator, DefaultContentAggregator::new);
         this.contentInjector = getOrDefault(contentInjector, DefaultContentInjector::new);
-        this.executor = getOrDefault(executor, Executors::newCachedThreadPool);
+        this.executor = getOrDefault(executor, DefaultRetrievalAugmentor::createDefaultExecutor);
+        this.retrieverTimeout = retrieverTimeout;
+        this.hedgeDelay = hedgeDelay;
+        this.batchQueries = getOrDefault(batchQueries, false);
+    }
+
+    private static ExecutorService createDefaultExecutor() {
+        int threads = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, SECONDS,
+                new LinkedBlockingQueue<>(), DAEMON_THREAD_FACTORY);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
     @Override
     public UserMessage augment(UserMessage userMessage, Metadata metadata) {
 
+        Collection<Query> queries = transform(userMessage, metadata);
+
+        Map<Query, Collection<List<Content>>> queryToContents = retrieveFromAll(queries).join();
+
+        return aggregateAndInject(queryToContents, userMessage);
+    }
+
+    /**
+     * Augments the provided {@link UserMessage} with retrieved content, without blocking the calling thread.
+     * All steps of the flow are performed using the {@link Executor} of this augmentor.
+     *
+     * @param userMessage The {@link UserMessage} to be augmented.
+     * @param metadata    The {@link Metadata} that may be useful or necessary for retrieval and augmentation.
+     * @return A future that completes with the augmented {@link UserMessage}.
+     */
+    @Override
+    public CompletableFuture<UserMessage> augmentAsync(UserMessage userMessage, Metadata metadata) {
+        return supplyAsync(() -> transform(userMessage, metadata), executor)
+                .thenCompose(this::retrieveFromAll)
+                .thenApplyAsync(queryToContents -> aggregateAndInject(queryToContents, userMessage), executor);
+    }
+
+    private Collection<Query> transform(UserMessage userMessage, Metadata metadata) {
         Query originalQuery = Query.from(userMessage.text(), metadata);
 
         Collection<Query> queries = queryTransformer.transform(originalQuery);
         logQueries(originalQuery, queries);
 
+        return queries;
+    }
+
+    private UserMessage aggregateAndInject(Map<Query, Collection<List<Content>>> queryToContents,
+                                           UserMessage userMessage) {
+        List<Content> contents = contentAggregator.aggregate(queryToContents);
+        log(queryToContents, contents);
+
+        UserMessage augmentedUserMessage = contentInjector.inject(contents, userMessage);
+        log(augmentedUserMessage);
+
+        return augmentedUserMessage;
+    }
+
+    private CompletableFuture<Map<Query, Collection<List<Content>>>> retrieveFromAll(Collection<Query> queries) {
+        if (batchQueries && queries.size() > 1) {
+            return retrieveInBatches(queries);
+        }
+
         Map<Query, CompletableFuture<Collection<List<Content>>>> queryToFutureContents = new ConcurrentHashMap<>();
         queries.forEach(query -> {
             CompletableFuture<Collection<List<Content>>> futureContents =
@@ -140,21 +276,13 @@ public class DefaultRetrievalAugmentor implements RetrievalAugmentor {
             queryToFutureContents.put(query, futureContents);
         });
 
-        Map<Query, Collection<List<Content>>> queryToContents = join(queryToFutureContents);
-
-        List<Content> contents = contentAggregator.aggregate(queryToContents);
-        log(queryToContents, contents);
-
-        UserMessage augmentedUserMessage = contentInjector.inject(contents, userMessage);
-        log(augmentedUserMessage);
-
-        return augmentedUserMessage;
+        return join(queryToFutureContents);
     }
 
     private CompletableFuture<Collection<List<Content>>> retrieveFromAll(Collection<ContentRetriever> retrievers,
                                                                          Query query) {
         List<CompletableFuture<List<Content>>> futureContents = retrievers.stream()
-                .map(retriever -> supplyAsync(() -> retrieve(retriever, query), executor))
+                .map(retriever -> retrieveWithinLimits(retriever, query))
                 .collect(toList());
 
         return allOf(futureContents.toArray(new CompletableFuture[0]))
@@ -165,13 +293,157 @@ public class DefaultRetrievalAugmentor implements RetrievalAugmentor {
                 );
     }
 
+    private CompletableFuture<List<Content>> retrieveWithinLimits(ContentRetriever retriever, Query query) {
+        return withinLimits(() -> retrieve(retriever, query), emptyList(), retriever, "query '" + query.text() + "'");
+    }
+
+    /**
+     * Routes all the queries, then retrieves the queries routed to each retriever with a single call
+     * to {@link ContentRetriever#retrieveAll(List)}.
+     */
+    private CompletableFuture<Map<Query, Collection<List<Content>>>> retrieveInBatches(Collection<Query> queries) {
+        Map<Query, CompletableFuture<Collection<ContentRetriever>>> queryToFutureRetrievers = new LinkedHashMap<>();
+        queries.forEach(query -> queryToFutureRetrievers.put(query, supplyAsync(() -> {
+            Collection<ContentRetriever> retrievers = queryRouter.route(query);
+            log(query, retrievers);
+            return retrievers;
+        }, executor)));
+
+        return allOf(queryToFutureRetrievers.values().toArray(new CompletableFuture[0]))
+                .thenCompose(ignored -> {
+                    Map<Query, Collection<ContentRetriever>> queryToRetrievers = new LinkedHashMap<>();
+                    queryToFutureRetrievers.forEach((query, futureRetrievers) ->
+                            queryToRetrievers.put(query, futureRetrievers.join()));
+                    return retrieveInBatches(queryToRetrievers);
+                });
+    }
+
+    private CompletableFuture<Map<Query, Collection<List<Content>>>> retrieveInBatches(
+            Map<Query, Collection<ContentRetriever>> queryToRetrievers) {
+
+        Map<ContentRetriever, List<Query>> retrieverToQueries = new LinkedHashMap<>();
+        queryToRetrievers.forEach((query, retrievers) -> {
+            for (ContentRetriever retriever : retrievers) {
+                retrieverToQueries.computeIfAbsent(retriever, ignored -> new ArrayList<>()).add(query);
+            }
+        });
+
+        Map<ContentRetriever, CompletableFuture<List<List<Content>>>> retrieverToFutureContents = new HashMap<>();
+        retrieverToQueries.forEach((retriever, queries) ->
+                retrieverToFutureContents.put(retriever, retrieveAllWithinLimits(retriever, queries)));
+
+        return allOf(retrieverToFutureContents.values().toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    Map<Query, Collection<List<Content>>> queryToContents = new HashMap<>();
+                    queryToRetrievers.forEach((query, retrievers) -> {
+                        List<List<Content>> contents = new ArrayList<>(retrievers.size());
+                        for (ContentRetriever retriever : retrievers) {
+                            int index = retrieverToQueries.get(retriever).indexOf(query);
+                            contents.add(retrieverToFutureContents.get(retriever).join().get(index));
+                        }
+                        queryToContents.put(query, contents);
+                    });
+                    return queryToContents;
+                });
+    }
+
+    private CompletableFuture<List<List<Content>>> retrieveAllWithinLimits(ContentRetriever retriever,
+                                                                           List<Query> queries) {
+        List<List<Content>> noContents = queries.stream()
+                .map(query -> Collections.<Content>emptyList())
+                .collect(toList());
+        String description = "queries " + queries.stream()
+                .map(query -> "'" + query.text() + "'")
+                .collect(joining(", "));
+        return withinLimits(() -> retrieveAll(retriever, queries), noContents, retriever, description);
+    }
+
+    private <T> CompletableFuture<T> withinLimits(Supplier<T> retrieval,
+                                                  T noContents,
+                                                  ContentRetriever retriever,
+                                                  String queries) {
+        CompletableFuture<T> futureContents = supplyAsync(retrieval, executor);
+        if (hedgeDelay != null) {
+            futureContents = hedge(futureContents, retrieval, retriever, queries);
+        }
+        if (retrieverTimeout != null) {
+            futureContents = withTimeout(futureContents, noContents, retriever, queries);
+        }
+        return futureContents;
+    }
+
+    private <T> CompletableFuture<T> hedge(CompletableFuture<T> futureContents,
+                                           Supplier<T> retrieval,
+                                           ContentRetriever retriever,
+                                           String queries) {
+        CompletableFuture<T> firstContents = new CompletableFuture<>();
+        // Attempts that are still running. Once it drops to 0, every launched attempt has failed
+        // and no hedged request is sent anymore.
+        AtomicInteger runningAttempts = new AtomicInteger(1);
+        BiConsumer<T, Throwable> completeAttempt = (contents, error) -> {
+            if (error == null) {
+                firstContents.complete(contents);
+            } else if (runningAttempts.decrementAndGet() == 0) {
+                firstContents.completeExceptionally(error);
+            }
+        };
+        futureContents.whenComplete(completeAttempt);
+
+        ScheduledFuture<?> hedgedRequest = TIMER.schedule(() -> {
+            if (!firstContents.isDone() && runningAttempts.getAndUpdate(n -> n == 0 ? 0 : n + 1) > 0) {
+                log.debug("Retriever '{}' did not respond within {} ms to {}, sending a hedged request",
+                        retriever, hedgeDelay.toMillis(), queries);
+                supplyAsync(retrieval, executor).whenComplete(completeAttempt);
+            }
+        }, hedgeDelay.toMillis(), MILLISECONDS);
+        firstContents.whenComplete((contents, error) -> hedgedRequest.cancel(false));
+
+        return firstContents;
+    }
+
+    private <T> CompletableFuture<T> withTimeout(CompletableFuture<T> futureContents,
+                                                 T noContents,
+                                                 ContentRetriever retriever,
+                                                 String queries) {
+        CompletableFuture<T> contentsInTime = new CompletableFuture<>();
+
+        ScheduledFuture<?> timeout = TIMER.schedule(() -> {
+            if (contentsInTime.complete(noContents)) {
+                log.warn("Retriever '{}' did not respond within {} ms to {}, continuing without its contents",
+                        retriever, retrieverTimeout.toMillis(), queries);
+            }
+        }, retrieverTimeout.toMillis(), MILLISECONDS);
+        futureContents.whenComplete((contents, error) -> {
+            timeout.cancel(false);
+            complete(contentsInTime, contents, error);
+        });
+
+        return contentsInTime;
+    }
+
+    private static <T> void complete(CompletableFuture<T> future, T value, Throwable error) {
+        if (error != null) {
+            future.completeExceptionally(error);
+        } else {
+            future.complete(value);
+        }
+    }
+
     private static List<Content> retrieve(ContentRetriever retriever, Query query) {
         List<Content> contents = retriever.retrieve(query);
         log(query, retriever, contents);
         return contents;
     }
 
-    private static Map<Query, Collection<List<Content>>> join(
+    private static List<List<Content>> retrieveAll(ContentRetriever retriever, List<Query> queries) {
+        List<List<Content>> contents = retriever.retrieveAll(queries);
+        for (int i = 0; i < queries.size(); i++) {
+            log(queries.get(i), retriever, contents.get(i));
+        }
+        return contents;
+    }
+
+    private static CompletableFuture<Map<Query, Collection<List<Content>>>> join(
             Map<Query, CompletableFuture<Collection<List<Content>>>> queryToFutureContents) {
         return allOf(queryToFutureContents.values().toArray(new CompletableFuture[0]))
                 .thenApply(ignored ->
@@ -180,7 +452,7 @@ public class DefaultRetrievalAugmentor implements RetrievalAugmentor {
                                         Map.Entry::getKey,
                                         entry -> entry.getValue().join()
                                 ))
-                ).join();
+                );
     }
 
     private static void logQueries(Query originalQuery, Collection<Query> queries) {
@@ -4,6 +4,8 @@ import dev.langchain4j.Experimental;
 import dev.langchain4j.data.message.UserMessage;
 import dev.langchain4j.rag.query.Metadata;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Augments the provided {@link UserMessage} with retrieved content.
  * <br>
@@ -24,4 +26,24 @@ public interface RetrievalAugmentor {
      * @return The augmented {@link UserMessage}.
      */
     UserMessage augment(UserMessage userMessage, Metadata metadata);
+
+    /**
+     * Augments the provided {@link UserMessage} with retrieved content, asynchronously.
+     * <br>
+     * By default, {@link #augment(UserMessage, Metadata)} is called on the calling thread.
+     * Implementations that can retrieve content without blocking should override this method.
+     *
+     * @param userMessage The {@link UserMessage} to be augmented.
+     * @param metadata    The {@link Metadata} that may be useful or necessary for retrieval and augmentation.
+     * @return A future that completes with the augmented {@link UserMessage}.
+     */
+    default CompletableFuture<UserMessage> augmentAsync(UserMessage userMessage, Metadata metadata) {
+        CompletableFuture<UserMessage> future = new CompletableFuture<>();
+        try {
+            future.complete(augment(userMessage, metadata));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
 }
@@ -3,6 +3,7 @@ package dev.langchain4j.rag.content.retriever;
 import dev.langchain4j.rag.content.Content;
 import dev.langchain4j.rag.query.Query;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -34,4 +35,22 @@ public interface ContentRetriever {
      * @return A list of retrieved {@link Content}s.
      */
     List<Content> retrieve(Query query);
+
+    /**
+     * Retrieves relevant {@link Content}s for each of the given {@link Query}s
+     * (see {@link #retrieve(Query)}).
+     * <br>
+     * Implementations can override it to serve all the queries together, e.g. embedding them in a single call.
+     * By default, the queries are retrieved one by one.
+     *
+     * @param queries The {@link Query}s to use for retrieval.
+     * @return The lists of retrieved {@link Content}s, in the order of the queries.
+     */
+    default List<List<Content>> retrieveAll(List<Query> queries) {
+        List<List<Content>> contents = new ArrayList<>(queries.size());
+        for (Query query : queries) {
+            contents.add(retrieve(query));
+        }
+        return contents;
+    }
 }
@@ -13,6 +13,7 @@ import dev.langchain4j.store.embedding.EmbeddingStore;
 import dev.langchain4j.store.embedding.filter.Filter;
 import lombok.Builder;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.function.Function;
@@ -167,15 +168,43 @@ public class EmbeddingStoreContentRetriever implements ContentRetriever {
 
         Embedding embeddedQuery = embeddingModel.embed(query.text()).content();
 
-        EmbeddingSearchRequest searchRequest = EmbeddingSearchRequest.builder()
+        EmbeddingSearchResult<TextSegment> searchResult = embeddingStore.search(toSearchRequest(query, embeddedQuery));
+
+        return toContents(searchResult);
+    }
+
+    /**
+     * Embeds all the queries with a single call to the {@link EmbeddingModel},
+     * then searches them with a single call to {@link EmbeddingStore#searchAll(List)}.
+     */
+    @Override
+    public List<List<Content>> retrieveAll(List<Query> queries) {
+
+        List<TextSegment> querySegments = queries.stream()
+                .map(query -> TextSegment.from(query.text()))
+                .collect(toList());
+        List<Embedding> embeddedQueries = embeddingModel.embedAll(querySegments).content();
+
+        List<EmbeddingSearchRequest> searchRequests = new ArrayList<>(queries.size());
+        for (int i = 0; i < queries.size(); i++) {
+            searchRequests.add(toSearchRequest(queries.get(i), embeddedQueries.get(i)));
+        }
+
+        return embeddingStore.searchAll(searchRequests).stream()
+                .map(EmbeddingStoreContentRetriever::toContents)
+                .collect(toList());
+    }
+
+    private EmbeddingSearchRequest toSearchRequest(Query query, Embedding embeddedQuery) {
+        return EmbeddingSearchRequest.builder()
                 .queryEmbedding(embeddedQuery)
                 .maxResults(maxResultsProvider.apply(query))
                 .minScore(minScoreProvider.apply(query))
                 .filter(filterProvider.apply(query))
                 .build();
+    }
 
-        EmbeddingSearchResult<TextSegment> searchResult = embeddingStore.search(searchRequest);
-
+    private static List<Content> toContents(EmbeddingSearchResult<TextSegment> searchResult) {
         return searchResult.matches().stream()
                 .map(EmbeddingMatch::embedded)
                 .map(Content::from)
@@ -0,0 +1,73 @@
+package dev.langchain4j.store.embedding;
+
+import dev.langchain4j.Experimental;
+import dev.langchain4j.data.embedding.Embedding;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+/**
+ * Non-blocking counterpart of {@link EmbeddingStore}.
+ * <br>
+ * Stores whose clients are asynchronous implement it natively, so that many additions and searches
+ * can be in flight without a thread waiting for each of them.
+ * Any other {@link EmbeddingStore} can be adapted with {@link #from(EmbeddingStore, Executor)}.
+ *
+ * @param <Embedded> The class of the object that has been embedded. Typically, this is {@link dev.langchain4j.data.segment.TextSegment}.
+ */
+@Experimental
+public interface AsyncEmbeddingStore<Embedded> {
+
+    /**
+     * Adds multiple embeddings to the store.
+     *
+     * @param embeddings A list of embeddings to be added to the store.
+     * @return A future completed with the list of auto-generated IDs associated with the added embeddings,
+     * or completed exceptionally if they could not be added.
+     */
+    CompletableFuture<List<String>> addAllAsync(List<Embedding> embeddings);
+
+    /**
+     * Adds multiple embeddings and their corresponding contents that have been embedded to the store.
+     *
+     * @param embeddings A list of embeddings to be added to the store.
+     * @param embedded   A list of original contents that were embedded.
+     * @return A future completed with the list of auto-generated IDs associated with the added embeddings,
+     * or completed exceptionally if they could not be added.
+     */
+    CompletableFuture<List<String>> addAllAsync(List<Embedding> embeddings, List<Embedded> embedded);
+
+    /**
+     * Searches for the most similar (closest in the embedding space) {@link Embedding}s.
+     *
+     * @param request A request to search in an {@link EmbeddingStore}. Contains all search criteria.
+     * @return A future completed with an {@link EmbeddingSearchResult} containing all found {@link Embedding}s,
+     * or completed exceptionally if the search failed.
+     * @see EmbeddingStore#search(EmbeddingSearchRequest)
+     */
+    CompletableFuture<EmbeddingSearchResult<Embedded>> searchAsync(EmbeddingSearchRequest request);
+
+    /**
+     * Returns an {@link AsyncEmbeddingStore} for the provided {@link EmbeddingStore}.
+     * <br>
+     * If the store already implements {@link AsyncEmbeddingStore}, it is returned as is.
+     * Otherwise, its blocking methods are called on the provided {@link Executor}, which bounds how many of them
+     * can run at the same time.
+     *
+     * @param embeddingStore The embedding store.
+     * @param executor       The executor to call the blocking methods of the store on.
+     * @param <Embedded>     The class of the object that has been embedded.
+     * @return The {@link AsyncEmbeddingStore}.
+     */
+    @SuppressWarnings("unchecked")
+    static <Embedded> AsyncEmbeddingStore<Embedded> from(EmbeddingStore<Embedded> embeddingStore, Executor executor) {
+        ensureNotNull(embeddingStore, "embeddingStore");
+        if (embeddingStore instanceof AsyncEmbeddingStore) {
+            return (AsyncEmbeddingStore<Embedded>) embeddingStore;
+        }
+        return new ExecutorAsyncEmbeddingStore<>(embeddingStore, ensureNotNull(executor, "executor"));
+    }
+}
@@ -4,6 +4,7 @@ import dev.langchain4j.Experimental;
 import dev.langchain4j.data.embedding.Embedding;
 import dev.langchain4j.store.embedding.filter.Filter;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -73,6 +74,24 @@ public interface EmbeddingStore<Embedded> {
         return new EmbeddingSearchResult<>(matches);
     }
 
+    /**
+     * Performs multiple searches at once (see {@link #search(EmbeddingSearchRequest)}).
+     * <br>
+     * Implementations can override it to serve all the requests in a single pass over the data,
+     * or with a single call to a multi-search endpoint. By default, the requests are searched one by one.
+     *
+     * @param requests The requests to search in an {@link EmbeddingStore}.
+     * @return The {@link EmbeddingSearchResult}s, in the order of the requests.
+     */
+    @Experimental
+    default List<EmbeddingSearchResult<Embedded>> searchAll(List<EmbeddingSearchRequest> requests) {
+        List<EmbeddingSearchResult<Embedded>> results = new ArrayList<>(requests.size());
+        for (EmbeddingSearchRequest request : requests) {
+            results.add(search(request));
+        }
+        return results;
+    }
+
     /**
      * Finds the most relevant (closest in space) embeddings to the provided reference embedding.
      * By default, minScore is set to 0, which means that the results may include embeddings with low relevance.
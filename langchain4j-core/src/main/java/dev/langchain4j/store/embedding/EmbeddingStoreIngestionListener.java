@@ -0,0 +1,39 @@
+package dev.langchain4j.store.embedding;
+
+import dev.langchain4j.data.segment.TextSegment;
+
+import java.util.List;
+
+/**
+ * Listens to the progress of an {@link EmbeddingStoreIngestor}, batch by batch
+ * (see {@link EmbeddingStoreIngestor.Builder#embeddingBatchSize(Integer)}).
+ * <br>
+ * When batches are ingested concurrently, the methods of this listener can be called concurrently
+ * from different threads, and in any order.
+ */
+public interface EmbeddingStoreIngestionListener {
+
+    /**
+     * Called after a batch of text segments has been embedded and stored in the {@link EmbeddingStore}.
+     *
+     * @param segments the text segments of the batch.
+     * @param ids      the ids of the stored embeddings, in the order of the segments.
+     */
+    default void onBatchIngested(List<TextSegment> segments, List<String> ids) {
+    }
+
+    /**
+     * Called when a batch of text segments could not be embedded or stored.
+     * <br>
+     * By default, the error is rethrown, which stops the ingestion: batches that are already in progress
+     * are completed, but no new batches are started, and the error is then thrown from
+     * {@link EmbeddingStoreIngestor#ingest(List)}.
+     * If this method returns normally, the failed batch is skipped and the ingestion continues.
+     *
+     * @param segments the text segments of the failed batch.
+     * @param error    the error.
+     */
+    default void onBatchFailed(List<TextSegment> segments, RuntimeException error) {
+        throw error;
+    }
+}
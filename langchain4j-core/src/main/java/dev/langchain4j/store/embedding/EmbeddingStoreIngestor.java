@@ -11,10 +11,18 @@ import dev.langchain4j.spi.data.document.splitter.DocumentSplitterFactory;
 import dev.langchain4j.spi.model.embedding.EmbeddingModelFactory;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static dev.langchain4j.internal.Utils.getOrDefault;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
 import static dev.langchain4j.spi.ServiceHelper.loadFactories;
 import static java.util.Arrays.asList;
@@ -46,6 +54,14 @@ import static java.util.stream.Collectors.toList;
  * <br>
  * Including a document title or a short summary in each {@code TextSegment} is a common technique
  * to improve the quality of similarity searches.
+ * <br>
+ * <br>
+ * By default, all {@code TextSegment}s are embedded in a single request and stored at once.
+ * For large corpora, the ingestion can be streamed in batches (see {@link Builder#embeddingBatchSize(Integer)}):
+ * documents are then processed one by one, and each batch of {@code TextSegment}s is embedded and stored
+ * as soon as it is full. Batches can be embedded concurrently
+ * (see {@link Builder#maxConcurrentEmbeddingRequests(Integer)}), while the next documents are being split.
+ * The progress and failures of each batch can be observed using an {@link EmbeddingStoreIngestionListener}.
  */
 @Slf4j
 public class EmbeddingStoreIngestor {
@@ -55,6 +71,10 @@ public class EmbeddingStoreIngestor {
     private final TextSegmentTransformer textSegmentTransformer;
     private final EmbeddingModel embeddingModel;
     private final EmbeddingStore<TextSegment> embeddingStore;
+    private final Integer embeddingBatchSize;
+    private final int maxConcurrentEmbeddingRequests;
+    private final Executor executor;
+    private final EmbeddingStoreIngestionListener listener;
 
     /**
      * Creates an instance of an {@code EmbeddingStoreIngestor}.
@@ -72,6 +92,19 @@ public class EmbeddingStoreIngestor {
                                   TextSegmentTransformer textSegmentTransformer,
                                   EmbeddingModel embeddingModel,
                                   EmbeddingStore<TextSegment> embeddingStore) {
+        this(documentTransformer, documentSplitter, textSegmentTransformer, embeddingModel, embeddingStore,
+                null, null, null, null);
+    }
+
+    private EmbeddingStoreIngestor(DocumentTransformer documentTransformer,
+                                   DocumentSplitter documentSplitter,
+                                   TextSegmentTransformer textSegmentTransformer,
+                                   EmbeddingModel embeddingModel,
+                                   EmbeddingStore<TextSegment> embeddingStore,
+                                   Integer embeddingBatchSize,
+                                   Integer maxConcurrentEmbeddingRequests,
+                                   Executor executor,
+                                   EmbeddingStoreIngestionListener listener) {
         this.documentTransformer = documentTransformer;
         this.documentSplitter = getOrDefault(documentSplitter, EmbeddingStoreIngestor::loadDocumentSplitter);
         this.textSegmentTransformer = textSegmentTransformer;
@@ -80,6 +113,13 @@ public class EmbeddingStoreIngestor {
                 "embeddingModel"
         );
         this.embeddingStore = ensureNotNull(embeddingStore, "embeddingStore");
+        this.embeddingBatchSize = embeddingBatchSize == null
+                ? null
+                : ensureGreaterThanZero(embeddingBatchSize, "embeddingBatchSize");
+        this.maxConcurrentEmbeddingRequests = ensureGreaterThanZero(
+                getOrDefault(maxConcurrentEmbeddingRequests, 1), "maxConcurrentEmbeddingRequests");
+        this.executor = executor;
+        this.listener = listener;
     }
 
     private static DocumentSplitter loadDocumentSplitter() {
@@ -170,6 +210,34 @@ public class EmbeddingStoreIngestor {
 
         log.debug("Starting to ingest {} documents", documents.size());
 
+        ExecutorService ownExecutor = null;
+        Executor batchExecutor = executor;
+        if (batchExecutor == null && maxConcurrentEmbeddingRequests > 1) {
+            ownExecutor = Executors.newFixedThreadPool(maxConcurrentEmbeddingRequests);
+            batchExecutor = ownExecutor;
+        }
+
+        try {
+            Ingestion ingestion = new Ingestion(batchExecutor);
+            if (embeddingBatchSize == null) {
+                ingestion.accept(split(documents));
+            } else {
+                for (Document document : documents) {
+                    if (ingestion.hasFailed()) {
+                        break;
+                    }
+                    ingestion.accept(split(singletonList(document)));
+                }
+            }
+            ingestion.finish();
+        } finally {
+            if (ownExecutor != null) {
+                ownExecutor.shutdown();
+            }
+        }
+    }
+
+    private List<TextSegment> split(List<Document> documents) {
         if (documentTransformer != null) {
             documents = documentTransformer.transformAll(documents);
             log.debug("Documents were transformed into {} documents", documents.size());
@@ -185,18 +253,105 @@ public class EmbeddingStoreIngestor {
         }
         if (textSegmentTransformer != null) {
             segments = textSegmentTransformer.transformAll(segments);
-            log.debug("Text segments were transformed into {} text segments", documents.size());
+            log.debug("Text segments were transformed into {} text segments", segments.size());
         }
+        return segments;
+    }
 
-        // TODO handle failures, parallelize
-        log.debug("Starting to embed {} text segments", segments.size());
-        List<Embedding> embeddings = embeddingModel.embedAll(segments).content();
-        log.debug("Finished embedding {} text segments", segments.size());
+    private void ingestBatch(List<TextSegment> segments) {
+        try {
+            log.debug("Starting to embed {} text segments", segments.size());
+            List<Embedding> embeddings = embeddingModel.embedAll(segments).content();
+            log.debug("Finished embedding {} text segments", segments.size());
 
-        // TODO handle failures, parallelize
-        log.debug("Starting to store {} text segments into the embedding store", segments.size());
-        embeddingStore.addAll(embeddings, segments);
-        log.debug("Finished storing {} text segments into the embedding store", segments.size());
+            log.debug("Starting to store {} text segments into the embedding store", segments.size());
+            List<String> ids;
+            // stores are not required to be thread-safe
+            synchronized (embeddingStore) {
+                ids = embeddingStore.addAll(embeddings, segments);
+            }
+            log.debug("Finished storing {} text segments into the embedding store", segments.size());
+
+            if (listener != null) {
+                listener.onBatchIngested(segments, ids);
+            }
+        } catch (RuntimeException e) {
+            if (listener == null) {
+                throw e;
+            }
+            listener.onBatchFailed(segments, e);
+        }
+    }
+
+    /**
+     * The state of a single {@link #ingest(List)} call: collects text segments into batches,
+     * and ingests each batch either on the calling thread or on the executor,
+     * with at most {@link #maxConcurrentEmbeddingRequests} batches in progress at a time.
+     */
+    private class Ingestion {
+
+        private final Executor executor;
+        private final Semaphore permits = new Semaphore(maxConcurrentEmbeddingRequests);
+        private final List<CompletableFuture<Void>> batches = new ArrayList<>();
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        private List<TextSegment> pending = new ArrayList<>();
+
+        Ingestion(Executor executor) {
+            this.executor = executor;
+        }
+
+        boolean hasFailed() {
+            return failure.get() != null;
+        }
+
+        void accept(List<TextSegment> segments) {
+            int batchSize = getOrDefault(embeddingBatchSize, Integer.MAX_VALUE);
+            for (TextSegment segment : segments) {
+                pending.add(segment);
+                if (pending.size() == batchSize) {
+                    submit();
+                }
+            }
+        }
+
+        void finish() {
+            if (!pending.isEmpty()) {
+                submit();
+            }
+            batches.forEach(CompletableFuture::join);
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+        }
+
+        private void submit() {
+            List<TextSegment> batch = pending;
+            pending = new ArrayList<>();
+            if (hasFailed()) {
+                return;
+            }
+
+            if (executor == null) {
+                ingestBatch(batch);
+                return;
+            }
+
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+            batches.add(CompletableFuture.runAsync(() -> {
+                try {
+                    ingestBatch(batch);
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    permits.release();
+                }
+            }, executor));
+        }
     }
 
     /**
@@ -218,6 +373,10 @@ public class EmbeddingStoreIngestor {
         private TextSegmentTransformer textSegmentTransformer;
         private EmbeddingModel embeddingModel;
         private EmbeddingStore<TextSegment> embeddingStore;
+        private Integer embeddingBatchSize;
+        private Integer maxConcurrentEmbeddingRequests;
+        private Executor executor;
+        private EmbeddingStoreIngestionListener listener;
 
         /**
          * Creates a new EmbeddingStoreIngestor builder.
@@ -284,6 +443,61 @@ public class EmbeddingStoreIngestor {
             return this;
         }
 
+        /**
+         * Sets the maximum number of text segments embedded in a single request to the embedding model. Optional.
+         * If specified, documents are processed one by one, and each batch is embedded and stored as soon as it is
+         * full, so the whole corpus never has to be held in memory.
+         * If not specified, all text segments are embedded in a single request.
+         *
+         * @param embeddingBatchSize the maximum number of text segments per batch.
+         * @return {@code this}
+         */
+        public Builder embeddingBatchSize(Integer embeddingBatchSize) {
+            this.embeddingBatchSize = embeddingBatchSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of batches embedded concurrently. Optional. Default: 1.
+         * When this limit is reached, splitting of the next documents waits until a batch is completed,
+         * so memory usage stays bounded.
+         * <br>
+         * Batches are stored in the {@link EmbeddingStore} one at a time, but not necessarily in order.
+         *
+         * @param maxConcurrentEmbeddingRequests the maximum number of concurrent requests to the embedding model.
+         * @return {@code this}
+         */
+        public Builder maxConcurrentEmbeddingRequests(Integer maxConcurrentEmbeddingRequests) {
+            this.maxConcurrentEmbeddingRequests = maxConcurrentEmbeddingRequests;
+            return this;
+        }
+
+        /**
+         * Sets the executor used to embed and store batches. Optional.
+         * If specified, batches are always embedded on this executor, while the calling thread keeps splitting
+         * the next documents.
+         * If not specified, and {@link #maxConcurrentEmbeddingRequests(Integer)} is greater than 1, a new thread pool
+         * of that size is created for each ingestion. Otherwise, batches are embedded on the calling thread.
+         *
+         * @param executor the executor.
+         * @return {@code this}
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Sets the listener notified when a batch is ingested or fails. Optional.
+         *
+         * @param listener the listener.
+         * @return {@code this}
+         */
+        public Builder listener(EmbeddingStoreIngestionListener listener) {
+            this.listener = listener;
+            return this;
+        }
+
         /**
          * Builds the EmbeddingStoreIngestor.
          *
@@ -295,7 +509,11 @@ public class EmbeddingStoreIngestor {
                     documentSplitter,
                     textSegmentTransformer,
                     embeddingModel,
-                    embeddingStore
+                    embeddingStore,
+                    embeddingBatchSize,
+                    maxConcurrentEmbeddingRequests,
+                    executor,
+                    listener
             );
         }
     }
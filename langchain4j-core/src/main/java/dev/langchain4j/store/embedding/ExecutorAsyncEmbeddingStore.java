@@ -0,0 +1,40 @@
+package dev.langchain4j.store.embedding;
+
+import dev.langchain4j.data.embedding.Embedding;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+
+/**
+ * An {@link AsyncEmbeddingStore} calling the blocking methods of an {@link EmbeddingStore} on an {@link Executor}.
+ *
+ * @see AsyncEmbeddingStore#from(EmbeddingStore, Executor)
+ */
+class ExecutorAsyncEmbeddingStore<Embedded> implements AsyncEmbeddingStore<Embedded> {
+
+    private final EmbeddingStore<Embedded> embeddingStore;
+    private final Executor executor;
+
+    ExecutorAsyncEmbeddingStore(EmbeddingStore<Embedded> embeddingStore, Executor executor) {
+        this.embeddingStore = embeddingStore;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<List<String>> addAllAsync(List<Embedding> embeddings) {
+        return supplyAsync(() -> embeddingStore.addAll(embeddings), executor);
+    }
+
+    @Override
+    public CompletableFuture<List<String>> addAllAsync(List<Embedding> embeddings, List<Embedded> embedded) {
+        return supplyAsync(() -> embeddingStore.addAll(embeddings, embedded), executor);
+    }
+
+    @Override
+    public CompletableFuture<EmbeddingSearchResult<Embedded>> searchAsync(EmbeddingSearchRequest request) {
+        return supplyAsync(() -> embeddingStore.search(request), executor);
+    }
+}
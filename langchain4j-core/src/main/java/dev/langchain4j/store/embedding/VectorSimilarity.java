@@ -0,0 +1,230 @@
+package dev.langchain4j.store.embedding;
+
+import static dev.langchain4j.internal.Exceptions.illegalArgument;
+import static dev.langchain4j.store.embedding.CosineSimilarity.EPSILON;
+
+/**
+ * Similarity and distance kernels over {@code float} vectors.
+ * <p>
+ * The loops are unrolled by four with independent accumulators, so that consecutive additions
+ * do not wait for each other and the JIT compiler can keep several multiply-adds in flight.
+ * Products are accumulated in {@code double}, like in {@link CosineSimilarity}.
+ * <p>
+ * Besides one-to-one kernels, there are batch kernels that score one query against many vectors,
+ * either given as separate arrays or packed row after row into a single array.
+ * The norm of the query is calculated only once per batch.
+ */
+public class VectorSimilarity {
+    private VectorSimilarity() {}
+
+    /**
+     * Calculates the dot product of two vectors.
+     *
+     * @param a first vector
+     * @param b second vector
+     * @return the dot product
+     */
+    public static double dotProduct(float[] a, float[] b) {
+        ensureSameLength(a, b);
+        return dotProduct(a, 0, b, 0, a.length);
+    }
+
+    /**
+     * Calculates the dot product of two vectors stored in (possibly larger) arrays.
+     *
+     * @param a       array holding the first vector
+     * @param aOffset index of the first element of the first vector in {@code a}
+     * @param b       array holding the second vector
+     * @param bOffset index of the first element of the second vector in {@code b}
+     * @param length  the dimension of the vectors
+     * @return the dot product
+     */
+    public static double dotProduct(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        double sum0 = 0.0;
+        double sum1 = 0.0;
+        double sum2 = 0.0;
+        double sum3 = 0.0;
+
+        int i = 0;
+        int unrolledLength = length & ~3;
+        for (; i < unrolledLength; i += 4) {
+            sum0 += a[aOffset + i] * b[bOffset + i];
+            sum1 += a[aOffset + i + 1] * b[bOffset + i + 1];
+            sum2 += a[aOffset + i + 2] * b[bOffset + i + 2];
+            sum3 += a[aOffset + i + 3] * b[bOffset + i + 3];
+        }
+        for (; i < length; i++) {
+            sum0 += a[aOffset + i] * b[bOffset + i];
+        }
+
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+
+    /**
+     * Calculates the L2 norm of a vector.
+     *
+     * @param vector the vector
+     * @return the L2 norm
+     */
+    public static double norm(float[] vector) {
+        return Math.sqrt(dotProduct(vector, 0, vector, 0, vector.length));
+    }
+
+    /**
+     * Calculates cosine similarity between two vectors in a single pass.
+     * See {@link CosineSimilarity#between(dev.langchain4j.data.embedding.Embedding, dev.langchain4j.data.embedding.Embedding)}
+     * for details.
+     *
+     * @param a first vector
+     * @param b second vector
+     * @return cosine similarity in the range [-1..1]
+     */
+    public static double cosineSimilarity(float[] a, float[] b) {
+        ensureSameLength(a, b);
+
+        double dot0 = 0.0;
+        double dot1 = 0.0;
+        double dot2 = 0.0;
+        double dot3 = 0.0;
+        double normA0 = 0.0;
+        double normA1 = 0.0;
+        double normA2 = 0.0;
+        double normA3 = 0.0;
+        double normB0 = 0.0;
+        double normB1 = 0.0;
+        double normB2 = 0.0;
+        double normB3 = 0.0;
+
+        int i = 0;
+        int unrolledLength = a.length & ~3;
+        for (; i < unrolledLength; i += 4) {
+            float a0 = a[i];
+            float a1 = a[i + 1];
+            float a2 = a[i + 2];
+            float a3 = a[i + 3];
+            float b0 = b[i];
+            float b1 = b[i + 1];
+            float b2 = b[i + 2];
+            float b3 = b[i + 3];
+            dot0 += a0 * b0;
+            dot1 += a1 * b1;
+            dot2 += a2 * b2;
+            dot3 += a3 * b3;
+            normA0 += a0 * a0;
+            normA1 += a1 * a1;
+            normA2 += a2 * a2;
+            normA3 += a3 * a3;
+            normB0 += b0 * b0;
+            normB1 += b1 * b1;
+            normB2 += b2 * b2;
+            normB3 += b3 * b3;
+        }
+        for (; i < a.length; i++) {
+            dot0 += a[i] * b[i];
+            normA0 += a[i] * a[i];
+            normB0 += b[i] * b[i];
+        }
+
+        double dot = (dot0 + dot1) + (dot2 + dot3);
+        double normA = Math.sqrt((normA0 + normA1) + (normA2 + normA3));
+        double normB = Math.sqrt((normB0 + normB1) + (normB2 + normB3));
+
+        // Avoid division by zero.
+        return dot / Math.max(normA * normB, EPSILON);
+    }
+
+    /**
+     * Calculates the squared Euclidean (L2) distance between two vectors.
+     * Cheaper than {@link #euclideanDistance(float[], float[])} and preserves the ordering of distances.
+     *
+     * @param a first vector
+     * @param b second vector
+     * @return the squared Euclidean distance
+     */
+    public static double squaredEuclideanDistance(float[] a, float[] b) {
+        ensureSameLength(a, b);
+
+        double sum0 = 0.0;
+        double sum1 = 0.0;
+        double sum2 = 0.0;
+        double sum3 = 0.0;
+
+        int i = 0;
+        int unrolledLength = a.length & ~3;
+        for (; i < unrolledLength; i += 4) {
+            float d0 = a[i] - b[i];
+            float d1 = a[i + 1] - b[i + 1];
+            float d2 = a[i + 2] - b[i + 2];
+            float d3 = a[i + 3] - b[i + 3];
+            sum0 += d0 * d0;
+            sum1 += d1 * d1;
+            sum2 += d2 * d2;
+            sum3 += d3 * d3;
+        }
+        for (; i < a.length; i++) {
+            float d = a[i] - b[i];
+            sum0 += d * d;
+        }
+
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+
+    /**
+     * Calculates the Euclidean (L2) distance between two vectors.
+     *
+     * @param a first vector
+     * @param b second vector
+     * @return the Euclidean distance
+     */
+    public static double euclideanDistance(float[] a, float[] b) {
+        return Math.sqrt(squaredEuclideanDistance(a, b));
+    }
+
+    /**
+     * Calculates dot products between a query and {@code count} vectors packed row after row into {@code rows}.
+     *
+     * @param query  the query vector
+     * @param rows   array holding the vectors, each of the same dimension as the query
+     * @param offset index of the first element of the first vector in {@code rows}
+     * @param count  the number of vectors
+     * @param result array receiving the dot products, at indices {@code 0..count-1}
+     */
+    public static void dotProducts(float[] query, float[] rows, int offset, int count, double[] result) {
+        int dimension = query.length;
+        if (offset + (long) count * dimension > rows.length) {
+            throw illegalArgument("rows (%s) must hold %s vectors of length %s starting at %s",
+                    rows.length, count, dimension, offset);
+        }
+        for (int row = 0; row < count; row++) {
+            result[row] = dotProduct(query, 0, rows, offset + row * dimension, dimension);
+        }
+    }
+
+    /**
+     * Calculates cosine similarities between a query and many vectors.
+     * The norm of the query is calculated only once.
+     *
+     * @param query   the query vector
+     * @param vectors the vectors to compare the query with
+     * @return cosine similarities in the range [-1..1], in the order of {@code vectors}
+     */
+    public static double[] cosineSimilarities(float[] query, float[][] vectors) {
+        double queryNorm = norm(query);
+        double[] result = new double[vectors.length];
+        for (int i = 0; i < vectors.length; i++) {
+            float[] vector = vectors[i];
+            ensureSameLength(query, vector);
+            double dot = dotProduct(query, 0, vector, 0, query.length);
+            double norm = norm(vector);
+            result[i] = dot / Math.max(queryNorm * norm, EPSILON);
+        }
+        return result;
+    }
+
+    private static void ensureSameLength(float[] a, float[] b) {
+        if (a.length != b.length) {
+            throw illegalArgument("Length of vector a (%s) must be equal to the length of vector b (%s)",
+                    a.length, b.length);
+        }
+    }
+}
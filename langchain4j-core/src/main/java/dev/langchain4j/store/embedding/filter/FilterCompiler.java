@@ -0,0 +1,196 @@
+package dev.langchain4j.store.embedding.filter;
+
+import dev.langchain4j.Experimental;
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.embedding.filter.comparison.*;
+import dev.langchain4j.store.embedding.filter.logical.And;
+import dev.langchain4j.store.embedding.filter.logical.Not;
+import dev.langchain4j.store.embedding.filter.logical.Or;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+/**
+ * Compiles a {@link Filter} into a {@link Predicate} over {@link Metadata} that is cheap to evaluate
+ * against many entries, for example during a brute force search in an in-memory {@link EmbeddingStore}.
+ * <br>
+ * Comparison values are analysed once, when the filter is compiled. The compiled predicate reads values
+ * using {@link Metadata#getObject(String)}, without copying the metadata, and compares strings and numbers
+ * of the same kind (integer or floating-point) directly, without converting them into {@link java.math.BigDecimal}s.
+ * <br>
+ * Less common cases, such as numbers of different kinds, non-finite numbers, type mismatches
+ * and custom {@link Filter} implementations, are delegated to {@link Filter#test(Object)},
+ * so a compiled filter always gives the same results (and throws the same exceptions) as the original one.
+ */
+@Experimental
+public class FilterCompiler {
+
+    private FilterCompiler() {
+    }
+
+    /**
+     * Compiles a filter.
+     *
+     * @param filter the filter to compile.
+     * @return a predicate equivalent to {@link Filter#test(Object)} of the given filter.
+     */
+    public static Predicate<Metadata> compile(Filter filter) {
+        ensureNotNull(filter, "filter");
+
+        if (filter instanceof And) {
+            Predicate<Metadata> left = compile(((And) filter).left());
+            Predicate<Metadata> right = compile(((And) filter).right());
+            return metadata -> left.test(metadata) && right.test(metadata);
+        } else if (filter instanceof Or) {
+            Predicate<Metadata> left = compile(((Or) filter).left());
+            Predicate<Metadata> right = compile(((Or) filter).right());
+            return metadata -> left.test(metadata) || right.test(metadata);
+        } else if (filter instanceof Not) {
+            Predicate<Metadata> expression = compile(((Not) filter).expression());
+            return metadata -> !expression.test(metadata);
+        } else if (filter instanceof IsEqualTo) {
+            IsEqualTo isEqualTo = (IsEqualTo) filter;
+            return compare(filter, isEqualTo.key(), isEqualTo.comparisonValue(), false, result -> result == 0);
+        } else if (filter instanceof IsNotEqualTo) {
+            IsNotEqualTo isNotEqualTo = (IsNotEqualTo) filter;
+            return compare(filter, isNotEqualTo.key(), isNotEqualTo.comparisonValue(), true, result -> result != 0);
+        } else if (filter instanceof IsGreaterThan) {
+            IsGreaterThan isGreaterThan = (IsGreaterThan) filter;
+            return compare(filter, isGreaterThan.key(), isGreaterThan.comparisonValue(), false, result -> result > 0);
+        } else if (filter instanceof IsGreaterThanOrEqualTo) {
+            IsGreaterThanOrEqualTo isGreaterThanOrEqualTo = (IsGreaterThanOrEqualTo) filter;
+            return compare(filter, isGreaterThanOrEqualTo.key(), isGreaterThanOrEqualTo.comparisonValue(), false,
+                    result -> result >= 0);
+        } else if (filter instanceof IsLessThan) {
+            IsLessThan isLessThan = (IsLessThan) filter;
+            return compare(filter, isLessThan.key(), isLessThan.comparisonValue(), false, result -> result < 0);
+        } else if (filter instanceof IsLessThanOrEqualTo) {
+            IsLessThanOrEqualTo isLessThanOrEqualTo = (IsLessThanOrEqualTo) filter;
+            return compare(filter, isLessThanOrEqualTo.key(), isLessThanOrEqualTo.comparisonValue(), false,
+                    result -> result <= 0);
+        } else if (filter instanceof IsIn) {
+            IsIn isIn = (IsIn) filter;
+            return in(filter, isIn.key(), isIn.comparisonValues(), false);
+        } else if (filter instanceof IsNotIn) {
+            IsNotIn isNotIn = (IsNotIn) filter;
+            return in(filter, isNotIn.key(), isNotIn.comparisonValues(), true);
+        }
+
+        return filter::test;
+    }
+
+    private static Predicate<Metadata> compare(Filter filter,
+                                               String key,
+                                               Object comparisonValue,
+                                               boolean resultIfMissing,
+                                               IntPredicate expectedComparisonResult) {
+
+        if (comparisonValue instanceof String) {
+            String comparisonString = (String) comparisonValue;
+            return metadata -> {
+                Object actualValue = metadata.getObject(key);
+                if (actualValue == null) {
+                    return resultIfMissing;
+                }
+                if (actualValue instanceof String) {
+                    return expectedComparisonResult.test(((String) actualValue).compareTo(comparisonString));
+                }
+                return filter.test(metadata);
+            };
+        }
+
+        if (isInteger(comparisonValue)) {
+            long comparisonLong = ((Number) comparisonValue).longValue();
+            return metadata -> {
+                Object actualValue = metadata.getObject(key);
+                if (actualValue == null) {
+                    return resultIfMissing;
+                }
+                if (isInteger(actualValue)) {
+                    long actualLong = ((Number) actualValue).longValue();
+                    return expectedComparisonResult.test(Long.compare(actualLong, comparisonLong));
+                }
+                return filter.test(metadata);
+            };
+        }
+
+        if (isFiniteFloatingPoint(comparisonValue)) {
+            // Float and Double values are not compared with each other directly,
+            // because their BigDecimal representations can differ, e.g. for 0.1f and 0.1
+            Class<?> comparisonType = comparisonValue.getClass();
+            double comparisonDouble = ((Number) comparisonValue).doubleValue();
+            return metadata -> {
+                Object actualValue = metadata.getObject(key);
+                if (actualValue == null) {
+                    return resultIfMissing;
+                }
+                if (actualValue.getClass() == comparisonType && isFiniteFloatingPoint(actualValue)) {
+                    double actualDouble = ((Number) actualValue).doubleValue();
+                    int result = actualDouble < comparisonDouble ? -1 : (actualDouble > comparisonDouble ? 1 : 0);
+                    return expectedComparisonResult.test(result);
+                }
+                return filter.test(metadata);
+            };
+        }
+
+        return filter::test;
+    }
+
+    private static Predicate<Metadata> in(Filter filter,
+                                          String key,
+                                          Collection<?> comparisonValues,
+                                          boolean negated) {
+
+        Object firstComparisonValue = comparisonValues.iterator().next();
+
+        if (firstComparisonValue instanceof String) {
+            return metadata -> {
+                Object actualValue = metadata.getObject(key);
+                if (actualValue == null) {
+                    return negated;
+                }
+                if (actualValue instanceof String) {
+                    return comparisonValues.contains(actualValue) != negated;
+                }
+                return filter.test(metadata);
+            };
+        }
+
+        if (comparisonValues.stream().allMatch(FilterCompiler::isInteger)) {
+            Set<Long> comparisonLongs = new HashSet<>();
+            comparisonValues.forEach(value -> comparisonLongs.add(((Number) value).longValue()));
+            return metadata -> {
+                Object actualValue = metadata.getObject(key);
+                if (actualValue == null) {
+                    return negated;
+                }
+                if (isInteger(actualValue)) {
+                    return comparisonLongs.contains(((Number) actualValue).longValue()) != negated;
+                }
+                return filter.test(metadata);
+            };
+        }
+
+        return filter::test;
+    }
+
+    private static boolean isInteger(Object value) {
+        return value instanceof Integer || value instanceof Long;
+    }
+
+    private static boolean isFiniteFloatingPoint(Object value) {
+        if (value instanceof Double) {
+            return Double.isFinite((Double) value);
+        }
+        if (value instanceof Float) {
+            return Float.isFinite((Float) value);
+        }
+        return false;
+    }
+}
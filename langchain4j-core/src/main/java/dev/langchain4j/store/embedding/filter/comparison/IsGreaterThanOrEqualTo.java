@@ -41,7 +41,7 @@ public class IsGreaterThanOrEqualTo implements Filter {
             return false;
         }
 
-        Object actualValue = metadata.toMap().get(key);
+        Object actualValue = metadata.getObject(key);
         ensureTypesAreCompatible(actualValue, comparisonValue, key);
 
         if (actualValue instanceof Number) {
@@ -0,0 +1,232 @@
+package dev.langchain4j.store.memory.chat;
+
+import dev.langchain4j.data.message.ChatMessage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static dev.langchain4j.internal.Utils.getOrDefault;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+/**
+ * A {@link ChatMemoryStore} that caches the messages of another (typically remote) {@link ChatMemoryStore}
+ * and writes changes to it in the background.
+ * <p>
+ * {@link #getMessages(Object)} reads through a local cache, so the underlying store is only read the first time
+ * a chat memory is used (or after it has been evicted from the cache).
+ * {@link #updateMessages(Object, List)} and {@link #deleteMessages(Object)} only record the latest state of the chat
+ * memory: successive changes of the same chat memory are coalesced, and only the last one is written
+ * to the underlying store when pending changes are flushed, periodically (see {@link Builder#flushInterval(Duration)})
+ * or explicitly (see {@link #flush()}).
+ * <p>
+ * Changes that have not been flushed yet are lost if the application stops abruptly,
+ * so {@link #close()} should be called on shutdown. A failed write is logged and retried with the next flush,
+ * unless the chat memory has been changed again in the meantime.
+ * <p>
+ * The underlying store must not be modified by anything else while it is used through this store.
+ */
+@Slf4j
+public class WriteBehindChatMemoryStore implements ChatMemoryStore, AutoCloseable {
+
+    private static final List<ChatMessage> DELETED = new ArrayList<>();
+
+    private final ChatMemoryStore delegate;
+    private final Map<Object, List<ChatMessage>> cache;
+    private final Map<Object, List<ChatMessage>> pendingChanges = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService ownScheduler;
+    private final ScheduledFuture<?> scheduledFlush;
+
+    private WriteBehindChatMemoryStore(Builder builder) {
+        this.delegate = ensureNotNull(builder.delegate, "delegate");
+
+        int maxCacheSize = ensureGreaterThanZero(getOrDefault(builder.maxCacheSize, 10_000), "maxCacheSize");
+        this.cache = new LinkedHashMap<Object, List<ChatMessage>>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, List<ChatMessage>> eldest) {
+                return size() > maxCacheSize;
+            }
+        };
+
+        Duration flushInterval = getOrDefault(builder.flushInterval, Duration.ofSeconds(1));
+        ScheduledExecutorService scheduler = builder.scheduler;
+        if (scheduler == null) {
+            this.ownScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "write-behind-chat-memory-store");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler = ownScheduler;
+        } else {
+            this.ownScheduler = null;
+        }
+        long intervalMillis = ensureGreaterThanZero((int) Math.min(flushInterval.toMillis(), Integer.MAX_VALUE),
+                "flushInterval");
+        this.scheduledFlush = scheduler.scheduleWithFixedDelay(
+                this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public List<ChatMessage> getMessages(Object memoryId) {
+        List<ChatMessage> pending = pendingChanges.get(memoryId);
+        if (pending != null) {
+            return pending == DELETED ? new ArrayList<>() : pending;
+        }
+
+        List<ChatMessage> cached;
+        synchronized (cache) {
+            cached = cache.get(memoryId);
+        }
+        if (cached != null) {
+            return cached;
+        }
+
+        List<ChatMessage> messages = delegate.getMessages(memoryId);
+        synchronized (cache) {
+            // a concurrent update wins over what was just read
+            cached = cache.putIfAbsent(memoryId, messages);
+        }
+        return cached != null ? cached : messages;
+    }
+
+    @Override
+    public void updateMessages(Object memoryId, List<ChatMessage> messages) {
+        ensureNotNull(memoryId, "memoryId");
+        ensureNotNull(messages, "messages");
+        synchronized (cache) {
+            cache.put(memoryId, messages);
+        }
+        pendingChanges.put(memoryId, messages);
+    }
+
+    @Override
+    public void deleteMessages(Object memoryId) {
+        ensureNotNull(memoryId, "memoryId");
+        synchronized (cache) {
+            cache.put(memoryId, new ArrayList<>());
+        }
+        pendingChanges.put(memoryId, DELETED);
+    }
+
+    /**
+     * @return the number of chat memories whose changes have not been written to the underlying store yet.
+     */
+    public int pendingChangeCount() {
+        return pendingChanges.size();
+    }
+
+    /**
+     * Writes all pending changes to the underlying store, on the calling thread.
+     *
+     * @throws RuntimeException the first error thrown by the underlying store, after all pending changes have been
+     *                          attempted. Changes that failed are kept pending, and retried with the next flush.
+     */
+    public synchronized void flush() {
+        RuntimeException firstError = null;
+        for (Map.Entry<Object, List<ChatMessage>> change : new ArrayList<>(pendingChanges.entrySet())) {
+            Object memoryId = change.getKey();
+            List<ChatMessage> messages = change.getValue();
+            try {
+                if (messages == DELETED) {
+                    delegate.deleteMessages(memoryId);
+                } else {
+                    delegate.updateMessages(memoryId, messages);
+                }
+                // the change stays pending if the chat memory has been changed again in the meantime
+                pendingChanges.remove(memoryId, messages);
+            } catch (RuntimeException e) {
+                if (firstError == null) {
+                    firstError = e;
+                }
+            }
+        }
+        if (firstError != null) {
+            throw firstError;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Failed to write chat memories to {}, will retry", delegate, e);
+        }
+    }
+
+    /**
+     * Stops the periodic flushes and writes all pending changes to the underlying store.
+     */
+    @Override
+    public void close() {
+        scheduledFlush.cancel(false);
+        if (ownScheduler != null) {
+            ownScheduler.shutdown();
+        }
+        flush();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private ChatMemoryStore delegate;
+        private Duration flushInterval;
+        private Integer maxCacheSize;
+        private ScheduledExecutorService scheduler;
+
+        /**
+         * @param delegate The underlying store, to which changes are written in the background.
+         * @return builder
+         */
+        public Builder delegate(ChatMemoryStore delegate) {
+            this.delegate = delegate;
+            return this;
+        }
+
+        /**
+         * @param flushInterval The delay between two flushes of pending changes. Default: 1 second.
+         * @return builder
+         */
+        public Builder flushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+            return this;
+        }
+
+        /**
+         * @param maxCacheSize The maximum number of chat memories whose messages are cached.
+         *                     When it is exceeded, the least recently used ones are evicted from the cache
+         *                     (pending changes are never evicted). Default: 10000.
+         * @return builder
+         */
+        public Builder maxCacheSize(Integer maxCacheSize) {
+            this.maxCacheSize = maxCacheSize;
+            return this;
+        }
+
+        /**
+         * @param scheduler The scheduler running the periodic flushes.
+         *                  If not provided, a single daemon thread is started, and stopped by {@link #close()}.
+         * @return builder
+         */
+        public Builder scheduler(ScheduledExecutorService scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        public WriteBehindChatMemoryStore build() {
+            return new WriteBehindChatMemoryStore(this);
+        }
+    }
+}
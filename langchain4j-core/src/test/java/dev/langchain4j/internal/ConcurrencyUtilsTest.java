@@ -0,0 +1,79 @@
+package dev.langchain4j.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static dev.langchain4j.internal.ConcurrencyUtils.mapConcurrently;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrencyUtilsTest {
+
+    @Test
+    void should_preserve_order_and_bound_concurrency() {
+        List<Integer> inputs = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            inputs.add(i);
+        }
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        List<String> results = mapConcurrently(inputs, input -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(50 - input);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return "result " + input;
+        }, 4);
+
+        assertThat(results).hasSize(50);
+        for (int i = 0; i < 50; i++) {
+            assertThat(results.get(i)).isEqualTo("result " + i);
+        }
+        assertThat(maxInFlight.get()).isBetween(2, 4);
+    }
+
+    @Test
+    void should_run_on_calling_thread_when_concurrency_is_1() {
+        Thread caller = Thread.currentThread();
+
+        List<Boolean> results = mapConcurrently(asList(1, 2, 3), input -> Thread.currentThread() == caller, 1);
+
+        assertThat(results).containsExactly(true, true, true);
+    }
+
+    @Test
+    void should_use_provided_executor() {
+        ExecutorService executor = Executors.newFixedThreadPool(2, runnable -> new Thread(runnable, "test-executor"));
+        try {
+            List<String> results = mapConcurrently(asList(1, 2, 3),
+                    input -> Thread.currentThread().getName(), 2, executor);
+
+            assertThat(results).containsOnly("test-executor");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void should_rethrow_first_failure() {
+        assertThatThrownBy(() -> mapConcurrently(asList(1, 2, 3, 4), input -> {
+            if (input == 2) {
+                throw new IllegalStateException("failed " + input);
+            }
+            return input;
+        }, 2))
+                .isExactlyInstanceOf(IllegalStateException.class)
+                .hasMessage("failed 2");
+    }
+}
@@ -143,6 +143,21 @@ class ValidationUtilsTest implements WithAssertions {
                 .hasMessage("integer must be greater than zero, but is: " + i);
     }
 
+    @ParameterizedTest
+    @ValueSource(longs = {1L, Long.MAX_VALUE})
+    void should_not_throw_when_long_greater_than_0(Long l) {
+        ensureGreaterThanZero(l, "long");
+    }
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(longs = {Long.MIN_VALUE, 0L})
+    void should_throw_when_long_not_greater_than_0(Long l) {
+        assertThatThrownBy(() -> ensureGreaterThanZero(l, "long"))
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("long must be greater than zero, but is: " + l);
+    }
+
     @ParameterizedTest
     @ValueSource(doubles = {0.0, 0.5, 1.0})
     void should_not_throw_when_between(Double d) {
@@ -0,0 +1,107 @@
+package dev.langchain4j.model;
+
+import dev.langchain4j.data.message.UserMessage;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingTokenizerTest {
+
+    private final List<String> estimatedTexts = Collections.synchronizedList(new ArrayList<>());
+
+    private final Tokenizer tokenizer = new ExampleTestTokenizer() {
+
+        @Override
+        public int estimateTokenCountInText(String text) {
+            estimatedTexts.add(text);
+            return super.estimateTokenCountInText(text);
+        }
+    };
+
+    @Test
+    void should_estimate_each_text_and_message_once() {
+
+        CachingTokenizer cachingTokenizer = CachingTokenizer.builder()
+                .delegate(tokenizer)
+                .build();
+
+        assertThat(cachingTokenizer.estimateTokenCountInText("one two three")).isEqualTo(3);
+        assertThat(cachingTokenizer.estimateTokenCountInText("one two three")).isEqualTo(3);
+        assertThat(cachingTokenizer.estimateTokenCountInMessage(UserMessage.from("one two"))).isEqualTo(2);
+        assertThat(cachingTokenizer.estimateTokenCountInMessage(UserMessage.from("one two"))).isEqualTo(2);
+
+        assertThat(estimatedTexts).containsExactly("one two three", "one two");
+        assertThat(cachingTokenizer.hitCount()).isEqualTo(2);
+        assertThat(cachingTokenizer.missCount()).isEqualTo(2);
+    }
+
+    @Test
+    void should_estimate_only_missing_texts_of_batch_and_preserve_order() {
+
+        CachingTokenizer cachingTokenizer = CachingTokenizer.builder()
+                .delegate(tokenizer)
+                .build();
+        cachingTokenizer.estimateTokenCountInText("a b");
+
+        List<Integer> tokenCounts = cachingTokenizer.estimateTokenCountInTexts(asList("a", "a b", "a b c", "a"));
+
+        assertThat(tokenCounts).containsExactly(1, 2, 3, 1);
+        assertThat(estimatedTexts).containsExactly("a b", "a", "a b c");
+    }
+
+    @Test
+    void should_estimate_missing_texts_in_parallel() {
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            CachingTokenizer cachingTokenizer = CachingTokenizer.builder()
+                    .delegate(tokenizer)
+                    .executor(executor)
+                    .parallelism(3)
+                    .build();
+
+            List<String> texts = new ArrayList<>();
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 1; i <= 100; i++) {
+                StringBuilder text = new StringBuilder("word");
+                for (int j = 1; j < i; j++) {
+                    text.append(" word");
+                }
+                texts.add(text.toString());
+                expected.add(i);
+            }
+
+            assertThat(cachingTokenizer.estimateTokenCountInTexts(texts)).isEqualTo(expected);
+            assertThat(cachingTokenizer.estimateTokenCountInTexts(texts)).isEqualTo(expected);
+            assertThat(estimatedTexts).hasSize(100);
+            assertThat(cachingTokenizer.hitCount()).isEqualTo(100);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void should_evict_least_recently_used_entries() {
+
+        CachingTokenizer cachingTokenizer = CachingTokenizer.builder()
+                .delegate(tokenizer)
+                .maxCacheSize(2)
+                .build();
+
+        cachingTokenizer.estimateTokenCountInText("a");
+        cachingTokenizer.estimateTokenCountInText("b");
+        cachingTokenizer.estimateTokenCountInText("a");
+        cachingTokenizer.estimateTokenCountInText("c");
+        cachingTokenizer.estimateTokenCountInText("a");
+        cachingTokenizer.estimateTokenCountInText("b");
+
+        assertThat(estimatedTexts).containsExactly("a", "b", "c", "b");
+    }
+}
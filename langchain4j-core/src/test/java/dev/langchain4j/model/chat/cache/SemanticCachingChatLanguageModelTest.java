@@ -0,0 +1,278 @@
+package dev.langchain4j.model.chat.cache;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
+import dev.langchain4j.store.embedding.CosineSimilarity;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.embedding.RelevanceScore;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SemanticCachingChatLanguageModelTest {
+
+    private final List<List<ChatMessage>> requests = new ArrayList<>();
+    private final List<String> embeddedTexts = new ArrayList<>();
+
+    private final ChatLanguageModel model = new ChatLanguageModel() {
+
+        @Override
+        public Response<AiMessage> generate(List<ChatMessage> messages) {
+            requests.add(messages);
+            return Response.from(AiMessage.from("answer " + requests.size()), new TokenUsage(10, 5));
+        }
+
+        @Override
+        public Response<AiMessage> generate(List<ChatMessage> messages, List<ToolSpecification> toolSpecifications) {
+            requests.add(messages);
+            return Response.from(AiMessage.from(ToolExecutionRequest.builder().name("tool").build()));
+        }
+    };
+
+    /**
+     * Embeds a text as the counts of its letters, ignoring case, so that texts differing only in case
+     * and punctuation have a score of 1.
+     */
+    private final EmbeddingModel embeddingModel = segments -> {
+        List<Embedding> embeddings = new ArrayList<>();
+        for (TextSegment segment : segments) {
+            embeddedTexts.add(segment.text());
+            float[] vector = new float[26];
+            for (char c : segment.text().toLowerCase().toCharArray()) {
+                if (c >= 'a' && c <= 'z') {
+                    vector[c - 'a']++;
+                }
+            }
+            embeddings.add(Embedding.from(vector));
+        }
+        return Response.from(embeddings);
+    };
+
+    private final TestEmbeddingStore embeddingStore = new TestEmbeddingStore();
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    private final Clock clock = new Clock() {
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(now.get());
+        }
+    };
+
+    @Test
+    void should_return_cached_responses_for_exact_and_similar_requests() {
+
+        SemanticCachingChatLanguageModel cachingModel = SemanticCachingChatLanguageModel.builder()
+                .delegate(model)
+                .embeddingModel(embeddingModel)
+                .embeddingStore(embeddingStore)
+                .minScore(0.99)
+                .build();
+
+        Response<AiMessage> first = cachingModel.generate(UserMessage.from("What is the capital of France?"));
+        Response<AiMessage> exact = cachingModel.generate(UserMessage.from("What is the capital of France?"));
+        Response<AiMessage> similar = cachingModel.generate(UserMessage.from("what is the capital of france"));
+        Response<AiMessage> different = cachingModel.generate(UserMessage.from("How tall is the Eiffel tower?"));
+
+        assertThat(requests).hasSize(2);
+        assertThat(first.content().text()).isEqualTo("answer 1");
+        assertThat(first.tokenUsage()).isEqualTo(new TokenUsage(10, 5));
+        assertThat(exact.content().text()).isEqualTo("answer 1");
+        assertThat(exact.tokenUsage()).isEqualTo(new TokenUsage(0, 0));
+        assertThat(similar.content().text()).isEqualTo("answer 1");
+        assertThat(different.content().text()).isEqualTo("answer 2");
+
+        assertThat(embeddedTexts).containsExactly(
+                "What is the capital of France?",
+                "what is the capital of france",
+                "How tall is the Eiffel tower?"
+        );
+        assertThat(cachingModel.exactHitCount()).isEqualTo(1);
+        assertThat(cachingModel.semanticHitCount()).isEqualTo(1);
+        assertThat(cachingModel.hitCount()).isEqualTo(2);
+        assertThat(cachingModel.missCount()).isEqualTo(2);
+        assertThat(cachingModel.hitRate()).isEqualTo(0.5);
+
+        // the similar request is now an exact match
+        cachingModel.generate(UserMessage.from("what is the capital of france"));
+        assertThat(embeddedTexts).hasSize(3);
+        assertThat(cachingModel.exactHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void should_include_system_messages_in_key() {
+
+        SemanticCachingChatLanguageModel cachingModel = SemanticCachingChatLanguageModel.builder()
+                .delegate(model)
+                .embeddingModel(embeddingModel)
+                .embeddingStore(embeddingStore)
+                .build();
+
+        cachingModel.generate(SystemMessage.from("Answer in English"), UserMessage.from("Capital of France?"));
+        cachingModel.generate(SystemMessage.from("Reply like a pirate would"), UserMessage.from("Capital of France?"));
+        Response<AiMessage> cached = cachingModel.generate(
+                SystemMessage.from("Reply like a pirate would"), UserMessage.from("Capital of France?"));
+
+        assertThat(requests).hasSize(2);
+        assertThat(cached.content().text()).isEqualTo("answer 2");
+    }
+
+    @Test
+    void should_not_return_response_cached_in_another_conversation() {
+
+        SemanticCachingChatLanguageModel cachingModel = SemanticCachingChatLanguageModel.builder()
+                .delegate(model)
+                .embeddingModel(embeddingModel)
+                .embeddingStore(embeddingStore)
+                .minScore(0.99)
+                .build();
+
+        Response<AiMessage> paris = cachingModel.generate(UserMessage.from("Tell me about Paris"));
+        Response<AiMessage> rome = cachingModel.generate(UserMessage.from("Tell me about Rome"));
+
+        Response<AiMessage> moreAboutParis = cachingModel.generate(
+                UserMessage.from("Tell me about Paris"), paris.content(), UserMessage.from("Tell me more"));
+        Response<AiMessage> moreAboutRome = cachingModel.generate(
+                UserMessage.from("Tell me about Rome"), rome.content(), UserMessage.from("Tell me more"));
+        Response<AiMessage> moreAboutParisAgain = cachingModel.generate(
+                UserMessage.from("Tell me about Paris"), paris.content(), UserMessage.from("tell me more!"));
+        Response<AiMessage> moreWithoutContext = cachingModel.generate(UserMessage.from("Tell me more"));
+
+        assertThat(moreAboutParis.content().text()).isEqualTo("answer 3");
+        assertThat(moreAboutRome.content().text()).isEqualTo("answer 4");
+        assertThat(moreAboutParisAgain.content().text()).isEqualTo("answer 3");
+        assertThat(moreWithoutContext.content().text()).isEqualTo("answer 5");
+        assertThat(requests).hasSize(5);
+        assertThat(cachingModel.semanticHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_ignore_expired_responses() {
+
+        SemanticCachingChatLanguageModel cachingModel = SemanticCachingChatLanguageModel.builder()
+                .delegate(model)
+                .embeddingModel(embeddingModel)
+                .embeddingStore(embeddingStore)
+                .timeToLive(Duration.ofMinutes(10))
+                .clock(clock)
+                .build();
+
+        cachingModel.generate(UserMessage.from("What is the capital of France?"));
+        now.addAndGet(Duration.ofMinutes(10).toMillis());
+        Response<AiMessage> cached = cachingModel.generate(UserMessage.from("What is the capital of France?"));
+        now.addAndGet(1);
+        Response<AiMessage> expired = cachingModel.generate(UserMessage.from("What is the capital of France?"));
+        Response<AiMessage> similar = cachingModel.generate(UserMessage.from("what is the capital of france"));
+
+        assertThat(cached.content().text()).isEqualTo("answer 1");
+        assertThat(expired.content().text()).isEqualTo("answer 2");
+        assertThat(similar.content().text()).isEqualTo("answer 2");
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    void should_not_cache_requests_with_tools() {
+
+        SemanticCachingChatLanguageModel cachingModel = SemanticCachingChatLanguageModel.builder()
+                .delegate(model)
+                .embeddingModel(embeddingModel)
+                .embeddingStore(embeddingStore)
+                .build();
+
+        List<ChatMessage> messages = singletonList(UserMessage.from("What time is it?"));
+        List<ToolSpecification> tools = singletonList(ToolSpecification.builder().name("tool").build());
+
+        cachingModel.generate(messages, tools);
+        cachingModel.generate(messages, tools);
+
+        assertThat(requests).hasSize(2);
+        assertThat(embeddedTexts).isEmpty();
+        assertThat(embeddingStore.embeddings).isEmpty();
+        assertThat(cachingModel.hitRate()).isZero();
+    }
+
+    private static class TestEmbeddingStore implements EmbeddingStore<TextSegment> {
+
+        private final List<Embedding> embeddings = new ArrayList<>();
+        private final List<TextSegment> segments = new ArrayList<>();
+
+        @Override
+        public String add(Embedding embedding, TextSegment textSegment) {
+            embeddings.add(embedding);
+            segments.add(textSegment);
+            return String.valueOf(embeddings.size());
+        }
+
+        @Override
+        public List<EmbeddingMatch<TextSegment>> findRelevant(Embedding referenceEmbedding,
+                                                              int maxResults,
+                                                              double minScore) {
+            List<EmbeddingMatch<TextSegment>> matches = new ArrayList<>();
+            for (int i = 0; i < embeddings.size(); i++) {
+                double score = RelevanceScore.fromCosineSimilarity(
+                        CosineSimilarity.between(embeddings.get(i), referenceEmbedding));
+                if (score >= minScore) {
+                    matches.add(new EmbeddingMatch<>(score, String.valueOf(i + 1), embeddings.get(i), segments.get(i)));
+                }
+            }
+            return matches.stream()
+                    .sorted(Comparator.comparingDouble(EmbeddingMatch<TextSegment>::score).reversed())
+                    .limit(maxResults)
+                    .collect(toList());
+        }
+
+        @Override
+        public String add(Embedding embedding) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void add(String id, Embedding embedding) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<String> addAll(List<Embedding> embeddings) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<String> addAll(List<Embedding> embeddings, List<TextSegment> embedded) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package dev.langchain4j.model.embedding.cache;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachingEmbeddingModelTest {
+
+    private final List<List<String>> requests = new ArrayList<>();
+
+    private final EmbeddingModel model = segments -> {
+        requests.add(segments.stream().map(TextSegment::text).collect(toList()));
+        List<Embedding> embeddings = segments.stream()
+                .map(segment -> Embedding.from(new float[]{segment.text().length(), segment.text().charAt(0)}))
+                .collect(toList());
+        return Response.from(embeddings, new TokenUsage(segments.size()));
+    };
+
+    @Test
+    void should_embed_only_missing_segments_and_preserve_order() {
+
+        CachingEmbeddingModel cachingModel = CachingEmbeddingModel.builder()
+                .delegate(model)
+                .modelName("model")
+                .caches(new InMemoryEmbeddingCache(100))
+                .build();
+
+        Response<List<Embedding>> first = cachingModel.embedAll(segments("a", "bb", "a"));
+        Response<List<Embedding>> second = cachingModel.embedAll(segments("ccc", "bb", "a", "dddd"));
+
+        assertThat(requests).containsExactly(asList("a", "bb"), asList("ccc", "dddd"));
+        assertThat(first.content()).containsExactly(embedding("a"), embedding("bb"), embedding("a"));
+        assertThat(first.tokenUsage()).isEqualTo(new TokenUsage(2));
+        assertThat(second.content()).containsExactly(embedding("ccc"), embedding("bb"), embedding("a"), embedding("dddd"));
+        assertThat(second.tokenUsage()).isEqualTo(new TokenUsage(2));
+        assertThat(cachingModel.hitCount()).isEqualTo(2);
+        assertThat(cachingModel.missCount()).isEqualTo(5);
+
+        Response<List<Embedding>> third = cachingModel.embedAll(segments("dddd", "a"));
+
+        assertThat(requests).hasSize(2);
+        assertThat(third.content()).containsExactly(embedding("dddd"), embedding("a"));
+        assertThat(third.tokenUsage()).isNull();
+        assertThat(cachingModel.embed("bb").content()).isEqualTo(embedding("bb"));
+        assertThat(cachingModel.hitCount()).isEqualTo(5);
+    }
+
+    @Test
+    void should_not_share_embeddings_between_models() {
+
+        InMemoryEmbeddingCache cache = new InMemoryEmbeddingCache(100);
+        CachingEmbeddingModel firstModel = CachingEmbeddingModel.builder()
+                .delegate(model).modelName("first").caches(cache).build();
+        CachingEmbeddingModel secondModel = CachingEmbeddingModel.builder()
+                .delegate(model).modelName("second").caches(cache).build();
+
+        firstModel.embed("a");
+        secondModel.embed("a");
+
+        assertThat(requests).hasSize(2);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void should_promote_embeddings_found_in_slower_tiers() {
+
+        InMemoryEmbeddingCache slowTier = new InMemoryEmbeddingCache(100);
+        CachingEmbeddingModel.builder().delegate(model).modelName("model").caches(slowTier).build().embed("a");
+
+        InMemoryEmbeddingCache fastTier = new InMemoryEmbeddingCache(100);
+        CachingEmbeddingModel cachingModel = CachingEmbeddingModel.builder()
+                .delegate(model)
+                .modelName("model")
+                .caches(fastTier, slowTier)
+                .build();
+
+        assertThat(cachingModel.embed("a").content()).isEqualTo(embedding("a"));
+        assertThat(cachingModel.embed("b").content()).isEqualTo(embedding("b"));
+
+        assertThat(requests).containsExactly(asList("a"), asList("b"));
+        assertThat(fastTier.size()).isEqualTo(2);
+        assertThat(slowTier.size()).isEqualTo(2);
+    }
+
+    @Test
+    void should_require_model_name() {
+
+        CachingEmbeddingModel.Builder builder = CachingEmbeddingModel.builder()
+                .delegate(model)
+                .caches(new InMemoryEmbeddingCache(100));
+
+        assertThatThrownBy(builder::build)
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("modelName cannot be null or blank");
+        assertThatThrownBy(() -> builder.modelName(" ").build())
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("modelName cannot be null or blank");
+    }
+
+    private static List<TextSegment> segments(String... texts) {
+        return asList(texts).stream().map(TextSegment::from).collect(toList());
+    }
+
+    private static Embedding embedding(String text) {
+        return Embedding.from(new float[]{text.length(), text.charAt(0)});
+    }
+}
@@ -0,0 +1,79 @@
+package dev.langchain4j.model.embedding.cache;
+
+import dev.langchain4j.data.embedding.Embedding;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileEmbeddingCacheTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    @Test
+    void should_persist_embeddings() {
+
+        Path file = temporaryDirectory.resolve("cache.bin");
+        try (FileEmbeddingCache cache = new FileEmbeddingCache(file)) {
+            cache.put("a", Embedding.from(new float[]{1, 2, 3}));
+            cache.put("b", Embedding.from(new float[]{4, 5}));
+            cache.put("a", Embedding.from(new float[]{6}));
+
+            assertThat(cache.get("a")).isEqualTo(Embedding.from(new float[]{1, 2, 3}));
+            assertThat(cache.get("c")).isNull();
+        }
+
+        try (FileEmbeddingCache cache = new FileEmbeddingCache(file)) {
+            assertThat(cache.size()).isEqualTo(2);
+            assertThat(cache.get("a")).isEqualTo(Embedding.from(new float[]{1, 2, 3}));
+            assertThat(cache.get("b")).isEqualTo(Embedding.from(new float[]{4, 5}));
+        }
+    }
+
+    @Test
+    void should_discard_incomplete_record() throws IOException {
+
+        Path file = temporaryDirectory.resolve("cache.bin");
+        long sizeAfterFirstRecord;
+        try (FileEmbeddingCache cache = new FileEmbeddingCache(file)) {
+            cache.put("a", Embedding.from(new float[]{1, 2, 3}));
+            sizeAfterFirstRecord = Files.size(file);
+            cache.put("b", Embedding.from(new float[]{4, 5}));
+        }
+        try (FileChannel channel = FileChannel.open(file, WRITE)) {
+            channel.truncate(Files.size(file) - 1);
+        }
+
+        try (FileEmbeddingCache cache = new FileEmbeddingCache(file)) {
+            assertThat(cache.size()).isEqualTo(1);
+            assertThat(Files.size(file)).isEqualTo(sizeAfterFirstRecord);
+
+            cache.put("c", Embedding.from(new float[]{7}));
+        }
+
+        try (FileEmbeddingCache cache = new FileEmbeddingCache(file)) {
+            assertThat(cache.get("a")).isEqualTo(Embedding.from(new float[]{1, 2, 3}));
+            assertThat(cache.get("b")).isNull();
+            assertThat(cache.get("c")).isEqualTo(Embedding.from(new float[]{7}));
+        }
+    }
+
+    @Test
+    void should_fail_to_open_other_files() throws IOException {
+
+        Path file = temporaryDirectory.resolve("other.txt");
+        Files.write(file, "not an embedding cache".getBytes());
+
+        assertThatThrownBy(() -> new FileEmbeddingCache(file))
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("is not an embedding cache file");
+    }
+}
@@ -0,0 +1,25 @@
+package dev.langchain4j.model.embedding.cache;
+
+import dev.langchain4j.data.embedding.Embedding;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryEmbeddingCacheTest {
+
+    @Test
+    void should_evict_least_recently_used_embedding() {
+
+        InMemoryEmbeddingCache cache = new InMemoryEmbeddingCache(2);
+        cache.put("a", Embedding.from(new float[]{1}));
+        cache.put("b", Embedding.from(new float[]{2}));
+        cache.get("a");
+
+        cache.put("c", Embedding.from(new float[]{3}));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("a")).isEqualTo(Embedding.from(new float[]{1}));
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isEqualTo(Embedding.from(new float[]{3}));
+    }
+}
@@ -0,0 +1,85 @@
+package dev.langchain4j.model.input;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Plain-loop benchmark of the rendering of a large RAG prompt with {@link PromptTemplate}.
+ * It is not a test (surefire does not pick it up), run it with {@code main}.
+ * <p>
+ * The template has 43 variables: a question, the name of the user, the current date,
+ * and the text and source of 20 retrieved chunks of 2000 characters each.
+ * Each render calls {@link PromptTemplate#from(String)} and {@link PromptTemplate#apply(Map)},
+ * as a RAG pipeline building the prompt of every request does.
+ * <p>
+ * The only argument is the number of renders (default: 10000).
+ * The renders are made once to warm up, then once more measured.
+ */
+class PromptTemplateBenchmark {
+
+    private static final int CHUNKS = 20;
+    private static final int CHUNK_LENGTH = 2000;
+
+    private static final String[] WORDS = {
+            "the", "quick", "brown", "fox", "jumps", "over", "lazy", "dog",
+            "retrieval", "augmented", "generation", "language", "model"
+    };
+
+    public static void main(String[] args) {
+        int renders = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+
+        String template = template();
+        Map<String, Object> variables = variables();
+
+        run(template, variables, renders);
+
+        long start = System.nanoTime();
+        int length = run(template, variables, renders);
+        double elapsedMicros = (System.nanoTime() - start) / 1_000.0;
+
+        System.out.printf("%d renders of %d chars %8.2f us/render%n", renders, length, elapsedMicros / renders);
+    }
+
+    private static String template() {
+        StringBuilder template = new StringBuilder()
+                .append("You are a helpful assistant talking to {{name}}. Today is {{current_date}}.\n")
+                .append("Answer the question using only the information below.\n\n");
+        for (int i = 0; i < CHUNKS; i++) {
+            template.append("Source: {{source").append(i).append("}}\n")
+                    .append("{{chunk").append(i).append("}}\n\n");
+        }
+        return template.append("Question: {{question}}").toString();
+    }
+
+    private static Map<String, Object> variables() {
+        Random random = new Random(42);
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("name", "Klaus");
+        variables.put("question", "What does the quick brown fox do?");
+        for (int i = 0; i < CHUNKS; i++) {
+            variables.put("source" + i, "document-" + i + ".pdf");
+            variables.put("chunk" + i, generateText(random));
+        }
+        return variables;
+    }
+
+    private static String generateText(Random random) {
+        StringBuilder text = new StringBuilder();
+        while (text.length() < CHUNK_LENGTH) {
+            if (text.length() > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.substring(0, CHUNK_LENGTH);
+    }
+
+    private static int run(String template, Map<String, Object> variables, int renders) {
+        int length = 0;
+        for (int i = 0; i < renders; i++) {
+            length = PromptTemplate.from(template).apply(variables).text().length();
+        }
+        return length;
+    }
+}
@@ -91,6 +91,38 @@ class PromptTemplateTest {
         assertThat(prompt.text()).isEqualTo("My name is Klaus, call me Klaus.");
     }
 
+    @Test
+    void should_not_substitute_variables_inside_values() {
+
+        // given
+        PromptTemplate promptTemplate = PromptTemplate.from("Answer {{question}} using {{context}}.");
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("question", "what is {{context}}?");
+        variables.put("context", "the {{question}}");
+
+        // when
+        Prompt prompt = promptTemplate.apply(variables);
+
+        // then
+        assertThat(prompt.text()).isEqualTo("Answer what is {{context}}? using the {{question}}.");
+    }
+
+    @Test
+    void should_reuse_compiled_templates() {
+
+        // given
+        DefaultPromptTemplateFactory factory = new DefaultPromptTemplateFactory();
+
+        // when
+        DefaultPromptTemplateFactory.DefaultTemplate first = factory.create(() -> "Hello {{name}}!");
+        DefaultPromptTemplateFactory.DefaultTemplate second = factory.create(() -> "Hello {{name}}!");
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(second.render(singletonMap("name", "Klaus"))).isEqualTo("Hello Klaus!");
+    }
+
     @Test
     void should_fail_when_value_is_missing() {
 
@@ -10,23 +10,29 @@ import dev.langchain4j.rag.query.Query;
 import dev.langchain4j.rag.query.router.DefaultQueryRouter;
 import dev.langchain4j.rag.query.router.QueryRouter;
 import dev.langchain4j.rag.query.transformer.QueryTransformer;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 class DefaultRetrievalAugmentorTest {
@@ -145,6 +151,188 @@ class DefaultRetrievalAugmentorTest {
         verifyNoMoreInteractions(queryRouter);
     }
 
+    @ParameterizedTest
+    @MethodSource("executors")
+    void should_augment_user_message_asynchronously(Executor executor) {
+
+        // given
+        Query query1 = Query.from("query 1");
+        Query query2 = Query.from("query 2");
+        QueryTransformer queryTransformer = new TestQueryTransformer(query1, query2);
+
+        ContentRetriever contentRetriever1 = new TestContentRetriever(Content.from("content 1"));
+        ContentRetriever contentRetriever2 = new TestContentRetriever(Content.from("content 2"));
+
+        RetrievalAugmentor retrievalAugmentor = DefaultRetrievalAugmentor.builder()
+                .queryTransformer(queryTransformer)
+                .queryRouter(new DefaultQueryRouter(contentRetriever1, contentRetriever2))
+                .contentAggregator(new TestContentAggregator())
+                .contentInjector(new TestContentInjector())
+                .executor(executor)
+                .build();
+
+        UserMessage userMessage = UserMessage.from("query");
+
+        Metadata metadata = Metadata.from(userMessage, null, null);
+
+        // when
+        UserMessage augmented = retrievalAugmentor.augmentAsync(userMessage, metadata).join();
+
+        // then
+        assertThat(augmented.singleText()).isEqualTo(
+                "query\n" +
+                        "content 1\n" +
+                        "content 2\n" +
+                        "content 1\n" +
+                        "content 2"
+        );
+    }
+
+    @Test
+    void should_augment_with_partial_contents_when_retriever_times_out() {
+
+        // given
+        ContentRetriever fastRetriever = new TestContentRetriever(Content.from("fast content"));
+        ContentRetriever slowRetriever = new SlowContentRetriever(Content.from("slow content"), 5_000, 5_000);
+
+        RetrievalAugmentor retrievalAugmentor = DefaultRetrievalAugmentor.builder()
+                .queryRouter(new DefaultQueryRouter(fastRetriever, slowRetriever))
+                .contentInjector(new TestContentInjector())
+                .retrieverTimeout(Duration.ofMillis(200))
+                .build();
+
+        UserMessage userMessage = UserMessage.from("query");
+
+        // when
+        long start = System.nanoTime();
+        UserMessage augmented = retrievalAugmentor.augment(userMessage, Metadata.from(userMessage, null, null));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // then
+        assertThat(augmented.singleText()).isEqualTo("query\nfast content");
+        assertThat(elapsedMillis).isLessThan(2_000);
+    }
+
+    @Test
+    void should_use_hedged_request_when_retriever_is_slow() {
+
+        // given
+        SlowContentRetriever retriever = new SlowContentRetriever(Content.from("content"), 5_000, 0);
+
+        RetrievalAugmentor retrievalAugmentor = DefaultRetrievalAugmentor.builder()
+                .contentRetriever(retriever)
+                .contentInjector(new TestContentInjector())
+                .hedgeDelay(Duration.ofMillis(100))
+                .build();
+
+        UserMessage userMessage = UserMessage.from("query");
+
+        // when
+        long start = System.nanoTime();
+        UserMessage augmented = retrievalAugmentor.augmentAsync(userMessage, Metadata.from(userMessage, null, null))
+                .join();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // then
+        assertThat(augmented.singleText()).isEqualTo("query\ncontent");
+        assertThat(retriever.calls.get()).isEqualTo(2);
+        assertThat(elapsedMillis).isLessThan(2_000);
+    }
+
+    @Test
+    void should_use_hedged_request_when_first_attempt_fails() {
+
+        // given
+        FailingContentRetriever retriever = new FailingContentRetriever(Content.from("content"), 200, 400);
+
+        RetrievalAugmentor retrievalAugmentor = DefaultRetrievalAugmentor.builder()
+                .contentRetriever(retriever)
+                .contentInjector(new TestContentInjector())
+                .hedgeDelay(Duration.ofMillis(100))
+                .build();
+
+        UserMessage userMessage = UserMessage.from("query");
+
+        // when
+        UserMessage augmented = retrievalAugmentor.augmentAsync(userMessage, Metadata.from(userMessage, null, null))
+                .join();
+
+        // then
+        assertThat(augmented.singleText()).isEqualTo("query\ncontent");
+        assertThat(retriever.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void should_fail_when_only_launched_attempt_fails() {
+
+        // given
+        FailingContentRetriever retriever = new FailingContentRetriever(Content.from("content"), 0, 0);
+
+        RetrievalAugmentor retrievalAugmentor = DefaultRetrievalAugmentor.builder()
+                .contentRetriever(retriever)
+                .contentInjector(new TestContentInjector())
+                .hedgeDelay(Duration.ofMillis(500))
+                .build();
+
+        UserMessage userMessage = UserMessage.from("query");
+
+        // when-then
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> retrievalAugmentor.augmentAsync(userMessage, Metadata.from(userMessage, null, null))
+                .join())
+                .hasRootCauseMessage("first call failed");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(elapsedMillis).isLessThan(500);
+        assertThat(retriever.calls.get()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @MethodSource("executors")
+    void should_retrieve_queries_routed_to_same_retriever_in_one_call(Executor executor) {
+
+        // given
+        Query query1 = Query.from("query 1");
+        Query query2 = Query.from("query 2");
+
+        BatchContentRetriever contentRetriever1 = new BatchContentRetriever("retriever 1");
+        BatchContentRetriever contentRetriever2 = new BatchContentRetriever("retriever 2");
+
+        QueryRouter queryRouter = query -> query.equals(query1)
+                ? asList(contentRetriever1, contentRetriever2)
+                : singletonList(contentRetriever1);
+
+        ContentAggregator contentAggregator = spy(new TestContentAggregator());
+
+        RetrievalAugmentor retrievalAugmentor = DefaultRetrievalAugmentor.builder()
+                .queryTransformer(new TestQueryTransformer(query1, query2))
+                .queryRouter(queryRouter)
+                .contentAggregator(contentAggregator)
+                .contentInjector(new TestContentInjector())
+                .executor(executor)
+                .batchQueries(true)
+                .build();
+
+        UserMessage userMessage = UserMessage.from("query");
+
+        // when
+        retrievalAugmentor.augment(userMessage, Metadata.from(userMessage, null, null));
+
+        // then
+        assertThat(contentRetriever1.batches).containsExactly(asList(query1, query2));
+        assertThat(contentRetriever2.batches).containsExactly(singletonList(query1));
+
+        Map<Query, Collection<List<Content>>> queryToContents = new HashMap<>();
+        queryToContents.put(query1, asList(
+                singletonList(Content.from("retriever 1: query 1")),
+                singletonList(Content.from("retriever 2: query 1"))
+        ));
+        queryToContents.put(query2, singletonList(
+                singletonList(Content.from("retriever 1: query 2"))
+        ));
+        verify(contentAggregator).aggregate(queryToContents);
+    }
+
     static Stream<Arguments> executors() {
         return Stream.<Arguments>builder()
                 .add(Arguments.of(Executors.newCachedThreadPool()))
@@ -197,6 +385,82 @@ class DefaultRetrievalAugmentorTest {
         }
     }
 
+    static class BatchContentRetriever implements ContentRetriever {
+
+        private final String name;
+        private final List<List<Query>> batches = new CopyOnWriteArrayList<>();
+
+        BatchContentRetriever(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public List<Content> retrieve(Query query) {
+            throw new UnsupportedOperationException("queries should be retrieved in batches");
+        }
+
+        @Override
+        public List<List<Content>> retrieveAll(List<Query> queries) {
+            batches.add(queries);
+            return queries.stream()
+                    .map(query -> singletonList(Content.from(name + ": " + query.text())))
+                    .collect(toList());
+        }
+    }
+
+    static class SlowContentRetriever implements ContentRetriever {
+
+        private final List<Content> contents;
+        private final long firstCallDelayMillis;
+        private final long nextCallsDelayMillis;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        SlowContentRetriever(Content content, long firstCallDelayMillis, long nextCallsDelayMillis) {
+            this.contents = singletonList(content);
+            this.firstCallDelayMillis = firstCallDelayMillis;
+            this.nextCallsDelayMillis = nextCallsDelayMillis;
+        }
+
+        @Override
+        public List<Content> retrieve(Query query) {
+            long delayMillis = calls.incrementAndGet() == 1 ? firstCallDelayMillis : nextCallsDelayMillis;
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return contents;
+        }
+    }
+
+    static class FailingContentRetriever implements ContentRetriever {
+
+        private final List<Content> contents;
+        private final long firstCallDelayMillis;
+        private final long nextCallsDelayMillis;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        FailingContentRetriever(Content content, long firstCallDelayMillis, long nextCallsDelayMillis) {
+            this.contents = singletonList(content);
+            this.firstCallDelayMillis = firstCallDelayMillis;
+            this.nextCallsDelayMillis = nextCallsDelayMillis;
+        }
+
+        @Override
+        public List<Content> retrieve(Query query) {
+            boolean firstCall = calls.incrementAndGet() == 1;
+            try {
+                Thread.sleep(firstCall ? firstCallDelayMillis : nextCallsDelayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (firstCall) {
+                throw new RuntimeException("first call failed");
+            }
+            return contents;
+        }
+    }
+
     static class TestContentAggregator implements ContentAggregator {
 
         @Override
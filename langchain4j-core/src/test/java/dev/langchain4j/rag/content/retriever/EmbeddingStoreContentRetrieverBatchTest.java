@@ -0,0 +1,81 @@
+package dev.langchain4j.rag.content.retriever;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.rag.content.Content;
+import dev.langchain4j.rag.query.Query;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingSearchResult;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests if EmbeddingStoreContentRetriever embeds and searches multiple queries with single calls.
+ */
+class EmbeddingStoreContentRetrieverBatchTest {
+
+    private static final Embedding EMBEDDING_1 = Embedding.from(asList(1f, 2f, 3f));
+    private static final Embedding EMBEDDING_2 = Embedding.from(asList(4f, 5f, 6f));
+
+    @Test
+    void should_embed_and_search_all_queries_at_once() {
+
+        // given
+        Query query1 = Query.from("query 1");
+        Query query2 = Query.from("query 2");
+
+        EmbeddingModel embeddingModel = mock(EmbeddingModel.class);
+        when(embeddingModel.embedAll(any())).thenReturn(Response.from(asList(EMBEDDING_1, EMBEDDING_2)));
+
+        EmbeddingStore<TextSegment> embeddingStore = mock(EmbeddingStore.class);
+        when(embeddingStore.searchAll(any())).thenReturn(asList(
+                new EmbeddingSearchResult<>(singletonList(
+                        new EmbeddingMatch<>(0.9, "id 1", null, TextSegment.from("content 1")))),
+                new EmbeddingSearchResult<>(singletonList(
+                        new EmbeddingMatch<>(0.8, "id 2", null, TextSegment.from("content 2"))))
+        ));
+
+        ContentRetriever contentRetriever = EmbeddingStoreContentRetriever.builder()
+                .embeddingStore(embeddingStore)
+                .embeddingModel(embeddingModel)
+                .dynamicMaxResults(query -> query == query1 ? 1 : 2)
+                .dynamicFilter(query -> metadataKey("query").isEqualTo(query.text()))
+                .build();
+
+        // when
+        List<List<Content>> contents = contentRetriever.retrieveAll(asList(query1, query2));
+
+        // then
+        assertThat(contents).containsExactly(
+                singletonList(Content.from("content 1")),
+                singletonList(Content.from("content 2"))
+        );
+
+        verify(embeddingModel).embedAll(asList(TextSegment.from("query 1"), TextSegment.from("query 2")));
+        verify(embeddingStore).searchAll(asList(
+                EmbeddingSearchRequest.builder()
+                        .queryEmbedding(EMBEDDING_1)
+                        .maxResults(1)
+                        .filter(metadataKey("query").isEqualTo("query 1"))
+                        .build(),
+                EmbeddingSearchRequest.builder()
+                        .queryEmbedding(EMBEDDING_2)
+                        .maxResults(2)
+                        .filter(metadataKey("query").isEqualTo("query 2"))
+                        .build()
+        ));
+        verifyNoMoreInteractions(embeddingModel, embeddingStore);
+    }
+}
@@ -0,0 +1,90 @@
+package dev.langchain4j.store.embedding;
+
+import dev.langchain4j.data.embedding.Embedding;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.util.Arrays.asList;
+
+class AsyncEmbeddingStoreTest implements WithAssertions {
+
+    private static class NativeAsyncEmbeddingStore extends EmbeddingStoreTest.MinimalEmbeddingStore
+            implements AsyncEmbeddingStore<String> {
+
+        @Override
+        public CompletableFuture<List<String>> addAllAsync(List<Embedding> embeddings) {
+            return new CompletableFuture<>();
+        }
+
+        @Override
+        public CompletableFuture<List<String>> addAllAsync(List<Embedding> embeddings, List<String> embedded) {
+            return new CompletableFuture<>();
+        }
+
+        @Override
+        public CompletableFuture<EmbeddingSearchResult<String>> searchAsync(EmbeddingSearchRequest request) {
+            return new CompletableFuture<>();
+        }
+    }
+
+    @Test
+    void should_call_blocking_store_on_executor() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "store-thread"));
+        try {
+            EmbeddingStore<String> store = new EmbeddingStoreTest.MinimalEmbeddingStore() {
+
+                @Override
+                public List<String> addAll(List<Embedding> embeddings, List<String> embedded) {
+                    return asList(Thread.currentThread().getName(), embedded.get(0));
+                }
+            };
+            AsyncEmbeddingStore<String> asyncStore = AsyncEmbeddingStore.from(store, executor);
+
+            EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                    .queryEmbedding(Embedding.from(new float[]{1, 2}))
+                    .maxResults(3)
+                    .minScore(0.5)
+                    .build();
+            EmbeddingSearchResult<String> result = asyncStore.searchAsync(request).get();
+            List<String> ids = asyncStore.addAllAsync(
+                    asList(Embedding.from(new float[]{1, 2})), asList("embedded")).get();
+
+            assertThat(result.matches()).hasSize(1);
+            assertThat(result.matches().get(0).embedded()).isEqualTo("[1.0, 2.0], 3, 0.50");
+            assertThat(ids).containsExactly("store-thread", "embedded");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void should_complete_exceptionally_when_blocking_store_fails() {
+        EmbeddingStore<String> store = new EmbeddingStoreTest.MinimalEmbeddingStore() {
+
+            @Override
+            public List<String> addAll(List<Embedding> embeddings) {
+                throw new IllegalStateException("store is down");
+            }
+        };
+
+        CompletableFuture<List<String>> future = AsyncEmbeddingStore.from(store, Runnable::run)
+                .addAllAsync(asList(Embedding.from(new float[]{1, 2})));
+
+        assertThatThrownBy(future::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void should_return_native_async_store_as_is() {
+        NativeAsyncEmbeddingStore store = new NativeAsyncEmbeddingStore();
+
+        assertThat(AsyncEmbeddingStore.from(store, null)).isSameAs(store);
+    }
+}
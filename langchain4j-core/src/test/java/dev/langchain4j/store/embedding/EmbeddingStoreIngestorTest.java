@@ -11,9 +11,20 @@ import dev.langchain4j.model.embedding.EmbeddingModel;
 import dev.langchain4j.model.output.Response;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static dev.langchain4j.data.segment.TextSegment.textSegment;
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static java.util.Collections.synchronizedList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 class EmbeddingStoreIngestorTest {
@@ -199,4 +210,117 @@ class EmbeddingStoreIngestorTest {
         verify(embeddingStore).addAll(singletonList(expectedEmbedding), singletonList(expectedTextSegment));
         verifyNoMoreInteractions(embeddingStore);
     }
-}
\ No newline at end of file
+
+    @Test
+    void should_embed_batches_concurrently() {
+
+        // given
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            documents.add(Document.from("Document " + i));
+        }
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        EmbeddingModel embeddingModel = segments -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            inFlight.decrementAndGet();
+            return Response.from(segments.stream().map(segment -> Embedding.from(new float[]{1})).collect(toList()));
+        };
+
+        EmbeddingStore<TextSegment> embeddingStore = mock(EmbeddingStore.class);
+        List<TextSegment> stored = synchronizedList(new ArrayList<>());
+        when(embeddingStore.addAll(anyList(), anyList())).thenAnswer(invocation -> {
+            stored.addAll(invocation.getArgument(1));
+            return emptyList();
+        });
+
+        EmbeddingStoreIngestionListener listener = mock(EmbeddingStoreIngestionListener.class);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        EmbeddingStoreIngestor ingestor = EmbeddingStoreIngestor.builder()
+                .embeddingModel(embeddingModel)
+                .embeddingStore(embeddingStore)
+                .embeddingBatchSize(3)
+                .maxConcurrentEmbeddingRequests(2)
+                .executor(executor)
+                .listener(listener)
+                .build();
+
+        // when
+        try {
+            ingestor.ingest(documents);
+        } finally {
+            executor.shutdown();
+        }
+
+        // then
+        assertThat(stored).extracting(TextSegment::text).containsExactlyInAnyOrder(
+                documents.stream().map(Document::text).toArray(String[]::new));
+        assertThat(maxInFlight.get()).isEqualTo(2);
+        verify(embeddingStore, times(4)).addAll(anyList(), anyList());
+        verify(listener, times(4)).onBatchIngested(anyList(), anyList());
+        verify(listener, never()).onBatchFailed(anyList(), any());
+    }
+
+    @Test
+    void should_skip_failed_batch_when_listener_handles_failure() {
+
+        // given
+        RuntimeException error = new RuntimeException("embedding failed");
+        EmbeddingModel embeddingModel = segments -> {
+            if (segments.get(0).text().equals("Second")) {
+                throw error;
+            }
+            return Response.from(segments.stream().map(segment -> Embedding.from(new float[]{1})).collect(toList()));
+        };
+
+        EmbeddingStore<TextSegment> embeddingStore = mock(EmbeddingStore.class);
+        EmbeddingStoreIngestionListener listener = mock(EmbeddingStoreIngestionListener.class);
+
+        EmbeddingStoreIngestor ingestor = EmbeddingStoreIngestor.builder()
+                .embeddingModel(embeddingModel)
+                .embeddingStore(embeddingStore)
+                .embeddingBatchSize(1)
+                .maxConcurrentEmbeddingRequests(2)
+                .listener(listener)
+                .build();
+
+        // when
+        ingestor.ingest(Document.from("First"), Document.from("Second"), Document.from("Third"));
+
+        // then
+        verify(embeddingStore, times(2)).addAll(anyList(), anyList());
+        verify(listener).onBatchFailed(singletonList(TextSegment.from("Second", Metadata.from("index", "0"))), error);
+        verify(listener, times(2)).onBatchIngested(anyList(), anyList());
+    }
+
+    @Test
+    void should_propagate_failure_when_no_listener_is_specified() {
+
+        // given
+        EmbeddingModel embeddingModel = segments -> {
+            throw new RuntimeException("embedding failed");
+        };
+
+        EmbeddingStore<TextSegment> embeddingStore = mock(EmbeddingStore.class);
+
+        EmbeddingStoreIngestor ingestor = EmbeddingStoreIngestor.builder()
+                .embeddingModel(embeddingModel)
+                .embeddingStore(embeddingStore)
+                .embeddingBatchSize(1)
+                .maxConcurrentEmbeddingRequests(2)
+                .build();
+
+        // when-then
+        assertThatThrownBy(() -> ingestor.ingest(Document.from("First"), Document.from("Second")))
+                .isExactlyInstanceOf(RuntimeException.class)
+                .hasMessage("embedding failed");
+        verifyNoInteractions(embeddingStore);
+    }
+}
@@ -0,0 +1,101 @@
+package dev.langchain4j.store.embedding;
+
+import dev.langchain4j.data.embedding.Embedding;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+class VectorSimilarityTest implements WithAssertions {
+
+    @Test
+    void should_calculate_dot_product() {
+        float[] a = {1, 2, 3, 4, 5, 6, 7};
+        float[] b = {7, 6, 5, 4, 3, 2, 1};
+
+        assertThat(VectorSimilarity.dotProduct(a, b)).isEqualTo(84);
+        assertThat(VectorSimilarity.dotProduct(a, 2, b, 1, 3)).isEqualTo(3 * 6 + 4 * 5 + 5 * 4);
+    }
+
+    @Test
+    void should_calculate_euclidean_distance() {
+        float[] a = {1, 2, 3, 4, 5};
+        float[] b = {1, 2, 3, 7, 9};
+
+        assertThat(VectorSimilarity.squaredEuclideanDistance(a, b)).isEqualTo(25);
+        assertThat(VectorSimilarity.euclideanDistance(a, b)).isEqualTo(5);
+    }
+
+    @Test
+    void should_calculate_cosine_similarity_like_naive_implementation() {
+        Random random = new Random(1);
+        for (int dimension : new int[]{1, 2, 3, 4, 5, 384, 1536}) {
+            float[] a = randomVector(random, dimension);
+            float[] b = randomVector(random, dimension);
+
+            assertThat(VectorSimilarity.cosineSimilarity(a, b)).isCloseTo(naiveCosineSimilarity(a, b), within(1e-9));
+            assertThat(CosineSimilarity.between(Embedding.from(a), Embedding.from(b)))
+                    .isCloseTo(naiveCosineSimilarity(a, b), within(1e-9));
+        }
+    }
+
+    @Test
+    void should_treat_zero_vectors_as_orthogonal() {
+        float[] zeros = {0, 0, 0};
+
+        assertThat(VectorSimilarity.cosineSimilarity(zeros, zeros)).isEqualTo(0);
+        assertThat(VectorSimilarity.cosineSimilarities(zeros, new float[][]{{1, 2, 3}})).containsExactly(0);
+    }
+
+    @Test
+    void should_score_query_against_many_vectors() {
+        Random random = new Random(1);
+        float[] query = randomVector(random, 5);
+        float[][] vectors = {randomVector(random, 5), randomVector(random, 5), randomVector(random, 5)};
+
+        float[] rows = new float[2 + 3 * 5];
+        for (int i = 0; i < vectors.length; i++) {
+            System.arraycopy(vectors[i], 0, rows, 2 + i * 5, 5);
+        }
+
+        double[] dotProducts = new double[3];
+        VectorSimilarity.dotProducts(query, rows, 2, 3, dotProducts);
+        double[] cosineSimilarities = VectorSimilarity.cosineSimilarities(query, vectors);
+
+        for (int i = 0; i < vectors.length; i++) {
+            assertThat(dotProducts[i]).isEqualTo(VectorSimilarity.dotProduct(query, vectors[i]));
+            assertThat(cosineSimilarities[i]).isCloseTo(naiveCosineSimilarity(query, vectors[i]), within(1e-9));
+        }
+    }
+
+    @Test
+    void should_fail_when_lengths_differ() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> VectorSimilarity.dotProduct(new float[2], new float[3]))
+                .withMessage("Length of vector a (2) must be equal to the length of vector b (3)");
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> VectorSimilarity.dotProducts(new float[2], new float[5], 0, 3, new double[3]))
+                .withMessage("rows (5) must hold 3 vectors of length 2 starting at 0");
+    }
+
+    private static double naiveCosineSimilarity(float[] a, float[] b) {
+        double dot = 0;
+        double normA = 0;
+        double normB = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return dot / (Math.sqrt(normA) * Math.sqrt(normB));
+    }
+
+    private static float[] randomVector(Random random, int dimension) {
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,92 @@
+package dev.langchain4j.store.embedding.filter;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.store.embedding.filter.comparison.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FilterCompilerTest {
+
+    private static final Object[] VALUES = {
+            "a", "b", "A", "",
+            -1, 0, 1, 2, Integer.MAX_VALUE,
+            -1L, 0L, 1L, 3L, Long.MAX_VALUE, Long.MIN_VALUE,
+            -1f, 0f, -0f, 0.1f, 1f, 1.5f, Float.MAX_VALUE,
+            -1d, 0d, -0d, 0.1d, 1d, 1.5d, Double.MIN_VALUE, (double) Long.MAX_VALUE
+    };
+
+    @Test
+    void should_give_same_results_as_filter() {
+
+        List<Metadata> metadatas = new ArrayList<>();
+        metadatas.add(new Metadata());
+        metadatas.add(new Metadata().put("other", 1));
+        for (Object value : VALUES) {
+            metadatas.add(new Metadata(singletonMap("key", value)));
+        }
+
+        List<Filter> filters = new ArrayList<>();
+        for (Object value : VALUES) {
+            filters.add(new IsEqualTo("key", value));
+            filters.add(new IsNotEqualTo("key", value));
+            filters.add(new IsGreaterThan("key", (Comparable<?>) value));
+            filters.add(new IsGreaterThanOrEqualTo("key", (Comparable<?>) value));
+            filters.add(new IsLessThan("key", (Comparable<?>) value));
+            filters.add(new IsLessThanOrEqualTo("key", (Comparable<?>) value));
+            filters.add(new IsIn("key", asList(value, "a")));
+            filters.add(new IsIn("key", asList(value, 1)));
+            filters.add(new IsIn("key", asList(value, 1L, 2)));
+            filters.add(new IsNotIn("key", asList(value, 1.5d)));
+            filters.add(new IsNotIn("key", asList(value, "b")));
+        }
+
+        for (Filter filter : filters) {
+            Predicate<Metadata> compiled = FilterCompiler.compile(filter);
+            for (Metadata metadata : metadatas) {
+                assertSameResult(filter, compiled, metadata);
+                assertSameResult(filter.and(metadataKey("other").isEqualTo(1)),
+                        FilterCompiler.compile(filter.and(metadataKey("other").isEqualTo(1))), metadata);
+                assertSameResult(Filter.not(filter), FilterCompiler.compile(Filter.not(filter)), metadata);
+                assertSameResult(filter.or(metadataKey("other").isIn(1, 2)),
+                        FilterCompiler.compile(filter.or(metadataKey("other").isIn(1, 2))), metadata);
+            }
+        }
+    }
+
+    @Test
+    void should_delegate_custom_filters() {
+
+        Filter custom = object -> object instanceof Metadata && ((Metadata) object).containsKey("key");
+
+        Predicate<Metadata> compiled = FilterCompiler.compile(custom.and(metadataKey("key").isLessThan(3)));
+
+        assertThat(compiled.test(new Metadata(singletonMap("key", 2)))).isTrue();
+        assertThat(compiled.test(new Metadata(singletonMap("key", 3)))).isFalse();
+        assertThat(compiled.test(new Metadata())).isFalse();
+    }
+
+    private static void assertSameResult(Filter filter, Predicate<Metadata> compiled, Metadata metadata) {
+        boolean expected;
+        try {
+            expected = filter.test(metadata);
+        } catch (RuntimeException e) {
+            assertThatThrownBy(() -> compiled.test(metadata))
+                    .describedAs("%s on %s", filter, metadata)
+                    .isExactlyInstanceOf(e.getClass())
+                    .hasMessage(e.getMessage());
+            return;
+        }
+        assertThat(compiled.test(metadata))
+                .describedAs("%s on %s", filter, metadata)
+                .isEqualTo(expected);
+    }
+}
@@ -0,0 +1,101 @@
+package dev.langchain4j.store.memory.chat;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class WriteBehindChatMemoryStoreTest {
+
+    private static final Duration NEVER = Duration.ofDays(1);
+
+    @Test
+    void should_read_through_and_coalesce_updates() {
+
+        ChatMemoryStore delegate = spy(new InMemoryChatMemoryStore());
+        delegate.updateMessages("a", singletonList(UserMessage.from("persisted")));
+
+        try (WriteBehindChatMemoryStore store = WriteBehindChatMemoryStore.builder()
+                .delegate(delegate)
+                .flushInterval(NEVER)
+                .build()) {
+
+            assertThat(store.getMessages("a")).containsExactly(UserMessage.from("persisted"));
+            assertThat(store.getMessages("a")).containsExactly(UserMessage.from("persisted"));
+            verify(delegate, times(1)).getMessages("a");
+
+            List<ChatMessage> first = asList(UserMessage.from("persisted"), AiMessage.from("first"));
+            List<ChatMessage> second = asList(UserMessage.from("persisted"), AiMessage.from("second"));
+            store.updateMessages("a", first);
+            store.updateMessages("a", second);
+            store.updateMessages("b", first);
+            store.deleteMessages("b");
+
+            assertThat(store.getMessages("a")).isEqualTo(second);
+            assertThat(store.getMessages("b")).isEmpty();
+            assertThat(store.pendingChangeCount()).isEqualTo(2);
+            verify(delegate, never()).updateMessages("a", first);
+
+            store.flush();
+
+            assertThat(store.pendingChangeCount()).isZero();
+            verify(delegate).updateMessages("a", second);
+            verify(delegate).deleteMessages("b");
+            verify(delegate, never()).updateMessages("a", first);
+            verify(delegate, never()).updateMessages("b", first);
+            assertThat(delegate.getMessages("a")).isEqualTo(second);
+        }
+    }
+
+    @Test
+    void should_flush_in_background_and_on_close() throws InterruptedException {
+
+        ChatMemoryStore delegate = new InMemoryChatMemoryStore();
+        WriteBehindChatMemoryStore store = WriteBehindChatMemoryStore.builder()
+                .delegate(delegate)
+                .flushInterval(Duration.ofMillis(10))
+                .build();
+
+        store.updateMessages("a", singletonList(UserMessage.from("hello")));
+        for (int i = 0; i < 500 && store.pendingChangeCount() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(delegate.getMessages("a")).containsExactly(UserMessage.from("hello"));
+
+        store.updateMessages("a", singletonList(UserMessage.from("bye")));
+        store.close();
+        assertThat(delegate.getMessages("a")).containsExactly(UserMessage.from("bye"));
+    }
+
+    @Test
+    void should_keep_failed_changes_pending() {
+
+        ChatMemoryStore delegate = mock(ChatMemoryStore.class);
+        doThrow(new RuntimeException("unavailable")).doNothing()
+                .when(delegate).updateMessages(eq("a"), any());
+
+        WriteBehindChatMemoryStore store = WriteBehindChatMemoryStore.builder()
+                .delegate(delegate)
+                .flushInterval(NEVER)
+                .build();
+        store.updateMessages("a", singletonList(UserMessage.from("hello")));
+
+        assertThatThrownBy(store::flush).hasMessage("unavailable");
+        assertThat(store.pendingChangeCount()).isEqualTo(1);
+
+        store.close();
+        assertThat(store.pendingChangeCount()).isZero();
+        verify(delegate, times(2)).updateMessages("a", singletonList(UserMessage.from("hello")));
+    }
+}
@@ -1,5 +1,6 @@
 package dev.langchain4j.store.embedding.elasticsearch;
 
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import co.elastic.clients.elasticsearch._types.InlineScript;
 import co.elastic.clients.elasticsearch._types.mapping.DenseVectorProperty;
@@ -10,8 +11,13 @@ import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import co.elastic.clients.elasticsearch._types.query_dsl.ScriptScoreQuery;
 import co.elastic.clients.elasticsearch.core.BulkRequest;
 import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.MsearchResponse;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
 import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.msearch.MultiSearchResponseItem;
+import co.elastic.clients.elasticsearch.core.msearch.RequestItem;
+import co.elastic.clients.elasticsearch.core.search.Hit;
 import co.elastic.clients.json.JsonData;
 import co.elastic.clients.json.JsonpMapper;
 import co.elastic.clients.json.jackson.JacksonJsonpMapper;
@@ -23,6 +29,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.langchain4j.data.document.Metadata;
 import dev.langchain4j.data.embedding.Embedding;
 import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.AsyncEmbeddingStore;
 import dev.langchain4j.store.embedding.EmbeddingMatch;
 import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
 import dev.langchain4j.store.embedding.EmbeddingSearchResult;
@@ -41,10 +48,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static dev.langchain4j.internal.Utils.*;
 import static dev.langchain4j.internal.ValidationUtils.*;
@@ -57,12 +66,16 @@ import static java.util.stream.Collectors.toList;
  * <br>
  * Supports storing {@link Metadata} and filtering by it using {@link Filter}
  * (provided inside {@link EmbeddingSearchRequest}).
+ * <br>
+ * The methods of {@link AsyncEmbeddingStore} use the asynchronous Elasticsearch client,
+ * so no thread is blocked while waiting for a response.
  */
-public class ElasticsearchEmbeddingStore implements EmbeddingStore<TextSegment> {
+public class ElasticsearchEmbeddingStore implements EmbeddingStore<TextSegment>, AsyncEmbeddingStore<TextSegment> {
 
     private static final Logger log = LoggerFactory.getLogger(ElasticsearchEmbeddingStore.class);
 
     private final ElasticsearchClient client;
+    private final ElasticsearchAsyncClient asyncClient;
     private final String indexName;
     private final ObjectMapper objectMapper;
 
@@ -102,6 +115,7 @@ public class ElasticsearchEmbeddingStore implements EmbeddingStore<TextSegment>
         ElasticsearchTransport transport = new RestClientTransport(restClientBuilder.build(), new JacksonJsonpMapper());
 
         this.client = new ElasticsearchClient(transport);
+        this.asyncClient = new ElasticsearchAsyncClient(transport);
         this.indexName = ensureNotNull(indexName, "indexName");
         this.objectMapper = new ObjectMapper();
 
@@ -113,6 +127,7 @@ public class ElasticsearchEmbeddingStore implements EmbeddingStore<TextSegment>
         ElasticsearchTransport transport = new RestClientTransport(restClient, mapper);
 
         this.client = new ElasticsearchClient(transport);
+        this.asyncClient = new ElasticsearchAsyncClient(transport);
         this.indexName = ensureNotNull(indexName, "indexName");
         this.objectMapper = new ObjectMapper();
 
@@ -244,24 +259,28 @@ public class ElasticsearchEmbeddingStore implements EmbeddingStore<TextSegment>
         return ids;
     }
 
+    @Override
+    public CompletableFuture<List<String>> addAllAsync(List<Embedding> embeddings) {
+        List<String> ids = embeddings.stream()
+                .map(ignored -> randomUUID())
+                .collect(toList());
+        return addAllInternalAsync(ids, embeddings, null);
+    }
+
+    @Override
+    public CompletableFuture<List<String>> addAllAsync(List<Embedding> embeddings, List<TextSegment> embedded) {
+        List<String> ids = embeddings.stream()
+                .map(ignored -> randomUUID())
+                .collect(toList());
+        return addAllInternalAsync(ids, embeddings, embedded);
+    }
+
     @Override
     public EmbeddingSearchResult<TextSegment> search(EmbeddingSearchRequest embeddingSearchRequest) {
         try {
-            // Use Script Score and cosineSimilarity to calculate
-            // see https://www.elastic.co/guide/en/elasticsearch/reference/current/query-dsl-script-score-query.html#vector-functions-cosine
-            ScriptScoreQuery scriptScoreQuery = buildScriptScoreQuery(
-                    embeddingSearchRequest.queryEmbedding().vector(),
-                    (float) embeddingSearchRequest.minScore(),
-                    embeddingSearchRequest.filter()
-            );
-            SearchResponse<Document> response = client.search(
-                    co.elastic.clients.elasticsearch.core.SearchRequest.of(s -> s.index(indexName)
-                            .query(q -> q.scriptScore(scriptScoreQuery))
-                            .size(embeddingSearchRequest.maxResults())),
-                    Document.class
-            );
-
-            return new EmbeddingSearchResult<>(toMatches(response));
+            SearchResponse<Document> response = client.search(toSearchRequest(embeddingSearchRequest), Document.class);
+
+            return new EmbeddingSearchResult<>(toMatches(response.hits().hits()));
         } catch (IOException e) {
             // TODO improve
             log.error("[ElasticSearch encounter I/O Exception]", e);
@@ -269,6 +288,70 @@ public class ElasticsearchEmbeddingStore implements EmbeddingStore<TextSegment>
         }
     }
 
+    @Override
+    public CompletableFuture<EmbeddingSearchResult<TextSegment>> searchAsync(EmbeddingSearchRequest embeddingSearchRequest) {
+        SearchRequest searchRequest;
+        try {
+            searchRequest = toSearchRequest(embeddingSearchRequest);
+        } catch (JsonProcessingException e) {
+            CompletableFuture<EmbeddingSearchResult<TextSegment>> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new ElasticsearchRequestFailedException(e.getMessage()));
+            return failed;
+        }
+        return asyncClient.search(searchRequest, Document.class)
+                .thenApply(response -> new EmbeddingSearchResult<>(toMatches(response.hits().hits())));
+    }
+
+    /**
+     * Searches all the requests with a single call to the Elasticsearch multi search ({@code _msearch}) API.
+     */
+    @Override
+    public List<EmbeddingSearchResult<TextSegment>> searchAll(List<EmbeddingSearchRequest> requests) {
+        try {
+            List<RequestItem> searches = new ArrayList<>(requests.size());
+            for (EmbeddingSearchRequest request : requests) {
+                ScriptScoreQuery scriptScoreQuery = toScriptScoreQuery(request);
+                searches.add(RequestItem.of(r -> r
+                        .header(h -> h.index(indexName))
+                        .body(b -> b
+                                .query(q -> q.scriptScore(scriptScoreQuery))
+                                .size(request.maxResults()))));
+            }
+
+            MsearchResponse<Document> response = client.msearch(m -> m.searches(searches), Document.class);
+
+            List<EmbeddingSearchResult<TextSegment>> results = new ArrayList<>(requests.size());
+            for (MultiSearchResponseItem<Document> item : response.responses()) {
+                if (item.isFailure()) {
+                    throw new ElasticsearchRequestFailedException("type: " + item.failure().error().type()
+                            + ", reason: " + item.failure().error().reason());
+                }
+                results.add(new EmbeddingSearchResult<>(toMatches(item.result().hits().hits())));
+            }
+            return results;
+        } catch (IOException e) {
+            log.error("[ElasticSearch encounter I/O Exception]", e);
+            throw new ElasticsearchRequestFailedException(e.getMessage());
+        }
+    }
+
+    private SearchRequest toSearchRequest(EmbeddingSearchRequest embeddingSearchRequest) throws JsonProcessingException {
+        ScriptScoreQuery scriptScoreQuery = toScriptScoreQuery(embeddingSearchRequest);
+        return SearchRequest.of(s -> s.index(indexName)
+                .query(q -> q.scriptScore(scriptScoreQuery))
+                .size(embeddingSearchRequest.maxResults()));
+    }
+
+    private ScriptScoreQuery toScriptScoreQuery(EmbeddingSearchRequest embeddingSearchRequest) throws JsonProcessingException {
+        // Use Script Score and cosineSimilarity to calculate
+        // see https://www.elastic.co/guide/en/elasticsearch/reference/current/query-dsl-script-score-query.html#vector-functions-cosine
+        return buildScriptScoreQuery(
+                embeddingSearchRequest.queryEmbedding().vector(),
+                (float) embeddingSearchRequest.minScore(),
+                embeddingSearchRequest.filter()
+        );
+    }
+
     private ScriptScoreQuery buildScriptScoreQuery(float[] vector,
                                                    float minScore,
                                                    Filter filter
@@ -314,13 +397,30 @@ public class ElasticsearchEmbeddingStore implements EmbeddingStore<TextSegment>
         ensureTrue(embedded == null || embeddings.size() == embedded.size(), "embeddings size is not equal to embedded size");
 
         try {
-            bulk(ids, embeddings, embedded);
+            BulkResponse response = client.bulk(toBulkRequest(ids, embeddings, embedded));
+            ensureNoErrors(response);
         } catch (IOException e) {
             log.error("[ElasticSearch encounter I/O Exception]", e);
             throw new ElasticsearchRequestFailedException(e.getMessage());
         }
     }
 
+    private CompletableFuture<List<String>> addAllInternalAsync(List<String> ids,
+                                                                List<Embedding> embeddings,
+                                                                List<TextSegment> embedded) {
+        if (isNullOrEmpty(ids) || isNullOrEmpty(embeddings)) {
+            log.info("[do not add empty embeddings to elasticsearch]");
+            return CompletableFuture.completedFuture(ids);
+        }
+        ensureTrue(embedded == null || embeddings.size() == embedded.size(), "embeddings size is not equal to embedded size");
+
+        return asyncClient.bulk(toBulkRequest(ids, embeddings, embedded))
+                .thenApply(response -> {
+                    ensureNoErrors(response);
+                    return ids;
+                });
+    }
+
     private void createIndexIfNotExist(String indexName, Integer dimension) {
         try {
             BooleanResponse response = client.indices().exists(c -> c.index(indexName));
@@ -341,7 +441,7 @@ public class ElasticsearchEmbeddingStore implements EmbeddingStore<TextSegment>
         return TypeMapping.of(c -> c.properties(properties));
     }
 
-    private void bulk(List<String> ids, List<Embedding> embeddings, List<TextSegment> embedded) throws IOException {
+    private BulkRequest toBulkRequest(List<String> ids, List<Embedding> embeddings, List<TextSegment> embedded) {
         int size = ids.size();
         BulkRequest.Builder bulkBuilder = new BulkRequest.Builder();
         for (int i = 0; i < size; i++) {
@@ -357,7 +457,10 @@ public class ElasticsearchEmbeddingStore implements EmbeddingStore<TextSegment>
                     .document(document)));
         }
 
-        BulkResponse response = client.bulk(bulkBuilder.build());
+        return bulkBuilder.build();
+    }
+
+    private static void ensureNoErrors(BulkResponse response) {
         if (response.errors()) {
             for (BulkResponseItem item : response.items()) {
                 if (item.error() != null) {
@@ -367,8 +470,8 @@ public class ElasticsearchEmbeddingStore implements EmbeddingStore<TextSegment>
         }
     }
 
-    private List<EmbeddingMatch<TextSegment>> toMatches(SearchResponse<Document> response) {
-        return response.hits().hits().stream()
+    private List<EmbeddingMatch<TextSegment>> toMatches(List<Hit<Document>> hits) {
+        return hits.stream()
                 .map(hit -> Optional.ofNullable(hit.source())
                         .map(document -> new EmbeddingMatch<>(
                                 hit.score(),
@@ -1,5 +1,7 @@
 package dev.langchain4j.store.embedding.milvus;
 
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import io.milvus.client.MilvusServiceClient;
 import io.milvus.common.clientenum.ConsistencyLevelEnum;
 import io.milvus.grpc.FlushResponse;
@@ -20,6 +22,8 @@ import io.milvus.response.SearchResultsWrapper;
 
 import java.lang.String;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import static dev.langchain4j.store.embedding.milvus.CollectionRequestBuilder.*;
 import static dev.langchain4j.store.embedding.milvus.MilvusEmbeddingStore.*;
@@ -124,6 +128,51 @@ class CollectionOperationsExecutor {
         return new QueryResultsWrapper(response.getData());
     }
 
+    static CompletableFuture<Void> insertAsync(MilvusServiceClient milvusClient,
+                                               String collectionName,
+                                               List<InsertParam.Field> fields) {
+        InsertParam request = buildInsertRequest(collectionName, fields);
+        return toCompletableFuture(milvusClient.insertAsync(request))
+                .thenAccept(CollectionOperationsExecutor::checkResponseNotFailed);
+    }
+
+    static CompletableFuture<SearchResultsWrapper> searchAsync(MilvusServiceClient milvusClient,
+                                                               SearchParam searchRequest) {
+        return toCompletableFuture(milvusClient.searchAsync(searchRequest))
+                .thenApply(response -> {
+                    checkResponseNotFailed(response);
+                    return new SearchResultsWrapper(response.getData().getResults());
+                });
+    }
+
+    static CompletableFuture<QueryResultsWrapper> queryForVectorsAsync(MilvusServiceClient milvusClient,
+                                                                       String collectionName,
+                                                                       List<String> rowIds,
+                                                                       ConsistencyLevelEnum consistencyLevel) {
+        QueryParam request = buildQueryRequest(collectionName, rowIds, consistencyLevel);
+        return toCompletableFuture(milvusClient.queryAsync(request))
+                .thenApply(response -> {
+                    checkResponseNotFailed(response);
+                    return new QueryResultsWrapper(response.getData());
+                });
+    }
+
+    private static <T> CompletableFuture<T> toCompletableFuture(ListenableFuture<T> listenableFuture) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        listenableFuture.addListener(
+                () -> {
+                    try {
+                        future.complete(listenableFuture.get());
+                    } catch (ExecutionException e) {
+                        future.completeExceptionally(e.getCause());
+                    } catch (Exception e) {
+                        future.completeExceptionally(e);
+                    }
+                },
+                MoreExecutors.directExecutor());
+        return future;
+    }
+
     private static <T> void checkResponseNotFailed(R<T> response) {
         if (response == null) {
             throw new RequestToMilvusFailedException("Request to Milvus DB failed. Response is null");
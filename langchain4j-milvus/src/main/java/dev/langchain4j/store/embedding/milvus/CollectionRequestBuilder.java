@@ -52,15 +52,19 @@ class CollectionRequestBuilder {
                 .build();
     }
 
+    /**
+     * Builds a search for one or more query vectors.
+     * Milvus applies the same topK and filter expression to every vector of a search.
+     */
     static SearchParam buildSearchRequest(String collectionName,
-                                          List<Float> vector,
+                                          List<List<Float>> vectors,
                                           Filter filter,
                                           int maxResults,
                                           MetricType metricType,
                                           ConsistencyLevelEnum consistencyLevel) {
         SearchParam.Builder builder = SearchParam.newBuilder()
                 .withCollectionName(collectionName)
-                .withVectors(singletonList(vector))
+                .withVectors(vectors)
                 .withVectorFieldName(VECTOR_FIELD_NAME)
                 .withTopK(maxResults)
                 .withMetricType(metricType)
@@ -25,6 +25,7 @@ import static dev.langchain4j.store.embedding.milvus.CollectionOperationsExecuto
 import static dev.langchain4j.store.embedding.milvus.Generator.generateEmptyJsons;
 import static dev.langchain4j.store.embedding.milvus.Generator.generateEmptyScalars;
 import static dev.langchain4j.store.embedding.milvus.MilvusEmbeddingStore.*;
+import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
 
 class Mapper {
@@ -56,24 +57,36 @@ class Mapper {
                                                                 String collectionName,
                                                                 ConsistencyLevelEnum consistencyLevel,
                                                                 boolean queryForVectorOnSearch) {
-        List<EmbeddingMatch<TextSegment>> matches = new ArrayList<>();
-
         Map<String, Embedding> idToEmbedding = new HashMap<>();
         if (queryForVectorOnSearch) {
-            try {
-                List<String> rowIds = (List<String>) resultsWrapper.getFieldWrapper(ID_FIELD_NAME).getFieldData();
+            List<String> rowIds = toRowIds(resultsWrapper);
+            if (!rowIds.isEmpty()) {
                 idToEmbedding.putAll(queryEmbeddings(milvusClient, collectionName, rowIds, consistencyLevel));
-            } catch (ParamException e) {
-                // There is no way to check if the result is empty or not.
-                // If the result is empty, the exception will be thrown.
             }
         }
 
-        for (int i = 0; i < resultsWrapper.getRowRecords().size(); i++) {
-            double score = resultsWrapper.getIDScore(0).get(i).getScore();
-            String rowId = resultsWrapper.getIDScore(0).get(i).getStrID();
+        return toEmbeddingMatches(resultsWrapper, 0, idToEmbedding);
+    }
+
+    /**
+     * Maps the results found for the query vector at {@code indexOfTarget} of a (possibly multi-vector) search.
+     */
+    static List<EmbeddingMatch<TextSegment>> toEmbeddingMatches(SearchResultsWrapper resultsWrapper,
+                                                                int indexOfTarget,
+                                                                Map<String, Embedding> idToEmbedding) {
+        List<EmbeddingMatch<TextSegment>> matches = new ArrayList<>();
+
+        List<RowRecord> rowRecords = resultsWrapper.getRowRecords(indexOfTarget);
+        if (rowRecords.isEmpty()) {
+            return matches;
+        }
+
+        List<SearchResultsWrapper.IDScore> idScores = resultsWrapper.getIDScore(indexOfTarget);
+        for (int i = 0; i < rowRecords.size(); i++) {
+            double score = idScores.get(i).getScore();
+            String rowId = idScores.get(i).getStrID();
             Embedding embedding = idToEmbedding.get(rowId);
-            TextSegment textSegment = toTextSegment(resultsWrapper.getRowRecords().get(i));
+            TextSegment textSegment = toTextSegment(rowRecords.get(i));
             EmbeddingMatch<TextSegment> embeddingMatch = new EmbeddingMatch<>(
                     RelevanceScore.fromCosineSimilarity(score),
                     rowId,
@@ -86,6 +99,29 @@ class Mapper {
         return matches;
     }
 
+    /**
+     * Returns the ids of the rows found for all query vectors of a search.
+     */
+    static List<String> toRowIds(SearchResultsWrapper resultsWrapper) {
+        try {
+            return (List<String>) resultsWrapper.getFieldWrapper(ID_FIELD_NAME).getFieldData();
+        } catch (ParamException e) {
+            // There is no way to check if the result is empty or not.
+            // If the result is empty, the exception will be thrown.
+            return emptyList();
+        }
+    }
+
+    static Map<String, Embedding> toIdToEmbedding(QueryResultsWrapper queryResultsWrapper) {
+        Map<String, Embedding> idToEmbedding = new HashMap<>();
+        for (RowRecord row : queryResultsWrapper.getRowRecords()) {
+            String id = row.get(ID_FIELD_NAME).toString();
+            List<Float> vector = (List<Float>) row.get(VECTOR_FIELD_NAME);
+            idToEmbedding.put(id, Embedding.from(vector));
+        }
+        return idToEmbedding;
+    }
+
     private static TextSegment toTextSegment(RowRecord rowRecord) {
 
         String text = (String) rowRecord.get(TEXT_FIELD_NAME);
@@ -112,7 +148,7 @@ class Mapper {
         return Metadata.from(metadataMap);
     }
 
-    private static Map<String, Embedding> queryEmbeddings(MilvusServiceClient milvusClient,
+    static Map<String, Embedding> queryEmbeddings(MilvusServiceClient milvusClient,
                                                           String collectionName,
                                                           List<String> rowIds,
                                                           ConsistencyLevelEnum consistencyLevel) {
@@ -123,13 +159,6 @@ class Mapper {
                 consistencyLevel
         );
 
-        Map<String, Embedding> idToEmbedding = new HashMap<>();
-        for (RowRecord row : queryResultsWrapper.getRowRecords()) {
-            String id = row.get(ID_FIELD_NAME).toString();
-            List<Float> vector = (List<Float>) row.get(VECTOR_FIELD_NAME);
-            idToEmbedding.put(id, Embedding.from(vector));
-        }
-
-        return idToEmbedding;
+        return toIdToEmbedding(queryResultsWrapper);
     }
 }
@@ -9,13 +9,17 @@ import static dev.langchain4j.store.embedding.milvus.Mapper.*;
 import static io.milvus.common.clientenum.ConsistencyLevelEnum.EVENTUALLY;
 import static io.milvus.param.IndexType.FLAT;
 import static io.milvus.param.MetricType.COSINE;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.stream.Collectors.toList;
 
 import dev.langchain4j.data.document.Metadata;
 import dev.langchain4j.data.embedding.Embedding;
 import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.internal.Utils;
+import dev.langchain4j.store.embedding.AsyncEmbeddingStore;
 import dev.langchain4j.store.embedding.EmbeddingMatch;
 import dev.langchain4j.store.embedding.EmbeddingSearchResult;
 import dev.langchain4j.store.embedding.EmbeddingStore;
@@ -30,7 +34,14 @@ import io.milvus.param.dml.InsertParam;
 import io.milvus.param.dml.SearchParam;
 import io.milvus.response.SearchResultsWrapper;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 /**
  * Represents an <a href="https://milvus.io/">Milvus</a> index as an embedding store.
@@ -39,19 +50,28 @@ import java.util.List;
  * <br>
  * Supports storing {@link Metadata} and filtering by it using a {@link Filter}
  * (provided inside an {@link EmbeddingSearchRequest}).
+ * <br>
+ * Implements {@link AsyncEmbeddingStore} on top of the asynchronous calls of the Milvus SDK.
  */
-public class MilvusEmbeddingStore implements EmbeddingStore<TextSegment> {
+public class MilvusEmbeddingStore implements EmbeddingStore<TextSegment>, AsyncEmbeddingStore<TextSegment> {
 
   static final String ID_FIELD_NAME = "id";
   static final String TEXT_FIELD_NAME = "text";
   static final String METADATA_FIELD_NAME = "metadata";
   static final String VECTOR_FIELD_NAME = "vector";
 
+  private static final Executor DEFAULT_FLUSH_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+    Thread thread = new Thread(runnable, "milvus-embedding-store-flush");
+    thread.setDaemon(true);
+    return thread;
+  });
+
   private final MilvusServiceClient milvusClient;
   private final String collectionName;
   private final MetricType metricType;
   private final ConsistencyLevelEnum consistencyLevel;
   private final boolean retrieveEmbeddingsOnSearch;
+  private final Executor flushExecutor;
 
   public MilvusEmbeddingStore(
     String host,
@@ -67,6 +87,40 @@ public class MilvusEmbeddingStore implements EmbeddingStore<TextSegment> {
     ConsistencyLevelEnum consistencyLevel,
     Boolean retrieveEmbeddingsOnSearch,
     String databaseName
+  ) {
+    this(
+      host,
+      port,
+      collectionName,
+      dimension,
+      indexType,
+      metricType,
+      uri,
+      token,
+      username,
+      password,
+      consistencyLevel,
+      retrieveEmbeddingsOnSearch,
+      databaseName,
+      null
+    );
+  }
+
+  public MilvusEmbeddingStore(
+    String host,
+    Integer port,
+    String collectionName,
+    Integer dimension,
+    IndexType indexType,
+    MetricType metricType,
+    String uri,
+    String token,
+    String username,
+    String password,
+    ConsistencyLevelEnum consistencyLevel,
+    Boolean retrieveEmbeddingsOnSearch,
+    String databaseName,
+    Executor flushExecutor
   ) {
     ConnectParam.Builder connectBuilder = ConnectParam
       .newBuilder()
@@ -85,6 +139,7 @@ public class MilvusEmbeddingStore implements EmbeddingStore<TextSegment> {
     this.metricType = getOrDefault(metricType, COSINE);
     this.consistencyLevel = getOrDefault(consistencyLevel, EVENTUALLY);
     this.retrieveEmbeddingsOnSearch = getOrDefault(retrieveEmbeddingsOnSearch, false);
+    this.flushExecutor = getOrDefault(flushExecutor, DEFAULT_FLUSH_EXECUTOR);
 
     if (!hasCollection(milvusClient, this.collectionName)) {
       createCollection(milvusClient, this.collectionName, ensureNotNull(dimension, "dimension"));
@@ -129,16 +184,7 @@ public class MilvusEmbeddingStore implements EmbeddingStore<TextSegment> {
   @Override
   public EmbeddingSearchResult<TextSegment> search(EmbeddingSearchRequest embeddingSearchRequest) {
 
-    SearchParam searchParam = buildSearchRequest(
-            collectionName,
-            embeddingSearchRequest.queryEmbedding().vectorAsList(),
-            embeddingSearchRequest.filter(),
-            embeddingSearchRequest.maxResults(),
-            metricType,
-            consistencyLevel
-    );
-
-    SearchResultsWrapper resultsWrapper = CollectionOperationsExecutor.search(milvusClient, searchParam);
+    SearchResultsWrapper resultsWrapper = CollectionOperationsExecutor.search(milvusClient, toSearchParam(embeddingSearchRequest));
 
     List<EmbeddingMatch<TextSegment>> matches = toEmbeddingMatches(
             milvusClient,
@@ -148,6 +194,114 @@ public class MilvusEmbeddingStore implements EmbeddingStore<TextSegment> {
             retrieveEmbeddingsOnSearch
     );
 
+    return toSearchResult(embeddingSearchRequest, matches);
+  }
+
+  /**
+   * Sends the query vectors of all requests that share {@code maxResults} and the filter in a single search.
+   * Milvus applies one topK and one filter expression to all vectors of a search,
+   * so requests that differ in either are searched separately.
+   */
+  @Override
+  public List<EmbeddingSearchResult<TextSegment>> searchAll(List<EmbeddingSearchRequest> embeddingSearchRequests) {
+
+    Map<List<Object>, List<Integer>> indexesBySearch = new LinkedHashMap<>();
+    for (int i = 0; i < embeddingSearchRequests.size(); i++) {
+      EmbeddingSearchRequest embeddingSearchRequest = embeddingSearchRequests.get(i);
+      List<Object> search = asList(embeddingSearchRequest.maxResults(), embeddingSearchRequest.filter());
+      indexesBySearch.computeIfAbsent(search, ignored -> new ArrayList<>()).add(i);
+    }
+
+    List<EmbeddingSearchResult<TextSegment>> results =
+            new ArrayList<>(Collections.nCopies(embeddingSearchRequests.size(), null));
+    for (List<Integer> indexes : indexesBySearch.values()) {
+      EmbeddingSearchRequest first = embeddingSearchRequests.get(indexes.get(0));
+      List<List<Float>> vectors = indexes.stream()
+              .map(i -> embeddingSearchRequests.get(i).queryEmbedding().vectorAsList())
+              .collect(toList());
+
+      SearchParam searchParam = buildSearchRequest(
+              collectionName,
+              vectors,
+              first.filter(),
+              first.maxResults(),
+              metricType,
+              consistencyLevel
+      );
+
+      SearchResultsWrapper resultsWrapper = CollectionOperationsExecutor.search(milvusClient, searchParam);
+
+      Map<String, Embedding> idToEmbedding = new HashMap<>();
+      if (retrieveEmbeddingsOnSearch) {
+        List<String> rowIds = toRowIds(resultsWrapper);
+        if (!rowIds.isEmpty()) {
+          idToEmbedding.putAll(queryEmbeddings(milvusClient, collectionName, rowIds, consistencyLevel));
+        }
+      }
+
+      for (int target = 0; target < indexes.size(); target++) {
+        int index = indexes.get(target);
+        results.set(index, toSearchResult(
+                embeddingSearchRequests.get(index),
+                toEmbeddingMatches(resultsWrapper, target, idToEmbedding)
+        ));
+      }
+    }
+
+    return results;
+  }
+
+  @Override
+  public CompletableFuture<List<String>> addAllAsync(List<Embedding> embeddings) {
+    List<String> ids = generateRandomIds(embeddings.size());
+    return addAllInternalAsync(ids, embeddings, null);
+  }
+
+  @Override
+  public CompletableFuture<List<String>> addAllAsync(List<Embedding> embeddings, List<TextSegment> embedded) {
+    List<String> ids = generateRandomIds(embeddings.size());
+    return addAllInternalAsync(ids, embeddings, embedded);
+  }
+
+  /**
+   * Searches with the asynchronous search of the Milvus SDK.
+   * When {@code retrieveEmbeddingsOnSearch} is enabled, the embeddings are fetched with an asynchronous query as well.
+   */
+  @Override
+  public CompletableFuture<EmbeddingSearchResult<TextSegment>> searchAsync(EmbeddingSearchRequest embeddingSearchRequest) {
+    return CollectionOperationsExecutor.searchAsync(milvusClient, toSearchParam(embeddingSearchRequest))
+            .thenCompose(resultsWrapper -> queryEmbeddingsAsync(resultsWrapper)
+                    .thenApply(idToEmbedding -> toSearchResult(
+                            embeddingSearchRequest,
+                            toEmbeddingMatches(resultsWrapper, 0, idToEmbedding)
+                    )));
+  }
+
+  private SearchParam toSearchParam(EmbeddingSearchRequest embeddingSearchRequest) {
+    return buildSearchRequest(
+            collectionName,
+            singletonList(embeddingSearchRequest.queryEmbedding().vectorAsList()),
+            embeddingSearchRequest.filter(),
+            embeddingSearchRequest.maxResults(),
+            metricType,
+            consistencyLevel
+    );
+  }
+
+  private CompletableFuture<Map<String, Embedding>> queryEmbeddingsAsync(SearchResultsWrapper resultsWrapper) {
+    if (!retrieveEmbeddingsOnSearch) {
+      return completedFuture(emptyMap());
+    }
+    List<String> rowIds = toRowIds(resultsWrapper);
+    if (rowIds.isEmpty()) {
+      return completedFuture(emptyMap());
+    }
+    return queryForVectorsAsync(milvusClient, collectionName, rowIds, consistencyLevel)
+            .thenApply(Mapper::toIdToEmbedding);
+  }
+
+  private static EmbeddingSearchResult<TextSegment> toSearchResult(EmbeddingSearchRequest embeddingSearchRequest,
+                                                                   List<EmbeddingMatch<TextSegment>> matches) {
     List<EmbeddingMatch<TextSegment>> result = matches.stream()
             .filter(match -> match.score() >= embeddingSearchRequest.minScore())
             .collect(toList());
@@ -164,14 +318,33 @@ public class MilvusEmbeddingStore implements EmbeddingStore<TextSegment> {
   }
 
   private void addAllInternal(List<String> ids, List<Embedding> embeddings, List<TextSegment> textSegments) {
+    insert(milvusClient, collectionName, toFields(ids, embeddings, textSegments));
+    flush(milvusClient, collectionName);
+  }
+
+  /**
+   * Inserts with the asynchronous insert of the Milvus SDK.
+   * The SDK has no asynchronous flush, so the blocking flush that follows the insert runs on the flush executor.
+   */
+  private CompletableFuture<List<String>> addAllInternalAsync(List<String> ids,
+                                                              List<Embedding> embeddings,
+                                                              List<TextSegment> textSegments) {
+    return insertAsync(milvusClient, collectionName, toFields(ids, embeddings, textSegments))
+            .thenApplyAsync(ignored -> {
+              flush(milvusClient, collectionName);
+              return ids;
+            }, flushExecutor);
+  }
+
+  private static List<InsertParam.Field> toFields(List<String> ids,
+                                                  List<Embedding> embeddings,
+                                                  List<TextSegment> textSegments) {
     List<InsertParam.Field> fields = new ArrayList<>();
     fields.add(new InsertParam.Field(ID_FIELD_NAME, ids));
     fields.add(new InsertParam.Field(TEXT_FIELD_NAME, toScalars(textSegments, ids.size())));
     fields.add(new InsertParam.Field(METADATA_FIELD_NAME, toMetadataJsons(textSegments, ids.size())));
     fields.add(new InsertParam.Field(VECTOR_FIELD_NAME, toVectors(embeddings)));
-
-    insert(milvusClient, collectionName, fields);
-    flush(milvusClient, collectionName);
+    return fields;
   }
 
   public static Builder builder() {
@@ -193,6 +366,7 @@ public class MilvusEmbeddingStore implements EmbeddingStore<TextSegment> {
     private ConsistencyLevelEnum consistencyLevel;
     private Boolean retrieveEmbeddingsOnSearch;
     private String databaseName;
+    private Executor flushExecutor;
 
     /**
      * @param host The host of the self-managed Milvus instance.
@@ -325,6 +499,17 @@ public class MilvusEmbeddingStore implements EmbeddingStore<TextSegment> {
       return this;
     }
 
+    /**
+     * @param flushExecutor The executor running the blocking flush that follows an asynchronous insert
+     *                      (the Milvus SDK has no asynchronous flush).
+     *                      Default value: a shared cached pool of daemon threads.
+     * @return builder
+     */
+    public Builder flushExecutor(Executor flushExecutor) {
+      this.flushExecutor = flushExecutor;
+      return this;
+    }
+
     public MilvusEmbeddingStore build() {
       return new MilvusEmbeddingStore(
         host,
@@ -339,7 +524,8 @@ public class MilvusEmbeddingStore implements EmbeddingStore<TextSegment> {
         password,
         consistencyLevel,
         retrieveEmbeddingsOnSearch,
-        databaseName
+        databaseName,
+        flushExecutor
       );
     }
   }
@@ -8,42 +8,55 @@ import dev.langchain4j.model.output.Response;
 import lombok.Builder;
 
 import java.time.Duration;
-import java.util.ArrayList;
 import java.util.List;
 
+import static dev.langchain4j.internal.ConcurrencyUtils.mapConcurrently;
 import static dev.langchain4j.internal.RetryUtils.withRetry;
 import static dev.langchain4j.internal.Utils.getOrDefault;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotBlank;
 import static dev.langchain4j.spi.ServiceHelper.loadFactories;
 import static java.time.Duration.ofSeconds;
 
 /**
  * <a href="https://github.com/jmorganca/ollama/blob/main/docs/api.md">Ollama API reference</a>
+ * <br>
+ * Ollama embeds one text per request. By default, the requests for the segments passed to
+ * {@link #embedAll(List)} are sent one after another. Set {@code maxConcurrentRequests} to send several of them
+ * at a time (the Ollama server processes them in parallel according to its {@code OLLAMA_NUM_PARALLEL} setting).
  */
 public class OllamaEmbeddingModel implements EmbeddingModel {
 
     private final OllamaClient client;
     private final String modelName;
     private final Integer maxRetries;
+    private final Integer maxConcurrentRequests;
 
-    @Builder
     public OllamaEmbeddingModel(String baseUrl,
                                 String modelName,
                                 Duration timeout,
                                 Integer maxRetries) {
+        this(baseUrl, modelName, timeout, maxRetries, null);
+    }
+
+    @Builder
+    public OllamaEmbeddingModel(String baseUrl,
+                                String modelName,
+                                Duration timeout,
+                                Integer maxRetries,
+                                Integer maxConcurrentRequests) {
         this.client = OllamaClient.builder()
                 .baseUrl(baseUrl)
                 .timeout(getOrDefault(timeout, ofSeconds(60)))
                 .build();
         this.modelName = ensureNotBlank(modelName, "modelName");
         this.maxRetries = getOrDefault(maxRetries, 3);
+        this.maxConcurrentRequests = ensureGreaterThanZero(getOrDefault(maxConcurrentRequests, 1), "maxConcurrentRequests");
     }
 
     @Override
     public Response<List<Embedding>> embedAll(List<TextSegment> textSegments) {
-        List<Embedding> embeddings = new ArrayList<>();
-
-        textSegments.forEach(textSegment -> {
+        List<Embedding> embeddings = mapConcurrently(textSegments, textSegment -> {
             EmbeddingRequest request = EmbeddingRequest.builder()
                     .model(modelName)
                     .prompt(textSegment.text())
@@ -51,8 +64,8 @@ public class OllamaEmbeddingModel implements EmbeddingModel {
 
             EmbeddingResponse response = withRetry(() -> client.embed(request), maxRetries);
 
-            embeddings.add(Embedding.from(response.getEmbedding()));
-        });
+            return Embedding.from(response.getEmbedding());
+        }, maxConcurrentRequests);
 
         return Response.from(embeddings);
     }
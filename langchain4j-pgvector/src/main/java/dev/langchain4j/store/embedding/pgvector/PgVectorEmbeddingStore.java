@@ -9,10 +9,17 @@ import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.store.embedding.EmbeddingMatch;
 import dev.langchain4j.store.embedding.EmbeddingStore;
 import lombok.Builder;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.postgresql.ds.PGSimpleDataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.sql.DataSource;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.sql.*;
 import java.util.*;
 
@@ -25,7 +32,11 @@ import static java.util.stream.Collectors.toList;
  * PGVector EmbeddingStore Implementation
  * <p>
  * Only cosine similarity is used.
- * Only ivfflat index is used.
+ * Either an ivfflat or an hnsw index can be used.
+ * <p>
+ * Connections are obtained from the provided {@link DataSource} (ideally a pooling one),
+ * or else opened for each operation with the provided host, port, database, user and password.
+ * Statements are parameterized, so the PostgreSQL driver can reuse them on pooled connections.
  */
 public class PgVectorEmbeddingStore implements EmbeddingStore<TextSegment> {
 
@@ -33,12 +44,34 @@ public class PgVectorEmbeddingStore implements EmbeddingStore<TextSegment> {
 
     private static final Gson GSON = new Gson();
 
-    private final String host;
-    private final Integer port;
-    private final String user;
-    private final String password;
-    private final String database;
+    private static final String STAGING_TABLE = "langchain4j_pgvector_staging";
+
+    private static final byte[] COPY_BINARY_SIGNATURE = "PGCOPY\n\377\r\n\0".getBytes(StandardCharsets.ISO_8859_1);
+
+    /**
+     * The type of the index to create when {@code useIndex} is {@code true}.
+     */
+    public enum IndexType {
+
+        /**
+         * <a href="https://github.com/pgvector/pgvector#ivfflat">IVFFlat</a> index,
+         * built with {@code indexListSize} lists.
+         */
+        IVFFLAT,
+
+        /**
+         * <a href="https://github.com/pgvector/pgvector#hnsw">HNSW</a> index,
+         * built with the {@code hnswM} and {@code hnswEfConstruction} parameters.
+         * The {@code hnsw.ef_search} parameter of queries can be set on the connections of the {@link DataSource}.
+         */
+        HNSW
+    }
+
+    private final DataSource dataSource;
     private final String table;
+    private final boolean useCopy;
+    private final String upsertQuery;
+    private final String searchQuery;
 
     /**
      * All args constructor for PgVectorEmbeddingStore Class
@@ -50,12 +83,11 @@ public class PgVectorEmbeddingStore implements EmbeddingStore<TextSegment> {
      * @param database       The database name
      * @param table          The database table
      * @param dimension      The vector dimension
-     * @param useIndex       Should use <a href="https://github.com/pgvector/pgvector#ivfflat">IVFFlat</a> index
+     * @param useIndex       Should use <a href="https://github.com/pgvector/pgvector#indexing">an index</a>
      * @param indexListSize  The IVFFlat number of lists
      * @param createTable    Should create table automatically
      * @param dropTableFirst Should drop table first, usually for testing
      */
-    @Builder
     public PgVectorEmbeddingStore(
             String host,
             Integer port,
@@ -68,25 +100,83 @@ public class PgVectorEmbeddingStore implements EmbeddingStore<TextSegment> {
             Integer indexListSize,
             Boolean createTable,
             Boolean dropTableFirst) {
-        this.host = ensureNotBlank(host, "host");
-        this.port = ensureGreaterThanZero(port, "port");
-        this.user = ensureNotBlank(user, "user");
-        this.password = ensureNotBlank(password, "password");
-        this.database = ensureNotBlank(database, "database");
+        this(null, host, port, user, password, database, table, dimension,
+                useIndex, null, indexListSize, null, null, createTable, dropTableFirst, null);
+    }
+
+    /**
+     * All args constructor for PgVectorEmbeddingStore Class
+     *
+     * @param dataSource         The data source to get connections from, ideally a pooling one.
+     *                           If set, host, port, user, password and database are ignored.
+     * @param host               The database host
+     * @param port               The database port
+     * @param user               The database user
+     * @param password           The database password
+     * @param database           The database name
+     * @param table              The database table
+     * @param dimension          The vector dimension
+     * @param useIndex           Should use <a href="https://github.com/pgvector/pgvector#indexing">an index</a>
+     * @param indexType          The type of the index, IVFFLAT by default
+     * @param indexListSize      The IVFFlat number of lists
+     * @param hnswM              The HNSW maximum number of connections per layer, 16 by default
+     * @param hnswEfConstruction The HNSW size of the dynamic candidate list for constructing the graph, 64 by default
+     * @param createTable        Should create table automatically
+     * @param dropTableFirst     Should drop table first, usually for testing
+     * @param useCopy            Should load {@code addAll} batches with {@code COPY ... FROM STDIN (FORMAT BINARY)}
+     *                           into a temporary table, merged into the table with a single statement.
+     *                           Much faster for large batches. Default: false
+     */
+    @Builder
+    public PgVectorEmbeddingStore(
+            DataSource dataSource,
+            String host,
+            Integer port,
+            String user,
+            String password,
+            String database,
+            String table,
+            Integer dimension,
+            Boolean useIndex,
+            IndexType indexType,
+            Integer indexListSize,
+            Integer hnswM,
+            Integer hnswEfConstruction,
+            Boolean createTable,
+            Boolean dropTableFirst,
+            Boolean useCopy) {
+        this.dataSource = dataSource == null
+                ? createDataSource(host, port, user, password, database)
+                : dataSource;
         this.table = ensureNotBlank(table, "table");
+        this.useCopy = getOrDefault(useCopy, false);
+        this.upsertQuery = String.format(
+                "INSERT INTO %s (embedding_id, embedding, text, metadata) VALUES (?, ?, ?, ?)" +
+                        "ON CONFLICT (embedding_id) DO UPDATE SET " +
+                        "embedding = EXCLUDED.embedding," +
+                        "text = EXCLUDED.text," +
+                        "metadata = EXCLUDED.metadata;",
+                table);
+        this.searchQuery = String.format(
+                "SELECT (2 - (embedding <=> ?)) / 2 AS score, embedding_id, embedding, text, metadata FROM %s " +
+                        "WHERE (2 - (embedding <=> ?)) / 2 >= ? ORDER BY embedding <=> ? LIMIT ?;",
+                table);
 
         useIndex = getOrDefault(useIndex, false);
         createTable = getOrDefault(createTable, true);
         dropTableFirst = getOrDefault(dropTableFirst, false);
 
-        try (Connection connection = setupConnection()) {
+        try (Connection connection = getConnection();
+             Statement statement = connection.createStatement()) {
+
+            statement.executeUpdate("CREATE EXTENSION IF NOT EXISTS vector");
 
             if (dropTableFirst) {
-                connection.createStatement().executeUpdate(String.format("DROP TABLE IF EXISTS %s", table));
+                statement.executeUpdate(String.format("DROP TABLE IF EXISTS %s", table));
             }
 
             if (createTable) {
-                connection.createStatement().executeUpdate(String.format(
+                statement.executeUpdate(String.format(
                         "CREATE TABLE IF NOT EXISTS %s (" +
                                 "embedding_id UUID PRIMARY KEY, " +
                                 "embedding vector(%s), " +
@@ -97,26 +187,47 @@ public class PgVectorEmbeddingStore implements EmbeddingStore<TextSegment> {
             }
 
             if (useIndex) {
-                final String indexName = table + "_ivfflat_index";
-                connection.createStatement().executeUpdate(String.format(
-                        "CREATE INDEX IF NOT EXISTS %s ON %s " +
-                                "USING ivfflat (embedding vector_cosine_ops) " +
-                                "WITH (lists = %s)",
-                        indexName, table, ensureGreaterThanZero(indexListSize, "indexListSize")));
+                if (getOrDefault(indexType, IndexType.IVFFLAT) == IndexType.HNSW) {
+                    final String indexName = table + "_hnsw_index";
+                    statement.executeUpdate(String.format(
+                            "CREATE INDEX IF NOT EXISTS %s ON %s " +
+                                    "USING hnsw (embedding vector_cosine_ops) " +
+                                    "WITH (m = %s, ef_construction = %s)",
+                            indexName, table,
+                            ensureGreaterThanZero(getOrDefault(hnswM, 16), "hnswM"),
+                            ensureGreaterThanZero(getOrDefault(hnswEfConstruction, 64), "hnswEfConstruction")));
+                } else {
+                    final String indexName = table + "_ivfflat_index";
+                    statement.executeUpdate(String.format(
+                            "CREATE INDEX IF NOT EXISTS %s ON %s " +
+                                    "USING ivfflat (embedding vector_cosine_ops) " +
+                                    "WITH (lists = %s)",
+                            indexName, table, ensureGreaterThanZero(indexListSize, "indexListSize")));
+                }
             }
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private Connection setupConnection() throws SQLException {
-        Connection connection = DriverManager.getConnection(
-                String.format("jdbc:postgresql://%s:%s/%s", host, port, database),
-                user,
-                password
-        );
-        connection.createStatement().executeUpdate("CREATE EXTENSION IF NOT EXISTS vector");
-        PGvector.addVectorType(connection);
+    private static DataSource createDataSource(String host,
+                                               Integer port,
+                                               String user,
+                                               String password,
+                                               String database) {
+        PGSimpleDataSource dataSource = new PGSimpleDataSource();
+        dataSource.setServerNames(new String[]{ensureNotBlank(host, "host")});
+        dataSource.setPortNumbers(new int[]{ensureGreaterThanZero(port, "port")});
+        dataSource.setUser(ensureNotBlank(user, "user"));
+        dataSource.setPassword(ensureNotBlank(password, "password"));
+        dataSource.setDatabaseName(ensureNotBlank(database, "database"));
+        return dataSource;
+    }
+
+    private Connection getConnection() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        // registering the type is local to the connection, no round trip to the database
+        connection.unwrap(PGConnection.class).addDataType("vector", PGvector.class);
         return connection;
     }
 
@@ -199,12 +310,14 @@ public class PgVectorEmbeddingStore implements EmbeddingStore<TextSegment> {
     @Override
     public List<EmbeddingMatch<TextSegment>> findRelevant(Embedding referenceEmbedding, int maxResults, double minScore) {
         List<EmbeddingMatch<TextSegment>> result = new ArrayList<>();
-        try (Connection connection = setupConnection()) {
-            String referenceVector = Arrays.toString(referenceEmbedding.vector());
-            String query = String.format(
-                    "WITH temp AS (SELECT (2 - (embedding <=> '%s')) / 2 AS score, embedding_id, embedding, text, metadata FROM %s) SELECT * FROM temp WHERE score >= %s ORDER BY score desc LIMIT %s;",
-                    referenceVector, table, minScore, maxResults);
-            PreparedStatement selectStmt = connection.prepareStatement(query);
+        try (Connection connection = getConnection();
+             PreparedStatement selectStmt = connection.prepareStatement(searchQuery)) {
+            PGvector referenceVector = new PGvector(referenceEmbedding.vector());
+            selectStmt.setObject(1, referenceVector);
+            selectStmt.setObject(2, referenceVector);
+            selectStmt.setDouble(3, minScore);
+            selectStmt.setObject(4, referenceVector);
+            selectStmt.setInt(5, maxResults);
 
             ResultSet resultSet = selectStmt.executeQuery();
             while (resultSet.next()) {
@@ -250,16 +363,13 @@ public class PgVectorEmbeddingStore implements EmbeddingStore<TextSegment> {
         ensureTrue(embedded == null || embeddings.size() == embedded.size(),
                 "embeddings size is not equal to embedded size");
 
-        try (Connection connection = setupConnection()) {
-            String query = String.format(
-                    "INSERT INTO %s (embedding_id, embedding, text, metadata) VALUES (?, ?, ?, ?)" +
-                            "ON CONFLICT (embedding_id) DO UPDATE SET " +
-                            "embedding = EXCLUDED.embedding," +
-                            "text = EXCLUDED.text," +
-                            "metadata = EXCLUDED.metadata;",
-                    table);
+        if (useCopy && ids.size() > 1) {
+            copyAllInternal(ids, embeddings, embedded);
+            return;
+        }
 
-            PreparedStatement upsertStmt = connection.prepareStatement(query);
+        try (Connection connection = getConnection();
+             PreparedStatement upsertStmt = connection.prepareStatement(upsertQuery)) {
 
             for (int i = 0; i < ids.size(); ++i) {
                 upsertStmt.setObject(1, UUID.fromString(ids.get(i)));
@@ -282,4 +392,94 @@ public class PgVectorEmbeddingStore implements EmbeddingStore<TextSegment> {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * Loads the embeddings with a binary COPY into a temporary table, then merges them into the table
+     * with a single upsert, all in one transaction.
+     */
+    private void copyAllInternal(List<String> ids, List<Embedding> embeddings, List<TextSegment> embedded) {
+        // a single upsert cannot update the same row twice, so only the last of duplicate ids is kept
+        Map<String, Integer> lastIndexById = new LinkedHashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            lastIndexById.remove(ids.get(i));
+            lastIndexById.put(ids.get(i), i);
+        }
+
+        try (Connection connection = getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate(String.format(
+                        "CREATE TEMP TABLE %s (LIKE %s INCLUDING DEFAULTS) ON COMMIT DROP",
+                        STAGING_TABLE, table));
+
+                String copyQuery = String.format(
+                        "COPY %s (embedding_id, embedding, text, metadata) FROM STDIN (FORMAT BINARY)",
+                        STAGING_TABLE);
+                try (DataOutputStream out = new DataOutputStream(
+                        new PGCopyOutputStream(connection.unwrap(PGConnection.class), copyQuery, 1 << 16))) {
+                    out.write(COPY_BINARY_SIGNATURE);
+                    out.writeInt(0); // flags
+                    out.writeInt(0); // header extension length
+                    for (int i : lastIndexById.values()) {
+                        TextSegment textSegment = embedded == null ? null : embedded.get(i);
+                        writeCopyRow(out, ids.get(i), embeddings.get(i), textSegment);
+                    }
+                    out.writeShort(-1); // end of data
+                }
+
+                statement.executeUpdate(String.format(
+                        "INSERT INTO %s (embedding_id, embedding, text, metadata) " +
+                                "SELECT embedding_id, embedding, text, metadata FROM %s " +
+                                "ON CONFLICT (embedding_id) DO UPDATE SET " +
+                                "embedding = EXCLUDED.embedding," +
+                                "text = EXCLUDED.text," +
+                                "metadata = EXCLUDED.metadata;",
+                        table, STAGING_TABLE));
+                connection.commit();
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException | IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void writeCopyRow(DataOutputStream out,
+                                     String id,
+                                     Embedding embedding,
+                                     TextSegment textSegment) throws IOException {
+        out.writeShort(4); // number of columns
+
+        UUID uuid = UUID.fromString(id);
+        out.writeInt(16);
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+
+        // binary format of the vector type: dimension, unused, elements
+        float[] vector = embedding.vector();
+        out.writeInt(4 + 4 * vector.length);
+        out.writeShort(vector.length);
+        out.writeShort(0);
+        for (float value : vector) {
+            out.writeFloat(value);
+        }
+
+        if (textSegment != null) {
+            writeCopyBytes(out, textSegment.text().getBytes(StandardCharsets.UTF_8));
+            // the binary format of the json type is its text
+            writeCopyBytes(out, GSON.toJson(textSegment.metadata().asMap()).getBytes(StandardCharsets.UTF_8));
+        } else {
+            out.writeInt(-1);
+            out.writeInt(-1);
+        }
+    }
+
+    private static void writeCopyBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
 }
@@ -13,15 +13,21 @@ import static java.util.stream.Collectors.toMap;
 
 import dev.langchain4j.data.document.Metadata;
 import dev.langchain4j.data.embedding.Embedding;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.AsyncEmbeddingStore;
 import dev.langchain4j.store.embedding.CosineSimilarity;
 import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingSearchResult;
 import dev.langchain4j.store.embedding.EmbeddingStore;
 import dev.langchain4j.store.embedding.RelevanceScore;
 import io.qdrant.client.QdrantClient;
 import io.qdrant.client.QdrantGrpcClient;
 import io.qdrant.client.WithVectorsSelectorFactory;
 import io.qdrant.client.grpc.JsonWithInt.Value;
+import io.qdrant.client.grpc.Points.BatchResult;
 import io.qdrant.client.grpc.Points.DeletePoints;
 import io.qdrant.client.grpc.Points.Filter;
 import io.qdrant.client.grpc.Points.PointStruct;
@@ -34,14 +40,19 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import javax.annotation.Nullable;
 
 /**
  * Represents a <a href="https://qdrant.tech/">Qdrant</a> collection as an embedding store. With
  * support for storing {@link dev.langchain4j.data.document.Metadata}.
+ *
+ * <p>The asynchronous methods of {@link AsyncEmbeddingStore} complete when Qdrant responds, without
+ * blocking any thread.
  */
-public class QdrantEmbeddingStore implements EmbeddingStore<TextSegment> {
+public class QdrantEmbeddingStore
+    implements EmbeddingStore<TextSegment>, AsyncEmbeddingStore<TextSegment> {
 
   private final QdrantClient client;
   private final String payloadTextKey;
@@ -124,6 +135,26 @@ public class QdrantEmbeddingStore implements EmbeddingStore<TextSegment> {
     return ids;
   }
 
+  @Override
+  public CompletableFuture<List<String>> addAllAsync(List<Embedding> embeddings) {
+
+    List<String> ids = embeddings.stream().map(ignored -> randomUUID()).collect(toList());
+
+    return toCompletableFuture(client.upsertAsync(collectionName, toPoints(ids, embeddings, null)))
+        .thenApply(ignored -> ids);
+  }
+
+  @Override
+  public CompletableFuture<List<String>> addAllAsync(
+      List<Embedding> embeddings, List<TextSegment> textSegments) {
+
+    List<String> ids = embeddings.stream().map(ignored -> randomUUID()).collect(toList());
+
+    return toCompletableFuture(
+            client.upsertAsync(collectionName, toPoints(ids, embeddings, textSegments)))
+        .thenApply(ignored -> ids);
+  }
+
   private void addInternal(String id, Embedding embedding, TextSegment textSegment) {
     addAllInternal(
         singletonList(id),
@@ -134,6 +165,16 @@ public class QdrantEmbeddingStore implements EmbeddingStore<TextSegment> {
   private void addAllInternal(
       List<String> ids, List<Embedding> embeddings, List<TextSegment> textSegments) {
 
+    try {
+      client.upsertAsync(collectionName, toPoints(ids, embeddings, textSegments)).get();
+    } catch (InterruptedException | ExecutionException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private List<PointStruct> toPoints(
+      List<String> ids, List<Embedding> embeddings, List<TextSegment> textSegments) {
+
     List<PointStruct> points = new ArrayList<>(embeddings.size());
 
     for (int i = 0; i < embeddings.size(); i++) {
@@ -157,34 +198,81 @@ public class QdrantEmbeddingStore implements EmbeddingStore<TextSegment> {
       points.add(pointBuilder.build());
     }
 
+    return points;
+  }
+
+  @Override
+  public List<EmbeddingMatch<TextSegment>> findRelevant(
+      Embedding referenceEmbedding, int maxResults, double minScore) {
+
+    List<ScoredPoint> results;
+
     try {
-      client.upsertAsync(collectionName, points).get();
+      results = client.searchAsync(toSearchPoints(referenceEmbedding, maxResults)).get();
     } catch (InterruptedException | ExecutionException e) {
       throw new RuntimeException(e);
     }
+
+    return toEmbeddingMatches(results, referenceEmbedding, minScore);
   }
 
   @Override
-  public List<EmbeddingMatch<TextSegment>> findRelevant(
-      Embedding referenceEmbedding, int maxResults, double minScore) {
+  public CompletableFuture<EmbeddingSearchResult<TextSegment>> searchAsync(
+      EmbeddingSearchRequest request) {
 
-    SearchPoints search =
-        SearchPoints.newBuilder()
-            .setCollectionName(collectionName)
-            .addAllVector(referenceEmbedding.vectorAsList())
-            .setWithVectors(WithVectorsSelectorFactory.enable(true))
-            .setWithPayload(enable(true))
-            .setLimit(maxResults)
-            .build();
+    Embedding referenceEmbedding = request.queryEmbedding();
 
-    List<ScoredPoint> results;
+    return toCompletableFuture(
+            client.searchAsync(toSearchPoints(referenceEmbedding, request.maxResults())))
+        .thenApply(
+            results ->
+                new EmbeddingSearchResult<>(
+                    toEmbeddingMatches(results, referenceEmbedding, request.minScore())));
+  }
+
+  /** Searches all the requests with a single call to the Qdrant batch search endpoint. */
+  @Override
+  public List<EmbeddingSearchResult<TextSegment>> searchAll(List<EmbeddingSearchRequest> requests) {
+
+    List<SearchPoints> searches =
+        requests.stream()
+            .map(request -> toSearchPoints(request.queryEmbedding(), request.maxResults()))
+            .collect(toList());
+
+    List<BatchResult> batchResults;
 
     try {
-      results = client.searchAsync(search).get();
+      batchResults = client.searchBatchAsync(collectionName, searches, null).get();
     } catch (InterruptedException | ExecutionException e) {
       throw new RuntimeException(e);
     }
 
+    List<EmbeddingSearchResult<TextSegment>> results = new ArrayList<>(requests.size());
+    for (int i = 0; i < requests.size(); i++) {
+      EmbeddingSearchRequest request = requests.get(i);
+      results.add(
+          new EmbeddingSearchResult<>(
+              toEmbeddingMatches(
+                  batchResults.get(i).getResultList(),
+                  request.queryEmbedding(),
+                  request.minScore())));
+    }
+    return results;
+  }
+
+  private SearchPoints toSearchPoints(Embedding referenceEmbedding, int maxResults) {
+    return SearchPoints.newBuilder()
+        .setCollectionName(collectionName)
+        .addAllVector(referenceEmbedding.vectorAsList())
+        .setWithVectors(WithVectorsSelectorFactory.enable(true))
+        .setWithPayload(enable(true))
+        .setLimit(maxResults)
+        .build();
+  }
+
+  private List<EmbeddingMatch<TextSegment>> toEmbeddingMatches(
+      List<ScoredPoint> results, Embedding referenceEmbedding, double minScore) {
+
     if (results.isEmpty()) {
       return emptyList();
     }
@@ -220,6 +308,22 @@ public class QdrantEmbeddingStore implements EmbeddingStore<TextSegment> {
     }
   }
 
+  private static <T> CompletableFuture<T> toCompletableFuture(ListenableFuture<T> listenableFuture) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    listenableFuture.addListener(
+        () -> {
+          try {
+            future.complete(listenableFuture.get());
+          } catch (ExecutionException e) {
+            future.completeExceptionally(e.getCause());
+          } catch (Exception e) {
+            future.completeExceptionally(e);
+          }
+        },
+        MoreExecutors.directExecutor());
+    return future;
+  }
+
   /** Closes the underlying GRPC client. */
   public void close() {
     client.close();
@@ -9,7 +9,6 @@ import lombok.Getter;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -113,13 +112,15 @@ public abstract class HierarchicalDocumentSplitter implements DocumentSplitter {
         AtomicInteger index = new AtomicInteger(0);
 
         String[] parts = split(document.text());
+        int[] partSizes = estimateSizes(parts);
         String overlap = null;
-        for (String part : parts) {
-            int partSize = segmentBuilder.sizeOf(part);
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i];
+            int partSize = partSizes[i];
 
             if (segmentBuilder.hasSpaceFor(partSize)) {
                 // The part fits in the current segment, so we append it.
-                segmentBuilder.append(part);
+                segmentBuilder.append(part, partSize);
                 continue;
             }
 
@@ -136,7 +137,7 @@ public abstract class HierarchicalDocumentSplitter implements DocumentSplitter {
 
                     if (segmentBuilder.hasSpaceFor(partSize)) {
                         // The part fits in the current segment, so we append it.
-                        segmentBuilder.append(part);
+                        segmentBuilder.append(part, partSize);
                         continue;
                     }
                 }
@@ -155,7 +156,7 @@ public abstract class HierarchicalDocumentSplitter implements DocumentSplitter {
             }
 
             // Delegate the splitting of the part to the sub-splitter.
-            segmentBuilder.append(part);
+            segmentBuilder.append(part, partSize);
             for (TextSegment segment : subSplitter.split(Document.from(segmentBuilder.toString()))) {
                 segments.add(createSegment(segment.text(), document, index.getAndIncrement()));
             }
@@ -185,13 +186,13 @@ public abstract class HierarchicalDocumentSplitter implements DocumentSplitter {
         }
 
         // always split by sentence, as it is the smallest meaningful unit of text
-        List<String> sentences = Arrays.asList(getOverlapSentenceSplitter().split(segmentText));
-        Collections.reverse(sentences);
+        String[] sentences = getOverlapSentenceSplitter().split(segmentText);
 
         SegmentBuilder overlapBuilder = new SegmentBuilder(maxOverlapSize, this::estimateSize, joinDelimiter());
-        for (String sentence : sentences) {
-            if (overlapBuilder.hasSpaceFor(sentence)) {
-                overlapBuilder.prepend(sentence);
+        for (int i = sentences.length - 1; i >= 0; i--) {
+            int sentenceSize = estimateSize(sentences[i]);
+            if (overlapBuilder.hasSpaceFor(sentenceSize)) {
+                overlapBuilder.prepend(sentences[i], sentenceSize);
             } else {
                 break;
             }
@@ -216,6 +217,28 @@ public abstract class HierarchicalDocumentSplitter implements DocumentSplitter {
         }
     }
 
+    /**
+     * Estimates the sizes of the provided texts, in a single call to the {@link Tokenizer} if one is provided
+     * (see {@link Tokenizer#estimateTokenCountInTexts(List)}).
+     *
+     * @param texts The texts.
+     * @return The estimated sizes, in the order of the texts.
+     */
+    int[] estimateSizes(String[] texts) {
+        int[] sizes = new int[texts.length];
+        if (tokenizer != null) {
+            List<Integer> tokenCounts = tokenizer.estimateTokenCountInTexts(Arrays.asList(texts));
+            for (int i = 0; i < sizes.length; i++) {
+                sizes[i] = tokenCounts.get(i);
+            }
+        } else {
+            for (int i = 0; i < sizes.length; i++) {
+                sizes[i] = texts[i].length();
+            }
+        }
+        return sizes;
+    }
+
     /**
      * Creates a new {@link TextSegment} from the provided text and document.
      *
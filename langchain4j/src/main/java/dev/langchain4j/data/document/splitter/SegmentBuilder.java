@@ -7,14 +7,21 @@ import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
 
 /**
  * Segment builder utility class for HierarchicalDocumentSplitter.
+ *
+ * <p>Texts appended or prepended together with their (already known) size are not measured again.
+ * Until it is needed, the size of the segment is tracked as the sum of the sizes of its texts and separators,
+ * which is exact when measuring characters and an upper bound when measuring tokens
+ * (tokens cannot merge across the joined texts). The segment is measured as a whole only when this
+ * upper bound does not leave space for the next text, so building a segment takes linear time.
  */
 class SegmentBuilder {
     private final int maxSegmentSize;
     private final Function<String, Integer> sizeFunction;
     private final String joinSeparator;
     private final int joinSeparatorSize;
-    private String segment = "";
+    private final StringBuilder segment = new StringBuilder();
     private int segmentSize = 0;
+    private boolean segmentSizeExact = true;
 
     /**
      * Creates a new instance of {@link SegmentBuilder}.
@@ -34,6 +41,7 @@ class SegmentBuilder {
      * @return The current size of the segment.
      */
     public int getSize() {
+        measureSegment();
         return segmentSize;
     }
 
@@ -43,11 +51,7 @@ class SegmentBuilder {
      * @return {@code true} if the provided text can be added to the current segment.
      */
     public boolean hasSpaceFor(String text) {
-        int totalSize = sizeOf(text);
-        if (isNotEmpty()) {
-            totalSize += segmentSize + joinSeparatorSize;
-        }
-        return totalSize <= maxSegmentSize;
+        return hasSpaceFor(sizeOf(text));
     }
 
     /**
@@ -56,11 +60,29 @@ class SegmentBuilder {
      * @return {@code true} if the provided size can be added to the current segment.
      */
     public boolean hasSpaceFor(int size) {
+        if (totalSizeWith(size) <= maxSegmentSize) {
+            return true;
+        }
+        if (segmentSizeExact) {
+            return false;
+        }
+        measureSegment();
+        return totalSizeWith(size) <= maxSegmentSize;
+    }
+
+    private int totalSizeWith(int size) {
         int totalSize = size;
         if (isNotEmpty()) {
             totalSize += segmentSize + joinSeparatorSize;
         }
-        return totalSize <= maxSegmentSize;
+        return totalSize;
+    }
+
+    private void measureSegment() {
+        if (!segmentSizeExact) {
+            segmentSize = sizeOf(segment.toString());
+            segmentSizeExact = true;
+        }
     }
 
     /**
@@ -77,11 +99,24 @@ class SegmentBuilder {
      * @param text The text to append.
      */
     public void append(String text) {
+        append(text, 0);
+        segmentSizeExact = false;
+        measureSegment();
+    }
+
+    /**
+     * Appends the provided text, whose size is already known, to the current segment.
+     * @param text The text to append.
+     * @param textSize The size of the text (as returned by the {@code sizeFunction}).
+     */
+    public void append(String text, int textSize) {
         if (isNotEmpty()) {
-            segment += joinSeparator;
+            segment.append(joinSeparator);
+            segmentSize += joinSeparatorSize;
+            segmentSizeExact = false;
         }
-        segment += text;
-        segmentSize = sizeOf(segment);
+        segment.append(text);
+        segmentSize += textSize;
     }
 
     /**
@@ -89,12 +124,24 @@ class SegmentBuilder {
      * @param text The text to prepend.
      */
     public void prepend(String text) {
+        prepend(text, 0);
+        segmentSizeExact = false;
+        measureSegment();
+    }
+
+    /**
+     * Prepends the provided text, whose size is already known, to the current segment.
+     * @param text The text to prepend.
+     * @param textSize The size of the text (as returned by the {@code sizeFunction}).
+     */
+    public void prepend(String text, int textSize) {
         if (isNotEmpty()) {
-            segment = text + joinSeparator + segment;
-        } else {
-            segment = text;
+            segment.insert(0, joinSeparator);
+            segmentSize += joinSeparatorSize;
+            segmentSizeExact = false;
         }
-        segmentSize = sizeOf(segment);
+        segment.insert(0, text);
+        segmentSize += textSize;
     }
 
     /**
@@ -102,19 +149,20 @@ class SegmentBuilder {
      * @return {@code true} if the current segment is not empty.
      */
     public boolean isNotEmpty() {
-        return !segment.isEmpty();
+        return segment.length() > 0;
     }
 
     @Override
     public String toString() {
-        return segment.trim();
+        return segment.toString().trim();
     }
 
     /**
      * Resets the current segment.
      */
     public void reset() {
-        segment = "";
+        segment.setLength(0);
         segmentSize = 0;
+        segmentSizeExact = true;
     }
 }
\ No newline at end of file
@@ -0,0 +1,329 @@
+package dev.langchain4j.memory.chat;
+
+import dev.langchain4j.memory.ChatMemory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static dev.langchain4j.internal.Exceptions.illegalArgument;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Keeps the {@link ChatMemory} instances of an AI Service (one per memory ID, see {@link ChatMemoryProvider}),
+ * evicting them when there are too many of them or when they have not been used for a while,
+ * so that a long-running service with many distinct users does not retain all of them forever.
+ * <p>
+ * When there are more than {@code maxSize} chat memories, the least recently used one is evicted.
+ * A chat memory that has not been used for {@code idleTimeout} is evicted as well.
+ * Eviction happens as part of the calls to this registry, so no background thread is needed.
+ * <p>
+ * An evicted {@link ChatMemory} is simply dropped: if the same memory ID is used again,
+ * a new instance is obtained from the {@link ChatMemoryProvider}. To keep the conversation, chat memories should
+ * be backed by a persistent {@link dev.langchain4j.store.memory.chat.ChatMemoryStore}, and a
+ * {@link ChatMemoryEvictionListener} can be used to flush any pending state.
+ * <p>
+ * Example:
+ * <pre>
+ * Assistant assistant = AiServices.builder(Assistant.class)
+ *         .chatLanguageModel(model)
+ *         .chatMemoryProvider(memoryId -&gt; MessageWindowChatMemory.builder()
+ *                 .id(memoryId)
+ *                 .maxMessages(10)
+ *                 .chatMemoryStore(persistentStore)
+ *                 .build())
+ *         .chatMemoryRegistry(BoundedChatMemoryRegistry.builder()
+ *                 .maxSize(10_000)
+ *                 .idleTimeout(Duration.ofMinutes(30))
+ *                 .build())
+ *         .build();
+ * </pre>
+ * <p>
+ * This class is thread-safe. It implements {@link Map} so that it can be used wherever the chat memories of an AI
+ * Service are kept, but {@link #get(Object)} and {@link #computeIfAbsent(Object, Function)} count as usage,
+ * and {@link #entrySet()} returns a snapshot.
+ */
+public class BoundedChatMemoryRegistry extends AbstractMap<Object, ChatMemory> {
+
+    private final Integer maxSize;
+    private final Long idleTimeoutMillis;
+    private final ChatMemoryEvictionListener evictionListener;
+    private final Clock clock;
+
+    /**
+     * Chat memories in access order, from the least to the most recently used.
+     */
+    private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    private BoundedChatMemoryRegistry(Builder builder) {
+        this.maxSize = builder.maxSize == null ? null : ensureGreaterThanZero(builder.maxSize, "maxSize");
+        this.idleTimeoutMillis = builder.idleTimeout == null ? null : ensureGreaterThanZero(builder.idleTimeout.toMillis(), "idleTimeout");
+        if (maxSize == null && idleTimeoutMillis == null) {
+            throw illegalArgument("At least one of maxSize and idleTimeout must be specified");
+        }
+        this.evictionListener = builder.evictionListener;
+        this.clock = builder.clock != null ? builder.clock : Clock.systemUTC();
+    }
+
+    @Override
+    public ChatMemory get(Object memoryId) {
+        List<Entry> evicted = new ArrayList<>();
+        ChatMemory chatMemory;
+        synchronized (this) {
+            long now = clock.millis();
+            evictIdle(now, evicted);
+            Entry entry = entries.get(memoryId);
+            chatMemory = entry == null ? null : entry.touch(now);
+        }
+        notifyEvicted(evicted);
+        return chatMemory;
+    }
+
+    /**
+     * Returns the chat memory of the given memory ID, obtaining it from the provider if it is not in this registry.
+     * The provider is called outside the lock of this registry, so a slow provider (e.g. one loading the messages
+     * from a {@link dev.langchain4j.store.memory.chat.ChatMemoryStore}) does not block the other memory IDs.
+     * If two threads provide a chat memory for the same memory ID at the same time, the first one added is kept
+     * and returned to both.
+     */
+    @Override
+    public ChatMemory computeIfAbsent(Object memoryId, Function<? super Object, ? extends ChatMemory> provider) {
+        ensureNotNull(memoryId, "memoryId");
+        List<Entry> evicted = new ArrayList<>();
+        Entry existing;
+        synchronized (this) {
+            long now = clock.millis();
+            evictIdle(now, evicted);
+            existing = entries.get(memoryId);
+            if (existing != null) {
+                hitCount++;
+                existing.touch(now);
+            } else {
+                missCount++;
+            }
+        }
+        if (existing != null) {
+            notifyEvicted(evicted);
+            return existing.chatMemory;
+        }
+
+        ChatMemory chatMemory = provider.apply(memoryId);
+
+        synchronized (this) {
+            long now = clock.millis();
+            Entry entry = entries.get(memoryId);
+            if (entry != null) {
+                // another thread has added a chat memory for this memory ID in the meantime
+                chatMemory = entry.touch(now);
+            } else if (chatMemory != null) {
+                entries.put(memoryId, new Entry(memoryId, chatMemory, now));
+                evictExcess(evicted);
+            }
+        }
+        notifyEvicted(evicted);
+        return chatMemory;
+    }
+
+    @Override
+    public ChatMemory put(Object memoryId, ChatMemory chatMemory) {
+        ensureNotNull(memoryId, "memoryId");
+        ensureNotNull(chatMemory, "chatMemory");
+        List<Entry> evicted = new ArrayList<>();
+        Entry previous;
+        synchronized (this) {
+            long now = clock.millis();
+            evictIdle(now, evicted);
+            previous = entries.put(memoryId, new Entry(memoryId, chatMemory, now));
+            evictExcess(evicted);
+        }
+        notifyEvicted(evicted);
+        return previous == null ? null : previous.chatMemory;
+    }
+
+    @Override
+    public synchronized ChatMemory remove(Object memoryId) {
+        Entry removed = entries.remove(memoryId);
+        return removed == null ? null : removed.chatMemory;
+    }
+
+    @Override
+    public synchronized boolean containsKey(Object memoryId) {
+        return entries.containsKey(memoryId);
+    }
+
+    /**
+     * @return the number of chat memories currently resident in this registry.
+     */
+    @Override
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    @Override
+    public synchronized Set<Map.Entry<Object, ChatMemory>> entrySet() {
+        Map<Object, ChatMemory> snapshot = entries.values().stream()
+                .collect(toMap(entry -> entry.memoryId, entry -> entry.chatMemory, (a, b) -> a, LinkedHashMap::new));
+        return Collections.unmodifiableMap(snapshot).entrySet();
+    }
+
+    /**
+     * Evicts the chat memories that have not been used for the idle timeout.
+     * It is called on every access anyway, but can also be called periodically to free memory
+     * when the AI Service is not used.
+     */
+    public void evictIdle() {
+        List<Entry> evicted = new ArrayList<>();
+        synchronized (this) {
+            evictIdle(clock.millis(), evicted);
+        }
+        notifyEvicted(evicted);
+    }
+
+    /**
+     * @return the number of times a chat memory was found in this registry.
+     */
+    public synchronized long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of times a chat memory was not found in this registry and had to be provided.
+     */
+    public synchronized long missCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the number of chat memories evicted from this registry.
+     */
+    public synchronized long evictionCount() {
+        return evictionCount;
+    }
+
+    private void evictIdle(long now, List<Entry> evicted) {
+        if (idleTimeoutMillis == null) {
+            return;
+        }
+        // entries are in access order, so only the idle ones at the head have to be visited
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (now - entry.lastAccessMillis < idleTimeoutMillis) {
+                break;
+            }
+            iterator.remove();
+            evicted.add(entry);
+            evictionCount++;
+        }
+    }
+
+    private void evictExcess(List<Entry> evicted) {
+        if (maxSize == null) {
+            return;
+        }
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxSize) {
+            Entry entry = iterator.next();
+            iterator.remove();
+            evicted.add(entry);
+            evictionCount++;
+        }
+    }
+
+    private void notifyEvicted(List<Entry> evicted) {
+        if (evictionListener == null) {
+            return;
+        }
+        for (Entry entry : evicted) {
+            evictionListener.onEviction(entry.memoryId, entry.chatMemory);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private Integer maxSize;
+        private Duration idleTimeout;
+        private ChatMemoryEvictionListener evictionListener;
+        private Clock clock;
+
+        /**
+         * @param maxSize The maximum number of chat memories to retain.
+         *                When it is exceeded, the least recently used chat memory is evicted.
+         *                At least one of {@code maxSize} and {@code idleTimeout} must be provided.
+         * @return builder
+         */
+        public Builder maxSize(Integer maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * @param idleTimeout The duration after which a chat memory that has not been used is evicted.
+         *                    Must be at least one millisecond.
+         *                    At least one of {@code maxSize} and {@code idleTimeout} must be provided.
+         * @return builder
+         */
+        public Builder idleTimeout(Duration idleTimeout) {
+            this.idleTimeout = idleTimeout;
+            return this;
+        }
+
+        /**
+         * @param evictionListener The listener notified when a chat memory is evicted. Optional.
+         * @return builder
+         */
+        public Builder evictionListener(ChatMemoryEvictionListener evictionListener) {
+            this.evictionListener = evictionListener;
+            return this;
+        }
+
+        Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public BoundedChatMemoryRegistry build() {
+            return new BoundedChatMemoryRegistry(this);
+        }
+    }
+
+    private static class Entry {
+
+        private final Object memoryId;
+        private final ChatMemory chatMemory;
+        private long lastAccessMillis;
+
+        Entry(Object memoryId, ChatMemory chatMemory, long lastAccessMillis) {
+            this.memoryId = memoryId;
+            this.chatMemory = chatMemory;
+            this.lastAccessMillis = lastAccessMillis;
+        }
+
+        ChatMemory touch(long now) {
+            lastAccessMillis = now;
+            return chatMemory;
+        }
+    }
+}
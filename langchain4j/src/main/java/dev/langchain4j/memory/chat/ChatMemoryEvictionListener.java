@@ -0,0 +1,21 @@
+package dev.langchain4j.memory.chat;
+
+import dev.langchain4j.memory.ChatMemory;
+
+/**
+ * Notified when a {@link ChatMemory} is evicted from a {@link BoundedChatMemoryRegistry}.
+ * Can be used, for example, to flush the state of the evicted {@link ChatMemory}
+ * to a persistent {@link dev.langchain4j.store.memory.chat.ChatMemoryStore}.
+ */
+@FunctionalInterface
+public interface ChatMemoryEvictionListener {
+
+    /**
+     * Called after a {@link ChatMemory} has been evicted.
+     * It is called on the thread that triggered the eviction, outside any lock of the registry.
+     *
+     * @param memoryId   The ID of the evicted chat memory.
+     * @param chatMemory The evicted chat memory.
+     */
+    void onEviction(Object memoryId, ChatMemory chatMemory);
+}
@@ -14,7 +14,9 @@ public interface ChatMemoryProvider {
      * Provides an instance of {@link ChatMemory}.
      * This method is called each time an AI Service method (having a parameter annotated with {@link MemoryId})
      * is called with a previously unseen memory ID.
-     * Once the {@link ChatMemory} instance is returned, it's retained in memory and managed by {@link dev.langchain4j.service.AiServices}.
+     * Once the {@link ChatMemory} instance is returned, it's retained in memory and managed by {@link dev.langchain4j.service.AiServices}
+     * (unless it is evicted by a {@link BoundedChatMemoryRegistry}, in which case this method is called again
+     * the next time the same memory ID is used).
      *
      * @param memoryId The ID of the chat memory.
      * @return A {@link ChatMemory} instance.
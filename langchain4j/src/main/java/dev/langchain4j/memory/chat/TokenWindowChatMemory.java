@@ -5,19 +5,26 @@ import dev.langchain4j.data.message.AiMessage;
 import dev.langchain4j.data.message.ChatMessage;
 import dev.langchain4j.data.message.SystemMessage;
 import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
 import dev.langchain4j.memory.ChatMemory;
+import dev.langchain4j.model.CachingTokenizer;
 import dev.langchain4j.model.Tokenizer;
 import dev.langchain4j.store.memory.chat.ChatMemoryStore;
 import dev.langchain4j.store.memory.chat.InMemoryChatMemoryStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+import static java.util.Collections.singletonList;
 
 /**
  * This chat memory operates as a sliding window of {@link #maxTokens} tokens.
@@ -36,6 +43,15 @@ import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
  * that prohibit sending orphan {@code ToolExecutionResultMessage}(s) in the request.
  * <p>
  * The state of chat memory is stored in {@link ChatMemoryStore} ({@link InMemoryChatMemoryStore} is used by default).
+ * <p>
+ * The token count of each message is estimated once, when the message is added (or first read from the store),
+ * and a running total is maintained, so the history is not tokenized again on every call.
+ * The total is the sum of the token counts of the messages, plus the tokens that the {@link Tokenizer}
+ * counts once per list of messages (see {@link Tokenizer#estimateTokenCountInMessages(Iterable)}).
+ * <p>
+ * When many memories are created with the same {@link Tokenizer} (e.g. one per user, by a {@link ChatMemoryProvider}),
+ * a shared {@link CachingTokenizer} avoids estimating the same messages (such as a common system prompt)
+ * in each of them.
  */
 public class TokenWindowChatMemory implements ChatMemory {
 
@@ -46,6 +62,13 @@ public class TokenWindowChatMemory implements ChatMemory {
     private final Tokenizer tokenizer;
     private final ChatMemoryStore store;
 
+    /**
+     * The messages last read from or written to the {@link #store}, with their token counts,
+     * so that only new messages have to be tokenized.
+     */
+    private final Window window = new Window();
+    private Integer extraTokenCount;
+
     private TokenWindowChatMemory(Builder builder) {
         this.id = ensureNotNull(builder.id, "id");
         this.maxTokens = ensureGreaterThanZero(builder.maxTokens, "maxTokens");
@@ -59,21 +82,24 @@ public class TokenWindowChatMemory implements ChatMemory {
     }
 
     @Override
-    public void add(ChatMessage message) {
-        List<ChatMessage> messages = messages();
+    public synchronized void add(ChatMessage message) {
+        synchronizeWithStore();
         if (message instanceof SystemMessage) {
-            Optional<SystemMessage> maybeSystemMessage = findSystemMessage(messages);
+            Optional<SystemMessage> maybeSystemMessage = findSystemMessage(window.messages);
             if (maybeSystemMessage.isPresent()) {
                 if (maybeSystemMessage.get().equals(message)) {
                     return; // do not add the same system message
                 } else {
-                    messages.remove(maybeSystemMessage.get()); // need to replace existing system message
+                    // need to replace existing system message
+                    window.remove(window.messages.indexOf(maybeSystemMessage.get()));
                 }
             }
         }
-        messages.add(message);
-        ensureCapacity(messages, maxTokens, tokenizer);
+        window.add(message, tokenizer.estimateTokenCountInMessage(message));
+        ensureCapacity(window);
+        List<ChatMessage> messages = new ArrayList<>(window.messages);
         store.updateMessages(id, messages);
+        window.storedMessages = messages;
     }
 
     private static Optional<SystemMessage> findSystemMessage(List<ChatMessage> messages) {
@@ -84,44 +110,125 @@ public class TokenWindowChatMemory implements ChatMemory {
     }
 
     @Override
-    public List<ChatMessage> messages() {
-        List<ChatMessage> messages = new LinkedList<>(store.getMessages(id));
-        ensureCapacity(messages, maxTokens, tokenizer);
-        return messages;
+    public synchronized List<ChatMessage> messages() {
+        synchronizeWithStore();
+        if (window.tokenCount + extraTokenCount() <= maxTokens) {
+            return new LinkedList<>(window.messages);
+        }
+        // the store holds more than the window (e.g. maxTokens was reduced), which is not persisted by a read
+        Window copy = window.copy();
+        ensureCapacity(copy);
+        return copy.messages;
     }
 
-    private static void ensureCapacity(List<ChatMessage> messages, int maxTokens, Tokenizer tokenizer) {
+    /**
+     * Makes the {@link #window} reflect the messages in the {@link #store}.
+     * Token counts of messages that are already known (compared with {@link Object#equals(Object)})
+     * are reused, so that messages deserialized by a persistent store are not tokenized again.
+     */
+    private void synchronizeWithStore() {
+        List<ChatMessage> storedMessages = store.getMessages(id);
+        if (storedMessages == window.storedMessages && storedMessages.size() == window.messages.size()
+                || storedMessages.equals(window.messages)) {
+            window.storedMessages = storedMessages;
+            return;
+        }
+
+        Map<ChatMessage, Integer> knownTokenCounts = new HashMap<>();
+        Iterator<Integer> tokenCounts = window.tokenCounts.iterator();
+        for (ChatMessage message : window.messages) {
+            knownTokenCounts.put(message, tokenCounts.next());
+        }
+
+        window.clear();
+        for (ChatMessage message : storedMessages) {
+            Integer tokenCount = knownTokenCounts.get(message);
+            window.add(message, tokenCount != null ? tokenCount : tokenizer.estimateTokenCountInMessage(message));
+        }
+        window.storedMessages = storedMessages;
+    }
+
+    /**
+     * @return the number of tokens counted for a list of messages in addition to the tokens of each message
+     */
+    private int extraTokenCount() {
+        if (extraTokenCount == null) {
+            ChatMessage message = UserMessage.from("hello");
+            extraTokenCount = tokenizer.estimateTokenCountInMessages(singletonList(message))
+                    - tokenizer.estimateTokenCountInMessage(message);
+        }
+        return extraTokenCount;
+    }
 
-        int currentTokenCount = tokenizer.estimateTokenCountInMessages(messages);
-        while (currentTokenCount > maxTokens) {
+    private void ensureCapacity(Window window) {
+
+        LinkedList<ChatMessage> messages = window.messages;
+        while (window.tokenCount + extraTokenCount() > maxTokens) {
 
             int messageToEvictIndex = 0;
             if (messages.get(0) instanceof SystemMessage) {
                 messageToEvictIndex = 1;
             }
 
-            ChatMessage evictedMessage = messages.remove(messageToEvictIndex);
-            int tokenCountOfEvictedMessage = tokenizer.estimateTokenCountInMessage(evictedMessage);
+            int tokenCountOfEvictedMessage = window.tokenCounts.get(messageToEvictIndex);
+            ChatMessage evictedMessage = window.remove(messageToEvictIndex);
             log.trace("Evicting the following message ({} tokens) to comply with the capacity requirement: {}",
                     tokenCountOfEvictedMessage, evictedMessage);
-            currentTokenCount -= tokenCountOfEvictedMessage;
 
             if (evictedMessage instanceof AiMessage && ((AiMessage) evictedMessage).hasToolExecutionRequests()) {
                 while (messages.size() > messageToEvictIndex
                         && messages.get(messageToEvictIndex) instanceof ToolExecutionResultMessage) {
                     // Some LLMs (e.g. OpenAI) prohibit ToolExecutionResultMessage(s) without corresponding AiMessage,
                     // so we have to automatically evict orphan ToolExecutionResultMessage(s) if AiMessage was evicted
-                    ChatMessage orphanToolExecutionResultMessage = messages.remove(messageToEvictIndex);
+                    ChatMessage orphanToolExecutionResultMessage = window.remove(messageToEvictIndex);
                     log.trace("Evicting orphan {}", orphanToolExecutionResultMessage);
-                    currentTokenCount -= tokenizer.estimateTokenCountInMessage(orphanToolExecutionResultMessage);
                 }
             }
         }
     }
 
     @Override
-    public void clear() {
+    public synchronized void clear() {
         store.deleteMessages(id);
+        window.clear();
+        window.storedMessages = null;
+    }
+
+    /**
+     * Messages with their token counts, and the running total of their token counts.
+     * Messages are only added at the end and evicted near the beginning, so a {@link LinkedList} is used.
+     */
+    private static class Window {
+
+        private LinkedList<ChatMessage> messages = new LinkedList<>();
+        private LinkedList<Integer> tokenCounts = new LinkedList<>();
+        private int tokenCount;
+        private List<ChatMessage> storedMessages;
+
+        void add(ChatMessage message, int messageTokenCount) {
+            messages.add(message);
+            tokenCounts.add(messageTokenCount);
+            tokenCount += messageTokenCount;
+        }
+
+        ChatMessage remove(int index) {
+            tokenCount -= tokenCounts.remove(index);
+            return messages.remove(index);
+        }
+
+        void clear() {
+            messages = new LinkedList<>();
+            tokenCounts = new LinkedList<>();
+            tokenCount = 0;
+        }
+
+        Window copy() {
+            Window copy = new Window();
+            copy.messages = new LinkedList<>(messages);
+            copy.tokenCounts = new LinkedList<>(tokenCounts);
+            copy.tokenCount = tokenCount;
+            return copy;
+        }
     }
 
     public static Builder builder() {
@@ -150,6 +257,7 @@ public class TokenWindowChatMemory implements ChatMemory {
          *                  Chat memory will retain as many of the most recent messages as can fit into {@code maxTokens}.
          *                  Messages are indivisible. If an old message doesn't fit, it is evicted completely.
          * @param tokenizer A {@link Tokenizer} responsible for counting tokens in the messages.
+         *                  It can be shared between memories, possibly wrapped in a {@link CachingTokenizer}.
          * @return builder
          */
         public Builder maxTokens(Integer maxTokens, Tokenizer tokenizer) {
@@ -9,9 +9,11 @@ import dev.langchain4j.model.chat.StreamingChatLanguageModel;
 import dev.langchain4j.model.moderation.ModerationModel;
 import dev.langchain4j.rag.RetrievalAugmentor;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 public class AiServiceContext {
@@ -30,6 +32,8 @@ public class AiServiceContext {
 
     public List<ToolSpecification> toolSpecifications;
     public Map<String, ToolExecutor> toolExecutors;
+    public Executor toolExecutionExecutor;
+    public Duration toolExecutionTimeout;
 
     public RetrievalAugmentor retrievalAugmentor;
 
@@ -8,6 +8,7 @@ import dev.langchain4j.data.message.ChatMessage;
 import dev.langchain4j.data.message.ToolExecutionResultMessage;
 import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.memory.ChatMemory;
+import dev.langchain4j.memory.chat.BoundedChatMemoryRegistry;
 import dev.langchain4j.memory.chat.ChatMemoryProvider;
 import dev.langchain4j.model.chat.ChatLanguageModel;
 import dev.langchain4j.model.chat.StreamingChatLanguageModel;
@@ -22,9 +23,11 @@ import dev.langchain4j.retriever.Retriever;
 import dev.langchain4j.spi.services.AiServicesFactory;
 
 import java.lang.reflect.Method;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.function.Function;
 
@@ -126,6 +129,8 @@ public abstract class AiServices<T> {
     private boolean contentRetrieverSet = false;
     private boolean retrievalAugmentorSet = false;
 
+    private BoundedChatMemoryRegistry chatMemoryRegistry;
+
     protected AiServices(AiServiceContext context) {
         this.context = context;
     }
@@ -267,11 +272,30 @@ public abstract class AiServices<T> {
      * @return builder
      */
     public AiServices<T> chatMemoryProvider(ChatMemoryProvider chatMemoryProvider) {
-        context.chatMemories = new ConcurrentHashMap<>();
+        context.chatMemories = chatMemoryRegistry != null ? chatMemoryRegistry : new ConcurrentHashMap<>();
         context.chatMemoryProvider = chatMemoryProvider;
         return this;
     }
 
+    /**
+     * Configures where the {@link ChatMemory} instances obtained from the {@link #chatMemoryProvider} are kept.
+     * By default, they are all retained for the lifetime of the AI Service.
+     * A {@link BoundedChatMemoryRegistry} can be used to evict them when there are too many of them
+     * or when they have not been used for a while.
+     * <p>
+     * It is used only if a {@link ChatMemoryProvider} is configured.
+     *
+     * @param chatMemoryRegistry The chat memory registry.
+     * @return builder
+     */
+    public AiServices<T> chatMemoryRegistry(BoundedChatMemoryRegistry chatMemoryRegistry) {
+        this.chatMemoryRegistry = ensureNotNull(chatMemoryRegistry, "chatMemoryRegistry");
+        if (context.chatMemoryProvider != null) {
+            context.chatMemories = chatMemoryRegistry;
+        }
+        return this;
+    }
+
     /**
      * Configures a moderation model to be used for automatic content moderation.
      * If a method in the AI Service is annotated with {@link Moderate}, the moderation model will be invoked
@@ -328,6 +352,58 @@ public abstract class AiServices<T> {
         return this;
     }
 
+    /**
+     * Configures the AI Service to execute concurrently the tools requested by the LLM in a single response
+     * (e.g. "parallel function calling" of OpenAI), instead of one after the other.
+     * Tool executions are started on a new virtual thread each when running on Java 21+,
+     * or on a cached pool of daemon threads otherwise.
+     * <p>
+     * The results are added to the {@link ChatMemory} in the order of the requests, once all tools have completed.
+     * Tools must be thread-safe.
+     *
+     * @return builder
+     * @see #executeToolsConcurrently(Executor)
+     * @see #toolExecutionTimeout(Duration)
+     */
+    public AiServices<T> executeToolsConcurrently() {
+        context.toolExecutionExecutor = ToolExecutions.defaultExecutor();
+        return this;
+    }
+
+    /**
+     * Configures the AI Service to execute concurrently, on the provided executor, the tools requested by the LLM
+     * in a single response (e.g. "parallel function calling" of OpenAI), instead of one after the other.
+     * <p>
+     * The results are added to the {@link ChatMemory} in the order of the requests, once all tools have completed.
+     * Tools must be thread-safe.
+     *
+     * @param executor The executor on which tools are executed.
+     * @return builder
+     * @see #toolExecutionTimeout(Duration)
+     */
+    public AiServices<T> executeToolsConcurrently(Executor executor) {
+        context.toolExecutionExecutor = ensureNotNull(executor, "executor");
+        return this;
+    }
+
+    /**
+     * Configures the maximum duration of each tool execution,
+     * counted from when the tool starts running on the executor (time spent queued is not counted).
+     * A tool that the executor has not started within this duration multiplied by the number of tools requested
+     * in the same response is cancelled and reported as timed out, so a saturated executor cannot block forever.
+     * When a tool does not complete in time, its thread is interrupted, and the LLM is told that the execution
+     * of the tool timed out, as it is told about any other error of a tool.
+     * <p>
+     * It is only applied when tools are executed concurrently (see {@link #executeToolsConcurrently()}).
+     *
+     * @param timeout The maximum duration of each tool execution.
+     * @return builder
+     */
+    public AiServices<T> toolExecutionTimeout(Duration timeout) {
+        context.toolExecutionTimeout = timeout;
+        return this;
+    }
+
     /**
      * Deprecated. Use {@link #contentRetriever(ContentRetriever)}
      * (e.g. {@link EmbeddingStoreContentRetriever}) instead.
@@ -0,0 +1,313 @@
+package dev.langchain4j.service;
+
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.input.Prompt;
+import dev.langchain4j.model.input.PromptTemplate;
+import dev.langchain4j.model.input.structured.StructuredPrompt;
+import dev.langchain4j.model.input.structured.StructuredPromptProcessor;
+
+import java.io.InputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Scanner;
+import java.util.function.Function;
+
+import static dev.langchain4j.exception.IllegalConfigurationException.illegalConfiguration;
+import static dev.langchain4j.internal.Exceptions.illegalArgument;
+
+/**
+ * Everything about a method of an AI Service that does not depend on the arguments of a particular call:
+ * the annotated parameters, the parsed system and user message templates, the output format instructions
+ * and whether the method is moderated.
+ * <br>
+ * A plan is created once per method (see {@link #from(Method)}), which validates the method
+ * and reads its annotations and templates, so that each call only has to bind the arguments.
+ * Templates that are only known at call time (provided by a {@code systemMessageProvider}
+ * or passed as an argument annotated with {@link dev.langchain4j.service.UserMessage}) are still parsed per call.
+ */
+class InvocationPlan {
+
+    private final Method method;
+    private final Parameter[] parameters;
+    private final String[] variableNames;
+    private final int itParameterIndex;
+    private final int memoryIdParameterIndex;
+    private final int userNameParameterIndex;
+    private final int userMessageParameterIndex;
+    private final MessageTemplate systemMessageTemplate;
+    private final MessageTemplate userMessageTemplate;
+    private final String outputFormatInstructions;
+    private final boolean moderated;
+
+    private volatile MessageTemplate lastProvidedSystemMessageTemplate;
+
+    private InvocationPlan(Method method) {
+        this.method = method;
+        this.parameters = method.getParameters();
+
+        this.variableNames = new String[parameters.length];
+        int memoryIdParameterIndex = -1;
+        int userNameParameterIndex = -1;
+        int userMessageParameterIndex = -1;
+        for (int i = 0; i < parameters.length; i++) {
+            V v = parameters[i].getAnnotation(V.class);
+            if (v != null) {
+                variableNames[i] = v.value();
+            }
+            if (memoryIdParameterIndex < 0 && parameters[i].isAnnotationPresent(MemoryId.class)) {
+                memoryIdParameterIndex = i;
+            }
+            if (userNameParameterIndex < 0 && parameters[i].isAnnotationPresent(UserName.class)) {
+                userNameParameterIndex = i;
+            }
+            if (userMessageParameterIndex < 0
+                    && parameters[i].isAnnotationPresent(dev.langchain4j.service.UserMessage.class)) {
+                userMessageParameterIndex = i;
+            }
+        }
+        this.memoryIdParameterIndex = memoryIdParameterIndex;
+        this.userNameParameterIndex = userNameParameterIndex;
+        this.itParameterIndex = findParameterIndexOfVariableIt(parameters);
+
+        dev.langchain4j.service.SystemMessage systemMessage = method.getAnnotation(dev.langchain4j.service.SystemMessage.class);
+        this.systemMessageTemplate = systemMessage == null ? null : new MessageTemplate(
+                getTemplate(method, "System", systemMessage.fromResource(), systemMessage.value(), systemMessage.delimiter()));
+
+        dev.langchain4j.service.UserMessage userMessage = method.getAnnotation(dev.langchain4j.service.UserMessage.class);
+        if (userMessage != null && userMessageParameterIndex >= 0) {
+            throw illegalConfiguration(
+                    "Error: The method '%s' has multiple @UserMessage annotations. Please use only one.",
+                    method.getName()
+            );
+        }
+        if (userMessage != null) {
+            this.userMessageTemplate = new MessageTemplate(
+                    getTemplate(method, "User", userMessage.fromResource(), userMessage.value(), userMessage.delimiter()));
+            this.userMessageParameterIndex = -1;
+        } else if (userMessageParameterIndex >= 0) {
+            this.userMessageTemplate = null;
+            this.userMessageParameterIndex = userMessageParameterIndex;
+        } else if (parameters.length == 1 && parameters[0].getAnnotations().length == 0) {
+            this.userMessageTemplate = null;
+            this.userMessageParameterIndex = 0;
+        } else {
+            throw illegalConfiguration("Error: The method '%s' does not have a user message defined.", method.getName());
+        }
+
+        // TODO give user ability to provide custom OutputParser
+        this.outputFormatInstructions = ServiceOutputParser.outputFormatInstructions(method.getReturnType());
+        this.moderated = method.isAnnotationPresent(Moderate.class);
+    }
+
+    /**
+     * Validates the method and creates its plan.
+     *
+     * @param method the method of an AI Service.
+     * @return the plan of the method.
+     * @throws dev.langchain4j.exception.IllegalConfigurationException if the method is not configured properly.
+     */
+    static InvocationPlan from(Method method) {
+        validateParameters(method);
+        return new InvocationPlan(method);
+    }
+
+    static void validateParameters(Method method) {
+        Parameter[] parameters = method.getParameters();
+        if (parameters == null || parameters.length < 2) {
+            return;
+        }
+
+        for (Parameter parameter : parameters) {
+            V v = parameter.getAnnotation(V.class);
+            dev.langchain4j.service.UserMessage userMessage = parameter.getAnnotation(dev.langchain4j.service.UserMessage.class);
+            MemoryId memoryId = parameter.getAnnotation(MemoryId.class);
+            UserName userName = parameter.getAnnotation(UserName.class);
+            if (v == null && userMessage == null && memoryId == null && userName == null) {
+                throw illegalConfiguration(
+                        "Parameter '%s' of method '%s' should be annotated with @V or @UserMessage " +
+                                "or @UserName or @MemoryId", parameter.getName(), method.getName()
+                );
+            }
+        }
+    }
+
+    Optional<Object> findMemoryId(Object[] args) {
+        if (memoryIdParameterIndex < 0) {
+            return Optional.empty();
+        }
+        Object memoryId = args[memoryIdParameterIndex];
+        if (memoryId == null) {
+            throw illegalArgument(
+                    "The value of parameter '%s' annotated with @MemoryId in method '%s' must not be null",
+                    parameters[memoryIdParameterIndex].getName(), method.getName()
+            );
+        }
+        return Optional.of(memoryId);
+    }
+
+    Optional<SystemMessage> prepareSystemMessage(Object memoryId,
+                                                 Object[] args,
+                                                 Function<Object, Optional<String>> systemMessageProvider) {
+        MessageTemplate template = systemMessageTemplate;
+        if (template == null) {
+            Optional<String> providedTemplate = systemMessageProvider.apply(memoryId);
+            if (!providedTemplate.isPresent()) {
+                return Optional.empty();
+            }
+            template = providedSystemMessageTemplate(providedTemplate.get());
+        }
+        return Optional.of(template.apply(variables(template, args)).toSystemMessage());
+    }
+
+    /**
+     * Providers usually return the same template for every call, so the last parsed one is reused.
+     */
+    private MessageTemplate providedSystemMessageTemplate(String template) {
+        MessageTemplate last = lastProvidedSystemMessageTemplate;
+        if (last != null && last.template.equals(template)) {
+            return last;
+        }
+        MessageTemplate parsed = new MessageTemplate(template);
+        lastProvidedSystemMessageTemplate = parsed;
+        return parsed;
+    }
+
+    UserMessage prepareUserMessage(Object[] args) {
+        MessageTemplate template = userMessageTemplate != null
+                ? userMessageTemplate
+                : new MessageTemplate(toString(args[userMessageParameterIndex]));
+
+        Prompt prompt = template.apply(variables(template, args));
+
+        if (userNameParameterIndex >= 0) {
+            return UserMessage.from(args[userNameParameterIndex].toString(), prompt.text());
+        }
+        return prompt.toUserMessage();
+    }
+
+    String outputFormatInstructions() {
+        return outputFormatInstructions;
+    }
+
+    boolean isModerated() {
+        return moderated;
+    }
+
+    private Map<String, Object> variables(MessageTemplate template, Object[] args) {
+        Map<String, Object> variables = new HashMap<>();
+        for (int i = 0; i < variableNames.length; i++) {
+            if (variableNames[i] != null) {
+                variables.put(variableNames[i], args[i]);
+            }
+        }
+
+        if (template.containsVariableIt && !variables.containsKey("it")) {
+            if (itParameterIndex < 0) {
+                throw illegalConfiguration("Error: cannot find the value of the prompt template variable \"{{it}}\".");
+            }
+            variables.put("it", toString(args[itParameterIndex]));
+        }
+
+        return variables;
+    }
+
+    private static int findParameterIndexOfVariableIt(Parameter[] parameters) {
+        if (parameters.length == 1) {
+            Parameter parameter = parameters[0];
+            if (!parameter.isAnnotationPresent(MemoryId.class)
+                    && !parameter.isAnnotationPresent(dev.langchain4j.service.UserMessage.class)
+                    && !parameter.isAnnotationPresent(UserName.class)
+                    && (!parameter.isAnnotationPresent(V.class) || isAnnotatedWithIt(parameter))) {
+                return 0;
+            }
+        }
+
+        for (int i = 0; i < parameters.length; i++) {
+            if (isAnnotatedWithIt(parameters[i])) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static boolean isAnnotatedWithIt(Parameter parameter) {
+        V annotation = parameter.getAnnotation(V.class);
+        return annotation != null && "it".equals(annotation.value());
+    }
+
+    private static String getTemplate(Method method, String type, String resource, String[] value, String delimiter) {
+        String messageTemplate;
+        if (!resource.trim().isEmpty()) {
+            messageTemplate = getResourceText(method.getDeclaringClass(), resource);
+            if (messageTemplate == null) {
+                throw illegalConfiguration("@%sMessage's resource '%s' not found", type, resource);
+            }
+        } else {
+            messageTemplate = String.join(delimiter, value);
+        }
+        if (messageTemplate.trim().isEmpty()) {
+            throw illegalConfiguration("@%sMessage's template cannot be empty", type);
+        }
+        return messageTemplate;
+    }
+
+    private static String getResourceText(Class<?> clazz, String name) {
+        return getText(clazz.getResourceAsStream(name));
+    }
+
+    private static String getText(InputStream inputStream) {
+        if (inputStream == null) {
+            return null;
+        }
+        try (Scanner scanner = new Scanner(inputStream);
+             Scanner s = scanner.useDelimiter("\\A")) {
+            return s.hasNext() ? s.next() : "";
+        }
+    }
+
+    private static String toString(Object arg) {
+        if (arg.getClass().isArray()) {
+            return arrayToString(arg);
+        } else if (arg.getClass().isAnnotationPresent(StructuredPrompt.class)) {
+            return StructuredPromptProcessor.toPrompt(arg).text();
+        } else {
+            return arg.toString();
+        }
+    }
+
+    private static String arrayToString(Object arg) {
+        StringBuilder sb = new StringBuilder("[");
+        int length = Array.getLength(arg);
+        for (int i = 0; i < length; i++) {
+            sb.append(toString(Array.get(arg, i)));
+            if (i < length - 1) {
+                sb.append(", ");
+            }
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+
+    private static class MessageTemplate {
+
+        private final String template;
+        private final PromptTemplate promptTemplate;
+        private final boolean containsVariableIt;
+
+        MessageTemplate(String template) {
+            this.template = template;
+            this.promptTemplate = PromptTemplate.from(template);
+            this.containsVariableIt = template.contains("{{it}}");
+        }
+
+        Prompt apply(Map<String, Object> variables) {
+            return promptTemplate.apply(variables);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package dev.langchain4j.service;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.agent.tool.ToolExecutor;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static java.lang.String.format;
+
+/**
+ * Executes the tools requested by the LLM in a single {@link dev.langchain4j.data.message.AiMessage},
+ * either sequentially on the calling thread, or concurrently (see {@link AiServices#executeToolsConcurrently()}).
+ * The results are always returned in the order of the requests.
+ */
+class ToolExecutions {
+
+    private static final Logger log = LoggerFactory.getLogger(ToolExecutions.class);
+
+    private ToolExecutions() {
+    }
+
+    static List<ToolExecutionResultMessage> execute(AiServiceContext context,
+                                                    List<ToolExecutionRequest> toolExecutionRequests,
+                                                    Object memoryId) {
+        Executor executor = context.toolExecutionExecutor;
+        Duration timeout = context.toolExecutionTimeout;
+        if (executor == null || (toolExecutionRequests.size() == 1 && timeout == null)) {
+            List<ToolExecutionResultMessage> results = new ArrayList<>();
+            for (ToolExecutionRequest toolExecutionRequest : toolExecutionRequests) {
+                ToolExecutor toolExecutor = context.toolExecutors.get(toolExecutionRequest.name());
+                String toolExecutionResult = toolExecutor.execute(toolExecutionRequest, memoryId);
+                results.add(ToolExecutionResultMessage.from(toolExecutionRequest, toolExecutionResult));
+            }
+            return results;
+        }
+
+        // tools that never start (e.g. dropped by a saturated or shut down executor) must not block forever:
+        // they are given up once all tools could have run one after another within their timeout
+        long startDeadlineNanos = timeout == null
+                ? 0
+                : System.nanoTime() + timeout.toNanos() * toolExecutionRequests.size();
+
+        List<ToolExecutionTask> tasks = new ArrayList<>();
+        List<ToolExecutionResultMessage> results = new ArrayList<>();
+        try {
+            for (ToolExecutionRequest toolExecutionRequest : toolExecutionRequests) {
+                ToolExecutor toolExecutor = context.toolExecutors.get(toolExecutionRequest.name());
+                ToolExecutionTask task = new ToolExecutionTask(() -> toolExecutor.execute(toolExecutionRequest, memoryId));
+                tasks.add(task);
+                executor.execute(task);
+            }
+            for (int i = 0; i < tasks.size(); i++) {
+                ToolExecutionRequest toolExecutionRequest = toolExecutionRequests.get(i);
+                String toolExecutionResult = await(tasks.get(i), toolExecutionRequest, timeout, startDeadlineNanos);
+                results.add(ToolExecutionResultMessage.from(toolExecutionRequest, toolExecutionResult));
+            }
+        } catch (RuntimeException | Error e) {
+            // the results of the other tools will not be used, so there is no point in letting them run
+            tasks.forEach(task -> task.cancel(true));
+            throw e;
+        }
+        return results;
+    }
+
+    /**
+     * Waits for the task. The timeout is counted from when the task starts running,
+     * so a task queued by a busy executor does not lose part of its time.
+     * A task that has not started by {@code startDeadlineNanos} is cancelled and reported as timed out.
+     */
+    private static String await(ToolExecutionTask task,
+                                ToolExecutionRequest toolExecutionRequest,
+                                Duration timeout,
+                                long startDeadlineNanos) {
+        try {
+            if (timeout == null) {
+                return task.get();
+            }
+            while (true) {
+                try {
+                    return task.get(task.remainingNanos(timeout, startDeadlineNanos), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    if (task.remainingNanos(timeout, startDeadlineNanos) <= 0) {
+                        throw e;
+                    }
+                }
+            }
+        } catch (TimeoutException e) {
+            boolean started = task.started;
+            task.cancel(true);
+            // like other tool errors, the timeout is reported to the LLM, which can decide how to proceed
+            String message = started
+                    ? format("Execution of tool '%s' timed out after %s ms",
+                            toolExecutionRequest.name(), timeout.toMillis())
+                    : format("Execution of tool '%s' timed out: the executor did not start it in time",
+                            toolExecutionRequest.name());
+            log.warn(message);
+            return message;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static class ToolExecutionTask extends FutureTask<String> {
+
+        private volatile long startNanos;
+        private volatile boolean started;
+
+        ToolExecutionTask(Callable<String> callable) {
+            super(callable);
+        }
+
+        @Override
+        public void run() {
+            startNanos = System.nanoTime();
+            started = true;
+            super.run();
+        }
+
+        /**
+         * @return the time left before the timeout if the task has started,
+         * or the time left before {@code startDeadlineNanos} otherwise
+         */
+        long remainingNanos(Duration timeout, long startDeadlineNanos) {
+            long deadline = started ? startNanos + timeout.toNanos() : startDeadlineNanos;
+            return Math.max(0, deadline - System.nanoTime());
+        }
+    }
+
+    /**
+     * @return an executor starting a virtual thread per task when running on Java 21+,
+     * or a cached pool of daemon threads otherwise
+     */
+    static Executor defaultExecutor() {
+        try {
+            return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "ai-service-tool-execution");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package dev.langchain4j.store.embedding.inmemory;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.segment.TextSegment;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static dev.langchain4j.internal.Exceptions.illegalArgument;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Binary file format of the in-memory embedding stores, see {@link InMemoryEmbeddingStore#serializeToBinaryFile(Path)}
+ * and {@link PackedInMemoryEmbeddingStore#serializeToFile(Path)}.
+ * <p>
+ * The file consists of:
+ * <ul>
+ *     <li>a header of {@value #HEADER_SIZE} bytes: magic number, version, dimension, number of entries;</li>
+ *     <li>all vectors, row after row, as little-endian {@code float}s;</li>
+ *     <li>the inverse L2 norm of each vector, as little-endian {@code float}s;</li>
+ *     <li>the id, text and metadata of each entry.</li>
+ * </ul>
+ * Vectors and norms are little-endian, so that they can be memory-mapped and scanned in place on common hardware.
+ * All other numbers and strings are written in the {@link java.io.DataOutput} (big-endian) format,
+ * strings being prefixed by the length of their UTF-8 encoding.
+ * <p>
+ * Since the number of entries and the dimension are known upfront, the whole file is written in a single,
+ * streaming pass.
+ */
+class EmbeddingStoreFile {
+
+    static final int MAGIC = 0x4C344A45; // "L4JE"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+
+    private static final byte NO_SEGMENT = 0;
+    private static final byte TEXT_SEGMENT = 1;
+
+    private static final byte STRING = 0;
+    private static final byte INTEGER = 1;
+    private static final byte LONG = 2;
+    private static final byte FLOAT = 3;
+    private static final byte DOUBLE = 4;
+
+    private EmbeddingStoreFile() {
+    }
+
+    /**
+     * The entries of a store to write.
+     */
+    interface Entries {
+
+        int size();
+
+        String id(int index);
+
+        float[] vector(int index);
+
+        Object embedded(int index);
+    }
+
+    /**
+     * The contents of a file. Vectors are memory-mapped.
+     */
+    static class Contents {
+
+        final VectorArena vectors;
+        final List<String> ids;
+        final List<TextSegment> segments;
+
+        Contents(VectorArena vectors, List<String> ids, List<TextSegment> segments) {
+            this.vectors = vectors;
+            this.ids = ids;
+            this.segments = segments;
+        }
+    }
+
+    static void write(Path file, Entries entries) {
+        int size = entries.size();
+        int dimension = size == 0 ? 0 : entries.vector(0).length;
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(file, CREATE, TRUNCATE_EXISTING, WRITE), 1 << 16))) {
+
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(dimension);
+            out.writeInt(size);
+            out.write(new byte[HEADER_SIZE - 4 * Integer.BYTES]);
+
+            ByteBuffer row = ByteBuffer.allocate(dimension * Float.BYTES).order(LITTLE_ENDIAN);
+            float[] inverseNorms = new float[size];
+            for (int i = 0; i < size; i++) {
+                float[] vector = entries.vector(i);
+                if (vector.length != dimension) {
+                    throw illegalArgument("Length of vector (%s) must be equal to the dimension of the store (%s)",
+                            vector.length, dimension);
+                }
+                row.clear();
+                row.asFloatBuffer().put(vector);
+                out.write(row.array());
+                inverseNorms[i] = VectorArena.inverseNorm(vector);
+            }
+
+            ByteBuffer norms = ByteBuffer.allocate(Float.BYTES).order(LITTLE_ENDIAN);
+            for (float inverseNorm : inverseNorms) {
+                norms.putFloat(0, inverseNorm);
+                out.write(norms.array());
+            }
+
+            for (int i = 0; i < size; i++) {
+                writeString(out, entries.id(i));
+                writeEmbedded(out, entries.embedded(i));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    static Contents read(Path file) {
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+
+            if (channel.size() < HEADER_SIZE) {
+                throw illegalArgument("'%s' is not an embedding store file", file);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC) {
+                throw illegalArgument("'%s' is not an embedding store file", file);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw illegalArgument("Unsupported version of the embedding store file '%s': %s", file, version);
+            }
+            int dimension = header.getInt();
+            int size = header.getInt();
+
+            long vectorsPosition = HEADER_SIZE;
+            long normsPosition = vectorsPosition + (long) size * dimension * Float.BYTES;
+            long entriesPosition = normsPosition + (long) size * Float.BYTES;
+
+            float[] inverseNorms = new float[size];
+            if (size > 0) {
+                FloatBuffer norms = channel.map(FileChannel.MapMode.READ_ONLY, normsPosition, (long) size * Float.BYTES)
+                        .order(LITTLE_ENDIAN)
+                        .asFloatBuffer();
+                norms.get(inverseNorms);
+            }
+
+            VectorArena vectors = size == 0
+                    ? null
+                    : VectorArena.mapped(channel, vectorsPosition, dimension, size, inverseNorms,
+                    VectorArena.DEFAULT_CHUNK_SIZE);
+
+            List<String> ids = new ArrayList<>(size);
+            List<TextSegment> segments = new ArrayList<>(size);
+            channel.position(entriesPosition);
+            InputStream entries = new BufferedInputStream(Channels.newInputStream(channel), 1 << 16);
+            DataInputStream in = new DataInputStream(entries);
+            for (int i = 0; i < size; i++) {
+                ids.add(readString(in));
+                segments.add(readSegment(in));
+            }
+
+            return new Contents(vectors, ids, segments);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void writeEmbedded(DataOutputStream out, Object embedded) throws IOException {
+        if (embedded == null) {
+            out.writeByte(NO_SEGMENT);
+            return;
+        }
+        if (!(embedded instanceof TextSegment)) {
+            throw illegalArgument("Only TextSegment can be written to an embedding store file, but found: %s",
+                    embedded.getClass().getName());
+        }
+
+        TextSegment segment = (TextSegment) embedded;
+        out.writeByte(TEXT_SEGMENT);
+        writeString(out, segment.text());
+
+        Map<String, Object> metadata = segment.metadata().toMap();
+        out.writeInt(metadata.size());
+        for (Map.Entry<String, Object> entry : metadata.entrySet()) {
+            writeString(out, entry.getKey());
+            Object value = entry.getValue();
+            if (value instanceof String) {
+                out.writeByte(STRING);
+                writeString(out, (String) value);
+            } else if (value instanceof Integer) {
+                out.writeByte(INTEGER);
+                out.writeInt((Integer) value);
+            } else if (value instanceof Long) {
+                out.writeByte(LONG);
+                out.writeLong((Long) value);
+            } else if (value instanceof Float) {
+                out.writeByte(FLOAT);
+                out.writeFloat((Float) value);
+            } else if (value instanceof Double) {
+                out.writeByte(DOUBLE);
+                out.writeDouble((Double) value);
+            } else {
+                throw illegalArgument("Unsupported type of the metadata value '%s': %s",
+                        entry.getKey(), value.getClass().getName());
+            }
+        }
+    }
+
+    private static TextSegment readSegment(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        if (type == NO_SEGMENT) {
+            return null;
+        }
+        if (type != TEXT_SEGMENT) {
+            throw new IOException("Corrupted embedding store file: unknown segment type " + type);
+        }
+
+        String text = readString(in);
+
+        int metadataSize = in.readInt();
+        Map<String, Object> metadata = new HashMap<>();
+        for (int i = 0; i < metadataSize; i++) {
+            String key = readString(in);
+            byte valueType = in.readByte();
+            switch (valueType) {
+                case STRING:
+                    metadata.put(key, readString(in));
+                    break;
+                case INTEGER:
+                    metadata.put(key, in.readInt());
+                    break;
+                case LONG:
+                    metadata.put(key, in.readLong());
+                    break;
+                case FLOAT:
+                    metadata.put(key, in.readFloat());
+                    break;
+                case DOUBLE:
+                    metadata.put(key, in.readDouble());
+                    break;
+                default:
+                    throw new IOException("Corrupted embedding store file: unknown metadata value type " + valueType);
+            }
+        }
+
+        return TextSegment.from(text, new Metadata(metadata));
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        byte[] bytes = string.getBytes(UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+}
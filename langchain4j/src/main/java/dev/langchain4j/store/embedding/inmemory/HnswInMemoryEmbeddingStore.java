@@ -0,0 +1,242 @@
+package dev.langchain4j.store.embedding.inmemory;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.*;
+import dev.langchain4j.store.embedding.filter.Filter;
+import dev.langchain4j.store.embedding.filter.FilterCompiler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+import static dev.langchain4j.internal.Utils.getOrDefault;
+import static dev.langchain4j.internal.Utils.randomUUID;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotBlank;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * An {@link EmbeddingStore} that stores embeddings in memory
+ * and searches them using a Hierarchical Navigable Small World (HNSW) graph.
+ * <p>
+ * Unlike {@link InMemoryEmbeddingStore}, which compares the query with every stored embedding,
+ * this store visits only a small part of the graph, so search latency grows roughly logarithmically
+ * with the number of stored embeddings. The price is that the search is approximate:
+ * some of the most similar embeddings can occasionally be missed.
+ * The accuracy/speed trade-off can be tuned using {@link Builder#m(Integer)},
+ * {@link Builder#efConstruction(Integer)} and {@link Builder#efSearch(Integer)}.
+ * <p>
+ * Embeddings are indexed incrementally as they are added. All embeddings must have the same dimension.
+ * <p>
+ * When a {@link Filter} is used, the graph is still traversed through all nodes,
+ * but only entries matching the filter are returned.
+ * With very selective filters the search degrades to visiting most of the graph.
+ *
+ * @param <Embedded> The class of the object that has been embedded.
+ *                   Typically, it is {@link dev.langchain4j.data.segment.TextSegment}.
+ */
+public class HnswInMemoryEmbeddingStore<Embedded> implements EmbeddingStore<Embedded> {
+
+    private final HnswIndex index;
+    private final int efSearch;
+    private final List<Entry<Embedded>> entries = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public HnswInMemoryEmbeddingStore() {
+        this(builder());
+    }
+
+    private HnswInMemoryEmbeddingStore(Builder builder) {
+        this.index = new HnswIndex(
+                ensureGreaterThanZero(getOrDefault(builder.m, 16), "m"),
+                ensureGreaterThanZero(getOrDefault(builder.efConstruction, 200), "efConstruction"),
+                getOrDefault(builder.seed, 42L)
+        );
+        this.efSearch = ensureGreaterThanZero(getOrDefault(builder.efSearch, 50), "efSearch");
+    }
+
+    @Override
+    public String add(Embedding embedding) {
+        String id = randomUUID();
+        add(id, embedding);
+        return id;
+    }
+
+    @Override
+    public void add(String id, Embedding embedding) {
+        add(id, embedding, null);
+    }
+
+    @Override
+    public String add(Embedding embedding, Embedded embedded) {
+        String id = randomUUID();
+        add(id, embedding, embedded);
+        return id;
+    }
+
+    public void add(String id, Embedding embedding, Embedded embedded) {
+        Entry<Embedded> entry = new Entry<>(id, embedding, embedded);
+        lock.writeLock().lock();
+        try {
+            index.insert(entry.embedding.vector());
+            entries.add(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<String> addAll(List<Embedding> embeddings) {
+        List<Entry<Embedded>> newEntries = embeddings.stream()
+                .map(embedding -> new Entry<Embedded>(randomUUID(), embedding, null))
+                .collect(toList());
+        return add(newEntries);
+    }
+
+    @Override
+    public List<String> addAll(List<Embedding> embeddings, List<Embedded> embedded) {
+        if (embeddings.size() != embedded.size()) {
+            throw new IllegalArgumentException("The list of embeddings and embedded must have the same size");
+        }
+
+        List<Entry<Embedded>> newEntries = new ArrayList<>(embeddings.size());
+        for (int i = 0; i < embeddings.size(); i++) {
+            newEntries.add(new Entry<>(randomUUID(), embeddings.get(i), embedded.get(i)));
+        }
+        return add(newEntries);
+    }
+
+    private List<String> add(List<Entry<Embedded>> newEntries) {
+        lock.writeLock().lock();
+        try {
+            for (Entry<Embedded> entry : newEntries) {
+                index.insert(entry.embedding.vector());
+                entries.add(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        return newEntries.stream()
+                .map(entry -> entry.id)
+                .collect(toList());
+    }
+
+    @Override
+    public EmbeddingSearchResult<Embedded> search(EmbeddingSearchRequest embeddingSearchRequest) {
+
+        Filter filter = embeddingSearchRequest.filter();
+        Predicate<Metadata> metadataFilter = filter == null ? null : FilterCompiler.compile(filter);
+
+        lock.readLock().lock();
+        try {
+            IntPredicate nodeFilter = metadataFilter == null ? null
+                    : node -> matches(metadataFilter, entries.get(node).embedded);
+
+            ScoredNodes nearest = index.search(
+                    embeddingSearchRequest.queryEmbedding().vector(),
+                    embeddingSearchRequest.maxResults(),
+                    efSearch,
+                    nodeFilter
+            );
+
+            List<EmbeddingMatch<Embedded>> matches = new ArrayList<>(nearest.size);
+            for (int i = 0; i < nearest.size; i++) {
+                double score = RelevanceScore.fromCosineSimilarity(nearest.scores[i]);
+                if (score < embeddingSearchRequest.minScore()) {
+                    break;
+                }
+                Entry<Embedded> entry = entries.get(nearest.nodes[i]);
+                matches.add(new EmbeddingMatch<>(score, entry.id, entry.embedding, entry.embedded));
+            }
+            return new EmbeddingSearchResult<>(matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean matches(Predicate<Metadata> metadataFilter, Object embedded) {
+        if (!(embedded instanceof TextSegment)) {
+            return true;
+        }
+        Metadata metadata = ((TextSegment) embedded).metadata();
+        return metadataFilter.test(metadata);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private Integer m;
+        private Integer efConstruction;
+        private Integer efSearch;
+        private Long seed;
+
+        /**
+         * @param m The maximum number of connections per node on the upper layers of the graph
+         *          (twice as many are kept on the bottom layer).
+         *          Higher values improve recall, especially for high-dimensional embeddings,
+         *          at the cost of memory and insertion time. Default: 16
+         * @return builder
+         */
+        public Builder m(Integer m) {
+            this.m = m;
+            return this;
+        }
+
+        /**
+         * @param efConstruction The number of candidates considered when connecting a newly added embedding.
+         *                       Higher values build a better graph at the cost of insertion time. Default: 200
+         * @return builder
+         */
+        public Builder efConstruction(Integer efConstruction) {
+            this.efConstruction = efConstruction;
+            return this;
+        }
+
+        /**
+         * @param efSearch The number of candidates considered during search.
+         *                 Higher values improve recall at the cost of search latency.
+         *                 {@link EmbeddingSearchRequest#maxResults()} is used instead if it is larger. Default: 50
+         * @return builder
+         */
+        public Builder efSearch(Integer efSearch) {
+            this.efSearch = efSearch;
+            return this;
+        }
+
+        /**
+         * @param seed The seed used to assign embeddings to graph layers, makes the graph reproducible. Default: 42
+         * @return builder
+         */
+        public Builder seed(Long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public <Embedded> HnswInMemoryEmbeddingStore<Embedded> build() {
+            return new HnswInMemoryEmbeddingStore<>(this);
+        }
+    }
+
+    private static class Entry<Embedded> {
+
+        final String id;
+        final Embedding embedding;
+        final Embedded embedded;
+
+        Entry(String id, Embedding embedding, Embedded embedded) {
+            this.id = ensureNotBlank(id, "id");
+            this.embedding = ensureNotNull(embedding, "embedding");
+            this.embedded = embedded;
+        }
+    }
+}
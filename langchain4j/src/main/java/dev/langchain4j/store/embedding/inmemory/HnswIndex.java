@@ -0,0 +1,302 @@
+package dev.langchain4j.store.embedding.inmemory;
+
+import dev.langchain4j.store.embedding.VectorSimilarity;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+import java.util.function.IntPredicate;
+
+import static dev.langchain4j.internal.Exceptions.illegalArgument;
+
+/**
+ * A Hierarchical Navigable Small World (HNSW) graph over cosine similarity,
+ * as described by Malkov and Yashunin in "Efficient and robust approximate nearest neighbor search
+ * using Hierarchical Navigable Small World graphs".
+ * <p>
+ * Nodes are identified by consecutive {@code int} ids in the order they were inserted.
+ * <p>
+ * This class is not thread-safe. Callers must ensure that inserts do not run concurrently
+ * with other inserts or searches.
+ */
+class HnswIndex {
+
+    private final int m;
+    private final int maxConnectionsOnLayer0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final Random random;
+
+    private int dimension = -1;
+    private int size;
+    private float[][] vectors = new float[16][];
+    private float[] inverseNorms = new float[16];
+    /**
+     * node -> layer -> neighbours, where element 0 holds the number of neighbours.
+     */
+    private int[][][] neighbours = new int[16][][];
+    private int entryPoint = -1;
+    private int maxLayer = -1;
+
+    HnswIndex(int m, int efConstruction, long seed) {
+        this.m = m;
+        this.maxConnectionsOnLayer0 = 2 * m;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1 / Math.log(m);
+        this.random = new Random(seed);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Inserts a vector into the graph.
+     *
+     * @param vector the vector, the index takes ownership of the array.
+     * @return the id of the new node.
+     */
+    int insert(float[] vector) {
+        if (dimension == -1) {
+            dimension = vector.length;
+        } else if (vector.length != dimension) {
+            throw illegalArgument("Length of vector (%s) must be equal to the dimension of the index (%s)",
+                    vector.length, dimension);
+        }
+
+        int node = size;
+        ensureCapacity(node + 1);
+        vectors[node] = vector;
+        inverseNorms[node] = inverseNorm(vector);
+
+        int layer = randomLayer();
+        neighbours[node] = new int[layer + 1][];
+        for (int l = 0; l <= layer; l++) {
+            neighbours[node][l] = new int[maxConnections(l) + 1];
+        }
+        size++;
+
+        if (entryPoint == -1) {
+            entryPoint = node;
+            maxLayer = layer;
+            return node;
+        }
+
+        float[] query = vectors[node];
+        float queryInverseNorm = inverseNorms[node];
+
+        int current = entryPoint;
+        for (int l = maxLayer; l > layer; l--) {
+            current = greedySearch(query, queryInverseNorm, current, l);
+        }
+
+        for (int l = Math.min(layer, maxLayer); l >= 0; l--) {
+            ScoredNodes nearest = searchLayer(query, queryInverseNorm, current, efConstruction, l, null)
+                    .drainDescending();
+            int[] selected = selectNeighbours(nearest, m);
+            for (int neighbour : selected) {
+                addConnection(node, neighbour, l);
+                addConnection(neighbour, node, l);
+            }
+            current = nearest.nodes[0];
+        }
+
+        if (layer > maxLayer) {
+            maxLayer = layer;
+            entryPoint = node;
+        }
+        return node;
+    }
+
+    /**
+     * Finds the approximately nearest nodes to the given query.
+     *
+     * @param query  the query vector.
+     * @param k      the maximum number of nodes to return.
+     * @param ef     the size of the dynamic candidate list, the larger the more accurate (and the slower) the search.
+     * @param filter nodes not matching this predicate are traversed but never returned. Can be {@code null}.
+     * @return up to {@code k} nodes, sorted by descending cosine similarity.
+     */
+    ScoredNodes search(float[] query, int k, int ef, IntPredicate filter) {
+        if (entryPoint == -1) {
+            return new ScoredNodes(new int[0], new double[0], 0);
+        }
+        if (query.length != dimension) {
+            throw illegalArgument("Length of vector a (%s) must be equal to the length of vector b (%s)",
+                    query.length, dimension);
+        }
+
+        float queryInverseNorm = inverseNorm(query);
+
+        int current = entryPoint;
+        for (int l = maxLayer; l > 0; l--) {
+            current = greedySearch(query, queryInverseNorm, current, l);
+        }
+
+        ScoredNodes nearest = searchLayer(query, queryInverseNorm, current, Math.max(ef, k), 0, filter)
+                .drainDescending();
+        return nearest.size > k ? new ScoredNodes(nearest.nodes, nearest.scores, k) : nearest;
+    }
+
+    private int greedySearch(float[] query, float queryInverseNorm, int entry, int layer) {
+        int current = entry;
+        double currentScore = similarity(query, queryInverseNorm, current);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            int[] connections = neighbours[current][layer];
+            for (int i = 1; i <= connections[0]; i++) {
+                int candidate = connections[i];
+                double score = similarity(query, queryInverseNorm, candidate);
+                if (score > currentScore) {
+                    currentScore = score;
+                    current = candidate;
+                    changed = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    private NodeHeap searchLayer(float[] query,
+                                 float queryInverseNorm,
+                                 int entry,
+                                 int ef,
+                                 int layer,
+                                 IntPredicate filter) {
+        BitSet visited = new BitSet(size);
+        NodeHeap candidates = new NodeHeap(ef, true);
+        NodeHeap results = new NodeHeap(ef, false);
+
+        double entryScore = similarity(query, queryInverseNorm, entry);
+        visited.set(entry);
+        candidates.push(entry, entryScore);
+        if (filter == null || filter.test(entry)) {
+            results.push(entry, entryScore);
+        }
+
+        while (candidates.size() > 0) {
+            double candidateScore = candidates.topScore();
+            if (results.size() >= ef && candidateScore < results.topScore()) {
+                break;
+            }
+            int candidate = candidates.pop();
+
+            int[] connections = neighbours[candidate][layer];
+            for (int i = 1; i <= connections[0]; i++) {
+                int neighbour = connections[i];
+                if (visited.get(neighbour)) {
+                    continue;
+                }
+                visited.set(neighbour);
+
+                double score = similarity(query, queryInverseNorm, neighbour);
+                if (results.size() < ef || score > results.topScore()) {
+                    candidates.push(neighbour, score);
+                    if (filter == null || filter.test(neighbour)) {
+                        results.push(neighbour, score);
+                        if (results.size() > ef) {
+                            results.pop();
+                        }
+                    }
+                }
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Neighbour selection heuristic (algorithm 4 of the paper): a candidate is selected only if it is closer
+     * to the base node than to any of the already selected neighbours, which keeps the graph navigable
+     * across clusters. Discarded candidates are used to fill the remaining slots.
+     */
+    private int[] selectNeighbours(ScoredNodes candidates, int max) {
+        if (candidates.size <= max) {
+            return Arrays.copyOf(candidates.nodes, candidates.size);
+        }
+
+        int[] selected = new int[max];
+        int selectedCount = 0;
+        int[] discarded = new int[candidates.size];
+        int discardedCount = 0;
+
+        for (int i = 0; i < candidates.size && selectedCount < max; i++) {
+            int candidate = candidates.nodes[i];
+            double scoreToBase = candidates.scores[i];
+            boolean good = true;
+            for (int j = 0; j < selectedCount; j++) {
+                if (similarity(candidate, selected[j]) > scoreToBase) {
+                    good = false;
+                    break;
+                }
+            }
+            if (good) {
+                selected[selectedCount++] = candidate;
+            } else {
+                discarded[discardedCount++] = candidate;
+            }
+        }
+
+        for (int i = 0; i < discardedCount && selectedCount < max; i++) {
+            selected[selectedCount++] = discarded[i];
+        }
+
+        return selectedCount == max ? selected : Arrays.copyOf(selected, selectedCount);
+    }
+
+    private void addConnection(int from, int to, int layer) {
+        int[] connections = neighbours[from][layer];
+        int count = connections[0];
+        int max = connections.length - 1;
+        if (count < max) {
+            connections[count + 1] = to;
+            connections[0] = count + 1;
+            return;
+        }
+
+        NodeHeap candidates = new NodeHeap(max + 1, false);
+        for (int i = 1; i <= max; i++) {
+            candidates.push(connections[i], similarity(from, connections[i]));
+        }
+        candidates.push(to, similarity(from, to));
+
+        int[] selected = selectNeighbours(candidates.drainDescending(), max);
+        System.arraycopy(selected, 0, connections, 1, selected.length);
+        connections[0] = selected.length;
+    }
+
+    private int maxConnections(int layer) {
+        return layer == 0 ? maxConnectionsOnLayer0 : m;
+    }
+
+    private int randomLayer() {
+        return (int) (-Math.log(1 - random.nextDouble()) * levelMultiplier);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > vectors.length) {
+            int newCapacity = Math.max(capacity, vectors.length + (vectors.length >> 1));
+            vectors = Arrays.copyOf(vectors, newCapacity);
+            inverseNorms = Arrays.copyOf(inverseNorms, newCapacity);
+            neighbours = Arrays.copyOf(neighbours, newCapacity);
+        }
+    }
+
+    private double similarity(int a, int b) {
+        return dot(vectors[a], vectors[b]) * inverseNorms[a] * inverseNorms[b];
+    }
+
+    private double similarity(float[] query, float queryInverseNorm, int node) {
+        return dot(query, vectors[node]) * queryInverseNorm * inverseNorms[node];
+    }
+
+    private static double dot(float[] a, float[] b) {
+        return VectorSimilarity.dotProduct(a, 0, b, 0, a.length);
+    }
+
+    private static float inverseNorm(float[] vector) {
+        double norm = VectorSimilarity.norm(vector);
+        return norm > 0 ? (float) (1 / norm) : 0;
+    }
+}
@@ -6,22 +6,34 @@ import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.spi.store.embedding.inmemory.InMemoryEmbeddingStoreJsonCodecFactory;
 import dev.langchain4j.store.embedding.*;
 import dev.langchain4j.store.embedding.filter.Filter;
+import dev.langchain4j.store.embedding.filter.FilterCompiler;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
 import java.util.stream.IntStream;
 
+import static dev.langchain4j.internal.Utils.getOrDefault;
 import static dev.langchain4j.internal.Utils.randomUUID;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotBlank;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
 import static dev.langchain4j.spi.ServiceHelper.loadFactories;
 import static java.nio.file.StandardOpenOption.CREATE;
 import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static java.util.Comparator.comparingDouble;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
 import static java.util.stream.Collectors.toList;
 
 /**
@@ -29,9 +41,22 @@ import static java.util.stream.Collectors.toList;
  * <p>
  * Uses a brute force approach by iterating over all embeddings to find the best matches.
  * <p>
+ * When built with a {@link Builder#searchExecutor(Executor)}, large stores are searched in parallel:
+ * the embeddings are split into segments that are scanned concurrently,
+ * each keeping its own top {@code maxResults} matches, which are then merged.
+ * Stores smaller than {@link Builder#minEntriesForParallelSearch(Integer)} are still searched on the calling thread.
+ * <p>
+ * Metadata keys can be indexed using {@link Builder#indexedMetadataKeys(Collection)} and
+ * {@link Builder#sortedIndexedMetadataKeys(Collection)}. When a search {@link Filter} on indexed keys
+ * is selective enough, the entries that can match are looked up in the index first,
+ * and only those are scored. Otherwise, the filter is tested on every entry.
+ * <p>
  * This store can be persisted using the {@link #serializeToJson()} and {@link #serializeToFile(Path)} methods.
  * <p>
  * It can also be recreated from JSON or a file using the {@link #fromJson(String)} and {@link #fromFile(Path)} methods.
+ * <p>
+ * For large stores, prefer the compact binary format of {@link #serializeToBinaryFile(Path)} and
+ * {@link #fromBinaryFile(Path)}, which is written and read in a streaming fashion.
  *
  * @param <Embedded> The class of the object that has been embedded.
  *                   Typically, it is {@link dev.langchain4j.data.segment.TextSegment}.
@@ -40,6 +65,30 @@ public class InMemoryEmbeddingStore<Embedded> implements EmbeddingStore<Embedded
 
     final CopyOnWriteArrayList<Entry<Embedded>> entries = new CopyOnWriteArrayList<>();
 
+    private final transient Executor searchExecutor;
+    private final transient int searchParallelism;
+    private final transient int minEntriesForParallelSearch;
+    private final transient MetadataIndex metadataIndex;
+    private final transient ReadWriteLock metadataIndexLock = new ReentrantReadWriteLock();
+
+    public InMemoryEmbeddingStore() {
+        this(builder());
+    }
+
+    private InMemoryEmbeddingStore(Builder builder) {
+        this.searchExecutor = builder.searchExecutor;
+        this.searchParallelism = ensureGreaterThanZero(
+                getOrDefault(builder.searchParallelism, Runtime.getRuntime().availableProcessors()),
+                "searchParallelism");
+        this.minEntriesForParallelSearch = ensureGreaterThanZero(
+                getOrDefault(builder.minEntriesForParallelSearch, 10_000), "minEntriesForParallelSearch");
+        Collection<String> indexedMetadataKeys = getOrDefault(builder.indexedMetadataKeys, emptyList());
+        Collection<String> sortedIndexedMetadataKeys = getOrDefault(builder.sortedIndexedMetadataKeys, emptyList());
+        this.metadataIndex = indexedMetadataKeys.isEmpty() && sortedIndexedMetadataKeys.isEmpty()
+                ? null
+                : new MetadataIndex(indexedMetadataKeys, sortedIndexedMetadataKeys);
+    }
+
     @Override
     public String add(Embedding embedding) {
         String id = randomUUID();
@@ -60,7 +109,7 @@ public class InMemoryEmbeddingStore<Embedded> implements EmbeddingStore<Embedded
     }
 
     public void add(String id, Embedding embedding, Embedded embedded) {
-        entries.add(new Entry<>(id, embedding, embedded));
+        add(singletonList(new Entry<>(id, embedding, embedded)));
     }
 
     @Override
@@ -88,7 +137,20 @@ public class InMemoryEmbeddingStore<Embedded> implements EmbeddingStore<Embedded
 
     private List<String> add(List<Entry<Embedded>> newEntries) {
 
-        entries.addAll(newEntries);
+        if (metadataIndex == null) {
+            entries.addAll(newEntries);
+        } else {
+            metadataIndexLock.writeLock().lock();
+            try {
+                int row = entries.size();
+                entries.addAll(newEntries);
+                for (Entry<Embedded> entry : newEntries) {
+                    metadataIndex.add(row++, entry.embedded);
+                }
+            } finally {
+                metadataIndexLock.writeLock().unlock();
+            }
+        }
 
         return newEntries.stream()
                 .map(entry -> entry.id)
@@ -99,15 +161,90 @@ public class InMemoryEmbeddingStore<Embedded> implements EmbeddingStore<Embedded
     public EmbeddingSearchResult<Embedded> search(EmbeddingSearchRequest embeddingSearchRequest) {
 
         Comparator<EmbeddingMatch<Embedded>> comparator = comparingDouble(EmbeddingMatch::score);
-        PriorityQueue<EmbeddingMatch<Embedded>> matches = new PriorityQueue<>(comparator);
 
         Filter filter = embeddingSearchRequest.filter();
+        Predicate<Metadata> metadataFilter = filter == null ? null : FilterCompiler.compile(filter);
+
+        // entries are only ever appended, so the first "size" entries stay the same during the search
+        int size;
+        BitSet candidates = null;
+        if (metadataIndex == null || filter == null) {
+            size = entries.size();
+        } else {
+            metadataIndexLock.readLock().lock();
+            try {
+                size = entries.size();
+                candidates = metadataIndex.candidates(filter, size);
+            } finally {
+                metadataIndexLock.readLock().unlock();
+            }
+        }
 
-        for (Entry<Embedded> entry : entries) {
+        PriorityQueue<EmbeddingMatch<Embedded>> matches;
+        if (searchExecutor == null || searchParallelism == 1 || size < minEntriesForParallelSearch) {
+            matches = search(embeddingSearchRequest, metadataFilter, candidates, 0, size, comparator);
+        } else {
+            matches = searchInParallel(embeddingSearchRequest, metadataFilter, candidates, size, comparator);
+        }
 
-            if (filter != null && entry.embedded instanceof TextSegment) {
+        List<EmbeddingMatch<Embedded>> result = new ArrayList<>(matches);
+        result.sort(comparator);
+        Collections.reverse(result);
+
+        return new EmbeddingSearchResult<>(result);
+    }
+
+    private PriorityQueue<EmbeddingMatch<Embedded>> searchInParallel(EmbeddingSearchRequest embeddingSearchRequest,
+                                                                     Predicate<Metadata> metadataFilter,
+                                                                     BitSet candidates,
+                                                                     int size,
+                                                                     Comparator<EmbeddingMatch<Embedded>> comparator) {
+        int segmentSize = (size + searchParallelism - 1) / searchParallelism;
+
+        List<CompletableFuture<PriorityQueue<EmbeddingMatch<Embedded>>>> segments = new ArrayList<>();
+        for (int from = 0; from < size; from += segmentSize) {
+            int segmentFrom = from;
+            int segmentTo = Math.min(from + segmentSize, size);
+            segments.add(supplyAsync(
+                    () -> search(embeddingSearchRequest, metadataFilter, candidates, segmentFrom, segmentTo, comparator), searchExecutor));
+        }
+
+        PriorityQueue<EmbeddingMatch<Embedded>> matches = new PriorityQueue<>(comparator);
+        for (CompletableFuture<PriorityQueue<EmbeddingMatch<Embedded>>> segment : segments) {
+            PriorityQueue<EmbeddingMatch<Embedded>> segmentMatches;
+            try {
+                segmentMatches = segment.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+            for (EmbeddingMatch<Embedded> match : segmentMatches) {
+                matches.add(match);
+                if (matches.size() > embeddingSearchRequest.maxResults()) {
+                    matches.poll();
+                }
+            }
+        }
+        return matches;
+    }
+
+    private PriorityQueue<EmbeddingMatch<Embedded>> search(EmbeddingSearchRequest embeddingSearchRequest,
+                                                           Predicate<Metadata> metadataFilter,
+                                                           BitSet candidates,
+                                                           int from,
+                                                           int to,
+                                                           Comparator<EmbeddingMatch<Embedded>> comparator) {
+
+        PriorityQueue<EmbeddingMatch<Embedded>> matches = new PriorityQueue<>(comparator);
+
+        for (int i = nextCandidate(candidates, from); i < to; i = nextCandidate(candidates, i + 1)) {
+            Entry<Embedded> entry = entries.get(i);
+
+            if (metadataFilter != null && entry.embedded instanceof TextSegment) {
                 Metadata metadata = ((TextSegment) entry.embedded).metadata();
-                if (!filter.test(metadata)) {
+                if (!metadataFilter.test(metadata)) {
                     continue;
                 }
             }
@@ -122,11 +259,168 @@ public class InMemoryEmbeddingStore<Embedded> implements EmbeddingStore<Embedded
             }
         }
 
-        List<EmbeddingMatch<Embedded>> result = new ArrayList<>(matches);
-        result.sort(comparator);
-        Collections.reverse(result);
+        return matches;
+    }
 
-        return new EmbeddingSearchResult<>(result);
+    /**
+     * Scores all the requests in a single pass over the entries, so that each embedding is read
+     * (and its norm calculated) only once, however many requests there are.
+     * The results are the same as those of {@link #search(EmbeddingSearchRequest)} for each request.
+     */
+    @Override
+    public List<EmbeddingSearchResult<Embedded>> searchAll(List<EmbeddingSearchRequest> requests) {
+        ensureNotNull(requests, "requests");
+        if (requests.size() < 2) {
+            return EmbeddingStore.super.searchAll(requests);
+        }
+
+        Comparator<EmbeddingMatch<Embedded>> comparator = comparingDouble(EmbeddingMatch::score);
+
+        List<Predicate<Metadata>> metadataFilters = new ArrayList<>(requests.size());
+        double[] queryNorms = new double[requests.size()];
+        for (int r = 0; r < requests.size(); r++) {
+            Filter filter = requests.get(r).filter();
+            metadataFilters.add(filter == null ? null : FilterCompiler.compile(filter));
+            queryNorms[r] = VectorSimilarity.norm(requests.get(r).queryEmbedding().vector());
+        }
+
+        // entries are only ever appended, so the first "size" entries stay the same during the search
+        int size;
+        BitSet[] candidates = new BitSet[requests.size()];
+        if (metadataIndex == null) {
+            size = entries.size();
+        } else {
+            metadataIndexLock.readLock().lock();
+            try {
+                size = entries.size();
+                for (int r = 0; r < requests.size(); r++) {
+                    Filter filter = requests.get(r).filter();
+                    candidates[r] = filter == null ? null : metadataIndex.candidates(filter, size);
+                }
+            } finally {
+                metadataIndexLock.readLock().unlock();
+            }
+        }
+        BitSet anyCandidates = union(candidates);
+
+        List<PriorityQueue<EmbeddingMatch<Embedded>>> matches;
+        if (searchExecutor == null || searchParallelism == 1 || size < minEntriesForParallelSearch) {
+            matches = searchAll(requests, metadataFilters, queryNorms, candidates, anyCandidates, 0, size, comparator);
+        } else {
+            int segmentSize = (size + searchParallelism - 1) / searchParallelism;
+
+            List<CompletableFuture<List<PriorityQueue<EmbeddingMatch<Embedded>>>>> segments = new ArrayList<>();
+            for (int from = 0; from < size; from += segmentSize) {
+                int segmentFrom = from;
+                int segmentTo = Math.min(from + segmentSize, size);
+                segments.add(supplyAsync(() -> searchAll(requests, metadataFilters, queryNorms,
+                        candidates, anyCandidates, segmentFrom, segmentTo, comparator), searchExecutor));
+            }
+
+            matches = new ArrayList<>(requests.size());
+            for (int r = 0; r < requests.size(); r++) {
+                matches.add(new PriorityQueue<>(comparator));
+            }
+            for (CompletableFuture<List<PriorityQueue<EmbeddingMatch<Embedded>>>> segment : segments) {
+                List<PriorityQueue<EmbeddingMatch<Embedded>>> segmentMatches;
+                try {
+                    segmentMatches = segment.join();
+                } catch (CompletionException e) {
+                    if (e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    throw e;
+                }
+                for (int r = 0; r < requests.size(); r++) {
+                    for (EmbeddingMatch<Embedded> match : segmentMatches.get(r)) {
+                        matches.get(r).add(match);
+                        if (matches.get(r).size() > requests.get(r).maxResults()) {
+                            matches.get(r).poll();
+                        }
+                    }
+                }
+            }
+        }
+
+        List<EmbeddingSearchResult<Embedded>> results = new ArrayList<>(requests.size());
+        for (PriorityQueue<EmbeddingMatch<Embedded>> requestMatches : matches) {
+            List<EmbeddingMatch<Embedded>> result = new ArrayList<>(requestMatches);
+            result.sort(comparator);
+            Collections.reverse(result);
+            results.add(new EmbeddingSearchResult<>(result));
+        }
+        return results;
+    }
+
+    private List<PriorityQueue<EmbeddingMatch<Embedded>>> searchAll(List<EmbeddingSearchRequest> requests,
+                                                                    List<Predicate<Metadata>> metadataFilters,
+                                                                    double[] queryNorms,
+                                                                    BitSet[] candidates,
+                                                                    BitSet anyCandidates,
+                                                                    int from,
+                                                                    int to,
+                                                                    Comparator<EmbeddingMatch<Embedded>> comparator) {
+
+        List<PriorityQueue<EmbeddingMatch<Embedded>>> matches = new ArrayList<>(requests.size());
+        for (int r = 0; r < requests.size(); r++) {
+            matches.add(new PriorityQueue<>(comparator));
+        }
+
+        for (int i = nextCandidate(anyCandidates, from); i < to; i = nextCandidate(anyCandidates, i + 1)) {
+            Entry<Embedded> entry = entries.get(i);
+            float[] vector = entry.embedding.vector();
+            double norm = VectorSimilarity.norm(vector);
+
+            for (int r = 0; r < requests.size(); r++) {
+                if (candidates[r] != null && !candidates[r].get(i)) {
+                    continue;
+                }
+                Predicate<Metadata> metadataFilter = metadataFilters.get(r);
+                if (metadataFilter != null && entry.embedded instanceof TextSegment) {
+                    Metadata metadata = ((TextSegment) entry.embedded).metadata();
+                    if (!metadataFilter.test(metadata)) {
+                        continue;
+                    }
+                }
+
+                EmbeddingSearchRequest request = requests.get(r);
+                double dotProduct = VectorSimilarity.dotProduct(vector, request.queryEmbedding().vector());
+                double cosineSimilarity = dotProduct / Math.max(norm * queryNorms[r], CosineSimilarity.EPSILON);
+                double score = RelevanceScore.fromCosineSimilarity(cosineSimilarity);
+                if (score >= request.minScore()) {
+                    PriorityQueue<EmbeddingMatch<Embedded>> requestMatches = matches.get(r);
+                    requestMatches.add(new EmbeddingMatch<>(score, entry.id, entry.embedding, entry.embedded));
+                    if (requestMatches.size() > request.maxResults()) {
+                        requestMatches.poll();
+                    }
+                }
+            }
+        }
+
+        return matches;
+    }
+
+    /**
+     * @return the entries that are a candidate of any of the requests,
+     * or {@code null} if a request is not restricted to candidates.
+     */
+    private static BitSet union(BitSet[] candidates) {
+        BitSet union = new BitSet();
+        for (BitSet requestCandidates : candidates) {
+            if (requestCandidates == null) {
+                return null;
+            }
+            union.or(requestCandidates);
+        }
+        return union;
+    }
+
+    private static int nextCandidate(BitSet candidates, int from) {
+        if (candidates == null) {
+            return from;
+        }
+        int next = candidates.nextSetBit(from);
+        return next < 0 ? Integer.MAX_VALUE : next;
     }
 
     public String serializeToJson() {
@@ -163,6 +457,144 @@ public class InMemoryEmbeddingStore<Embedded> implements EmbeddingStore<Embedded
         return fromFile(Paths.get(filePath));
     }
 
+    /**
+     * Writes this store into a compact binary file, in a single streaming pass.
+     * Unlike {@link #serializeToFile(Path)}, the store is never held in memory as a whole JSON string.
+     * Only {@link TextSegment}s (or no embedded object) are supported.
+     * <p>
+     * The file can be loaded back using {@link #fromBinaryFile(Path)},
+     * or opened using {@link PackedInMemoryEmbeddingStore#fromFile(Path)}
+     * to search the vectors directly from the memory-mapped file.
+     *
+     * @param filePath the file to write.
+     */
+    public void serializeToBinaryFile(Path filePath) {
+        List<Entry<Embedded>> snapshot = new ArrayList<>(entries);
+        EmbeddingStoreFile.write(filePath, new EmbeddingStoreFile.Entries() {
+
+            @Override
+            public int size() {
+                return snapshot.size();
+            }
+
+            @Override
+            public String id(int index) {
+                return snapshot.get(index).id;
+            }
+
+            @Override
+            public float[] vector(int index) {
+                return snapshot.get(index).embedding.vector();
+            }
+
+            @Override
+            public Object embedded(int index) {
+                return snapshot.get(index).embedded;
+            }
+        });
+    }
+
+    public void serializeToBinaryFile(String filePath) {
+        serializeToBinaryFile(Paths.get(filePath));
+    }
+
+    /**
+     * Loads a store from a binary file written by {@link #serializeToBinaryFile(Path)}.
+     *
+     * @param filePath the file to read.
+     * @return the loaded store.
+     */
+    public static InMemoryEmbeddingStore<TextSegment> fromBinaryFile(Path filePath) {
+        EmbeddingStoreFile.Contents contents = EmbeddingStoreFile.read(filePath);
+        List<Entry<TextSegment>> entries = new ArrayList<>(contents.ids.size());
+        for (int row = 0; row < contents.ids.size(); row++) {
+            Embedding embedding = Embedding.from(contents.vectors.vector(row));
+            entries.add(new Entry<>(contents.ids.get(row), embedding, contents.segments.get(row)));
+        }
+        InMemoryEmbeddingStore<TextSegment> store = new InMemoryEmbeddingStore<>();
+        store.entries.addAll(entries);
+        return store;
+    }
+
+    public static InMemoryEmbeddingStore<TextSegment> fromBinaryFile(String filePath) {
+        return fromBinaryFile(Paths.get(filePath));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private Executor searchExecutor;
+        private Integer searchParallelism;
+        private Integer minEntriesForParallelSearch;
+        private Collection<String> indexedMetadataKeys;
+        private Collection<String> sortedIndexedMetadataKeys;
+
+        /**
+         * @param searchExecutor The executor used to search segments of the store in parallel,
+         *                       for example a dedicated {@link java.util.concurrent.ForkJoinPool}.
+         *                       If not provided, the store is always searched on the calling thread.
+         * @return builder
+         */
+        public Builder searchExecutor(Executor searchExecutor) {
+            this.searchExecutor = searchExecutor;
+            return this;
+        }
+
+        /**
+         * @param searchParallelism The number of segments the store is split into for a parallel search.
+         *                          Default: the number of available processors
+         * @return builder
+         */
+        public Builder searchParallelism(Integer searchParallelism) {
+            this.searchParallelism = searchParallelism;
+            return this;
+        }
+
+        /**
+         * @param minEntriesForParallelSearch The minimum number of entries in the store for a parallel search.
+         *                                    Smaller stores are searched on the calling thread,
+         *                                    as the cost of forking would outweigh the gain. Default: 10000
+         * @return builder
+         */
+        public Builder minEntriesForParallelSearch(Integer minEntriesForParallelSearch) {
+            this.minEntriesForParallelSearch = minEntriesForParallelSearch;
+            return this;
+        }
+
+        /**
+         * @param indexedMetadataKeys The metadata keys to maintain a hash index on.
+         *                            A search with a selective {@link Filter} on these keys
+         *                            ({@code isEqualTo}, {@code isNotEqualTo}, {@code isIn}, {@code isNotIn})
+         *                            then only scores the entries that can match, instead of testing the filter
+         *                            on every entry. The index is kept in memory and is not serialized.
+         *                            Default: no index
+         * @return builder
+         */
+        public Builder indexedMetadataKeys(Collection<String> indexedMetadataKeys) {
+            this.indexedMetadataKeys = indexedMetadataKeys;
+            return this;
+        }
+
+        /**
+         * @param sortedIndexedMetadataKeys The metadata keys to maintain a sorted index on.
+         *                                  Like {@link #indexedMetadataKeys(Collection)}, but also supports
+         *                                  {@code isGreaterThan}, {@code isGreaterThanOrEqualTo}, {@code isLessThan}
+         *                                  and {@code isLessThanOrEqualTo}. Default: no index
+         * @return builder
+         */
+        public Builder sortedIndexedMetadataKeys(Collection<String> sortedIndexedMetadataKeys) {
+            this.sortedIndexedMetadataKeys = sortedIndexedMetadataKeys;
+            return this;
+        }
+
+        public <Embedded> InMemoryEmbeddingStore<Embedded> build() {
+            return new InMemoryEmbeddingStore<>(this);
+        }
+    }
+
     private static class Entry<Embedded> {
 
         String id;
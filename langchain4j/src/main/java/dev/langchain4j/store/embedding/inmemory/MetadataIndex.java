@@ -0,0 +1,336 @@
+package dev.langchain4j.store.embedding.inmemory;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.filter.Filter;
+import dev.langchain4j.store.embedding.filter.comparison.*;
+import dev.langchain4j.store.embedding.filter.logical.And;
+import dev.langchain4j.store.embedding.filter.logical.Or;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Secondary indexes on metadata keys of the {@link TextSegment}s of a store, used to find the rows
+ * that can match a {@link Filter} without testing it on every row.
+ * Rows are addressed by consecutive {@code int} ids in the order they were added.
+ * <p>
+ * For each value of an indexed key, the index keeps a posting list of the rows having that value.
+ * A hash index supports {@link IsEqualTo}, {@link IsNotEqualTo}, {@link IsIn} and {@link IsNotIn};
+ * a sorted index additionally supports {@link IsGreaterThan}, {@link IsGreaterThanOrEqualTo},
+ * {@link IsLessThan} and {@link IsLessThanOrEqualTo}. They are combined with {@link And} and {@link Or}.
+ * Any other part of a filter (e.g. {@link dev.langchain4j.store.embedding.filter.logical.Not}) is not narrowed down.
+ * <p>
+ * Whenever the index could give a different result than {@link Filter#test(Object)}
+ * (values of different types under the same key, non-finite numbers, {@link IsIn} mixing
+ * {@code float}s with other numbers), it is not used, so that the filter is evaluated as usual.
+ * The only difference is that rows excluded by the index are never tested, so a type mismatch
+ * in a non-indexed part of an {@link And} filter can go unnoticed for them.
+ * <p>
+ * This class is not thread-safe.
+ */
+class MetadataIndex {
+
+    /**
+     * When a filter is estimated to match more than this fraction of the rows,
+     * building the candidate rows costs more than it saves, so the filter is tested on every row instead.
+     */
+    static final double MAX_SELECTIVITY_FOR_PRE_FILTERING = 0.5;
+
+    private final Map<String, KeyIndex> keyIndexes = new HashMap<>();
+    private final BitSet segmentRows = new BitSet();
+    private final BitSet otherRows = new BitSet();
+    private int segmentCount;
+
+    MetadataIndex(Collection<String> hashIndexedKeys, Collection<String> sortedIndexedKeys) {
+        hashIndexedKeys.forEach(key -> keyIndexes.put(key, new KeyIndex(false)));
+        sortedIndexedKeys.forEach(key -> keyIndexes.put(key, new KeyIndex(true)));
+    }
+
+    /**
+     * Indexes a row. Rows must be added in order.
+     *
+     * @param row      the row id.
+     * @param embedded the embedded object of the row.
+     */
+    void add(int row, Object embedded) {
+        if (!(embedded instanceof TextSegment)) {
+            // filters are not applied to such rows
+            otherRows.set(row);
+            return;
+        }
+
+        segmentRows.set(row);
+        segmentCount++;
+        Metadata metadata = ((TextSegment) embedded).metadata();
+        keyIndexes.forEach((key, keyIndex) -> {
+            Object value = metadata.getObject(key);
+            if (value != null) {
+                keyIndex.add(row, value);
+            }
+        });
+    }
+
+    /**
+     * Finds the rows that can match a filter.
+     *
+     * @param filter the filter.
+     * @param size   the number of rows to consider.
+     * @return a superset of the rows (below {@code size}) that match the filter, including the rows that
+     * are never filtered, or {@code null} if the index cannot narrow down the rows enough,
+     * in which case the filter should be tested on every row.
+     */
+    BitSet candidates(Filter filter, int size) {
+        long estimate = estimate(filter);
+        if (estimate < 0 || estimate > size * MAX_SELECTIVITY_FOR_PRE_FILTERING) {
+            return null;
+        }
+
+        BitSet candidates = rows(filter, size);
+        if (candidates == null) {
+            return null;
+        }
+        candidates.or(otherRows);
+        candidates.clear(size, Math.max(size, candidates.length()));
+        return candidates;
+    }
+
+    /**
+     * @return an upper bound of the number of rows matching the filter, or {@code -1} if unknown
+     */
+    private long estimate(Filter filter) {
+        if (filter instanceof And) {
+            long left = estimate(((And) filter).left());
+            long right = estimate(((And) filter).right());
+            if (left < 0 || right < 0) {
+                return Math.max(left, right);
+            }
+            return Math.min(left, right);
+        } else if (filter instanceof Or) {
+            long left = estimate(((Or) filter).left());
+            long right = estimate(((Or) filter).right());
+            return left < 0 || right < 0 ? -1 : left + right;
+        }
+
+        Postings postings = postings(filter);
+        if (postings == null) {
+            return -1;
+        }
+        long count = 0;
+        for (IntList rows : postings.lists) {
+            count += rows.size;
+        }
+        return postings.complement ? segmentCount - count : count;
+    }
+
+    /**
+     * @return a superset of the rows matching the filter, or {@code null} if unknown
+     */
+    private BitSet rows(Filter filter, int size) {
+        if (filter instanceof And) {
+            BitSet left = rows(((And) filter).left(), size);
+            BitSet right = rows(((And) filter).right(), size);
+            if (left == null || right == null) {
+                return left == null ? right : left;
+            }
+            left.and(right);
+            return left;
+        } else if (filter instanceof Or) {
+            BitSet left = rows(((Or) filter).left(), size);
+            BitSet right = rows(((Or) filter).right(), size);
+            if (left == null || right == null) {
+                return null;
+            }
+            left.or(right);
+            return left;
+        }
+
+        Postings postings = postings(filter);
+        if (postings == null) {
+            return null;
+        }
+        BitSet rows = new BitSet(size);
+        for (IntList list : postings.lists) {
+            for (int i = 0; i < list.size; i++) {
+                rows.set(list.rows[i]);
+            }
+        }
+        if (postings.complement) {
+            BitSet complement = segmentRows.get(0, size);
+            complement.andNot(rows);
+            return complement;
+        }
+        return rows;
+    }
+
+    private Postings postings(Filter filter) {
+        if (filter instanceof IsEqualTo) {
+            IsEqualTo isEqualTo = (IsEqualTo) filter;
+            return equalTo(isEqualTo.key(), isEqualTo.comparisonValue(), false);
+        } else if (filter instanceof IsNotEqualTo) {
+            IsNotEqualTo isNotEqualTo = (IsNotEqualTo) filter;
+            return equalTo(isNotEqualTo.key(), isNotEqualTo.comparisonValue(), true);
+        } else if (filter instanceof IsIn) {
+            IsIn isIn = (IsIn) filter;
+            return in(isIn.key(), isIn.comparisonValues(), false);
+        } else if (filter instanceof IsNotIn) {
+            IsNotIn isNotIn = (IsNotIn) filter;
+            return in(isNotIn.key(), isNotIn.comparisonValues(), true);
+        } else if (filter instanceof IsGreaterThan) {
+            IsGreaterThan isGreaterThan = (IsGreaterThan) filter;
+            return range(isGreaterThan.key(), isGreaterThan.comparisonValue(), true, false);
+        } else if (filter instanceof IsGreaterThanOrEqualTo) {
+            IsGreaterThanOrEqualTo isGreaterThanOrEqualTo = (IsGreaterThanOrEqualTo) filter;
+            return range(isGreaterThanOrEqualTo.key(), isGreaterThanOrEqualTo.comparisonValue(), true, true);
+        } else if (filter instanceof IsLessThan) {
+            IsLessThan isLessThan = (IsLessThan) filter;
+            return range(isLessThan.key(), isLessThan.comparisonValue(), false, false);
+        } else if (filter instanceof IsLessThanOrEqualTo) {
+            IsLessThanOrEqualTo isLessThanOrEqualTo = (IsLessThanOrEqualTo) filter;
+            return range(isLessThanOrEqualTo.key(), isLessThanOrEqualTo.comparisonValue(), false, true);
+        }
+        return null;
+    }
+
+    private Postings equalTo(String key, Object comparisonValue, boolean complement) {
+        KeyIndex keyIndex = keyIndexes.get(key);
+        if (keyIndex == null || !keyIndex.isCompatibleWith(comparisonValue)) {
+            return null;
+        }
+        IntList rows = keyIndex.postings.get(normalize(comparisonValue));
+        return new Postings(rows == null ? Collections.emptyList() : Collections.singletonList(rows), complement);
+    }
+
+    private Postings in(String key, Collection<?> comparisonValues, boolean complement) {
+        KeyIndex keyIndex = keyIndexes.get(key);
+        if (keyIndex == null) {
+            return null;
+        }
+        boolean strings = comparisonValues.iterator().next() instanceof String;
+        List<IntList> lists = new ArrayList<>();
+        for (Object comparisonValue : comparisonValues) {
+            // IsIn compares floats with other numbers differently than the other filters
+            if (!keyIndex.isCompatibleWith(comparisonValue)
+                    || (comparisonValue instanceof String) != strings
+                    || (!strings && (comparisonValue instanceof Float || keyIndex.hasFloats))) {
+                return null;
+            }
+            IntList rows = keyIndex.postings.get(normalize(comparisonValue));
+            if (rows != null) {
+                lists.add(rows);
+            }
+        }
+        return new Postings(lists, complement);
+    }
+
+    private Postings range(String key, Object comparisonValue, boolean greater, boolean inclusive) {
+        KeyIndex keyIndex = keyIndexes.get(key);
+        if (keyIndex == null || !keyIndex.sorted || !keyIndex.isCompatibleWith(comparisonValue)) {
+            return null;
+        }
+        NavigableMap<Object, IntList> postings = (NavigableMap<Object, IntList>) keyIndex.postings;
+        Object normalized = normalize(comparisonValue);
+        Map<Object, IntList> matching = greater
+                ? postings.tailMap(normalized, inclusive)
+                : postings.headMap(normalized, inclusive);
+        return new Postings(new ArrayList<>(matching.values()), false);
+    }
+
+    /**
+     * Maps values that are equal according to the filters to equal objects:
+     * numbers are compared as {@link BigDecimal}s of their string representations,
+     * with trailing zeros stripped so that, for example, {@code 1} and {@code 1.0} have the same hash code.
+     *
+     * @return the normalized value, or {@code null} if the value cannot be indexed
+     */
+    private static Object normalize(Object value) {
+        if (value instanceof String) {
+            return value;
+        }
+        if (value instanceof Integer || value instanceof Long) {
+            return BigDecimal.valueOf(((Number) value).longValue()).stripTrailingZeros();
+        }
+        if (value instanceof Float || value instanceof Double) {
+            double number = ((Number) value).doubleValue();
+            if (Double.isNaN(number) || Double.isInfinite(number)) {
+                return null;
+            }
+            return new BigDecimal(value.toString()).stripTrailingZeros();
+        }
+        return null;
+    }
+
+    private static class KeyIndex {
+
+        private final boolean sorted;
+        private final Map<Object, IntList> postings;
+        private boolean hasStrings;
+        private boolean hasNumbers;
+        private boolean hasFloats;
+        private boolean unusable;
+
+        KeyIndex(boolean sorted) {
+            this.sorted = sorted;
+            this.postings = sorted ? new TreeMap<>() : new HashMap<>();
+        }
+
+        void add(int row, Object value) {
+            if (unusable) {
+                return;
+            }
+
+            Object normalized = normalize(value);
+            hasStrings |= value instanceof String;
+            hasNumbers |= value instanceof Number;
+            hasFloats |= value instanceof Float;
+            if (normalized == null || (hasStrings && hasNumbers)) {
+                // the filters would throw for some of the values, let them do so
+                unusable = true;
+                postings.clear();
+                return;
+            }
+
+            postings.computeIfAbsent(normalized, ignored -> new IntList()).add(row);
+        }
+
+        boolean isCompatibleWith(Object comparisonValue) {
+            if (unusable || normalize(comparisonValue) == null) {
+                return false;
+            }
+            return comparisonValue instanceof String ? !hasNumbers : !hasStrings;
+        }
+    }
+
+    private static class Postings {
+
+        private final List<IntList> lists;
+        private final boolean complement;
+
+        Postings(List<IntList> lists, boolean complement) {
+            this.lists = lists;
+            this.complement = complement;
+        }
+    }
+
+    private static class IntList {
+
+        private int[] rows = new int[4];
+        private int size;
+
+        void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package dev.langchain4j.store.embedding.inmemory;
+
+import java.util.Arrays;
+
+/**
+ * A binary heap of nodes keyed by score, either max-first or min-first.
+ */
+class NodeHeap {
+
+    private final boolean maxFirst;
+    private int[] nodes;
+    private double[] scores;
+    private int size;
+
+    NodeHeap(int initialCapacity, boolean maxFirst) {
+        this.maxFirst = maxFirst;
+        this.nodes = new int[Math.max(Math.min(initialCapacity, 1024) + 1, 2)];
+        this.scores = new double[nodes.length];
+    }
+
+    int size() {
+        return size;
+    }
+
+    double topScore() {
+        return scores[0];
+    }
+
+    void push(int node, double score) {
+        if (size == nodes.length) {
+            nodes = Arrays.copyOf(nodes, size * 2);
+            scores = Arrays.copyOf(scores, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(score, scores[parent])) {
+                break;
+            }
+            nodes[i] = nodes[parent];
+            scores[i] = scores[parent];
+            i = parent;
+        }
+        nodes[i] = node;
+        scores[i] = score;
+    }
+
+    int pop() {
+        int top = nodes[0];
+        int lastNode = nodes[--size];
+        double lastScore = scores[size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && before(scores[right], scores[child])) {
+                child = right;
+            }
+            if (!before(scores[child], lastScore)) {
+                break;
+            }
+            nodes[i] = nodes[child];
+            scores[i] = scores[child];
+            i = child;
+        }
+        nodes[i] = lastNode;
+        scores[i] = lastScore;
+        return top;
+    }
+
+    /**
+     * Removes all nodes from this min-first heap.
+     *
+     * @return the removed nodes, sorted by descending score.
+     */
+    ScoredNodes drainDescending() {
+        int count = size;
+        int[] sortedNodes = new int[count];
+        double[] sortedScores = new double[count];
+        for (int i = count - 1; i >= 0; i--) {
+            sortedScores[i] = scores[0];
+            sortedNodes[i] = pop();
+        }
+        return new ScoredNodes(sortedNodes, sortedScores, count);
+    }
+
+    private boolean before(double a, double b) {
+        return maxFirst ? a > b : a < b;
+    }
+}
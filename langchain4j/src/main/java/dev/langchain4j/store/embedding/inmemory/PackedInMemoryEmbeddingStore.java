@@ -0,0 +1,380 @@
+package dev.langchain4j.store.embedding.inmemory;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.*;
+import dev.langchain4j.store.embedding.filter.Filter;
+import dev.langchain4j.store.embedding.filter.FilterCompiler;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+import static dev.langchain4j.internal.Exceptions.illegalArgument;
+import static dev.langchain4j.internal.Utils.getOrDefault;
+import static dev.langchain4j.internal.Utils.randomUUID;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotBlank;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+/**
+ * An {@link EmbeddingStore} that stores embeddings in memory, packed into a contiguous vector arena.
+ * <p>
+ * Like {@link InMemoryEmbeddingStore}, it uses a brute force approach by comparing the query
+ * with all stored embeddings. However, instead of keeping an {@link Embedding} object per entry,
+ * all vectors are copied into a few large {@code float} chunks (on or off the heap) and addressed by row,
+ * and their norms are computed once when they are added.
+ * This removes per-entry object overhead and keeps the scan sequential in memory.
+ * {@link Embedding} and {@link EmbeddingMatch} objects are created only for the returned matches.
+ * <p>
+ * Optionally, a compressed copy of each vector can be kept for a faster first pass of the search,
+ * see {@link Builder#quantization(Quantization)}. Only the best candidates of the first pass
+ * are then scored using the full-precision vectors. To also reduce the heap usage,
+ * combine quantization with {@link Builder#offHeap(Boolean)}, so that only the compressed vectors
+ * are kept on the heap.
+ * <p>
+ * The store can be persisted using {@link #serializeToFile(Path)} and opened using {@link #fromFile(Path)}.
+ * The vectors of an opened store are memory-mapped, so opening is near-instant.
+ * <p>
+ * All embeddings must have the same dimension.
+ *
+ * @param <Embedded> The class of the object that has been embedded.
+ *                   Typically, it is {@link dev.langchain4j.data.segment.TextSegment}.
+ */
+public class PackedInMemoryEmbeddingStore<Embedded> implements EmbeddingStore<Embedded> {
+
+    private final boolean offHeap;
+    private final Quantization quantization;
+    private final int oversampling;
+    private final List<String> ids = new ArrayList<>();
+    private final List<Embedded> embedded = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private VectorArena vectors;
+    private QuantizedVectors quantizedVectors;
+
+    public PackedInMemoryEmbeddingStore() {
+        this(builder());
+    }
+
+    private PackedInMemoryEmbeddingStore(Builder builder) {
+        this.offHeap = getOrDefault(builder.offHeap, false);
+        this.quantization = getOrDefault(builder.quantization, Quantization.NONE);
+        this.oversampling = ensureGreaterThanZero(
+                getOrDefault(builder.oversampling, quantization == Quantization.BINARY ? 10 : 4), "oversampling");
+        if (builder.file != null) {
+            load(EmbeddingStoreFile.read(builder.file));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void load(EmbeddingStoreFile.Contents contents) {
+        if (contents.vectors == null) {
+            return;
+        }
+        vectors = contents.vectors;
+        if (quantization != Quantization.NONE) {
+            quantizedVectors = QuantizedVectors.create(quantization, vectors.dimension);
+            for (int row = 0; row < vectors.size(); row++) {
+                quantizedVectors.add(vectors.vector(row));
+            }
+        }
+        ids.addAll(contents.ids);
+        for (TextSegment segment : contents.segments) {
+            embedded.add((Embedded) segment);
+        }
+    }
+
+    @Override
+    public String add(Embedding embedding) {
+        String id = randomUUID();
+        add(id, embedding);
+        return id;
+    }
+
+    @Override
+    public void add(String id, Embedding embedding) {
+        add(id, embedding, null);
+    }
+
+    @Override
+    public String add(Embedding embedding, Embedded embedded) {
+        String id = randomUUID();
+        add(id, embedding, embedded);
+        return id;
+    }
+
+    public void add(String id, Embedding embedding, Embedded embedded) {
+        ensureNotBlank(id, "id");
+        ensureNotNull(embedding, "embedding");
+
+        lock.writeLock().lock();
+        try {
+            append(id, embedding, embedded);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<String> addAll(List<Embedding> embeddings) {
+        List<String> newIds = new ArrayList<>(embeddings.size());
+        lock.writeLock().lock();
+        try {
+            for (Embedding embedding : embeddings) {
+                String id = randomUUID();
+                append(id, ensureNotNull(embedding, "embedding"), null);
+                newIds.add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return newIds;
+    }
+
+    @Override
+    public List<String> addAll(List<Embedding> embeddings, List<Embedded> embedded) {
+        if (embeddings.size() != embedded.size()) {
+            throw new IllegalArgumentException("The list of embeddings and embedded must have the same size");
+        }
+
+        List<String> newIds = new ArrayList<>(embeddings.size());
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < embeddings.size(); i++) {
+                String id = randomUUID();
+                append(id, ensureNotNull(embeddings.get(i), "embedding"), embedded.get(i));
+                newIds.add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return newIds;
+    }
+
+    private void append(String id, Embedding embedding, Embedded embedded) {
+        float[] vector = embedding.vector();
+        if (vectors == null) {
+            vectors = offHeap ? VectorArena.offHeap(vector.length) : VectorArena.onHeap(vector.length);
+            if (quantization != Quantization.NONE) {
+                quantizedVectors = QuantizedVectors.create(quantization, vector.length);
+            }
+        }
+        vectors.add(vector);
+        if (quantizedVectors != null) {
+            quantizedVectors.add(vector);
+        }
+        this.ids.add(id);
+        this.embedded.add(embedded);
+    }
+
+    @Override
+    public EmbeddingSearchResult<Embedded> search(EmbeddingSearchRequest embeddingSearchRequest) {
+
+        Filter filter = embeddingSearchRequest.filter();
+        Predicate<Metadata> metadataFilter = filter == null ? null : FilterCompiler.compile(filter);
+        float[] query = embeddingSearchRequest.queryEmbedding().vector();
+        int maxResults = embeddingSearchRequest.maxResults();
+        double minScore = embeddingSearchRequest.minScore();
+
+        lock.readLock().lock();
+        try {
+            if (vectors == null) {
+                return new EmbeddingSearchResult<>(new ArrayList<>());
+            }
+            if (query.length != vectors.dimension) {
+                throw illegalArgument("Length of vector a (%s) must be equal to the length of vector b (%s)",
+                        query.length, vectors.dimension);
+            }
+
+            float queryInverseNorm = VectorArena.inverseNorm(query);
+            NodeHeap nearest = new NodeHeap(maxResults, false);
+
+            if (quantizedVectors == null) {
+                for (int row = 0; row < vectors.size(); row++) {
+                    if (metadataFilter != null && !matches(metadataFilter, embedded.get(row))) {
+                        continue;
+                    }
+                    score(row, query, queryInverseNorm, minScore, nearest, maxResults);
+                }
+            } else {
+                int maxCandidates = (int) Math.min((long) maxResults * oversampling, Integer.MAX_VALUE);
+                NodeHeap candidates = new NodeHeap(maxCandidates, false);
+                QuantizedVectors.Scorer scorer = quantizedVectors.scorer(query);
+                for (int row = 0; row < vectors.size(); row++) {
+                    if (metadataFilter != null && !matches(metadataFilter, embedded.get(row))) {
+                        continue;
+                    }
+                    offer(candidates, maxCandidates, row, scorer.score(row));
+                }
+                while (candidates.size() > 0) {
+                    score(candidates.pop(), query, queryInverseNorm, minScore, nearest, maxResults);
+                }
+            }
+
+            ScoredNodes sorted = nearest.drainDescending();
+            List<EmbeddingMatch<Embedded>> matches = new ArrayList<>(sorted.size);
+            for (int i = 0; i < sorted.size; i++) {
+                int row = sorted.nodes[i];
+                Embedding embedding = Embedding.from(vectors.vector(row));
+                matches.add(new EmbeddingMatch<>(sorted.scores[i], ids.get(row), embedding, embedded.get(row)));
+            }
+            return new EmbeddingSearchResult<>(matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void score(int row, float[] query, float queryInverseNorm, double minScore, NodeHeap nearest, int maxResults) {
+        double cosineSimilarity = vectors.cosineSimilarity(row, query, queryInverseNorm);
+        double score = RelevanceScore.fromCosineSimilarity(cosineSimilarity);
+        if (score >= minScore) {
+            offer(nearest, maxResults, row, score);
+        }
+    }
+
+    private static void offer(NodeHeap heap, int maxSize, int row, double score) {
+        if (heap.size() < maxSize) {
+            heap.push(row, score);
+        } else if (score > heap.topScore()) {
+            heap.pop();
+            heap.push(row, score);
+        }
+    }
+
+    private static boolean matches(Predicate<Metadata> metadataFilter, Object embedded) {
+        if (!(embedded instanceof TextSegment)) {
+            return true;
+        }
+        Metadata metadata = ((TextSegment) embedded).metadata();
+        return metadataFilter.test(metadata);
+    }
+
+    /**
+     * Writes this store into a binary file, in a single streaming pass.
+     * Only {@link TextSegment}s (or no embedded object) are supported.
+     * The file can be opened using {@link #fromFile(Path)}.
+     *
+     * @param filePath the file to write.
+     */
+    public void serializeToFile(Path filePath) {
+        lock.readLock().lock();
+        try {
+            int size = vectors == null ? 0 : vectors.size();
+            EmbeddingStoreFile.write(filePath, new EmbeddingStoreFile.Entries() {
+
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public String id(int index) {
+                    return ids.get(index);
+                }
+
+                @Override
+                public float[] vector(int index) {
+                    return vectors.vector(index);
+                }
+
+                @Override
+                public Object embedded(int index) {
+                    return embedded.get(index);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void serializeToFile(String filePath) {
+        serializeToFile(Paths.get(filePath));
+    }
+
+    /**
+     * Opens a store from a binary file written by {@link #serializeToFile(Path)}
+     * or {@link InMemoryEmbeddingStore#serializeToBinaryFile(Path)}.
+     * See {@link Builder#file(Path)} for details.
+     *
+     * @param filePath the file to open.
+     * @return the opened store.
+     */
+    public static PackedInMemoryEmbeddingStore<TextSegment> fromFile(Path filePath) {
+        return builder().file(filePath).build();
+    }
+
+    public static PackedInMemoryEmbeddingStore<TextSegment> fromFile(String filePath) {
+        return fromFile(Paths.get(filePath));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private Boolean offHeap;
+        private Quantization quantization;
+        private Integer oversampling;
+        private Path file;
+
+        /**
+         * @param offHeap Whether to keep the vectors in direct (off-heap) buffers instead of {@code float[]}s.
+         *                Off-heap vectors do not count towards the Java heap and are not scanned by the garbage
+         *                collector, but the JVM's direct memory limit ({@code -XX:MaxDirectMemorySize})
+         *                must be large enough to hold them. Default: false
+         * @return builder
+         */
+        public Builder offHeap(Boolean offHeap) {
+            this.offHeap = offHeap;
+            return this;
+        }
+
+        /**
+         * @param quantization The compression of the vectors scanned in the first pass of the search.
+         *                     Default: {@link Quantization#NONE}
+         * @return builder
+         */
+        public Builder quantization(Quantization quantization) {
+            this.quantization = quantization;
+            return this;
+        }
+
+        /**
+         * @param oversampling How many times {@link EmbeddingSearchRequest#maxResults()} candidates
+         *                     from the first, compressed pass of the search are re-scored exactly.
+         *                     Higher values improve recall at the cost of search latency.
+         *                     Ignored when {@link Quantization#NONE} is used.
+         *                     Default: 4 for {@link Quantization#INT8}, 10 for {@link Quantization#BINARY}
+         * @return builder
+         */
+        public Builder oversampling(Integer oversampling) {
+            this.oversampling = oversampling;
+            return this;
+        }
+
+        /**
+         * @param file A binary file written by {@link PackedInMemoryEmbeddingStore#serializeToFile(Path)}
+         *             or {@link InMemoryEmbeddingStore#serializeToBinaryFile(Path)}, to initialize the store with.
+         *             The vectors are memory-mapped and searched directly from the file, so opening is fast
+         *             regardless of the size of the store, and the operating system pages them in as needed.
+         *             Only ids, text segments and norms are loaded on the heap. Vectors added later are kept
+         *             off the heap, regardless of {@link #offHeap(Boolean)}. The file must not be modified
+         *             while the store is in use.
+         * @return builder
+         */
+        public Builder file(Path file) {
+            this.file = file;
+            return this;
+        }
+
+        public <Embedded> PackedInMemoryEmbeddingStore<Embedded> build() {
+            return new PackedInMemoryEmbeddingStore<>(this);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package dev.langchain4j.store.embedding.inmemory;
+
+/**
+ * Compression of the vectors scanned during a search in a {@link PackedInMemoryEmbeddingStore}.
+ * <p>
+ * With {@link #INT8} and {@link #BINARY}, all vectors are first scored using their compressed copies,
+ * and only the best candidates are then re-scored exactly using the full-precision vectors.
+ * Returned scores and embeddings are therefore always exact, but some of the most similar embeddings
+ * can occasionally be missed if they did not make it into the candidates.
+ */
+public enum Quantization {
+
+    /**
+     * Vectors are not compressed, the search is exact.
+     */
+    NONE,
+
+    /**
+     * Each vector component is stored as a signed byte, scaled per vector.
+     * Takes 1 byte per dimension (4x less than {@code float}), with a high recall.
+     */
+    INT8,
+
+    /**
+     * Only the sign of each vector component is stored, and vectors are compared by Hamming distance.
+     * Takes 1 bit per dimension (32x less than {@code float}). Works best for high-dimensional embeddings
+     * and needs more candidates to be re-scored to keep a good recall.
+     */
+    BINARY
+}
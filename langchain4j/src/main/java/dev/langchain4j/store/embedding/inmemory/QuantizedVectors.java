@@ -0,0 +1,199 @@
+package dev.langchain4j.store.embedding.inmemory;
+
+import java.util.Arrays;
+
+/**
+ * Append-only storage of compressed copies of vectors, used for a fast approximate first pass of a search.
+ * Rows are addressed by the same consecutive {@code int} ids as in the {@link VectorArena}
+ * holding the full-precision vectors.
+ * <p>
+ * This class is not thread-safe. Callers must ensure that appends do not run concurrently
+ * with other appends or reads.
+ */
+abstract class QuantizedVectors {
+
+    /**
+     * 4 MiB per chunk.
+     */
+    static final int DEFAULT_CHUNK_SIZE_IN_BYTES = 1 << 22;
+
+    final int dimension;
+
+    QuantizedVectors(int dimension) {
+        this.dimension = dimension;
+    }
+
+    static QuantizedVectors create(Quantization quantization, int dimension) {
+        switch (quantization) {
+            case INT8:
+                return new Int8QuantizedVectors(dimension, DEFAULT_CHUNK_SIZE_IN_BYTES);
+            case BINARY:
+                return new BinaryQuantizedVectors(dimension, DEFAULT_CHUNK_SIZE_IN_BYTES);
+            default:
+                throw new IllegalArgumentException("Unsupported quantization: " + quantization);
+        }
+    }
+
+    /**
+     * Compresses a vector and appends it.
+     *
+     * @param vector the vector to add, of length {@link #dimension}.
+     */
+    abstract void add(float[] vector);
+
+    /**
+     * Compresses a query for scoring against the stored rows.
+     *
+     * @param query the query vector, of length {@link #dimension}.
+     * @return a scorer of the query against the stored rows.
+     */
+    abstract Scorer scorer(float[] query);
+
+    interface Scorer {
+
+        /**
+         * @param row the row id.
+         * @return a score that approximately preserves the cosine similarity ordering of the rows
+         * (higher is more similar). It is not a cosine similarity itself.
+         */
+        double score(int row);
+    }
+
+    /**
+     * Each row is scaled by its largest absolute component into the {@code [-127..127]} range
+     * and rounded to a {@code byte}. The score is the integer dot product of the query and row codes,
+     * multiplied by the row's scale and inverse norm.
+     */
+    static class Int8QuantizedVectors extends QuantizedVectors {
+
+        private final int rowsPerChunk;
+        private byte[][] chunks = new byte[0][];
+        private float[] factors = new float[16];
+        private int size;
+
+        Int8QuantizedVectors(int dimension, int chunkSizeInBytes) {
+            super(dimension);
+            this.rowsPerChunk = Math.max(1, chunkSizeInBytes / dimension);
+        }
+
+        @Override
+        void add(float[] vector) {
+            int row = size;
+            int chunk = row / rowsPerChunk;
+            if (chunk == chunks.length) {
+                chunks = Arrays.copyOf(chunks, chunk + 1);
+                chunks[chunk] = new byte[rowsPerChunk * dimension];
+            }
+            if (row == factors.length) {
+                factors = Arrays.copyOf(factors, row + (row >> 1));
+            }
+
+            float scale = quantize(vector, chunks[chunk], (row % rowsPerChunk) * dimension);
+            factors[row] = scale * VectorArena.inverseNorm(vector);
+            size++;
+        }
+
+        @Override
+        Scorer scorer(float[] query) {
+            byte[] queryCodes = new byte[dimension];
+            quantize(query, queryCodes, 0);
+            return row -> {
+                byte[] chunk = chunks[row / rowsPerChunk];
+                int offset = (row % rowsPerChunk) * dimension;
+                return dot(queryCodes, chunk, offset, dimension) * (double) factors[row];
+            };
+        }
+
+        /**
+         * @return the scale, so that {@code vector[i] ~= codes[offset + i] * scale}
+         */
+        static float quantize(float[] vector, byte[] codes, int offset) {
+            float maxAbs = 0;
+            for (float value : vector) {
+                maxAbs = Math.max(maxAbs, Math.abs(value));
+            }
+            if (maxAbs == 0) {
+                return 0;
+            }
+            float inverseScale = 127 / maxAbs;
+            for (int i = 0; i < vector.length; i++) {
+                codes[offset + i] = (byte) Math.round(vector[i] * inverseScale);
+            }
+            return maxAbs / 127;
+        }
+
+        private static int dot(byte[] a, byte[] b, int bOffset, int length) {
+            int sum0 = 0;
+            int sum1 = 0;
+            int sum2 = 0;
+            int sum3 = 0;
+
+            int i = 0;
+            int unrolledLength = length & ~3;
+            for (; i < unrolledLength; i += 4) {
+                sum0 += a[i] * b[bOffset + i];
+                sum1 += a[i + 1] * b[bOffset + i + 1];
+                sum2 += a[i + 2] * b[bOffset + i + 2];
+                sum3 += a[i + 3] * b[bOffset + i + 3];
+            }
+            for (; i < length; i++) {
+                sum0 += a[i] * b[bOffset + i];
+            }
+
+            return (sum0 + sum1) + (sum2 + sum3);
+        }
+    }
+
+    /**
+     * Each component of a row is reduced to its sign bit. The score is the number of components
+     * whose signs agree with the query (the inverse of the Hamming distance).
+     */
+    static class BinaryQuantizedVectors extends QuantizedVectors {
+
+        private final int wordsPerRow;
+        private final int rowsPerChunk;
+        private long[][] chunks = new long[0][];
+        private int size;
+
+        BinaryQuantizedVectors(int dimension, int chunkSizeInBytes) {
+            super(dimension);
+            this.wordsPerRow = (dimension + Long.SIZE - 1) / Long.SIZE;
+            this.rowsPerChunk = Math.max(1, chunkSizeInBytes / (wordsPerRow * Long.BYTES));
+        }
+
+        @Override
+        void add(float[] vector) {
+            int row = size;
+            int chunk = row / rowsPerChunk;
+            if (chunk == chunks.length) {
+                chunks = Arrays.copyOf(chunks, chunk + 1);
+                chunks[chunk] = new long[rowsPerChunk * wordsPerRow];
+            }
+            quantize(vector, chunks[chunk], (row % rowsPerChunk) * wordsPerRow);
+            size++;
+        }
+
+        @Override
+        Scorer scorer(float[] query) {
+            long[] queryBits = new long[wordsPerRow];
+            quantize(query, queryBits, 0);
+            return row -> {
+                long[] chunk = chunks[row / rowsPerChunk];
+                int offset = (row % rowsPerChunk) * wordsPerRow;
+                int hammingDistance = 0;
+                for (int i = 0; i < wordsPerRow; i++) {
+                    hammingDistance += Long.bitCount(queryBits[i] ^ chunk[offset + i]);
+                }
+                return dimension - hammingDistance;
+            };
+        }
+
+        static void quantize(float[] vector, long[] bits, int offset) {
+            for (int i = 0; i < vector.length; i++) {
+                if (vector[i] > 0) {
+                    bits[offset + i / Long.SIZE] |= 1L << (i % Long.SIZE);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package dev.langchain4j.store.embedding.inmemory;
+
+/**
+ * Nodes (graph nodes or storage rows) with their scores, e.g. cosine similarity to the query.
+ */
+class ScoredNodes {
+
+    final int[] nodes;
+    final double[] scores;
+    final int size;
+
+    ScoredNodes(int[] nodes, double[] scores, int size) {
+        this.nodes = nodes;
+        this.scores = scores;
+        this.size = size;
+    }
+}
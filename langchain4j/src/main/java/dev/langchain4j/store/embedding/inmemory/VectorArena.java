@@ -0,0 +1,241 @@
+package dev.langchain4j.store.embedding.inmemory;
+
+import dev.langchain4j.store.embedding.VectorSimilarity;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+import static dev.langchain4j.internal.Exceptions.illegalArgument;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static java.nio.ByteOrder.nativeOrder;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+
+/**
+ * Append-only storage of vectors of a fixed dimension, packed row after row into a few large chunks.
+ * The chunks are either {@code float[]}s on the heap, or direct or memory-mapped {@link FloatBuffer}s off the heap.
+ * Rows are addressed by consecutive {@code int} ids in the order they were added.
+ * <p>
+ * The inverse L2 norm of each row is computed once when the row is added,
+ * so the cosine similarity between a query and a row needs a single dot product.
+ * <p>
+ * This class is not thread-safe. Callers must ensure that appends do not run concurrently
+ * with other appends or reads.
+ */
+abstract class VectorArena {
+
+    /**
+     * 16 MiB per chunk: large enough to keep the scan sequential,
+     * small enough to avoid humongous allocations and 2 GiB buffer limits.
+     */
+    static final int DEFAULT_CHUNK_SIZE = 1 << 22;
+
+    final int dimension;
+    final int rowsPerChunk;
+    private float[] inverseNorms = new float[16];
+    private int size;
+
+    VectorArena(int dimension, int chunkSize) {
+        this.dimension = dimension;
+        this.rowsPerChunk = Math.max(1, chunkSize / dimension);
+    }
+
+    static VectorArena onHeap(int dimension) {
+        return new HeapVectorArena(dimension, DEFAULT_CHUNK_SIZE);
+    }
+
+    static VectorArena offHeap(int dimension) {
+        return new BufferVectorArena(dimension, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Maps vectors written row after row as little-endian {@code float}s into a file, see {@link EmbeddingStoreFile}.
+     * Full chunks are read directly from the page cache and are never copied.
+     * The last, partial chunk is copied into a direct buffer, so that more vectors can be added.
+     *
+     * @param channel      the file.
+     * @param position     the position of the first vector in the file.
+     * @param dimension    the dimension of the vectors.
+     * @param size         the number of vectors.
+     * @param inverseNorms the inverse L2 norms of the vectors.
+     * @param chunkSize    the number of {@code float}s per chunk, see {@link #DEFAULT_CHUNK_SIZE}.
+     * @return an arena holding the mapped vectors.
+     */
+    static VectorArena mapped(FileChannel channel, long position, int dimension, int size, float[] inverseNorms,
+                              int chunkSize) throws IOException {
+        BufferVectorArena arena = new BufferVectorArena(dimension, chunkSize);
+        long chunkSizeInBytes = (long) arena.rowsPerChunk * dimension * Float.BYTES;
+        int fullChunks = size / arena.rowsPerChunk;
+        int rowsInLastChunk = size % arena.rowsPerChunk;
+
+        arena.chunks = new FloatBuffer[fullChunks + (rowsInLastChunk > 0 ? 1 : 0)];
+        for (int chunk = 0; chunk < fullChunks; chunk++) {
+            arena.chunks[chunk] = channel.map(READ_ONLY, position + chunk * chunkSizeInBytes, chunkSizeInBytes)
+                    .order(LITTLE_ENDIAN)
+                    .asFloatBuffer();
+        }
+        if (rowsInLastChunk > 0) {
+            FloatBuffer lastChunk = channel.map(READ_ONLY, position + fullChunks * chunkSizeInBytes,
+                            (long) rowsInLastChunk * dimension * Float.BYTES)
+                    .order(LITTLE_ENDIAN)
+                    .asFloatBuffer();
+            arena.chunks[fullChunks] = BufferVectorArena.allocate(arena.rowsPerChunk * dimension);
+            arena.chunks[fullChunks].put(lastChunk);
+        }
+
+        VectorArena mapped = arena;
+        mapped.inverseNorms = inverseNorms;
+        mapped.size = size;
+        return mapped;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Copies a vector into the arena.
+     *
+     * @param vector the vector to add.
+     * @return the row id of the added vector.
+     */
+    int add(float[] vector) {
+        if (vector.length != dimension) {
+            throw illegalArgument("Length of vector (%s) must be equal to the dimension of the store (%s)",
+                    vector.length, dimension);
+        }
+
+        int row = size;
+        int chunk = row / rowsPerChunk;
+        ensureChunk(chunk);
+        write(chunk, (row % rowsPerChunk) * dimension, vector);
+
+        if (row == inverseNorms.length) {
+            inverseNorms = Arrays.copyOf(inverseNorms, row + Math.max(row >> 1, 16));
+        }
+        inverseNorms[row] = inverseNorm(vector);
+
+        size++;
+        return row;
+    }
+
+    /**
+     * Calculates cosine similarity between a query and a row.
+     *
+     * @param row               the row id.
+     * @param query             the query vector.
+     * @param queryInverseNorm  the inverse L2 norm of the query, see {@link #inverseNorm(float[])}.
+     * @return cosine similarity in the range [-1..1]
+     */
+    double cosineSimilarity(int row, float[] query, float queryInverseNorm) {
+        return dot(row, query) * inverseNorms[row] * queryInverseNorm;
+    }
+
+    /**
+     * Copies a row out of the arena.
+     *
+     * @param row the row id.
+     * @return a new array holding the vector.
+     */
+    abstract float[] vector(int row);
+
+    abstract double dot(int row, float[] query);
+
+    abstract void ensureChunk(int chunk);
+
+    abstract void write(int chunk, int offset, float[] vector);
+
+    static float inverseNorm(float[] vector) {
+        double norm = VectorSimilarity.norm(vector);
+        return norm > 0 ? (float) (1 / norm) : 0;
+    }
+
+    static class HeapVectorArena extends VectorArena {
+
+        private float[][] chunks = new float[0][];
+
+        HeapVectorArena(int dimension, int chunkSize) {
+            super(dimension, chunkSize);
+        }
+
+        @Override
+        float[] vector(int row) {
+            int offset = (row % rowsPerChunk) * dimension;
+            return Arrays.copyOfRange(chunks[row / rowsPerChunk], offset, offset + dimension);
+        }
+
+        @Override
+        double dot(int row, float[] query) {
+            int offset = (row % rowsPerChunk) * dimension;
+            return VectorSimilarity.dotProduct(chunks[row / rowsPerChunk], offset, query, 0, dimension);
+        }
+
+        @Override
+        void ensureChunk(int chunk) {
+            if (chunk == chunks.length) {
+                chunks = Arrays.copyOf(chunks, chunk + 1);
+                chunks[chunk] = new float[rowsPerChunk * dimension];
+            }
+        }
+
+        @Override
+        void write(int chunk, int offset, float[] vector) {
+            System.arraycopy(vector, 0, chunks[chunk], offset, dimension);
+        }
+    }
+
+    static class BufferVectorArena extends VectorArena {
+
+        private FloatBuffer[] chunks = new FloatBuffer[0];
+
+        BufferVectorArena(int dimension, int chunkSize) {
+            super(dimension, chunkSize);
+        }
+
+        @Override
+        float[] vector(int row) {
+            FloatBuffer chunk = chunks[row / rowsPerChunk];
+            int offset = (row % rowsPerChunk) * dimension;
+            float[] vector = new float[dimension];
+            for (int i = 0; i < dimension; i++) {
+                vector[i] = chunk.get(offset + i);
+            }
+            return vector;
+        }
+
+        @Override
+        double dot(int row, float[] query) {
+            FloatBuffer chunk = chunks[row / rowsPerChunk];
+            int offset = (row % rowsPerChunk) * dimension;
+            double dot = 0.0;
+            for (int i = 0; i < dimension; i++) {
+                dot += chunk.get(offset + i) * query[i];
+            }
+            return dot;
+        }
+
+        @Override
+        void ensureChunk(int chunk) {
+            if (chunk == chunks.length) {
+                chunks = Arrays.copyOf(chunks, chunk + 1);
+                chunks[chunk] = allocate(rowsPerChunk * dimension);
+            }
+        }
+
+        private static FloatBuffer allocate(int capacity) {
+            return ByteBuffer.allocateDirect(capacity * Float.BYTES)
+                    .order(nativeOrder())
+                    .asFloatBuffer();
+        }
+
+        @Override
+        void write(int chunk, int offset, float[] vector) {
+            FloatBuffer buffer = chunks[chunk];
+            for (int i = 0; i < dimension; i++) {
+                buffer.put(offset + i, vector[i]);
+            }
+        }
+    }
+}
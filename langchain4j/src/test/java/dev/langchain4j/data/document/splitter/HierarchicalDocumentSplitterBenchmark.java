@@ -0,0 +1,66 @@
+package dev.langchain4j.data.document.splitter;
+
+import dev.langchain4j.data.document.Document;
+import dev.langchain4j.data.document.DocumentSplitter;
+import dev.langchain4j.model.openai.OpenAiTokenizer;
+
+import java.util.Random;
+
+import static dev.langchain4j.model.openai.OpenAiModelName.GPT_3_5_TURBO;
+
+/**
+ * Plain-loop benchmark of the hierarchical splitters on a large generated document.
+ * It is not a test (surefire does not pick it up), run it with {@code main}.
+ * <p>
+ * The only argument is the size of the document in MB (default: 5).
+ * Each splitter splits the document once to warm up, then once more measured.
+ */
+class HierarchicalDocumentSplitterBenchmark {
+
+    private static final String[] WORDS = {
+            "the", "quick", "brown", "fox", "jumps", "over", "lazy", "dog",
+            "retrieval", "augmented", "generation", "language", "model"
+    };
+
+    public static void main(String[] args) {
+        int megabytes = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        Document document = Document.from(generateText(megabytes * 1_000_000));
+
+        run("chars  paragraph 2000/200", new DocumentByParagraphSplitter(2000, 200), document);
+        run("chars  word      4000/0  ", new DocumentByWordSplitter(4000, 0), document);
+
+        OpenAiTokenizer tokenizer = new OpenAiTokenizer(GPT_3_5_TURBO);
+        run("tokens paragraph 500/50  ", new DocumentByParagraphSplitter(500, 50, tokenizer), document);
+        run("tokens word      1000/0  ", new DocumentByWordSplitter(1000, 0, tokenizer), document);
+    }
+
+    private static String generateText(int length) {
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder();
+        while (text.length() < length) {
+            int sentences = 3 + random.nextInt(6);
+            for (int s = 0; s < sentences; s++) {
+                int words = 5 + random.nextInt(20);
+                for (int w = 0; w < words; w++) {
+                    if (w > 0) {
+                        text.append(' ');
+                    }
+                    text.append(WORDS[random.nextInt(WORDS.length)]);
+                }
+                text.append(". ");
+            }
+            text.append("\n\n");
+        }
+        return text.toString();
+    }
+
+    private static void run(String name, DocumentSplitter splitter, Document document) {
+        splitter.split(document);
+
+        long start = System.nanoTime();
+        int segments = splitter.split(document).size();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("%s %7d segments %8d ms%n", name, segments, elapsedMillis);
+    }
+}
@@ -3,6 +3,8 @@ package dev.langchain4j.data.document.splitter;
 import org.assertj.core.api.WithAssertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 
 class SegmentBuilderTest implements WithAssertions {
     @Test
@@ -70,4 +72,33 @@ class SegmentBuilderTest implements WithAssertions {
             assertThat(builder.toString()).isEqualTo("Hello world");
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void test_append_with_known_sizes() {
+        List<String> measured = new ArrayList<>();
+        SegmentBuilder builder = new SegmentBuilder(10,
+                text -> {
+                    measured.add(text);
+                    return text.split(" ").length;
+                },
+                " ; ");
+        measured.clear();
+
+        builder.append("one fish", 2);
+        builder.append("two fish", 2);
+        assertThat(builder.hasSpaceFor(2)).isTrue();
+        assertThat(measured).isEmpty();
+
+        // the sum of sizes (2 + 2 + 2 + 3) does not fit, but the size of the whole segment (5 + 2 + 3) does
+        assertThat(builder.hasSpaceFor(3)).isTrue();
+        assertThat(measured).containsExactly("one fish ; two fish");
+        assertThat(builder.hasSpaceFor(4)).isFalse();
+        assertThat(builder.getSize()).isEqualTo(5);
+        assertThat(measured).hasSize(1);
+
+        builder.prepend("red fish", 2);
+        assertThat(builder.getSize()).isEqualTo(8);
+        assertThat(measured).hasSize(2);
+        assertThat(builder.toString()).isEqualTo("red fish ; one fish ; two fish");
+    }
+}
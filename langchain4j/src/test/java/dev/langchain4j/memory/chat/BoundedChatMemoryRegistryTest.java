@@ -0,0 +1,192 @@
+package dev.langchain4j.memory.chat;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.memory.ChatMemory;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.service.AiServices;
+import dev.langchain4j.service.MemoryId;
+import dev.langchain4j.service.UserMessage;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedChatMemoryRegistryTest {
+
+    private final List<Object> evictedIds = new ArrayList<>();
+
+    @Test
+    void should_evict_least_recently_used_chat_memory() {
+
+        BoundedChatMemoryRegistry registry = BoundedChatMemoryRegistry.builder()
+                .maxSize(2)
+                .evictionListener((memoryId, chatMemory) -> evictedIds.add(memoryId))
+                .build();
+
+        ChatMemory first = registry.computeIfAbsent(1, BoundedChatMemoryRegistryTest::chatMemory);
+        registry.computeIfAbsent(2, BoundedChatMemoryRegistryTest::chatMemory);
+        assertThat(registry.computeIfAbsent(1, BoundedChatMemoryRegistryTest::chatMemory)).isSameAs(first);
+
+        registry.computeIfAbsent(3, BoundedChatMemoryRegistryTest::chatMemory);
+
+        assertThat(registry.keySet()).containsExactly(1, 3);
+        assertThat(evictedIds).containsExactly(2);
+        assertThat(registry.hitCount()).isEqualTo(1);
+        assertThat(registry.missCount()).isEqualTo(3);
+        assertThat(registry.evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_evict_idle_chat_memories() {
+
+        MutableClock clock = new MutableClock();
+        BoundedChatMemoryRegistry registry = BoundedChatMemoryRegistry.builder()
+                .idleTimeout(Duration.ofMinutes(10))
+                .evictionListener((memoryId, chatMemory) -> evictedIds.add(memoryId))
+                .clock(clock)
+                .build();
+
+        registry.computeIfAbsent(1, BoundedChatMemoryRegistryTest::chatMemory);
+        clock.advance(Duration.ofMinutes(6));
+        registry.computeIfAbsent(2, BoundedChatMemoryRegistryTest::chatMemory);
+        clock.advance(Duration.ofMinutes(6));
+        registry.computeIfAbsent(2, BoundedChatMemoryRegistryTest::chatMemory);
+
+        assertThat(registry.keySet()).containsExactly(2);
+        assertThat(evictedIds).containsExactly(1);
+
+        clock.advance(Duration.ofMinutes(10));
+        registry.evictIdle();
+
+        assertThat(registry).isEmpty();
+        assertThat(evictedIds).containsExactly(1, 2);
+    }
+
+    @Test
+    void should_provide_chat_memory_without_blocking_other_memory_ids() throws Exception {
+
+        BoundedChatMemoryRegistry registry = BoundedChatMemoryRegistry.builder()
+                .maxSize(10)
+                .build();
+
+        CountDownLatch providing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<ChatMemory> slow = executor.submit(() -> registry.computeIfAbsent(1, memoryId -> {
+                providing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return chatMemory(memoryId);
+            }));
+            assertThat(providing.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // while memory 1 is being provided, memory 2 can be provided and a concurrent provider wins for 1
+            ChatMemory second = executor.submit(() -> registry.computeIfAbsent(2, BoundedChatMemoryRegistryTest::chatMemory))
+                    .get(5, TimeUnit.SECONDS);
+            ChatMemory first = executor.submit(() -> registry.computeIfAbsent(1, BoundedChatMemoryRegistryTest::chatMemory))
+                    .get(5, TimeUnit.SECONDS);
+            release.countDown();
+
+            assertThat(second.id()).isEqualTo(2);
+            assertThat(slow.get(5, TimeUnit.SECONDS)).isSameAs(first);
+            assertThat(registry.get(1)).isSameAs(first);
+            assertThat(registry.size()).isEqualTo(2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void should_require_a_bound() {
+        assertThatThrownBy(() -> BoundedChatMemoryRegistry.builder().build())
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("At least one of maxSize and idleTimeout must be specified");
+    }
+
+    @Test
+    void should_require_a_positive_idle_timeout() {
+        assertThatThrownBy(() -> BoundedChatMemoryRegistry.builder().idleTimeout(Duration.ZERO).build())
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("idleTimeout must be greater than zero, but is: 0");
+        assertThatThrownBy(() -> BoundedChatMemoryRegistry.builder().idleTimeout(Duration.ofMinutes(-1)).build())
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("idleTimeout must be greater than zero, but is: -60000");
+    }
+
+    interface Assistant {
+
+        String chat(@MemoryId int memoryId, @UserMessage String message);
+    }
+
+    @Test
+    void should_bound_chat_memories_of_ai_service() {
+
+        ChatLanguageModel model = messages -> Response.from(AiMessage.from("seen " + messages.size() + " messages"));
+        BoundedChatMemoryRegistry registry = BoundedChatMemoryRegistry.builder()
+                .maxSize(1)
+                .build();
+
+        Assistant assistant = AiServices.builder(Assistant.class)
+                .chatLanguageModel(model)
+                .chatMemoryRegistry(registry)
+                .chatMemoryProvider(BoundedChatMemoryRegistryTest::chatMemory)
+                .build();
+
+        List<String> answers = asList(
+                assistant.chat(1, "hello"),
+                assistant.chat(1, "hello again"),
+                assistant.chat(2, "hello"),
+                assistant.chat(1, "hello again")
+        );
+
+        assertThat(answers).containsExactly("seen 1 messages", "seen 3 messages", "seen 1 messages", "seen 1 messages");
+        assertThat(registry.keySet()).containsExactly(1);
+        assertThat(registry.evictionCount()).isEqualTo(2);
+    }
+
+    private static ChatMemory chatMemory(Object memoryId) {
+        return MessageWindowChatMemory.builder().id(memoryId).maxMessages(10).build();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant = Instant.EPOCH;
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
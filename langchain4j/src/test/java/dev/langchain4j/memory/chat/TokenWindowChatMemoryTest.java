@@ -5,14 +5,25 @@ import dev.langchain4j.data.message.*;
 import dev.langchain4j.memory.ChatMemory;
 import dev.langchain4j.model.Tokenizer;
 import dev.langchain4j.model.openai.OpenAiTokenizer;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
 import org.assertj.core.api.WithAssertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static dev.langchain4j.data.message.ChatMessageDeserializer.messagesFromJson;
+import static dev.langchain4j.data.message.ChatMessageSerializer.messagesToJson;
 import static dev.langchain4j.data.message.SystemMessage.systemMessage;
 import static dev.langchain4j.data.message.UserMessage.userMessage;
 import static dev.langchain4j.internal.TestUtils.*;
 import static dev.langchain4j.model.openai.OpenAiModelName.GPT_3_5_TURBO;
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 class TokenWindowChatMemoryTest implements WithAssertions {
 
@@ -609,4 +620,77 @@ class TokenWindowChatMemoryTest implements WithAssertions {
                 .isEqualTo(EXTRA_TOKENS_PER_REQUEST + systemMessageTokens + aiMessage2Tokens)
                 .isEqualTo(32);
     }
-}
\ No newline at end of file
+
+    @Test
+    void should_estimate_token_count_of_each_message_only_once() {
+
+        int messageTokens = TOKENIZER.estimateTokenCountInMessage(userMessage("message 0"));
+        Tokenizer tokenizer = spy(new OpenAiTokenizer(GPT_3_5_TURBO));
+        ChatMemory chatMemory = TokenWindowChatMemory.withMaxTokens(EXTRA_TOKENS_PER_REQUEST + 3 * messageTokens, tokenizer);
+
+        List<UserMessage> userMessages = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            UserMessage userMessage = userMessage("message " + i);
+            userMessages.add(userMessage);
+            chatMemory.add(userMessage);
+            chatMemory.messages();
+        }
+
+        assertThat(chatMemory.messages()).containsExactly(userMessages.get(7), userMessages.get(8), userMessages.get(9));
+        for (UserMessage userMessage : userMessages) {
+            verify(tokenizer).estimateTokenCountInMessage(userMessage);
+        }
+    }
+
+    @Test
+    void should_reuse_token_counts_of_messages_read_from_persistent_store() {
+
+        // given a store returning new (deserialized) messages on each read
+        Map<Object, String> json = new HashMap<>();
+        ChatMemoryStore store = new ChatMemoryStore() {
+
+            @Override
+            public List<ChatMessage> getMessages(Object memoryId) {
+                return messagesFromJson(json.get(memoryId));
+            }
+
+            @Override
+            public void updateMessages(Object memoryId, List<ChatMessage> messages) {
+                json.put(memoryId, messagesToJson(messages));
+            }
+
+            @Override
+            public void deleteMessages(Object memoryId) {
+                json.remove(memoryId);
+            }
+        };
+        int maxTokens = TOKENIZER.estimateTokenCountInMessages(
+                asList(userMessage("second"), userMessage("third"), userMessage("fourth")));
+        Tokenizer tokenizer = spy(new OpenAiTokenizer(GPT_3_5_TURBO));
+        ChatMemory chatMemory = TokenWindowChatMemory.builder()
+                .maxTokens(maxTokens, tokenizer)
+                .chatMemoryStore(store)
+                .build();
+
+        UserMessage firstUserMessage = userMessage("first");
+        chatMemory.add(firstUserMessage);
+        UserMessage secondUserMessage = userMessage("second");
+        chatMemory.add(secondUserMessage);
+
+        // when the store is modified by someone else
+        UserMessage thirdUserMessage = userMessage("third");
+        List<ChatMessage> messages = new ArrayList<>(store.getMessages("default"));
+        messages.add(thirdUserMessage);
+        store.updateMessages("default", messages);
+
+        UserMessage fourthUserMessage = userMessage("fourth");
+        chatMemory.add(fourthUserMessage);
+
+        // then
+        assertThat(chatMemory.messages()).containsExactly(secondUserMessage, thirdUserMessage, fourthUserMessage);
+        verify(tokenizer).estimateTokenCountInMessage(firstUserMessage);
+        verify(tokenizer).estimateTokenCountInMessage(secondUserMessage);
+        verify(tokenizer).estimateTokenCountInMessage(thirdUserMessage);
+        verify(tokenizer).estimateTokenCountInMessage(fourthUserMessage);
+    }
+}
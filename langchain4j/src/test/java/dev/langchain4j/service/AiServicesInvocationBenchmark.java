@@ -0,0 +1,47 @@
+package dev.langchain4j.service;
+
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.mock.ChatModelMock;
+
+/**
+ * Plain-loop benchmark of the overhead of an AI Service call with 5 {@link V} variables,
+ * measured with a {@link ChatModelMock}.
+ * It is not a test (surefire does not pick it up), run it with {@code main}.
+ * <p>
+ * The only argument is the number of calls (default: 200000).
+ * The calls are made once to warm up, then once more measured.
+ */
+class AiServicesInvocationBenchmark {
+
+    interface Assistant {
+
+        @SystemMessage("You are a {{role}} answering in {{language}} with a {{tone}} tone.")
+        @UserMessage("Tell {{name}} about {{topic}}.")
+        String chat(@V("role") String role,
+                    @V("language") String language,
+                    @V("tone") String tone,
+                    @V("name") String name,
+                    @V("topic") String topic);
+    }
+
+    public static void main(String[] args) {
+        int calls = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        ChatLanguageModel model = ChatModelMock.thatAlwaysResponds("ok");
+        Assistant assistant = AiServices.create(Assistant.class, model);
+
+        run(assistant, calls);
+
+        long start = System.nanoTime();
+        run(assistant, calls);
+        double elapsedMicros = (System.nanoTime() - start) / 1_000.0;
+
+        System.out.printf("%d calls %8.2f us/call%n", calls, elapsedMicros / calls);
+    }
+
+    private static void run(Assistant assistant, int calls) {
+        for (int i = 0; i < calls; i++) {
+            assistant.chat("travel agent", "English", "friendly", "user " + i, "Berlin");
+        }
+    }
+}
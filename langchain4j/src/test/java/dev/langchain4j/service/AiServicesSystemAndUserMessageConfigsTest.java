@@ -9,6 +9,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static dev.langchain4j.data.message.SystemMessage.systemMessage;
 import static dev.langchain4j.data.message.UserMessage.userMessage;
 import static java.util.Arrays.asList;
@@ -482,6 +484,38 @@ class AiServicesSystemAndUserMessageConfigsTest {
         ));
     }
 
+    @Test
+    void should_apply_the_system_message_returned_by_provider_on_every_call() {
+
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        AiService aiService = AiServices.builder(AiService.class)
+                .chatLanguageModel(chatLanguageModel)
+                .systemMessageProvider(chatMemoryId -> calls.incrementAndGet() == 2
+                        ? "Given a name of a country, answer with {{answerInstructions}} in capital letters"
+                        : "Given a name of a country, answer with {{answerInstructions}}")
+                .build();
+
+        // when
+        aiService.chat13("a name of it's capital", "Country: Germany");
+        aiService.chat13("a name of it's capital", "Country: Germany");
+        aiService.chat13("a name of it's capital", "Country: France");
+
+        // then
+        verify(chatLanguageModel).generate(asList(
+                systemMessage("Given a name of a country, answer with a name of it's capital"),
+                userMessage("Country: Germany")
+        ));
+        verify(chatLanguageModel).generate(asList(
+                systemMessage("Given a name of a country, answer with a name of it's capital in capital letters"),
+                userMessage("Country: Germany")
+        ));
+        verify(chatLanguageModel).generate(asList(
+                systemMessage("Given a name of a country, answer with a name of it's capital"),
+                userMessage("Country: France")
+        ));
+    }
+
     @Test
     void test_illegal_system_message_configuration_1() {
 
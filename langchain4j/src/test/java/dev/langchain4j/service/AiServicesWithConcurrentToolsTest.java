@@ -0,0 +1,294 @@
+package dev.langchain4j.service;
+
+import dev.langchain4j.agent.tool.Tool;
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.memory.chat.MessageWindowChatMemory;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AiServicesWithConcurrentToolsTest {
+
+    interface Assistant {
+
+        String chat(String message);
+    }
+
+    static class Tools {
+
+        private final CountDownLatch allStarted = new CountDownLatch(3);
+        private final CountDownLatch hangStarted = new CountDownLatch(1);
+        private final CountDownLatch hangInterrupted = new CountDownLatch(1);
+
+        @Tool
+        String fetch(String url) throws InterruptedException {
+            allStarted.countDown();
+            // completes only if all three tools run at the same time
+            if (!allStarted.await(10, TimeUnit.SECONDS)) {
+                return "not concurrent";
+            }
+            return "content of " + url;
+        }
+
+        @Tool
+        String hang(String url) throws InterruptedException {
+            hangStarted.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                hangInterrupted.countDown();
+                throw e;
+            }
+            return "too late";
+        }
+
+        @Tool
+        String nap(String url) throws InterruptedException {
+            Thread.sleep(300);
+            return "rested for " + url;
+        }
+
+        @Tool
+        String page(int number) {
+            return "page " + number;
+        }
+    }
+
+    static class ToolCallingModel implements ChatLanguageModel {
+
+        private final List<ToolExecutionRequest> toolExecutionRequests;
+        private List<ChatMessage> lastMessages;
+
+        ToolCallingModel(ToolExecutionRequest... toolExecutionRequests) {
+            this.toolExecutionRequests = asList(toolExecutionRequests);
+        }
+
+        @Override
+        public Response<AiMessage> generate(List<ChatMessage> messages) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Response<AiMessage> generate(List<ChatMessage> messages, List<ToolSpecification> toolSpecifications) {
+            lastMessages = messages;
+            if (messages.get(messages.size() - 1) instanceof ToolExecutionResultMessage) {
+                return Response.from(AiMessage.from("done"), new TokenUsage(1));
+            }
+            return Response.from(AiMessage.from(toolExecutionRequests), new TokenUsage(1));
+        }
+
+        List<String> toolResults() {
+            return lastMessages.stream()
+                    .filter(message -> message instanceof ToolExecutionResultMessage)
+                    .map(message -> ((ToolExecutionResultMessage) message).text())
+                    .collect(toList());
+        }
+    }
+
+    @Test
+    void should_execute_tools_concurrently_and_keep_results_in_order() {
+
+        ToolCallingModel model = new ToolCallingModel(
+                request("1", "fetch", "a"),
+                request("2", "fetch", "b"),
+                request("3", "fetch", "c")
+        );
+
+        Assistant assistant = AiServices.builder(Assistant.class)
+                .chatLanguageModel(model)
+                .chatMemory(MessageWindowChatMemory.withMaxMessages(10))
+                .tools(new Tools())
+                .executeToolsConcurrently()
+                .build();
+
+        assertThat(assistant.chat("fetch a, b and c")).isEqualTo("done");
+        assertThat(model.toolResults()).containsExactly("content of a", "content of b", "content of c");
+    }
+
+    @Test
+    void should_report_tool_timeout_to_llm() {
+
+        ToolCallingModel model = new ToolCallingModel(
+                request("1", "hang", "a"),
+                request("2", "fetch", "b")
+        );
+        Tools tools = new Tools();
+        tools.allStarted.countDown();
+        tools.allStarted.countDown();
+
+        Assistant assistant = AiServices.builder(Assistant.class)
+                .chatLanguageModel(model)
+                .chatMemory(MessageWindowChatMemory.withMaxMessages(10))
+                .tools(tools)
+                .executeToolsConcurrently()
+                .toolExecutionTimeout(Duration.ofMillis(100))
+                .build();
+
+        assertThat(assistant.chat("fetch a and b")).isEqualTo("done");
+        assertThat(model.toolResults()).containsExactly(
+                "Execution of tool 'hang' timed out after 100 ms",
+                "content of b"
+        );
+    }
+
+    @Test
+    void should_count_tool_timeout_from_start_of_each_tool() {
+
+        ToolCallingModel model = new ToolCallingModel(
+                request("1", "nap", "a"),
+                request("2", "nap", "b")
+        );
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Assistant assistant = AiServices.builder(Assistant.class)
+                    .chatLanguageModel(model)
+                    .chatMemory(MessageWindowChatMemory.withMaxMessages(10))
+                    .tools(new Tools())
+                    .executeToolsConcurrently(executor)
+                    .toolExecutionTimeout(Duration.ofMillis(500))
+                    .build();
+
+            // the second tool is queued for ~300 ms, which is not counted in its timeout
+            assertThat(assistant.chat("nap a and b")).isEqualTo("done");
+            assertThat(model.toolResults()).containsExactly("rested for a", "rested for b");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void should_cancel_other_tools_when_tool_fails() throws InterruptedException {
+
+        ToolCallingModel model = new ToolCallingModel(
+                ToolExecutionRequest.builder()
+                        .id("1")
+                        .name("page")
+                        .arguments("{\"arg0\": \"not a number\"}")
+                        .build(),
+                request("2", "hang", "b")
+        );
+        Tools tools = new Tools();
+
+        ExecutorService pool = Executors.newCachedThreadPool();
+        AtomicInteger submitted = new AtomicInteger();
+        // the failure of the first tool is only observed once the hang tool is running,
+        // otherwise the hang tool would be cancelled before it starts and never interrupted
+        Executor executor = task -> {
+            pool.execute(task);
+            if (submitted.incrementAndGet() == 2) {
+                awaitQuietly(tools.hangStarted);
+            }
+        };
+        try {
+            Assistant assistant = AiServices.builder(Assistant.class)
+                    .chatLanguageModel(model)
+                    .chatMemory(MessageWindowChatMemory.withMaxMessages(10))
+                    .tools(tools)
+                    .executeToolsConcurrently(executor)
+                    .build();
+
+            assertThatThrownBy(() -> assistant.chat("page 'not a number' and hang b"))
+                    .isExactlyInstanceOf(IllegalArgumentException.class);
+            assertThat(tools.hangInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void should_report_timeout_of_tools_never_started_by_executor() {
+
+        ToolCallingModel model = new ToolCallingModel(
+                request("1", "fetch", "a"),
+                request("2", "fetch", "b")
+        );
+
+        Executor droppingExecutor = task -> {
+        };
+
+        Assistant assistant = AiServices.builder(Assistant.class)
+                .chatLanguageModel(model)
+                .chatMemory(MessageWindowChatMemory.withMaxMessages(10))
+                .tools(new Tools())
+                .executeToolsConcurrently(droppingExecutor)
+                .toolExecutionTimeout(Duration.ofMillis(100))
+                .build();
+
+        assertThat(assistant.chat("fetch a and b")).isEqualTo("done");
+        assertThat(model.toolResults()).containsExactly(
+                "Execution of tool 'fetch' timed out: the executor did not start it in time",
+                "Execution of tool 'fetch' timed out: the executor did not start it in time"
+        );
+    }
+
+    @Test
+    void should_cancel_submitted_tools_when_executor_rejects_tool() throws InterruptedException {
+
+        ToolCallingModel model = new ToolCallingModel(
+                request("1", "hang", "a"),
+                request("2", "fetch", "b")
+        );
+        Tools tools = new Tools();
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        AtomicInteger submitted = new AtomicInteger();
+        Executor rejectingExecutor = task -> {
+            if (submitted.incrementAndGet() > 1) {
+                awaitQuietly(tools.hangStarted);
+                throw new RejectedExecutionException("executor is full");
+            }
+            pool.execute(task);
+        };
+        try {
+            Assistant assistant = AiServices.builder(Assistant.class)
+                    .chatLanguageModel(model)
+                    .chatMemory(MessageWindowChatMemory.withMaxMessages(10))
+                    .tools(tools)
+                    .executeToolsConcurrently(rejectingExecutor)
+                    .build();
+
+            assertThatThrownBy(() -> assistant.chat("hang a and fetch b"))
+                    .isExactlyInstanceOf(RejectedExecutionException.class);
+            assertThat(tools.hangInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ToolExecutionRequest request(String id, String name, String url) {
+        return ToolExecutionRequest.builder()
+                .id(id)
+                .name(name)
+                .arguments("{\"arg0\": \"" + url + "\"}")
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package dev.langchain4j.store.embedding.inmemory;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.AllMiniLmL6V2QuantizedEmbeddingModel;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.embedding.EmbeddingStoreWithFilteringIT;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static dev.langchain4j.store.embedding.inmemory.RandomEmbeddings.randomEmbedding;
+import static java.util.stream.Collectors.toSet;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HnswInMemoryEmbeddingStoreTest extends EmbeddingStoreWithFilteringIT {
+
+    EmbeddingStore<TextSegment> embeddingStore = new HnswInMemoryEmbeddingStore<>();
+
+    EmbeddingModel embeddingModel = new AllMiniLmL6V2QuantizedEmbeddingModel();
+
+    @Test
+    void should_have_high_recall_compared_to_exact_search() {
+
+        // given
+        HnswInMemoryEmbeddingStore<TextSegment> hnswStore = HnswInMemoryEmbeddingStore.builder()
+                .m(16)
+                .efConstruction(100)
+                .efSearch(100)
+                .build();
+        InMemoryEmbeddingStore<TextSegment> exactStore = new InMemoryEmbeddingStore<>();
+
+        Random random = new Random(1);
+        List<Embedding> embeddings = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            embeddings.add(randomEmbedding(random, 32));
+        }
+        List<String> ids = hnswStore.addAll(embeddings);
+        for (int i = 0; i < embeddings.size(); i++) {
+            exactStore.add(ids.get(i), embeddings.get(i));
+        }
+
+        // when
+        int found = 0;
+        int expected = 0;
+        for (int i = 0; i < 100; i++) {
+            EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                    .queryEmbedding(randomEmbedding(random, 32))
+                    .maxResults(10)
+                    .build();
+
+            Set<String> exactIds = idsOf(exactStore.search(request).matches());
+            Set<String> approximateIds = idsOf(hnswStore.search(request).matches());
+
+            expected += exactIds.size();
+            approximateIds.retainAll(exactIds);
+            found += approximateIds.size();
+        }
+
+        // then
+        double recall = (double) found / expected;
+        assertThat(recall).isGreaterThan(0.9);
+    }
+
+    @Test
+    void should_fail_when_dimensions_differ() {
+
+        HnswInMemoryEmbeddingStore<TextSegment> store = new HnswInMemoryEmbeddingStore<>();
+        store.add(Embedding.from(new float[]{1, 2, 3}));
+
+        assertThatThrownBy(() -> store.add(Embedding.from(new float[]{1, 2})))
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Length of vector (2) must be equal to the dimension of the index (3)");
+    }
+
+    private static Set<String> idsOf(List<EmbeddingMatch<TextSegment>> matches) {
+        return matches.stream().map(EmbeddingMatch::embeddingId).collect(toSet());
+    }
+
+    @Override
+    protected EmbeddingStore<TextSegment> embeddingStore() {
+        return embeddingStore;
+    }
+
+    @Override
+    protected EmbeddingModel embeddingModel() {
+        return embeddingModel;
+    }
+}
@@ -0,0 +1,131 @@
+package dev.langchain4j.store.embedding.inmemory;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.AllMiniLmL6V2QuantizedEmbeddingModel;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingSearchResult;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.embedding.EmbeddingStoreWithFilteringIT;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
+import static dev.langchain4j.store.embedding.inmemory.RandomEmbeddings.randomEmbedding;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests if InMemoryEmbeddingStore works correctly when searching segments of the store in parallel.
+ */
+class InMemoryEmbeddingStoreParallelSearchTest extends EmbeddingStoreWithFilteringIT {
+
+    static ForkJoinPool searchExecutor = new ForkJoinPool(3);
+
+    InMemoryEmbeddingStore<TextSegment> embeddingStore = InMemoryEmbeddingStore.builder()
+            .searchExecutor(searchExecutor)
+            .searchParallelism(3)
+            .minEntriesForParallelSearch(1)
+            .build();
+
+    EmbeddingModel embeddingModel = new AllMiniLmL6V2QuantizedEmbeddingModel();
+
+    @AfterAll
+    static void afterAll() {
+        searchExecutor.shutdown();
+    }
+
+    @Test
+    void should_return_same_matches_as_sequential_search() {
+
+        // given
+        InMemoryEmbeddingStore<TextSegment> sequentialStore = new InMemoryEmbeddingStore<>();
+
+        Random random = new Random(1);
+        List<Embedding> embeddings = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            embeddings.add(randomEmbedding(random, 32));
+        }
+        List<String> ids = embeddingStore.addAll(embeddings);
+        for (int i = 0; i < embeddings.size(); i++) {
+            sequentialStore.add(ids.get(i), embeddings.get(i));
+        }
+
+        for (int i = 0; i < 10; i++) {
+            EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                    .queryEmbedding(randomEmbedding(random, 32))
+                    .maxResults(10)
+                    .minScore(0.5)
+                    .build();
+
+            // when-then
+            assertThat(embeddingStore.search(request).matches()).isEqualTo(sequentialStore.search(request).matches());
+        }
+    }
+
+    @Test
+    void should_return_same_matches_for_all_requests_as_searching_them_one_by_one() {
+
+        // given
+        InMemoryEmbeddingStore<TextSegment> sequentialStore = new InMemoryEmbeddingStore<>();
+        InMemoryEmbeddingStore<TextSegment> indexedStore = InMemoryEmbeddingStore.builder()
+                .indexedMetadataKeys(singletonList("key"))
+                .build();
+
+        Random random = new Random(2);
+        List<Embedding> embeddings = new ArrayList<>();
+        List<TextSegment> segments = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            embeddings.add(randomEmbedding(random, 32));
+            segments.add(TextSegment.from("text " + i, new Metadata().put("key", i % 10)));
+        }
+        List<String> ids = embeddingStore.addAll(embeddings, segments);
+        for (int i = 0; i < embeddings.size(); i++) {
+            sequentialStore.add(ids.get(i), embeddings.get(i), segments.get(i));
+            indexedStore.add(ids.get(i), embeddings.get(i), segments.get(i));
+        }
+
+        List<EmbeddingSearchRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            requests.add(EmbeddingSearchRequest.builder()
+                    .queryEmbedding(randomEmbedding(random, 32))
+                    .maxResults(5 + i)
+                    .minScore(0.5)
+                    .filter(i % 2 == 0 ? null : metadataKey("key").isEqualTo(i))
+                    .build());
+        }
+
+        // when
+        List<EmbeddingSearchResult<TextSegment>> parallelResults = embeddingStore.searchAll(requests);
+        List<EmbeddingSearchResult<TextSegment>> sequentialResults = sequentialStore.searchAll(requests);
+        List<EmbeddingSearchResult<TextSegment>> indexedResults = indexedStore.searchAll(requests);
+
+        // then
+        assertThat(parallelResults).hasSize(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            List<EmbeddingMatch<TextSegment>> expected = sequentialStore.search(requests.get(i)).matches();
+            assertThat(expected).isNotEmpty();
+            assertThat(parallelResults.get(i).matches()).isEqualTo(expected);
+            assertThat(sequentialResults.get(i).matches()).isEqualTo(expected);
+            assertThat(indexedResults.get(i).matches()).isEqualTo(expected);
+        }
+    }
+
+    @Override
+    protected EmbeddingStore<TextSegment> embeddingStore() {
+        return embeddingStore;
+    }
+
+    @Override
+    protected EmbeddingModel embeddingModel() {
+        return embeddingModel;
+    }
+}
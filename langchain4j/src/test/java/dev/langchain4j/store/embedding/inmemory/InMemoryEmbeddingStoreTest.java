@@ -40,6 +40,42 @@ class InMemoryEmbeddingStoreTest extends EmbeddingStoreWithFilteringIT {
         assertThat(deserializedEmbeddingStore.entries).isInstanceOf(CopyOnWriteArrayList.class);
     }
 
+    @Test
+    void should_serialize_to_and_deserialize_from_binary_file() {
+
+        // given
+        InMemoryEmbeddingStore<TextSegment> originalEmbeddingStore = createEmbeddingStore();
+        Metadata metadata = new Metadata()
+                .put("string", "ünïcödé")
+                .put("integer", 1)
+                .put("long", Long.MAX_VALUE)
+                .put("float", 1.5f)
+                .put("double", Math.PI);
+        TextSegment segment = TextSegment.from("third", metadata);
+        originalEmbeddingStore.add(embeddingModel.embed(segment).content(), segment);
+        originalEmbeddingStore.add(embeddingModel.embed("no segment").content());
+        Path filePath = temporaryDirectory.resolve("embedding-store.bin");
+
+        // when
+        originalEmbeddingStore.serializeToBinaryFile(filePath);
+        InMemoryEmbeddingStore<TextSegment> deserializedEmbeddingStore = InMemoryEmbeddingStore.fromBinaryFile(filePath);
+
+        // then
+        assertThat(deserializedEmbeddingStore.entries).isEqualTo(originalEmbeddingStore.entries);
+        assertThat(deserializedEmbeddingStore.entries).isInstanceOf(CopyOnWriteArrayList.class);
+    }
+
+    @Test
+    void should_fail_to_deserialize_from_binary_file_in_other_format() {
+
+        Path filePath = temporaryDirectory.resolve("embedding-store.json");
+        createEmbeddingStore().serializeToFile(filePath);
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> InMemoryEmbeddingStore.fromBinaryFile(filePath))
+                .withMessageContaining("is not an embedding store file");
+    }
+
     @Test
     void should_serialize_to_and_deserialize_from_file() {
         InMemoryEmbeddingStore<TextSegment> originalEmbeddingStore = createEmbeddingStore();
@@ -0,0 +1,90 @@
+package dev.langchain4j.store.embedding.inmemory;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.segment.TextSegment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MetadataIndexTest {
+
+    MetadataIndex index = new MetadataIndex(singletonList("type"), singletonList("year"));
+
+    @BeforeEach
+    void addRows() {
+        for (int row = 0; row < 100; row++) {
+            Metadata metadata = new Metadata()
+                    .put("type", "t" + (row % 10))
+                    .put("year", 2000 + row % 25)
+                    .put("other", row);
+            index.add(row, TextSegment.from("text", metadata));
+        }
+        index.add(100, null);
+    }
+
+    @Test
+    void should_find_candidates_of_selective_filters() {
+
+        // row 100 is not a segment, so it is never filtered out
+        assertThat(index.candidates(metadataKey("type").isEqualTo("t3"), 101))
+                .isEqualTo(rows(3, 13, 23, 33, 43, 53, 63, 73, 83, 93, 100));
+
+        assertThat(index.candidates(metadataKey("type").isIn("t3", "t5")
+                        .and(metadataKey("year").isGreaterThanOrEqualTo(2020L)), 101))
+                .isEqualTo(rows(23, 45, 73, 95, 100));
+
+        assertThat(index.candidates(metadataKey("year").isLessThan(2001.5)
+                        .or(metadataKey("year").isEqualTo(2024)), 101))
+                .isEqualTo(rows(0, 1, 24, 25, 26, 49, 50, 51, 74, 75, 76, 99, 100));
+
+        // the non-indexed part of the filter is tested on the candidates later
+        assertThat(index.candidates(metadataKey("type").isEqualTo("t3")
+                        .and(metadataKey("other").isGreaterThan(50)), 101))
+                .isEqualTo(rows(3, 13, 23, 33, 43, 53, 63, 73, 83, 93, 100));
+
+        // only the first rows are considered
+        assertThat(index.candidates(metadataKey("type").isEqualTo("t3"), 20))
+                .isEqualTo(rows(3, 13));
+    }
+
+    @Test
+    void should_not_find_candidates_when_index_cannot_narrow_down() {
+
+        // not selective enough
+        assertThat(index.candidates(metadataKey("type").isNotEqualTo("t3"), 101)).isNull();
+        assertThat(index.candidates(metadataKey("year").isGreaterThan(2005), 101)).isNull();
+
+        // not indexed
+        assertThat(index.candidates(metadataKey("other").isEqualTo(3), 101)).isNull();
+        assertThat(index.candidates(metadataKey("type").isEqualTo("t3")
+                .or(metadataKey("other").isEqualTo(3)), 101)).isNull();
+
+        // hash index does not support ranges
+        assertThat(index.candidates(metadataKey("type").isGreaterThan("t8"), 101)).isNull();
+
+        // type mismatch, the filter must throw
+        assertThat(index.candidates(metadataKey("type").isEqualTo(3), 101)).isNull();
+    }
+
+    @Test
+    void should_not_use_key_with_values_of_different_types() {
+
+        index.add(101, TextSegment.from("text", new Metadata().put("type", 3)));
+
+        assertThat(index.candidates(metadataKey("type").isEqualTo("t3"), 102)).isNull();
+        assertThat(index.candidates(metadataKey("type").isEqualTo(3), 102)).isNull();
+    }
+
+    private static BitSet rows(int... rows) {
+        BitSet bitSet = new BitSet();
+        for (int row : rows) {
+            bitSet.set(row);
+        }
+        return bitSet;
+    }
+}
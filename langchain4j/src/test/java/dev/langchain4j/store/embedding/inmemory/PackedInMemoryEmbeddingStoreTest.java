@@ -0,0 +1,201 @@
+package dev.langchain4j.store.embedding.inmemory;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.AllMiniLmL6V2QuantizedEmbeddingModel;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.embedding.EmbeddingStoreWithFilteringIT;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static dev.langchain4j.store.embedding.inmemory.RandomEmbeddings.randomEmbedding;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class PackedInMemoryEmbeddingStoreTest extends EmbeddingStoreWithFilteringIT {
+
+    EmbeddingStore<TextSegment> embeddingStore = new PackedInMemoryEmbeddingStore<>();
+
+    EmbeddingModel embeddingModel = new AllMiniLmL6V2QuantizedEmbeddingModel();
+
+    @Test
+    void should_return_same_matches_as_in_memory_embedding_store() {
+
+        // given
+        PackedInMemoryEmbeddingStore<TextSegment> onHeapStore = new PackedInMemoryEmbeddingStore<>();
+        PackedInMemoryEmbeddingStore<TextSegment> offHeapStore = PackedInMemoryEmbeddingStore.builder()
+                .offHeap(true)
+                .build();
+        InMemoryEmbeddingStore<TextSegment> exactStore = new InMemoryEmbeddingStore<>();
+
+        Random random = new Random(1);
+        List<Embedding> embeddings = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            embeddings.add(randomEmbedding(random, 32));
+        }
+        List<String> ids = onHeapStore.addAll(embeddings);
+        for (int i = 0; i < embeddings.size(); i++) {
+            offHeapStore.add(ids.get(i), embeddings.get(i));
+            exactStore.add(ids.get(i), embeddings.get(i));
+        }
+
+        for (int i = 0; i < 10; i++) {
+            EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                    .queryEmbedding(randomEmbedding(random, 32))
+                    .maxResults(10)
+                    .build();
+
+            // when
+            List<EmbeddingMatch<TextSegment>> expected = exactStore.search(request).matches();
+
+            // then
+            assertSameMatches(onHeapStore.search(request).matches(), expected);
+            assertSameMatches(offHeapStore.search(request).matches(), expected);
+        }
+    }
+
+    private static void assertSameMatches(List<EmbeddingMatch<TextSegment>> actual,
+                                          List<EmbeddingMatch<TextSegment>> expected) {
+        assertThat(actual).hasSameSizeAs(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.get(i).embeddingId()).isEqualTo(expected.get(i).embeddingId());
+            assertThat(actual.get(i).embedding()).isEqualTo(expected.get(i).embedding());
+            assertThat(actual.get(i).score()).isCloseTo(expected.get(i).score(), within(1e-6));
+            assertThat(actual.get(i).embedded()).isEqualTo(expected.get(i).embedded());
+        }
+    }
+
+    @Test
+    void should_search_store_opened_from_file(@TempDir Path temporaryDirectory) {
+
+        // given
+        InMemoryEmbeddingStore<TextSegment> exactStore = new InMemoryEmbeddingStore<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 1000; i++) {
+            TextSegment segment = TextSegment.from("segment " + i, Metadata.from("index", i));
+            exactStore.add(randomEmbedding(random, 32), segment);
+        }
+        Path inMemoryStoreFile = temporaryDirectory.resolve("in-memory-store.bin");
+        exactStore.serializeToBinaryFile(inMemoryStoreFile);
+
+        PackedInMemoryEmbeddingStore<TextSegment> openedStore = PackedInMemoryEmbeddingStore.fromFile(inMemoryStoreFile);
+        Path packedStoreFile = temporaryDirectory.resolve("packed-store.bin");
+        openedStore.serializeToFile(packedStoreFile);
+        PackedInMemoryEmbeddingStore<TextSegment> reopenedStore = PackedInMemoryEmbeddingStore.builder()
+                .file(packedStoreFile)
+                .quantization(Quantization.INT8)
+                .build();
+
+        // when
+        Embedding embedding = randomEmbedding(random, 32);
+        TextSegment segment = TextSegment.from("added after opening");
+        String id = openedStore.add(embedding, segment);
+        exactStore.add(id, embedding, segment);
+        reopenedStore.add(id, embedding, segment);
+
+        // then
+        for (int i = 0; i < 10; i++) {
+            EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                    .queryEmbedding(i == 0 ? embedding : randomEmbedding(random, 32))
+                    .maxResults(10)
+                    .build();
+            List<EmbeddingMatch<TextSegment>> expected = exactStore.search(request).matches();
+
+            assertSameMatches(openedStore.search(request).matches(), expected);
+            assertThat(reopenedStore.search(request).matches()).hasSameSizeAs(expected);
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({"INT8, 4, 0.95", "BINARY, 50, 0.75"})
+    void should_have_high_recall_with_quantization(Quantization quantization, int oversampling, double minRecall) {
+
+        // given
+        PackedInMemoryEmbeddingStore<TextSegment> quantizedStore = PackedInMemoryEmbeddingStore.builder()
+                .quantization(quantization)
+                .oversampling(oversampling)
+                .build();
+        PackedInMemoryEmbeddingStore<TextSegment> exactStore = new PackedInMemoryEmbeddingStore<>();
+
+        Random random = new Random(1);
+        List<Embedding> embeddings = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            embeddings.add(randomEmbedding(random, 384));
+        }
+        List<String> ids = quantizedStore.addAll(embeddings);
+        for (int i = 0; i < embeddings.size(); i++) {
+            exactStore.add(ids.get(i), embeddings.get(i));
+        }
+
+        // when
+        int found = 0;
+        int expected = 0;
+        for (int i = 0; i < 50; i++) {
+            EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                    .queryEmbedding(randomEmbedding(random, 384))
+                    .maxResults(10)
+                    .build();
+
+            List<EmbeddingMatch<TextSegment>> exactMatches = exactStore.search(request).matches();
+            List<EmbeddingMatch<TextSegment>> approximateMatches = quantizedStore.search(request).matches();
+
+            expected += exactMatches.size();
+            for (EmbeddingMatch<TextSegment> match : approximateMatches) {
+                if (exactMatches.contains(match)) {
+                    found++;
+                }
+            }
+        }
+
+        // then
+        assertThat((double) found / expected).isGreaterThan(minRecall);
+    }
+
+    @Test
+    void should_fail_when_dimensions_differ() {
+
+        PackedInMemoryEmbeddingStore<TextSegment> store = new PackedInMemoryEmbeddingStore<>();
+        store.add(Embedding.from(new float[]{1, 2, 3}));
+
+        assertThatThrownBy(() -> store.add(Embedding.from(new float[]{1, 2})))
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Length of vector (2) must be equal to the dimension of the store (3)");
+    }
+
+    @Test
+    void should_fail_when_query_dimension_differs() {
+
+        PackedInMemoryEmbeddingStore<TextSegment> store = new PackedInMemoryEmbeddingStore<>();
+        store.add(Embedding.from(new float[]{1, 2, 3}));
+
+        EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                .queryEmbedding(Embedding.from(new float[]{1, 2}))
+                .build();
+
+        assertThatThrownBy(() -> store.search(request))
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Length of vector a (2) must be equal to the length of vector b (3)");
+    }
+
+    @Override
+    protected EmbeddingStore<TextSegment> embeddingStore() {
+        return embeddingStore;
+    }
+
+    @Override
+    protected EmbeddingModel embeddingModel() {
+        return embeddingModel;
+    }
+}
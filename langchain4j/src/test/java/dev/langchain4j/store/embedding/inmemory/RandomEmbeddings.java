@@ -0,0 +1,22 @@
+package dev.langchain4j.store.embedding.inmemory;
+
+import dev.langchain4j.data.embedding.Embedding;
+
+import java.util.Random;
+
+class RandomEmbeddings {
+
+    private RandomEmbeddings() {
+    }
+
+    /**
+     * @return an embedding with normally distributed components, reproducible for a seeded {@link Random}
+     */
+    static Embedding randomEmbedding(Random random, int dimension) {
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return Embedding.from(vector);
+    }
+}
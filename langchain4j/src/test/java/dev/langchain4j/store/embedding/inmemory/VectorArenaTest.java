@@ -0,0 +1,99 @@
+package dev.langchain4j.store.embedding.inmemory;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static java.nio.file.StandardOpenOption.READ;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class VectorArenaTest {
+
+    @ParameterizedTest
+    @MethodSource("arenas")
+    void should_store_vectors_across_chunks(VectorArena arena) {
+
+        // given
+        for (int i = 0; i < 10; i++) {
+            arena.add(new float[]{i, i + 1, i + 2});
+        }
+
+        // then
+        assertThat(arena.size()).isEqualTo(10);
+        assertThat(arena.rowsPerChunk).isEqualTo(2);
+        for (int i = 0; i < 10; i++) {
+            assertThat(arena.vector(i)).containsExactly(i, i + 1, i + 2);
+            assertThat(arena.dot(i, new float[]{1, 0, 1})).isEqualTo(2.0 * i + 2);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("arenas")
+    void should_calculate_cosine_similarity(VectorArena arena) {
+
+        // given
+        arena.add(new float[]{3, 4, 0});
+        arena.add(new float[]{0, 0, 0});
+
+        float[] query = {4, -3, 5};
+        float queryInverseNorm = VectorArena.inverseNorm(query);
+
+        // then
+        assertThat(arena.cosineSimilarity(0, query, queryInverseNorm)).isCloseTo(0, within(1e-6));
+        assertThat(arena.cosineSimilarity(0, new float[]{6, 8, 0}, 0.1f)).isCloseTo(1, within(1e-6));
+        assertThat(arena.cosineSimilarity(1, query, queryInverseNorm)).isEqualTo(0);
+    }
+
+    @Test
+    void should_map_vectors_from_file(@TempDir Path temporaryDirectory) throws IOException {
+
+        // given
+        Path file = temporaryDirectory.resolve("vectors");
+        ByteBuffer bytes = ByteBuffer.allocate(8 + 5 * 3 * Float.BYTES).order(LITTLE_ENDIAN);
+        bytes.position(8);
+        float[] inverseNorms = new float[5];
+        for (int i = 0; i < 5; i++) {
+            float[] vector = {i, i + 1, i + 2};
+            bytes.asFloatBuffer().put(vector);
+            bytes.position(bytes.position() + 3 * Float.BYTES);
+            inverseNorms[i] = VectorArena.inverseNorm(vector);
+        }
+        Files.write(file, bytes.array());
+
+        // when
+        VectorArena arena;
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            arena = VectorArena.mapped(channel, 8, 3, 5, inverseNorms, 6);
+        }
+        arena.add(new float[]{5, 6, 7});
+        arena.add(new float[]{6, 7, 8});
+
+        // then
+        assertThat(arena.size()).isEqualTo(7);
+        for (int i = 0; i < 7; i++) {
+            assertThat(arena.vector(i)).containsExactly(i, i + 1, i + 2);
+            assertThat(arena.dot(i, new float[]{1, 0, 1})).isEqualTo(2.0 * i + 2);
+        }
+        float[] query = {1, 1, 1};
+        assertThat(arena.cosineSimilarity(4, query, VectorArena.inverseNorm(query)))
+                .isCloseTo(15 / Math.sqrt(3 * (16 + 25 + 36)), within(1e-6));
+    }
+
+    static Stream<Arguments> arenas() {
+        return Stream.of(
+                Arguments.of(new VectorArena.HeapVectorArena(3, 6)),
+                Arguments.of(new VectorArena.BufferVectorArena(3, 6))
+        );
+    }
+}